@@ -0,0 +1,71 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dawnsci.analysis.dataset.impl.FFT;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.diamond.scisoft.analysis.dataset.function.Histogram;
+import uk.ac.diamond.scisoft.analysis.dataset.function.MapToPolarAndIntegrate;
+
+/**
+ * Transforming, histogramming and azimuthally integrating square images.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisBenchmark {
+
+	@Param({"256", "1024"})
+	private int size;
+
+	private Dataset image;
+
+	@Setup
+	public void setup() {
+		Random.seed(0);
+		image = Random.rand(size, size);
+	}
+
+	@Benchmark
+	public Dataset fft() {
+		return FFT.fftn(image, null, null);
+	}
+
+	@Benchmark
+	public List<Dataset> histogram() {
+		return new Histogram(256, 0, 1).value(image);
+	}
+
+	@Benchmark
+	public List<Dataset> mapToPolarAndIntegrate() {
+		double c = size / 2.;
+		return new MapToPolarAndIntegrate(c, c, 0, 0, c, 360).value(image);
+	}
+}
@@ -0,0 +1,102 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.jmh;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.dawnsci.nexus.NexusFile;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.h5jan.core.DataFrame;
+
+/**
+ * Writing and reading a frame of doubles to and from HDF5.
+ * The chunk shape which to_hdf chooses follows from the rows and columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataFrameBenchmark {
+
+	@Param({"4", "32", "128"})
+	private int columns;
+
+	@Param({"10000", "100000"})
+	private int rows;
+
+	@Param({"NONE", "LZW_L1"})
+	private String compression;
+
+	private DataFrame frame;
+	private Path dir;
+	private String readPath;
+	private String writePath;
+
+	@Setup
+	public void setup() throws Exception {
+		dir = Files.createTempDirectory("frame");
+		Dataset data = Random.rand(rows, columns);
+		data.setName("data");
+		List<String> names = IntStream.range(0, columns).mapToObj(i -> "column_" + i).collect(Collectors.toList());
+		frame = new DataFrame(data, 1, names, Dataset.FLOAT64);
+
+		readPath = dir.resolve("read.h5").toString();
+		writePath = dir.resolve("write.h5").toString();
+		frame.to_hdf(readPath, "/entry/frame", getCompression());
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		FileUtils.deleteDirectory(dir.toFile());
+	}
+
+	private int getCompression() {
+		return "NONE".equals(compression) ? NexusFile.COMPRESSION_NONE : NexusFile.COMPRESSION_LZW_L1;
+	}
+
+	@Benchmark
+	public DataFrame to_hdf() throws Exception {
+		new File(writePath).delete();
+		return frame.to_hdf(writePath, "/entry/frame", getCompression());
+	}
+
+	@Benchmark
+	public void read_hdf(Blackhole hole) throws Exception {
+		DataFrame read = new DataFrame().read_hdf(readPath);
+		for (int i = 0; i < read.size(); i++) {
+			hole.consume(read.get(i).getSlice());
+		}
+	}
+}
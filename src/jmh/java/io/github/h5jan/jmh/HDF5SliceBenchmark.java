@@ -0,0 +1,118 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dawnsci.hdf5.HDF5File;
+import org.eclipse.dawnsci.hdf5.HDF5FileFactory;
+import org.eclipse.dawnsci.hdf5.HDF5Utils;
+import org.eclipse.dawnsci.hdf5.nexus.NexusFileHDF5;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.LazyWriteableDataset;
+import org.eclipse.january.dataset.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of reading slices of a 2D dataset with HDF5Utils.readDataset
+ * for different storage layouts and slice shapes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HDF5SliceBenchmark {
+
+	private static final int SIZE = 2048;
+	private static final String PATH = "/entry/data/data";
+
+	/**
+	 * Storage layout, contiguous or chunk shape
+	 */
+	@Param({"contiguous", "64x64", "1x2048", "256x256"})
+	private String chunks;
+
+	/**
+	 * Shape of slice read
+	 */
+	@Param({"row", "column", "block"})
+	private String slice;
+
+	private File file;
+	private HDF5File hfile;
+	private int[] count;
+	private int next;
+
+	@Setup
+	public void setup() throws Exception {
+		file = File.createTempFile("slice", ".h5");
+		int[] shape = new int[] {SIZE, SIZE};
+		int[] chunking = null;
+		if (!"contiguous".equals(chunks)) {
+			String[] c = chunks.split("x");
+			chunking = new int[] {Integer.parseInt(c[0]), Integer.parseInt(c[1])};
+		}
+
+		NexusFileHDF5 nfile = new NexusFileHDF5(file.getAbsolutePath());
+		nfile.createAndOpenToWrite();
+		try {
+			LazyWriteableDataset data = new LazyWriteableDataset("data", Double.class, shape, shape, chunking, null);
+			nfile.createData("/entry/data", data, true);
+			Dataset values = Random.rand(shape);
+			data.setSlice(null, values, new int[] {0, 0}, shape, null);
+		} finally {
+			nfile.close();
+		}
+
+		switch (slice) {
+		case "row":
+			count = new int[] {1, SIZE};
+			break;
+		case "column":
+			count = new int[] {SIZE, 1};
+			break;
+		default:
+			count = new int[] {128, 128};
+			break;
+		}
+		hfile = HDF5FileFactory.acquireFile(file.getAbsolutePath(), false);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		HDF5FileFactory.releaseFile(file.getAbsolutePath(), true);
+		file.delete();
+	}
+
+	@Benchmark
+	public Dataset readDataset() throws Exception {
+		// Step through the dataset so successive reads are not of the same slice
+		next = (next + 97) % SIZE;
+		int[] start = new int[] {count[0] == SIZE ? 0 : next % (SIZE - count[0] + 1),
+								 count[1] == SIZE ? 0 : next % (SIZE - count[1] + 1)};
+		return HDF5Utils.readDataset(hfile, PATH, start, count, new int[] {1, 1}, 1, DoubleDataset.class, false);
+	}
+}
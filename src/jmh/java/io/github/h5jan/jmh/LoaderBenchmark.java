@@ -0,0 +1,140 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.jmh;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.imageio.ImageIO;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.h5jan.core.DataFrame;
+import io.github.h5jan.io.ArrowIO;
+import io.github.h5jan.io.Configuration;
+import io.github.h5jan.io.DataFrameReader;
+
+/**
+ * Throughput of reading frames with the CSV, Arrow and TIFF loaders
+ * from files generated in set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoaderBenchmark {
+
+	@Param({"csv", "arrow", "tiff"})
+	private String format;
+
+	/**
+	 * Rows of the CSV and Arrow frames, side of the TIFF image
+	 */
+	@Param({"1024", "4096"})
+	private int size;
+
+	private static final int COLUMNS = 16;
+
+	private Path dir;
+	private File file;
+	private DataFrameReader reader;
+
+	@Setup
+	public void setup() throws Exception {
+		dir = Files.createTempDirectory("loader");
+		reader = new DataFrameReader();
+		switch (format) {
+		case "csv":
+			file = dir.resolve("frame.csv").toFile();
+			writeCsv(file);
+			break;
+		case "arrow":
+			file = dir.resolve("frame.arw").toFile();
+			Dataset data = Random.rand(size, COLUMNS);
+			data.setName("frame");
+			List<String> names = IntStream.range(0, COLUMNS).mapToObj(i -> "column_" + i).collect(Collectors.toList());
+			try (FileOutputStream out = new FileOutputStream(file)) {
+				new ArrowIO().write(new DataFrame(data, 1, names, Dataset.FLOAT64), out);
+			}
+			break;
+		case "tiff":
+			file = dir.resolve("image.tiff").toFile();
+			BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_USHORT_GRAY);
+			java.util.Random random = new java.util.Random(0);
+			for (int y = 0; y < size; y++) {
+				for (int x = 0; x < size; x++) {
+					image.getRaster().setSample(x, y, 0, random.nextInt(1 << 16));
+				}
+			}
+			ImageIO.write(image, "tiff", file);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown format " + format);
+		}
+	}
+
+	private void writeCsv(File csv) throws Exception {
+		java.util.Random random = new java.util.Random(0);
+		try (PrintWriter out = new PrintWriter(csv, "UTF-8")) {
+			out.print("DEPTH");
+			for (int c = 0; c < COLUMNS; c++) {
+				out.print(",column_" + c);
+			}
+			out.println();
+			for (int r = 0; r < size; r++) {
+				out.print(r);
+				for (int c = 0; c < COLUMNS; c++) {
+					out.print(',');
+					out.print(random.nextFloat());
+				}
+				out.println();
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		FileUtils.deleteDirectory(dir.toFile());
+	}
+
+	@Benchmark
+	public DataFrame read() throws Exception {
+		if ("arrow".equals(format)) {
+			return new ArrowIO().read(file.toPath());
+		}
+		return reader.read(file, Configuration.createDefault(), new IMonitor.Stub());
+	}
+}
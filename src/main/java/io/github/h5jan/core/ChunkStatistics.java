@@ -0,0 +1,217 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.january.dataset.DTypeUtils;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.IDataset;
+
+/**
+ * The minimum and maximum of each chunk of rows of the 1D numerical
+ * columns of a data frame. These are written as attributes when the
+ * frame is saved and read back with it so that a {@link Query} may
+ * skip chunks which cannot match its conditions without reading them.
+ *
+ * A chunk containing NaN has unknown bounds and is never skipped.
+ *
+ * @author Matthew Gerring
+ *
+ */
+public class ChunkStatistics {
+
+	/**
+	 * The default number of rows in a chunk.
+	 */
+	public static final int DEFAULT_ROWS = 65536;
+
+	private final int 					rows;
+	private final Map<String, double[][]> 	bounds; // name -> {min, max}
+
+	public ChunkStatistics() {
+		this(DEFAULT_ROWS);
+	}
+
+	/**
+	 * @param rows - number of rows in each chunk.
+	 */
+	public ChunkStatistics(int rows) {
+		if (rows<1) {
+			throw new IllegalArgumentException("There must be at least one row in a chunk!");
+		}
+		this.rows   = rows;
+		this.bounds = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Calculate the bounds of each chunk of a column. Columns
+	 * which are not 1D or numerical are ignored.
+	 * @param name - column name
+	 * @param column - column data
+	 */
+	public void add(String name, IDataset column) {
+		if (column.getRank()!=1 || !DTypeUtils.isDTypeNumerical(DTypeUtils.getDType(column)) || column.getElementsPerItem()!=1) {
+			bounds.remove(name);
+			return;
+		}
+		Dataset d = DatasetUtils.convertToDataset(column);
+		int size  = d.getSize();
+		int count = getChunkCount(size);
+		double[] min = new double[count];
+		double[] max = new double[count];
+		for (int c = 0; c < count; c++) {
+			double lo = Double.POSITIVE_INFINITY;
+			double hi = Double.NEGATIVE_INFINITY;
+			int stop = Math.min(size, (c+1)*rows);
+			for (int i = c*rows; i < stop; i++) {
+				double v = d.getDouble(i);
+				if (Double.isNaN(v)) {
+					lo = hi = Double.NaN;
+					break;
+				}
+				if (v<lo) lo = v;
+				if (v>hi) hi = v;
+			}
+			min[c] = lo;
+			max[c] = hi;
+		}
+		bounds.put(name, new double[][] {min, max});
+	}
+
+	/**
+	 * Forget the bounds of a column.
+	 * @param name - column name
+	 */
+	public void remove(String name) {
+		bounds.remove(name);
+	}
+
+	/**
+	 * @return number of rows in each chunk.
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * @param size - number of rows in column.
+	 * @return number of chunks of the column.
+	 */
+	public int getChunkCount(int size) {
+		return (int)((size+(long)rows-1)/rows);
+	}
+
+	/**
+	 * @param name - column name
+	 * @return true if the bounds of this column are known.
+	 */
+	public boolean contains(String name) {
+		return bounds.containsKey(name);
+	}
+
+	public boolean isEmpty() {
+		return bounds.isEmpty();
+	}
+
+	/**
+	 * @param name - column name
+	 * @param chunk - index of chunk
+	 * @return minimum of chunk or NaN if not known
+	 */
+	public double getMin(String name, int chunk) {
+		return get(name, 0, chunk);
+	}
+
+	/**
+	 * @param name - column name
+	 * @param chunk - index of chunk
+	 * @return maximum of chunk or NaN if not known
+	 */
+	public double getMax(String name, int chunk) {
+		return get(name, 1, chunk);
+	}
+
+	private double get(String name, int which, int chunk) {
+		double[][] b = bounds.get(name);
+		if (b==null || chunk<0 || chunk>=b[which].length) return Double.NaN;
+		return b[which][chunk];
+	}
+
+	/**
+	 * The minima of chunks of each column, column after column.
+	 * Columns with unknown bounds have NaN minima.
+	 * @param names - column names in order
+	 * @param count - number of chunks in a column
+	 * @return 1D dataset of size names.size()*count
+	 */
+	public Dataset getMinima(List<String> names, int count) {
+		return flatten(names, count, 0);
+	}
+
+	/**
+	 * The maxima of chunks of each column, column after column.
+	 * Columns with unknown bounds have NaN maxima.
+	 * @param names - column names in order
+	 * @param count - number of chunks in a column
+	 * @return 1D dataset of size names.size()*count
+	 */
+	public Dataset getMaxima(List<String> names, int count) {
+		return flatten(names, count, 1);
+	}
+
+	private Dataset flatten(List<String> names, int count, int which) {
+		double[] flat = new double[names.size()*count];
+		Arrays.fill(flat, Double.NaN);
+		for (int i = 0; i < names.size(); i++) {
+			double[][] b = bounds.get(names.get(i));
+			if (b==null) continue;
+			System.arraycopy(b[which], 0, flat, i*count, Math.min(count, b[which].length));
+		}
+		return DatasetFactory.createFromObject(flat);
+	}
+
+	/**
+	 * Create statistics from minima and maxima as written by
+	 * {@link #getMinima(List, int)} and {@link #getMaxima(List, int)}.
+	 * @param rows - number of rows in each chunk
+	 * @param names - column names in order
+	 * @param minima - 1D minima
+	 * @param maxima - 1D maxima
+	 * @return statistics
+	 */
+	public static ChunkStatistics create(int rows, List<String> names, IDataset minima, IDataset maxima) {
+		ChunkStatistics ret = new ChunkStatistics(rows);
+		if (names.isEmpty()) return ret;
+		int count = minima.getSize()/names.size();
+		if (count*names.size()!=minima.getSize() || minima.getSize()!=maxima.getSize()) {
+			throw new IllegalArgumentException("The chunk bounds do not match the columns!");
+		}
+		Dataset min = DatasetUtils.convertToDataset(minima).flatten();
+		Dataset max = DatasetUtils.convertToDataset(maxima).flatten();
+		for (int i = 0; i < names.size(); i++) {
+			double[][] b = new double[2][count];
+			boolean known = false;
+			for (int c = 0; c < count; c++) {
+				b[0][c] = min.getDouble(i*count+c);
+				b[1][c] = max.getDouble(i*count+c);
+				known = known || !Double.isNaN(b[0][c]);
+			}
+			if (known) ret.bounds.put(names.get(i), b);
+		}
+		return ret;
+	}
+}
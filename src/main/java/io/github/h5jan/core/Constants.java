@@ -19,5 +19,8 @@ public class Constants {
 	public static final String AUX			= "aux_data";
 	public static final String META 		= "meta";
 	public static final String META_TYPE	= "meta_type";
+	public static final String CHUNK_ROWS	= "chunk_rows";
+	public static final String CHUNK_MIN	= "chunk_min";
+	public static final String CHUNK_MAX	= "chunk_max";
 
 }
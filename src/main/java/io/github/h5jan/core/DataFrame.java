@@ -17,8 +17,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.dawnsci.analysis.api.io.ScanFileHolderException;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 import org.eclipse.dawnsci.analysis.api.tree.GroupNode;
+import org.eclipse.dawnsci.hdf5.HDF5MappedLoader;
 import org.eclipse.dawnsci.nexus.NexusException;
 import org.eclipse.january.DatasetException;
 import org.eclipse.january.dataset.DTypeUtils;
@@ -71,6 +73,12 @@ public class DataFrame extends AbstractDataFrame {
 	private volatile boolean open = false;
 	private NxsMetadata metadata;
 	
+	/**
+	 * Bounds of chunks of rows read with the frame, or null.
+	 * Used by queries to skip chunks.
+	 */
+	private ChunkStatistics statistics;
+	
 	public DataFrame() {
 		super();
 	}
@@ -151,6 +159,8 @@ public class DataFrame extends AbstractDataFrame {
 	 * If your data is already in a true LazyDataset it will be sliced
 	 * in the column axis and each slice written to HDF. This might 
 	 * be more memory efficient depending on what you are writing.
+	 * Columns are sliced in parallel and adjacent ones written together,
+	 * see {@link Appender#append(List, List)}.
 	 *  
 	 * @param filePath - path to file
 	 * @param h5Path - path in h5
@@ -167,27 +177,52 @@ public class DataFrame extends AbstractDataFrame {
 		checkString(h5Path,   "There is no h5 path!");
 		check();
 		
-		// Make an empty frame to use as a lazy writer.
+		// Save to HDF5, columns can be large, these are not it's a test
+		try (Appender app = writer().open_hdf(filePath, h5Path)) {
+			write(app, compression);
+		}
+		return this;
+	}
+
+	/**
+	 * This method writes the data to a group of a file which is already
+	 * open, so that several frames may be written to one file. The file
+	 * is left open. Read the frame back using {@link #read_hdf_group(String, String)}.
+	 *  
+	 * @param file - open file
+	 * @param h5Path - path of group in h5
+	 * @throws NullPointerException - if data incomplete
+	 * @throws IllegalArgumentException - if paths invalid
+	 * @throws Exception - any other error and HDF errors.
+	 */
+	public DataFrame to_hdf_group(NxsFile file, String h5Path) throws Exception {
+		
+		checkString(h5Path,   "There is no h5 path!");
+		check();
+		
+		try (Appender app = writer().open_hdf_group(file, h5Path)) {
+			write(app, -1);
+		}
+		return this;
+	}
+	
+	/**
+	 * Make an empty frame to use as a lazy writer.
+	 */
+	private DataFrame writer() throws DatasetException {
 		DataFrame frame = new DataFrame(getName(), getDtype(), getColumnShape());
 		frame.setMetadata(getMetadata());
 		frame.aux.putAll(this.aux);
-		
-		// Save to HDF5, columns can be large, these are not it's a test
-		try (Appender app = frame.open_hdf(filePath, h5Path)) {
-			
-			if (compression>-1) { // -ve means leave as default.
-				app.setCompression(compression); // Can make file small if set correctly.
-			}
-			
-			List<String> cnames = getColumnNames();
-			for (int i = 0; i < size(); i++) {
-				IDataset slice = get(i).getSlice().squeeze();
-				String columnName = cnames.get(i);
-				slice.setName(columnName);
-				app.append(columnName, slice);
-			}
+		return frame;
+	}
+	
+	private void write(Appender app, int compression) throws Exception {
+		if (compression>-1) { // -ve means leave as default.
+			app.setCompression(compression); // Can make file small if set correctly.
 		}
-		return this;
+		
+		// Columns are read in parallel and written in order.
+		app.append(getColumnNames(), getData());
 	}
 
 	/**
@@ -199,14 +234,28 @@ public class DataFrame extends AbstractDataFrame {
 	 * @throws NexusException 
 	 */
 	public synchronized Appender open_hdf(String filePath, String h5Path) throws NexusException, IOException {
+		ILazyWriteableDataset writer = open();
+		return Appender.instance(filePath, h5Path, writer, this, ()->this.open=false);
+	}
+
+	/**
+	 * Open a group of a file which is already open for appending data yourself.
+	 * Closing the appender does not close the file.
+	 * @param file
+	 * @param h5Path
+	 * @return
+	 */
+	public synchronized Appender open_hdf_group(NxsFile file, String h5Path) {
+		ILazyWriteableDataset writer = open();
+		return Appender.instance(file, h5Path, writer, this, ()->this.open=false);
+	}
+	
+	private ILazyWriteableDataset open() {
 		
 		if (this.open) {
 			throw new IllegalArgumentException("HDF file already open!");
 		}
 		
-		if (columnNames==null) columnNames = new ArrayList<>();
-		this.open = true;
-		
 		// Make writeable dataset
 		ILazyWriteableDataset writer=null;
 		if (data!=null) {
@@ -217,7 +266,10 @@ public class DataFrame extends AbstractDataFrame {
 		} else {
 			throw new IllegalArgumentException("There is not enough data in the frame to create a LazyWriteableDataset!");
 		}
-		return Appender.instance(filePath, h5Path, writer, this, ()->this.open=false);
+		
+		if (columnNames==null) columnNames = new ArrayList<>();
+		this.open = true;
+		return writer;
 	}
 
 	/**
@@ -228,61 +280,123 @@ public class DataFrame extends AbstractDataFrame {
 	 * @throws DatasetException 
 	 */
 	public DataFrame read_hdf(String filePath) throws NexusException, IOException, DatasetException {
+		return read_hdf(filePath, false);
+	}
+
+	/**
+	 * Read a dataframe as LazyDatasets from the file.
+	 * If mapped is set and the data is stored contiguously and uncompressed,
+	 * the columns read straight from the file mapped into memory rather than
+	 * through the HDF5 library. Otherwise the data is read as normal.
+	 * The file must not be written whilst it is mapped.
+	 * @param filePath
+	 * @param mapped - true to map the data into memory if possible
+	 * @throws NexusException
+	 * @throws IOException
+	 * @throws DatasetException 
+	 */
+	public DataFrame read_hdf(String filePath, boolean mapped) throws NexusException, IOException, DatasetException {
 		try(NxsFile nfile = NxsFile.reference(filePath)) {
 			
 			GroupNode node = nfile.getGroup("/", false);
 			String path = node.getAttribute(Constants.PATH).getValue().getString();
 			String dataPath = node.getAttribute(Constants.DATA_PATH).getValue().getString();
+			return read_hdf(nfile, filePath, path, dataPath, mapped);
+		}
+	}
+
+	/**
+	 * Read a dataframe as LazyDatasets from a group of the file, for
+	 * instance one of several written with {@link #to_hdf_group(NxsFile, String)}.
+	 * @param filePath
+	 * @param h5Path - path of group in h5
+	 * @throws NexusException
+	 * @throws IOException
+	 * @throws DatasetException 
+	 */
+	public DataFrame read_hdf_group(String filePath, String h5Path) throws NexusException, IOException, DatasetException {
+		try(NxsFile nfile = NxsFile.reference(filePath)) {
 			
-			GroupNode gdata = nfile.getGroup(path, false);
-			IDataset inames = gdata.getAttribute(Constants.COL_NAMES).getValue();
-			String[] snames = (String[])((StringDatasetBase)inames).getBuffer();
-			
-			// Assign fields of DataFrame that we know.
-			this.columnNames = new ArrayList<String>(Arrays.asList(snames));
-			ILazyDataset laz = nfile.getDataset(dataPath);
-			this.data = unpack(laz, this.columnNames);
-			this.dtype = DTypeUtils.getDType(laz);
-			this.columnShape = null; // When we reset the data the columns could now be different.
-			this.name = gdata.getAttribute(Constants.NAME).getValue().getString();
-			
-			Attribute attrib = gdata.getAttribute(Constants.AUX);
-			if (attrib!=null) {
-				IDataset anames = attrib.getValue();
-				String[] auxNames = (String[])((StringDatasetBase)anames).getBuffer();
-				for (String auxName : auxNames) {
-					ILazyDataset set = nfile.getDataset(path+"/"+auxName);
-					put(auxName, set);
-				}
+			GroupNode gdata = nfile.getGroup(h5Path, false);
+			String name = gdata.getAttribute(Constants.NAME).getValue().getString();
+			return read_hdf(nfile, filePath, h5Path, h5Path+"/"+name, false);
+		}
+	}
+
+	/**
+	 * Bounds of chunks are datasets in the group, earlier files held them as attributes.
+	 */
+	private static IDataset readStatistic(NxsFile nfile, GroupNode gdata, String path, String name) throws NexusException, DatasetException {
+		if (gdata.containsDataNode(name)) return nfile.getDataset(path+"/"+name).getSlice();
+		if (gdata.containsAttribute(name)) return gdata.getAttribute(name).getValue();
+		return null;
+	}
+
+	private DataFrame read_hdf(NxsFile nfile, String filePath, String path, String dataPath, boolean mapped) throws NexusException, IOException, DatasetException {
+		GroupNode gdata = nfile.getGroup(path, false);
+		IDataset inames = gdata.getAttribute(Constants.COL_NAMES).getValue();
+		String[] snames = (String[])((StringDatasetBase)inames).getBuffer();
+		
+		// Assign fields of DataFrame that we know.
+		this.columnNames = new ArrayList<String>(Arrays.asList(snames));
+		ILazyDataset laz = null;
+		if (mapped) {
+			try {
+				laz = HDF5MappedLoader.createDataset(filePath, dataPath);
+			} catch (ScanFileHolderException ne) {
+				throw new IOException("Cannot map "+dataPath, ne);
+			}
+		}
+		if (laz==null) laz = nfile.getDataset(dataPath); // Not mapped or cannot be mapped
+		this.data = unpack(laz, this.columnNames);
+		this.dtype = DTypeUtils.getDType(laz);
+		this.columnShape = null; // When we reset the data the columns could now be different.
+		this.name = gdata.getAttribute(Constants.NAME).getValue().getString();
+		
+		this.statistics = null;
+		if (gdata.containsAttribute(Constants.CHUNK_ROWS)) {
+			int rows = gdata.getAttribute(Constants.CHUNK_ROWS).getValue().getInt();
+			IDataset min = readStatistic(nfile, gdata, path, Constants.CHUNK_MIN);
+			IDataset max = readStatistic(nfile, gdata, path, Constants.CHUNK_MAX);
+			if (min!=null && max!=null) this.statistics = ChunkStatistics.create(rows, columnNames, min, max);
+		}
+		
+		Attribute attrib = gdata.getAttribute(Constants.AUX);
+		if (attrib!=null) {
+			IDataset anames = attrib.getValue();
+			String[] auxNames = (String[])((StringDatasetBase)anames).getBuffer();
+			for (String auxName : auxNames) {
+				ILazyDataset set = nfile.getDataset(path+"/"+auxName);
+				put(auxName, set);
 			}
+		}
+		
+		if (gdata.containsAttribute(Constants.META)) {
+			String smeta = gdata.getAttribute(Constants.META).getValue().getString();
 			
-			if (gdata.containsAttribute(Constants.META)) {
-				String smeta = gdata.getAttribute(Constants.META).getValue().getString();
+			if (smeta!=null) {
 				
-				if (smeta!=null) {
+				NxsMetadata meta  = null;
+				try {
+					String metaType = gdata.getAttribute(Constants.META_TYPE).getValue().getString();
 					
-					NxsMetadata meta  = null;
-					try {
-						String metaType = gdata.getAttribute(Constants.META_TYPE).getValue().getString();
-						
-						@SuppressWarnings("unchecked")
-						Class<? extends NxsMetadata> clazz = (Class<? extends NxsMetadata>) Class.forName(metaType);
-						meta = mapper.readValue(smeta, clazz);
-						
-					} catch (Exception typeNotLoaded) {
-						
-						try {
-							JsonNode jnode = mapper.readTree(smeta);
-							meta = new GenericMetadata(jnode);
-						} catch (Exception neOther) {
-							logger.error("Cannot get metadata "+smeta, neOther);
-						}
-					}
+					@SuppressWarnings("unchecked")
+					Class<? extends NxsMetadata> clazz = (Class<? extends NxsMetadata>) Class.forName(metaType);
+					meta = mapper.readValue(smeta, clazz);
+					
+				} catch (Exception typeNotLoaded) {
 					
-					if (meta!=null) {
-						setMetadata(meta);
+					try {
+						JsonNode jnode = mapper.readTree(smeta);
+						meta = new GenericMetadata(jnode);
+					} catch (Exception neOther) {
+						logger.error("Cannot get metadata "+smeta, neOther);
 					}
 				}
+				
+				if (meta!=null) {
+					setMetadata(meta);
+				}
 			}
 		}
 		return this;
@@ -307,6 +421,17 @@ public class DataFrame extends AbstractDataFrame {
 		return raw;
 	}
 
+	/**
+	 * Start a query of the columns of this frame, for instance:
+	 * <pre>
+	 * DataFrame means = frame.query().where("depth", Query.Op.GT, 1000).groupBy("well").agg(Query.Aggregate.mean("pressure")).execute();
+	 * </pre>
+	 * @return query, which is evaluated when executed.
+	 */
+	public Query query() {
+		return new Query(this);
+	}
+
 	public String getName() {
 		return name;
 	}
@@ -323,6 +448,19 @@ public class DataFrame extends AbstractDataFrame {
 		this.metadata = metadata;
 	}
 
+	/**
+	 * Bounds of chunks of rows of the columns, set when the frame is read
+	 * from a file written with them.
+	 * @return statistics or null
+	 */
+	public ChunkStatistics getStatistics() {
+		return statistics;
+	}
+
+	public void setStatistics(ChunkStatistics statistics) {
+		this.statistics = statistics;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -355,6 +493,7 @@ public class DataFrame extends AbstractDataFrame {
 		ret.dtype = this.dtype;
 		ret.index = this.index;
 		ret.name = this.name;
+		ret.statistics = this.statistics;
 		if (this.metadata!=null) {
 			ret.metadata = (NxsMetadata)this.metadata.clone();
 		}
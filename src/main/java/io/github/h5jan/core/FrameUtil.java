@@ -142,6 +142,18 @@ public class FrameUtil {
 	 * @return
 	 */
 	public static SliceND orient(ILazyDataset data, int i, int[]shape) {
+		return orient(data, i, 1, shape);
+	}
+
+	/**
+	 * Orient a block of adjacent columns in the frame to be written.
+	 * @param data
+	 * @param i - index of first column
+	 * @param n - number of columns
+	 * @param shape
+	 * @return
+	 */
+	public static SliceND orient(ILazyDataset data, int i, int n, int[]shape) {
 		
 		if (shape==null) {
 			shape = data.getShape();
@@ -152,7 +164,7 @@ public class FrameUtil {
 		
 		int[] to = new int[shape.length];
 		System.arraycopy(shape, 0, to, 0, to.length);
-		to[to.length-1] = i+1;
+		to[to.length-1] = i+n;
 		
 		int[]step = new int[shape.length];
 		Arrays.fill(step, 1);
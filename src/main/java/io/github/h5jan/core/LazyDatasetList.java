@@ -27,7 +27,9 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.eclipse.dawnsci.nexus.NexusFile;
 import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
 import org.eclipse.january.dataset.BooleanDataset;
 import org.eclipse.january.dataset.ByteDataset;
 import org.eclipse.january.dataset.ComplexDoubleDataset;
@@ -201,7 +203,45 @@ class LazyDatasetList implements List<ILazyDataset> {
 		Stitcher sticher = new Stitcher(this, tileShape);
 		return sticher.stitch();
 	}
-	
+
+	/**
+	 * Stiches the images in this list into a single tile
+	 * where neighbouring images overlap.
+	 *
+	 * @param tileShape - shape of tiles
+	 * @param overlap - number of pixels by which images overlap, aligned with tileShape
+	 * @param blend - true to blend images across the overlap, false to paste each one over the last
+	 * @return stiched dataset
+	 * @throws DatasetException - if cannot stitch
+	 */
+	public Dataset stitch(int[] tileShape, int[] overlap, boolean blend) throws DatasetException {
+		Stitcher sticher = new Stitcher(this, tileShape);
+		sticher.setOverlap(overlap);
+		sticher.setBlend(blend);
+		return sticher.stitch();
+	}
+
+	/**
+	 * Stiches the images in this list into a single tile which is
+	 * written directly to HDF5, chunked by tile. The stitched image is
+	 * never held in memory so may be much larger than the heap.
+	 *
+	 * @param filePath - path to file
+	 * @param h5Path - path to group in file
+	 * @param tileShape - shape of tiles
+	 * @param overlap - number of pixels by which images overlap, aligned with tileShape (may be null)
+	 * @param blend - true to blend images across the overlap, false to paste each one over the last
+	 * @param monitor - may be null
+	 * @return shape of stitched dataset
+	 * @throws Exception - if cannot stitch or write the file
+	 */
+	public int[] stitch_hdf(String filePath, String h5Path, int[] tileShape, int[] overlap, boolean blend, IMonitor monitor) throws Exception {
+		Stitcher sticher = new Stitcher(this, tileShape);
+		sticher.setOverlap(overlap);
+		sticher.setBlend(blend);
+		return sticher.stitch(filePath, h5Path, NexusFile.COMPRESSION_NONE, monitor);
+	}
+
 	public String getName() {
 		return name;
 	}
@@ -0,0 +1,278 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.core;
+
+import java.util.Arrays;
+
+import org.eclipse.dawnsci.analysis.api.downsample.DownsampleMode;
+import org.eclipse.dawnsci.analysis.api.tree.Node;
+import org.eclipse.dawnsci.analysis.dataset.ParallelBlocks;
+import org.eclipse.dawnsci.analysis.dataset.function.Downsample;
+import org.eclipse.dawnsci.nexus.NexusException;
+import org.eclipse.dawnsci.nexus.NexusFile;
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.DTypeUtils;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.LazyWriteableDataset;
+import org.eclipse.january.dataset.ShapeUtils;
+import org.eclipse.january.dataset.SliceND;
+
+import io.github.h5jan.io.h5.NxsFile;
+
+/**
+ * Builds a multi-resolution pyramid of an image or a stack of images.
+ *
+ * Each level halves the last two dimensions of the one before it using
+ * a {@link DownsampleMode}. Levels are written to HDF5 as siblings of the
+ * full resolution dataset, named with a suffix of the level number, e.g.
+ * image, image_1, image_2... Any leading dimensions (frames of a stack)
+ * are not reduced.
+ *
+ * Each level is built in tiles in parallel reading only the part of the
+ * previous level that a tile needs, so neither the image nor any level
+ * is held in memory.
+ *
+ * Use {@link PyramidReader} to read regions from the most suitable level.
+ *
+ * @author Matthew Gerring
+ *
+ */
+public class Pyramid {
+
+	/**
+	 * Separator between dataset name and level number
+	 */
+	public static final String LEVEL_SEPARATOR = "_";
+
+	/**
+	 * Attribute holding the factor by which a level is reduced
+	 */
+	public static final String DOWNSAMPLE_FACTOR = "downsample_factor";
+
+	private final ILazyDataset 	source;
+	private DownsampleMode 		mode = DownsampleMode.MEAN;
+	private int 				tileSize = 256;
+	private int 				levels = -1;
+	private int 				compression = NexusFile.COMPRESSION_NONE;
+
+	/**
+	 * Pyramid of image or stack of images whose last two dimensions are reduced.
+	 * @param source
+	 */
+	public Pyramid(ILazyDataset source) {
+		if (source.getRank() < 2) throw new IllegalArgumentException("The data must have at least two dimensions!");
+		this.source = source;
+	}
+
+	/**
+	 * Set how bins of 2x2 pixels are reduced, default is MEAN.
+	 * @param mode
+	 */
+	public void setMode(DownsampleMode mode) {
+		this.mode = mode;
+	}
+
+	/**
+	 * Set the size of the square tiles in which levels are built and chunked, default is 256.
+	 * @param tileSize
+	 */
+	public void setTileSize(int tileSize) {
+		if (tileSize < 1) throw new IllegalArgumentException("The tile size must be greater than zero!");
+		this.tileSize = tileSize;
+	}
+
+	/**
+	 * Set the number of levels excluding the full resolution. By default levels
+	 * are built until the image fits in a single tile.
+	 * @param levels
+	 */
+	public void setLevels(int levels) {
+		if (levels < 0) throw new IllegalArgumentException("The number of levels must not be negative!");
+		this.levels = levels;
+	}
+
+	/**
+	 * @param compression - NexusFile.COMPRESSION_NONE or NexusFile.COMPRESSION_LZW_L1
+	 */
+	public void setCompression(int compression) {
+		this.compression = compression;
+	}
+
+	/**
+	 * @return number of levels built excluding the full resolution
+	 */
+	public int getLevels() {
+		if (levels >= 0) return levels;
+		int[] shape = source.getShape();
+		int rank = shape.length;
+		int size = Math.max(shape[rank-2], shape[rank-1]);
+		int n = 0;
+		while (size > tileSize) {
+			size = (size + 1) / 2;
+			n++;
+		}
+		return n;
+	}
+
+	/**
+	 * Shape of a level
+	 * @param shape - full resolution shape
+	 * @param level
+	 * @return shape with the last two dimensions reduced by 2^level
+	 */
+	public static int[] getLevelShape(int[] shape, int level) {
+		int[] lshape = shape.clone();
+		int rank = lshape.length;
+		for (int i = rank - 2; i < rank; i++) {
+			for (int l = 0; l < level; l++) {
+				lshape[i] = (lshape[i] + 1) / 2;
+			}
+		}
+		return lshape;
+	}
+
+	/**
+	 * Name of the dataset holding a level
+	 * @param name - name of full resolution dataset
+	 * @param level
+	 * @return level name
+	 */
+	public static String getLevelName(String name, int level) {
+		return level == 0 ? name : name + LEVEL_SEPARATOR + level;
+	}
+
+	/**
+	 * Build the pyramid into the file. If there is no dataset called name in the group
+	 * the source is copied there first as the full resolution level.
+	 *
+	 * @param file
+	 * @param h5Path - path to group in file
+	 * @param name - name of full resolution dataset
+	 * @param monitor - may be null
+	 * @return number of levels written excluding the full resolution
+	 * @throws Exception
+	 */
+	public int build(NxsFile file, String h5Path, String name, IMonitor monitor) throws Exception {
+
+		IDataset template = readTemplate();
+		int dtype = DTypeUtils.getDType(template);
+		int isize = template.getElementsPerItem();
+
+		int[] shape = source.getShape();
+		String group = h5Path.endsWith(Node.SEPARATOR) ? h5Path : h5Path + Node.SEPARATOR;
+
+		ILazyDataset previous = source;
+		if (!exists(file, group + name)) {
+			ILazyWriteableDataset base = createLevel(file, group, name, dtype, isize, shape);
+			build(source, base, 1, monitor);
+			file.flush();
+			previous = base;
+		}
+
+		int n = getLevels();
+		for (int l = 1; l <= n; l++) {
+			if (monitor != null && monitor.isCancelled()) return l - 1;
+			ILazyWriteableDataset level = createLevel(file, group, getLevelName(name, l), dtype, isize, getLevelShape(shape, l));
+			build(previous, level, 2, monitor);
+			file.flush();
+
+			Dataset factor = DatasetFactory.createFromObject(1 << l);
+			factor.setName(DOWNSAMPLE_FACTOR);
+			file.addAttribute(group + getLevelName(name, l), file.createAttribute(factor));
+			previous = level;
+		}
+		return n;
+	}
+
+	private ILazyWriteableDataset createLevel(NxsFile file, String group, String name, int dtype, int isize, int[] shape) throws NexusException {
+		@SuppressWarnings("deprecation")
+		ILazyWriteableDataset output = new LazyWriteableDataset(name, dtype, isize, shape, shape, getChunking(shape), null);
+		file.createData(group, output, compression, true);
+		return output;
+	}
+
+	private int[] getChunking(int[] shape) {
+		int[] chunks = new int[shape.length];
+		Arrays.fill(chunks, 1);
+		for (int i = shape.length - 2; i < shape.length; i++) {
+			chunks[i] = Math.max(1, Math.min(tileSize, shape[i]));
+		}
+		return chunks;
+	}
+
+	private IDataset readTemplate() throws DatasetException {
+		// Loaders may only know the type once read so read a single item
+		int[] shape = source.getShape();
+		int[] one = new int[shape.length];
+		Arrays.fill(one, 1);
+		return ShapeUtils.calcSize(shape) > 0 ? source.getSlice(null, one, null) : source.getSlice();
+	}
+
+	private static boolean exists(NxsFile file, String path) {
+		try {
+			return file.getData(path) != null;
+		} catch (NexusException | IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Build level from the one before it in tiles, one frame at a time
+	 */
+	private void build(ILazyDataset input, ILazyWriteableDataset output, int bin, IMonitor monitor) throws DatasetException {
+
+		int[] oshape = output.getShape();
+		int rank = oshape.length;
+		int[] tiles = new int[rank];
+		for (int i = 0; i < rank; i++) {
+			tiles[i] = i < rank - 2 ? oshape[i] : (oshape[i] + tileSize - 1) / tileSize;
+		}
+		int ntiles = ShapeUtils.calcSize(tiles);
+		if (ntiles == 0) return;
+
+		int[] bshape = new int[rank];
+		Arrays.fill(bshape, 1);
+		bshape[rank-2] = bin;
+		bshape[rank-1] = bin;
+		Downsample downsample = bin > 1 ? new Downsample(mode, bshape) : null;
+
+		ParallelBlocks.run(ntiles, t -> {
+			int[] ishape = input.getShape();
+			int[] pos = ShapeUtils.getNDPositionFromShape(t, tiles);
+			int[] ostart = new int[rank];
+			int[] ostop = new int[rank];
+			int[] istart = new int[rank];
+			int[] istop = new int[rank];
+			for (int i = 0; i < rank; i++) {
+				if (i < rank - 2) {
+					ostart[i] = istart[i] = pos[i];
+					ostop[i] = istop[i] = pos[i] + 1;
+				} else {
+					ostart[i] = pos[i]*tileSize;
+					ostop[i] = Math.min(ostart[i] + tileSize, oshape[i]);
+					istart[i] = ostart[i]*bin;
+					istop[i] = Math.min(ostop[i]*bin, ishape[i]);
+				}
+			}
+			Dataset tile = DatasetUtils.convertToDataset(input.getSlice(istart, istop, null));
+			if (downsample != null) {
+				tile = downsample.value(tile).get(0);
+			}
+			output.setSliceSync(monitor, tile, new SliceND(oshape, ostart, ostop, null));
+		}, monitor);
+	}
+}
@@ -0,0 +1,145 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dawnsci.analysis.api.tree.DataNode;
+import org.eclipse.dawnsci.analysis.api.tree.Node;
+import org.eclipse.dawnsci.nexus.NexusException;
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.ILazyDataset;
+
+import io.github.h5jan.io.h5.NxsFile;
+
+/**
+ * Reads regions of an image from the level of a pyramid built by {@link Pyramid}
+ * which best matches the zoom at which they are to be shown.
+ *
+ * Regions are always given in full resolution pixels so callers need not
+ * know which levels exist.
+ *
+ * @author Matthew Gerring
+ *
+ */
+public class PyramidReader {
+
+	private final List<ILazyDataset> levels;
+
+	/**
+	 * Find the levels of a pyramid in a file
+	 * @param file
+	 * @param h5Path - path to group in file
+	 * @param name - name of full resolution dataset
+	 * @throws NexusException if there is no full resolution dataset
+	 */
+	public PyramidReader(NxsFile file, String h5Path, String name) throws NexusException {
+		String group = h5Path.endsWith(Node.SEPARATOR) ? h5Path : h5Path + Node.SEPARATOR;
+		levels = new ArrayList<>();
+		DataNode node = file.getData(group + name);
+		if (node == null) throw new NexusException("No dataset "+name+" in "+h5Path);
+		levels.add(node.getDataset());
+		for (int l = 1; (node = findData(file, group + Pyramid.getLevelName(name, l))) != null; l++) {
+			levels.add(node.getDataset());
+		}
+	}
+
+	private static DataNode findData(NxsFile file, String path) {
+		try {
+			return file.getData(path);
+		} catch (NexusException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return number of levels including the full resolution
+	 */
+	public int getLevelCount() {
+		return levels.size();
+	}
+
+	/**
+	 * @param level - 0 for full resolution
+	 * @return lazy dataset of level
+	 */
+	public ILazyDataset getLevel(int level) {
+		return levels.get(level);
+	}
+
+	/**
+	 * Select the smallest level which still has at least as many pixels as will be shown.
+	 * @param zoom - pixels shown per full resolution pixel, e.g. 0.25 when shown at a quarter size
+	 * @return level
+	 */
+	public int selectLevel(double zoom) {
+		if (zoom <= 0) throw new IllegalArgumentException("The zoom must be greater than zero!");
+		int level = 0;
+		while (level + 1 < levels.size() && zoom * (1 << (level + 1)) <= 1) {
+			level++;
+		}
+		return level;
+	}
+
+	/**
+	 * Select level to show a region of the image in a view
+	 * @param regionShape - shape of region in full resolution pixels
+	 * @param viewShape - shape of view in pixels
+	 * @return level
+	 */
+	public int selectLevel(int[] regionShape, int[] viewShape) {
+		double zoom = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < regionShape.length; i++) {
+			if (regionShape[i] > 0) {
+				zoom = Math.min(zoom, viewShape[i] / (double)regionShape[i]);
+			}
+		}
+		return Double.isInfinite(zoom) ? 0 : selectLevel(zoom);
+	}
+
+	/**
+	 * Read region from the level which best matches the zoom
+	 * @param start - start of region in full resolution pixels, may be null
+	 * @param stop - end of region (exclusive) in full resolution pixels, may be null
+	 * @param zoom - pixels shown per full resolution pixel
+	 * @return region at the resolution of the level selected
+	 * @throws DatasetException
+	 */
+	public Dataset getRegion(int[] start, int[] stop, double zoom) throws DatasetException {
+		return getRegion(selectLevel(zoom), start, stop);
+	}
+
+	/**
+	 * Read region from a level
+	 * @param level
+	 * @param start - start of region in full resolution pixels, may be null
+	 * @param stop - end of region (exclusive) in full resolution pixels, may be null
+	 * @return region at the resolution of the level, covering at least the region requested
+	 * @throws DatasetException
+	 */
+	public Dataset getRegion(int level, int[] start, int[] stop) throws DatasetException {
+		ILazyDataset data = levels.get(level);
+		int[] shape = data.getShape();
+		int rank = shape.length;
+		int[] lstart = new int[rank];
+		int[] lstop = shape.clone();
+		for (int i = 0; i < rank; i++) {
+			// only the last two dimensions are reduced
+			int factor = i < rank - 2 ? 1 : 1 << level;
+			if (start != null) lstart[i] = Math.min(start[i] / factor, shape[i]);
+			if (stop != null) lstop[i] = Math.min((stop[i] + factor - 1) / factor, shape[i]);
+		}
+		return DatasetUtils.convertToDataset(data.getSlice(lstart, lstop, null));
+	}
+}
@@ -0,0 +1,607 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoublePredicate;
+
+import org.eclipse.dawnsci.analysis.dataset.ParallelBlocks;
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.dataset.DTypeUtils;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.Slice;
+
+/**
+ * A query of the 1D columns of a {@link DataFrame}, which filters rows,
+ * selects columns and groups and aggregates rows. Nothing is read until
+ * the query is executed, then the columns are read a chunk of rows at a
+ * time, chunks being evaluated in parallel.
+ *
+ * The columns tested by conditions are read first and the other columns
+ * of a chunk are only read if some of its rows match. If the frame was
+ * read with {@link ChunkStatistics} chunks whose bounds cannot match a
+ * comparison are not read at all.
+ *
+ * Aggregates are calculated for each chunk and then merged, so only the
+ * values for quantiles are held in memory. The result is a new DataFrame.
+ *
+ * @author Matthew Gerring
+ *
+ */
+public class Query {
+
+	/**
+	 * Comparison of a column with a value.
+	 */
+	public enum Op {
+		LT, LE, GT, GE, EQ, NE;
+
+		boolean test(double v, double value) {
+			switch(this) {
+			case LT: return v <  value;
+			case LE: return v <= value;
+			case GT: return v >  value;
+			case GE: return v >= value;
+			case EQ: return v == value;
+			case NE: return v != value;
+			default: throw new IllegalArgumentException("Unknown op "+this);
+			}
+		}
+
+		/**
+		 * @return false if no value between min and max can match.
+		 */
+		boolean mayMatch(double min, double max, double value) {
+			if (Double.isNaN(min) || Double.isNaN(max)) return true; // Bounds not known
+			switch(this) {
+			case LT: return min <  value;
+			case LE: return min <= value;
+			case GT: return max >  value;
+			case GE: return max >= value;
+			case EQ: return min <= value && value <= max;
+			case NE: return !(min == value && max == value);
+			default: return true;
+			}
+		}
+	}
+
+	/**
+	 * An aggregate of a column within each group.
+	 * NaNs are ignored.
+	 */
+	public static final class Aggregate {
+
+		enum Function { SUM, MEAN, MIN, MAX, COUNT, QUANTILE }
+
+		private final Function function;
+		private final String   column;
+		private final double   q;
+		private final String   alias;
+
+		private Aggregate(Function function, String column, double q, String alias) {
+			this.function = function;
+			this.column   = column;
+			this.q        = q;
+			this.alias    = alias;
+		}
+
+		public static Aggregate sum(String column) {
+			return new Aggregate(Function.SUM, column, 0, null);
+		}
+
+		public static Aggregate mean(String column) {
+			return new Aggregate(Function.MEAN, column, 0, null);
+		}
+
+		public static Aggregate min(String column) {
+			return new Aggregate(Function.MIN, column, 0, null);
+		}
+
+		public static Aggregate max(String column) {
+			return new Aggregate(Function.MAX, column, 0, null);
+		}
+
+		/**
+		 * @return count of rows in each group.
+		 */
+		public static Aggregate count() {
+			return new Aggregate(Function.COUNT, null, 0, null);
+		}
+
+		/**
+		 * @param column
+		 * @return count of values in column which are not NaN.
+		 */
+		public static Aggregate count(String column) {
+			return new Aggregate(Function.COUNT, column, 0, null);
+		}
+
+		/**
+		 * Quantile by linear interpolation between the closest values.
+		 * @param column
+		 * @param q - between 0 and 1, 0.5 for the median.
+		 * @return aggregate
+		 */
+		public static Aggregate quantile(String column, double q) {
+			if (!(q>=0 && q<=1)) {
+				throw new IllegalArgumentException("The quantile must be between 0 and 1!");
+			}
+			return new Aggregate(Function.QUANTILE, column, q, null);
+		}
+
+		/**
+		 * @param name - name of the column of the result.
+		 * @return aggregate with that name.
+		 */
+		public Aggregate as(String name) {
+			return new Aggregate(function, column, q, name);
+		}
+
+		/**
+		 * @return name of the column of the result, for instance "mean(pressure)"
+		 */
+		public String getName() {
+			if (alias!=null) return alias;
+			String fname = function.name().toLowerCase();
+			if (column==null) return fname;
+			if (function==Function.QUANTILE) return fname+"("+column+", "+q+")";
+			return fname+"("+column+")";
+		}
+
+		String getColumn() {
+			return column;
+		}
+	}
+
+	private final DataFrame 			frame;
+	private final List<String> 			select;
+	private final List<Condition> 		conditions;
+	private final List<String> 			groupBy;
+	private final List<Aggregate> 		aggregates;
+	private int 						chunkRows;
+	private boolean 					parallel = true;
+
+	// Counts from the last execution
+	private final AtomicInteger			read    = new AtomicInteger();
+	private final AtomicInteger			skipped = new AtomicInteger();
+
+	Query(DataFrame frame) {
+		this.frame      = frame;
+		this.select     = new ArrayList<>();
+		this.conditions = new ArrayList<>();
+		this.groupBy    = new ArrayList<>();
+		this.aggregates = new ArrayList<>();
+	}
+
+	/**
+	 * The columns of the rows which match. If not called all columns are returned.
+	 * Not used when grouping or aggregating.
+	 * @param names
+	 * @return this query
+	 */
+	public Query select(String... names) {
+		select.addAll(Arrays.asList(names));
+		return this;
+	}
+
+	/**
+	 * Only rows whose value in the column compares with value match.
+	 * Conditions are combined with and.
+	 * @param column
+	 * @param op
+	 * @param value
+	 * @return this query
+	 */
+	public Query where(String column, Op op, double value) {
+		conditions.add(new Condition(column, op, value, null));
+		return this;
+	}
+
+	/**
+	 * Only rows whose value in the column passes the test match. Chunks are
+	 * never skipped for these conditions as their bounds cannot be used.
+	 * @param column
+	 * @param test
+	 * @return this query
+	 */
+	public Query where(String column, DoublePredicate test) {
+		conditions.add(new Condition(column, null, Double.NaN, test));
+		return this;
+	}
+
+	/**
+	 * Group rows by the distinct values of these columns. The result has a
+	 * row for each group, sorted by these columns, with them as its first columns.
+	 * @param names
+	 * @return this query
+	 */
+	public Query groupBy(String... names) {
+		groupBy.addAll(Arrays.asList(names));
+		return this;
+	}
+
+	/**
+	 * Aggregate each group, or all matching rows if not grouped.
+	 * @param aggs
+	 * @return this query
+	 */
+	public Query agg(Aggregate... aggs) {
+		aggregates.addAll(Arrays.asList(aggs));
+		return this;
+	}
+
+	/**
+	 * @param rows - rows read at a time, default is the rows of the statistics
+	 * of the frame, if any, otherwise ChunkStatistics.DEFAULT_ROWS.
+	 * Chunks are only skipped if this matches the statistics.
+	 * @return this query
+	 */
+	public Query chunkRows(int rows) {
+		if (rows<1) {
+			throw new IllegalArgumentException("There must be at least one row in a chunk!");
+		}
+		this.chunkRows = rows;
+		return this;
+	}
+
+	/**
+	 * @param parallel - false to evaluate chunks one after another on this thread.
+	 * @return this query
+	 */
+	public Query parallel(boolean parallel) {
+		this.parallel = parallel;
+		return this;
+	}
+
+	/**
+	 * @return number of chunks read by the last execution.
+	 */
+	public int getChunksRead() {
+		return read.get();
+	}
+
+	/**
+	 * @return number of chunks skipped using statistics by the last execution.
+	 */
+	public int getChunksSkipped() {
+		return skipped.get();
+	}
+
+	/**
+	 * Evaluate the query.
+	 * @return new frame of the matching rows or of the aggregates.
+	 * @throws DatasetException - if a column does not exist or cannot be read.
+	 * @throws IllegalArgumentException - if a column is not 1D.
+	 */
+	public DataFrame execute() throws DatasetException {
+
+		final boolean aggregating = !aggregates.isEmpty() || !groupBy.isEmpty();
+		final List<String> output = aggregating ? Collections.emptyList() : (select.isEmpty() ? frame.getColumnNames() : select);
+
+		// The columns tested are read first, then the others if any rows match.
+		Set<String> tested = new LinkedHashSet<>();
+		for (Condition c : conditions) tested.add(c.column);
+		Set<String> others = new LinkedHashSet<>(output);
+		others.addAll(groupBy);
+		for (Aggregate a : aggregates) if (a.getColumn()!=null) others.add(a.getColumn());
+		others.removeAll(tested);
+
+		Set<String> all = new LinkedHashSet<>(tested);
+		all.addAll(others);
+		if (all.isEmpty() && !frame.isEmpty()) all.add(frame.getColumnNames().get(0)); // For count() alone
+
+		final Map<String, ILazyDataset> columns = new HashMap<>();
+		int size = -1;
+		for (String name : all) {
+			ILazyDataset column = frame.get(name);
+			if (column.getRank()!=1) {
+				throw new IllegalArgumentException("Only 1D columns may be queried, '"+name+"' has shape "+Arrays.toString(column.getShape()));
+			}
+			size = column.getShape()[0];
+			columns.put(name, column);
+		}
+		if (size<0) size = 0;
+
+		ChunkStatistics stats = frame.getStatistics();
+		final int rows = chunkRows>0 ? chunkRows : (stats!=null ? stats.getRows() : ChunkStatistics.DEFAULT_ROWS);
+		final ChunkStatistics bounds = stats!=null && stats.getRows()==rows ? stats : null;
+		final int count = (int)((size+(long)rows-1)/rows);
+		final int total = size;
+
+		read.set(0);
+		skipped.set(0);
+
+		Chunk chunk = i -> evaluate(i, rows, total, columns, bounds, new ArrayList<>(tested), new ArrayList<>(others), output, aggregating);
+		Partial result;
+		if (count==0) {
+			result = new Partial();
+		} else if (parallel && count>1) {
+			result = ParallelBlocks.reduce(count, chunk::evaluate, Partial::merge, null);
+		} else {
+			result = chunk.evaluate(0);
+			for (int i = 1; i < count; i++) result = result.merge(chunk.evaluate(i));
+		}
+
+		return aggregating ? aggregated(result) : selected(result, output, columns);
+	}
+
+	private Partial evaluate(int c, int rows, int size, Map<String, ILazyDataset> columns, ChunkStatistics bounds,
+			                 List<String> tested, List<String> others, List<String> output, boolean aggregating) throws DatasetException {
+
+		Partial ret = new Partial();
+		if (bounds!=null) {
+			for (Condition cond : conditions) {
+				if (cond.op!=null && !cond.op.mayMatch(bounds.getMin(cond.column, c), bounds.getMax(cond.column, c), cond.value)) {
+					skipped.incrementAndGet();
+					return ret;
+				}
+			}
+		}
+		read.incrementAndGet();
+
+		final Slice slice = new Slice(c*rows, Math.min(size, (c+1)*rows));
+		final int n = slice.getNumSteps();
+		Map<String, Dataset> chunk = new HashMap<>();
+		for (String name : tested) {
+			chunk.put(name, DatasetUtils.convertToDataset(columns.get(name).getSlice(slice)));
+		}
+
+		// Rows matching every condition
+		int[] match = new int[n];
+		int   count = 0;
+		for (int i = 0; i < n; i++) {
+			boolean ok = true;
+			for (Condition cond : conditions) {
+				if (!cond.test(chunk.get(cond.column).getDouble(i))) {
+					ok = false;
+					break;
+				}
+			}
+			if (ok) match[count++] = i;
+		}
+		if (count==0) return ret;
+
+		for (String name : others) {
+			chunk.put(name, DatasetUtils.convertToDataset(columns.get(name).getSlice(slice)));
+		}
+		if (count<n) {
+			int[] indices = Arrays.copyOf(match, count);
+			for (Map.Entry<String, Dataset> e : chunk.entrySet()) {
+				e.setValue(DatasetUtils.take(e.getValue(), indices, 0));
+			}
+		}
+
+		if (!aggregating) {
+			ret.rows = new ArrayList<>();
+			Dataset[] sel = new Dataset[output.size()];
+			for (int i = 0; i < sel.length; i++) sel[i] = chunk.get(output.get(i));
+			ret.rows.add(sel);
+			return ret;
+		}
+
+		ret.groups = new HashMap<>();
+		Dataset[] keys = new Dataset[groupBy.size()];
+		for (int i = 0; i < keys.length; i++) keys[i] = chunk.get(groupBy.get(i));
+		Dataset[] values = new Dataset[aggregates.size()];
+		for (int i = 0; i < values.length; i++) {
+			String column = aggregates.get(i).getColumn();
+			values[i] = column!=null ? chunk.get(column) : null;
+		}
+
+		for (int r = 0; r < count; r++) {
+			List<Object> key = new ArrayList<>(keys.length);
+			for (Dataset k : keys) key.add(k.getObject(r));
+			Accumulator[] acc = ret.groups.get(key);
+			if (acc==null) {
+				acc = new Accumulator[aggregates.size()];
+				for (int i = 0; i < acc.length; i++) acc[i] = new Accumulator(aggregates.get(i).function==Aggregate.Function.QUANTILE);
+				ret.groups.put(key, acc);
+			}
+			for (int i = 0; i < acc.length; i++) {
+				acc[i].add(values[i]!=null ? values[i].getDouble(r) : 0);
+			}
+		}
+		return ret;
+	}
+
+	private DataFrame selected(Partial result, List<String> output, Map<String, ILazyDataset> columns) throws DatasetException {
+
+		List<Dataset> data = new ArrayList<>(output.size());
+		for (int i = 0; i < output.size(); i++) {
+			String name = output.get(i);
+			Dataset column;
+			if (result.rows==null || result.rows.isEmpty()) {
+				ILazyDataset lazy = columns.get(name);
+				column = DatasetFactory.zeros(lazy.getElementsPerItem(), DTypeUtils.getInterface(DTypeUtils.getDType(lazy)), 0);
+			} else if (result.rows.size()==1) {
+				column = result.rows.get(0)[i];
+			} else {
+				Dataset[] parts = new Dataset[result.rows.size()];
+				for (int j = 0; j < parts.length; j++) parts[j] = result.rows.get(j)[i];
+				column = DatasetUtils.concatenate(parts, 0);
+			}
+			column.setName(name);
+			data.add(column);
+		}
+		return new DataFrame(frame.getName(), frame.getDtype(), data);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private DataFrame aggregated(Partial result) throws DatasetException {
+
+		Map<List<Object>, Accumulator[]> groups = result.groups!=null ? result.groups : Collections.emptyMap();
+		if (groups.isEmpty() && groupBy.isEmpty()) { // One row of empty aggregates.
+			Accumulator[] acc = new Accumulator[aggregates.size()];
+			for (int i = 0; i < acc.length; i++) acc[i] = new Accumulator(false);
+			groups = Collections.singletonMap(Collections.emptyList(), acc);
+		}
+
+		List<List<Object>> keys = new ArrayList<>(groups.keySet());
+		keys.sort((a,b) -> {
+			for (int i = 0; i < a.size(); i++) {
+				int c = ((Comparable)a.get(i)).compareTo(b.get(i));
+				if (c!=0) return c;
+			}
+			return 0;
+		});
+
+		List<Dataset> data = new ArrayList<>(groupBy.size()+aggregates.size());
+		for (int i = 0; i < groupBy.size(); i++) {
+			List<Object> values = new ArrayList<>(keys.size());
+			for (List<Object> key : keys) values.add(key.get(i));
+			Dataset column = values.isEmpty()
+					       ? DatasetFactory.zeros(DTypeUtils.getInterface(DTypeUtils.getDType(frame.get(groupBy.get(i)))), 0)
+					       : DatasetFactory.createFromList(values);
+			column.setName(groupBy.get(i));
+			data.add(column);
+		}
+		for (int i = 0; i < aggregates.size(); i++) {
+			Aggregate agg = aggregates.get(i);
+			double[] values = new double[keys.size()];
+			for (int k = 0; k < values.length; k++) {
+				values[k] = groups.get(keys.get(k))[i].result(agg);
+			}
+			Dataset column = DatasetFactory.createFromObject(DoubleDataset.class, values);
+			column.setName(agg.getName());
+			data.add(column);
+		}
+		if (data.isEmpty()) {
+			throw new IllegalArgumentException("There is nothing to aggregate!");
+		}
+		return new DataFrame(frame.getName(), Dataset.FLOAT64, data);
+	}
+
+	private static final class Condition {
+		final String 			column;
+		final Op				op;
+		final double 			value;
+		final DoublePredicate 	test;
+
+		Condition(String column, Op op, double value, DoublePredicate test) {
+			this.column = column;
+			this.op     = op;
+			this.value  = value;
+			this.test   = test;
+		}
+
+		boolean test(double v) {
+			return op!=null ? op.test(v, value) : test.test(v);
+		}
+	}
+
+	/**
+	 * The sum, count and bounds of values and the values themselves for quantiles.
+	 */
+	private static final class Accumulator {
+		double   sum;
+		long     count;
+		double   min = Double.POSITIVE_INFINITY;
+		double   max = Double.NEGATIVE_INFINITY;
+		double[] values;
+
+		Accumulator(boolean keep) {
+			if (keep) values = new double[16];
+		}
+
+		void add(double v) {
+			if (Double.isNaN(v)) return;
+			if (values!=null) {
+				if (count==values.length) values = Arrays.copyOf(values, values.length*2);
+				values[(int)count] = v;
+			}
+			sum += v;
+			count++;
+			if (v<min) min = v;
+			if (v>max) max = v;
+		}
+
+		void merge(Accumulator o) {
+			if (values!=null) {
+				if (count+o.count>values.length) values = Arrays.copyOf(values, (int)Math.max(values.length*2, count+o.count));
+				System.arraycopy(o.values, 0, values, (int)count, (int)o.count);
+			}
+			sum   += o.sum;
+			count += o.count;
+			min    = Math.min(min, o.min);
+			max    = Math.max(max, o.max);
+		}
+
+		double result(Aggregate agg) {
+			switch(agg.function) {
+			case COUNT: return count;
+			case SUM:   return sum;
+			case MEAN:  return count>0 ? sum/count : Double.NaN;
+			case MIN:   return count>0 ? min : Double.NaN;
+			case MAX:   return count>0 ? max : Double.NaN;
+			case QUANTILE:
+				if (count==0) return Double.NaN;
+				double[] sorted = Arrays.copyOf(values, (int)count);
+				Arrays.sort(sorted);
+				double pos = agg.q*(count-1);
+				int    lo  = (int)Math.floor(pos);
+				int    hi  = Math.min(lo+1, (int)count-1);
+				return sorted[lo] + (pos-lo)*(sorted[hi]-sorted[lo]);
+			default:
+				throw new IllegalArgumentException("Unknown aggregate "+agg.function);
+			}
+		}
+	}
+
+	/**
+	 * Result of one or more adjacent chunks.
+	 */
+	private static final class Partial {
+		List<Dataset[]> 					rows;   // selected columns of matching rows, in chunk order
+		Map<List<Object>, Accumulator[]> 	groups; // aggregates of each group
+
+		/**
+		 * @param o - partial of the chunks after these.
+		 * @return merged partial
+		 */
+		Partial merge(Partial o) {
+			if (rows==null) {
+				rows = o.rows;
+			} else if (o.rows!=null) {
+				rows.addAll(o.rows);
+			}
+			if (groups==null) {
+				groups = o.groups;
+			} else if (o.groups!=null) {
+				for (Map.Entry<List<Object>, Accumulator[]> e : o.groups.entrySet()) {
+					Accumulator[] acc = groups.get(e.getKey());
+					if (acc==null) {
+						groups.put(e.getKey(), e.getValue());
+					} else {
+						for (int i = 0; i < acc.length; i++) acc[i].merge(e.getValue()[i]);
+					}
+				}
+			}
+			return this;
+		}
+	}
+
+	@FunctionalInterface
+	private interface Chunk {
+		Partial evaluate(int index) throws DatasetException;
+	}
+}
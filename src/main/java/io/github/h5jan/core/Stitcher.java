@@ -1,7 +1,7 @@
 /*-
  *******************************************************************************
  * Copyright (c) 2019 Halliburton International, Inc.
- * 
+ *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,19 +10,41 @@
  *******************************************************************************/
 package io.github.h5jan.core;
 
-import java.util.Iterator;
+import java.util.Arrays;
 
+import org.eclipse.dawnsci.analysis.dataset.ParallelBlocks;
 import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.CompoundDoubleDataset;
 import org.eclipse.january.dataset.DTypeUtils;
 import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
 import org.eclipse.january.dataset.IDataset;
 import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
 import org.eclipse.january.dataset.IndexIterator;
-import org.eclipse.january.dataset.SliceIterator;
+import org.eclipse.january.dataset.LazyWriteableDataset;
+import org.eclipse.january.dataset.Maths;
+import org.eclipse.january.dataset.ShapeUtils;
+import org.eclipse.january.dataset.SliceND;
+
+import io.github.h5jan.io.h5.NxsFile;
 
 /**
  * Stitches tiles.
+ *
+ * The stitched image is built in blocks which each cover one step of the
+ * tile grid (the tile shape less any overlap). Blocks are built in parallel
+ * reading only the parts of tiles that they need, so the stitched image can
+ * be written straight to a lazy writeable dataset chunked by block without
+ * being held in memory.
+ *
+ * Where tiles overlap, later tiles are pasted over earlier ones unless
+ * blending is set in which case each tile is feathered linearly across
+ * the overlap.
+ *
  * @author Matthew Gerring
  *
  */
@@ -30,6 +52,19 @@ class Stitcher {
 
 	private final LazyDatasetList 	data;
 	private final int[] 			reps;
+	private int[]					overlap;
+	private boolean					blend;
+
+	// Set up by prepare()
+	private int[] 					tileShape;
+	private int   					tileRank;
+	private int[] 					gridReps;
+	private int[] 					gridOverlap;
+	private int[] 					step;
+	private int[] 					stitchedShape;
+	private int[] 					blocks;
+	private int   					elementsPerItem;
+	private int   					dtype;
 
 	/**
 	 * Stitch datasets into an image.
@@ -38,25 +73,125 @@ class Stitcher {
 	 */
 	public Stitcher(LazyDatasetList data, int[] reps) {
 		int size = 1;
-		for (int i = 0; i < reps.length; i++) size*=reps[i];
+		for (int i = 0; i < reps.length; i++) {
+			if (reps[i]<0) throw new IllegalArgumentException("The tile repetitions must not be negative!");
+			size*=reps[i];
+		}
 		if (data.size()<size) throw new IllegalArgumentException("The tiled size for that shape is "+size+" however we have "+data.size()+" datasets.");
 		this.data = data;
 		this.reps = reps;
 	}
-	
+
+	/**
+	 * Set the number of pixels by which neighbouring tiles overlap.
+	 * The overlap is aligned to the last dimensions in the same way as the repetitions.
+	 * @param overlap
+	 */
+	public void setOverlap(int... overlap) {
+		this.overlap = overlap;
+	}
+
+	/**
+	 * Set to blend tiles across their overlap rather than pasting them over each other.
+	 * @param blend
+	 */
+	public void setBlend(boolean blend) {
+		this.blend = blend;
+	}
+
+	/**
+	 * Stitch the tiles in memory
+	 * @return stitched image
+	 * @throws DatasetException
+	 */
 	public Dataset stitch() throws DatasetException {
-		
-		IDataset template = data.get(0).getSlice();
-		int[] tileShape = template.getShape();
-		int elementsPerItem = template.getElementsPerItem();
-		int dtype = DTypeUtils.getDType(template);
-		return stitch(tileShape, elementsPerItem, this.reps, dtype);
-	}
-	
-	private Dataset stitch(int[] shape, int elementsPerItem, int[] reps, int dtype) throws DatasetException {
-		
+
+		prepare();
+
+		@SuppressWarnings("deprecation")
+		Dataset tdata = DatasetFactory.zeros(elementsPerItem, stitchedShape, dtype);
+		tdata.setName("stitched_"+data.getName());
+
+		build((block, slice) -> tdata.setSlice(block, slice.getStart(), slice.getStop(), null), new IMonitor.Stub());
+		return tdata;
+	}
+
+	/**
+	 * Stitch the tiles into a HDF5 file which is created at filePath.
+	 *
+	 * @param filePath - path to file
+	 * @param h5Path - path to group in file
+	 * @param compression - NexusFile.COMPRESSION_NONE or NexusFile.COMPRESSION_LZW_L1
+	 * @param monitor
+	 * @return shape of stitched dataset
+	 * @throws Exception
+	 */
+	public int[] stitch(String filePath, String h5Path, int compression, IMonitor monitor) throws Exception {
+
+		prepare();
+
+		ILazyWriteableDataset output = new LazyWriteableDataset("stitched_"+data.getName(), dtype, elementsPerItem, stitchedShape, stitchedShape, getChunking(), null);
+		try (NxsFile file = NxsFile.create(filePath)) {
+			file.createData(h5Path, output, compression, true);
+			stitch(output, monitor);
+		}
+		return stitchedShape;
+	}
+
+	/**
+	 * Stitch the tiles into a lazy writeable dataset. This should be declared with
+	 * the stitched shape and, for best performance, chunked as getChunking().
+	 *
+	 * @param output
+	 * @param monitor
+	 * @throws DatasetException
+	 */
+	public void stitch(ILazyWriteableDataset output, IMonitor monitor) throws DatasetException {
+
+		prepare();
+		if (!Arrays.equals(stitchedShape, output.getShape())) {
+			throw new IllegalArgumentException("The output shape must be "+Arrays.toString(stitchedShape));
+		}
+		build((block, slice) -> output.setSliceSync(monitor, block, slice), monitor);
+	}
+
+	/**
+	 * @return shape of stitched image
+	 * @throws DatasetException
+	 */
+	public int[] getShape() throws DatasetException {
+		prepare();
+		return stitchedShape.clone();
+	}
+
+	/**
+	 * @return chunk shape which aligns with the tile grid
+	 * @throws DatasetException
+	 */
+	public int[] getChunking() throws DatasetException {
+		prepare();
+		int[] chunks = new int[step.length];
+		for (int i = 0; i < chunks.length; i++) {
+			chunks[i] = Math.max(1, Math.min(step[i], stitchedShape[i]));
+		}
+		return chunks;
+	}
+
+	private void prepare() throws DatasetException {
+
+		// Loaders may only know the type of the tiles once read so read a single item
+		ILazyDataset first = data.get(0);
+		int[] shape = first.getShape();
+		tileRank = shape.length;
+		int[] one = new int[tileRank];
+		Arrays.fill(one, 1);
+		IDataset template = ShapeUtils.calcSize(shape) > 0 ? first.getSlice(null, one, null) : first.getSlice();
+		elementsPerItem = template.getElementsPerItem();
+		dtype = DTypeUtils.getDType(template);
+
 		int rank = shape.length;
 		final int rlen = reps.length;
+		gridReps = reps;
 
 		// expand shape
 		if (rank < rlen) {
@@ -80,32 +215,189 @@ class Stitcher {
 			for (int i = 0; i < rlen; i++) {
 				newReps[i+extraRank] = reps[i];
 			}
-			reps = newReps;
+			gridReps = newReps;
+		}
+		tileShape = shape;
+
+		// overlap is aligned to the end like the repetitions
+		gridOverlap = new int[rank];
+		if (overlap != null) {
+			if (overlap.length > rank) throw new IllegalArgumentException("The overlap must not have more dimensions than the tiles!");
+			for (int i = 0; i < overlap.length; i++) {
+				int o = overlap[i];
+				int j = i + rank - overlap.length;
+				if (o < 0 || (o > 0 && o >= shape[j])) throw new IllegalArgumentException("The overlap must be non-negative and less than the tile size!");
+				gridOverlap[j] = o;
+			}
 		}
 
 		// calculate new shape
-		int[] newShape = new int[rank];
+		step = new int[rank];
+		stitchedShape = new int[rank];
+		blocks = new int[rank];
 		for (int i = 0; i < rank; i++) {
-			newShape[i] = shape[i]*reps[i];
+			step[i] = shape[i] - gridOverlap[i];
+			stitchedShape[i] = gridReps[i] == 0 ? 0 : step[i]*gridReps[i] + gridOverlap[i];
+			blocks[i] = stitchedShape[i] == 0 ? 0 : (gridOverlap[i] > 0 ? gridReps[i] + 1 : gridReps[i]);
 		}
+	}
 
-		@SuppressWarnings("deprecation")
-		Dataset tdata = DatasetFactory.zeros(elementsPerItem, newShape, dtype);
-		tdata.setName("stitched_"+data.getName());
+	@FunctionalInterface
+	private interface BlockWriter {
+		void write(Dataset block, SliceND slice) throws DatasetException;
+	}
+
+	private void build(BlockWriter writer, IMonitor monitor) throws DatasetException {
+		ParallelBlocks.run(ShapeUtils.calcSize(blocks), b -> {
+			int[] pos = ShapeUtils.getNDPositionFromShape(b, blocks);
+			int[] bstart = new int[pos.length];
+			int[] bstop = new int[pos.length];
+			for (int i = 0; i < pos.length; i++) {
+				bstart[i] = pos[i]*step[i];
+				bstop[i] = Math.min(bstart[i] + step[i], stitchedShape[i]);
+			}
+			Dataset block = buildBlock(bstart, bstop);
+			writer.write(block, new SliceND(stitchedShape, bstart, bstop, null));
+		}, monitor);
+	}
+
+	/**
+	 * Build part of the stitched image from the tiles which overlap it.
+	 * @param bstart
+	 * @param bstop
+	 * @return block
+	 * @throws DatasetException
+	 */
+	private Dataset buildBlock(int[] bstart, int[] bstop) throws DatasetException {
+
+		final int rank = bstart.length;
+		int[] bshape = new int[rank];
 
-		Iterator<ILazyDataset> tiles = data.iterator();
-		
-		// generate each start point and put a slice in
-		IndexIterator iter = tdata.getSliceIterator(null, null, shape);
-		SliceIterator siter = (SliceIterator) tdata.getSliceIterator(null, shape, null);
-		final int[] pos = iter.getPos();
-		while (iter.hasNext()) {
-			siter.setStart(pos);
-			IDataset tile = tiles.next().getSlice();
-			tdata.setSlice(tile, siter);
+		// range of tiles which overlap block in each dimension
+		int[] tfirst = new int[rank];
+		int[] tcount = new int[rank];
+		for (int i = 0; i < rank; i++) {
+			bshape[i] = bstop[i] - bstart[i];
+			int first = Math.max(0, Math.floorDiv(bstart[i] - tileShape[i], step[i]) + 1);
+			int last = Math.min(gridReps[i] - 1, (bstop[i] - 1) / step[i]);
+			tfirst[i] = first;
+			tcount[i] = last - first + 1;
 		}
 
-		return tdata;
+		Dataset block = null;
+		int[] tstart = new int[rank];
+		int[] tstop = new int[rank];
+		int[] ostart = new int[rank];
+		int[] ostop = new int[rank];
+		int[] tpos = new int[rank];
+		for (int n = 0, nmax = ShapeUtils.calcSize(tcount); n < nmax; n++) {
+			int[] tp = ShapeUtils.getNDPositionFromShape(n, tcount);
+			for (int i = 0; i < rank; i++) {
+				tpos[i] = tfirst[i] + tp[i];
+				int origin = tpos[i]*step[i];
+				int from = Math.max(origin, bstart[i]);
+				int to = Math.min(origin + tileShape[i], bstop[i]);
+				tstart[i] = from - origin;
+				tstop[i] = to - origin;
+				ostart[i] = from - bstart[i];
+				ostop[i] = to - bstart[i];
+			}
+			int index = ShapeUtils.getFlat1DIndex(gridReps, tpos);
+			Dataset part = readTile(index, tstart, tstop);
+
+			if (nmax == 1 && !blend) { // block is a single tile
+				block = part;
+				break;
+			}
+			if (block == null) {
+				block = blend ? createBlendBuffer(bshape) : createBlock(bshape);
+			}
+			Dataset view = block.getSliceView(ostart, ostop, null);
+			if (blend) {
+				Dataset weighted = elementsPerItem > 1 ? DatasetUtils.cast(CompoundDoubleDataset.class, part) : DatasetUtils.cast(DoubleDataset.class, part);
+				weighted.imultiply(getWeights(tpos, tstart, tstop));
+				view.iadd(weighted);
+			} else {
+				view.setSlice(part);
+			}
+		}
+
+		if (blend && block != null) {
+			if (!DTypeUtils.isDTypeFloating(dtype)) {
+				block = Maths.rint(block);
+			}
+			block = DatasetUtils.cast(DTypeUtils.getInterface(dtype), block);
+		}
+		return block;
+	}
+
+	private Dataset readTile(int index, int[] tstart, int[] tstop) throws DatasetException {
+		final int extra = tstart.length - tileRank;
+		int[] start = new int[tileRank];
+		int[] stop = new int[tileRank];
+		int[] shape = new int[tstart.length];
+		for (int i = 0; i < tstart.length; i++) {
+			shape[i] = tstop[i] - tstart[i];
+			if (i >= extra) {
+				start[i - extra] = tstart[i];
+				stop[i - extra] = tstop[i];
+			}
+		}
+		ILazyDataset tile = data.get(index);
+		IDataset slice = tile.getSlice(start, stop, null);
+		return DatasetUtils.convertToDataset(slice).reshape(shape);
 	}
 
+	@SuppressWarnings("deprecation")
+	private Dataset createBlock(int[] shape) {
+		return DatasetFactory.zeros(elementsPerItem, shape, dtype);
+	}
+
+	private Dataset createBlendBuffer(int[] shape) {
+		return elementsPerItem > 1 ? DatasetFactory.zeros(elementsPerItem, CompoundDoubleDataset.class, shape)
+				: DatasetFactory.zeros(DoubleDataset.class, shape);
+	}
+
+	/**
+	 * Weights ramp linearly across each overlap so that the weights
+	 * of neighbouring tiles add up to one.
+	 * @param tpos - position of tile in grid
+	 * @param tstart - start of region in tile
+	 * @param tstop - stop of region in tile
+	 * @return weights for region
+	 */
+	private Dataset getWeights(int[] tpos, int[] tstart, int[] tstop) {
+		final int rank = tpos.length;
+		double[][] ramps = new double[rank][];
+		int[] shape = new int[rank];
+		for (int i = 0; i < rank; i++) {
+			shape[i] = tstop[i] - tstart[i];
+			ramps[i] = new double[shape[i]];
+			final int o = gridOverlap[i];
+			final int t = tileShape[i];
+			for (int j = 0; j < shape[i]; j++) {
+				int x = tstart[i] + j;
+				double w = 1;
+				if (o > 0 && tpos[i] > 0 && x < o) {
+					w = (x + 0.5) / o;
+				} else if (o > 0 && tpos[i] < gridReps[i] - 1 && x >= t - o) {
+					w = (t - x - 0.5) / o;
+				}
+				ramps[i][j] = w;
+			}
+		}
+
+		DoubleDataset weights = DatasetFactory.zeros(DoubleDataset.class, shape);
+		IndexIterator it = weights.getIterator(true);
+		int[] pos = it.getPos();
+		double[] buffer = weights.getData();
+		while (it.hasNext()) {
+			double w = 1;
+			for (int i = 0; i < rank; i++) {
+				w *= ramps[i][pos[i]];
+			}
+			buffer[it.index] = w;
+		}
+		return weights;
+	}
 }
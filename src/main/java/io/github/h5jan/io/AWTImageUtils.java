@@ -11,15 +11,18 @@ package io.github.h5jan.io;
 
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
+import java.awt.image.ComponentSampleModel;
 import java.awt.image.DataBuffer;
 import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferDouble;
 import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferShort;
 import java.awt.image.DataBufferUShort;
-import java.awt.image.PixelInterleavedSampleModel;
 import java.awt.image.Raster;
 import java.awt.image.SampleModel;
 import java.awt.image.SinglePixelPackedSampleModel;
 import java.awt.image.WritableRaster;
+import java.lang.reflect.Array;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -36,6 +39,7 @@ import org.eclipse.january.dataset.DoubleDataset;
 import org.eclipse.january.dataset.FloatDataset;
 import org.eclipse.january.dataset.IndexIterator;
 import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.InterfaceUtils;
 import org.eclipse.january.dataset.RGBDataset;
 import org.eclipse.january.dataset.ShortDataset;
 import org.eclipse.january.metadata.IMetadata;
@@ -55,6 +59,25 @@ public class AWTImageUtils {
 	 * @param clazz dataset interface
 	 */
 	public static void createDatasets(Raster r, Dataset[] data, Class <? extends Dataset> clazz) {
+		createDatasets(r, data, clazz, null);
+	}
+
+	/**
+	 * Create datasets from a Raster
+	 * <p>
+	 * Samples are copied straight from the raster's data buffer (in one pass per band) for
+	 * component and single pixel packed sample models with byte, short, int, float or double
+	 * data buffers
+	 * @param r raster
+	 * @param data array to output datasets
+	 * @param clazz dataset interface
+	 * @param pool buffer pool used for datasets (can be null)
+	 */
+	public static void createDatasets(Raster r, Dataset[] data, Class <? extends Dataset> clazz, ImageBufferPool pool) {
+		if (copyFromDataBuffer(r, data, clazz, pool)) {
+			return;
+		}
+
 		final int bands = data.length;
 		final int height = r.getHeight();
 		final int width = r.getWidth();
@@ -74,6 +97,166 @@ public class AWTImageUtils {
 		}
 	}
 
+	/**
+	 * Copy samples from data buffer of raster
+	 * @param r
+	 * @param data
+	 * @param clazz
+	 * @param pool
+	 * @return false if the sample model or data buffer is not supported
+	 */
+	private static boolean copyFromDataBuffer(Raster r, Dataset[] data, Class <? extends Dataset> clazz, ImageBufferPool pool) {
+		final SampleModel sm = r.getSampleModel();
+		final DataBuffer db = r.getDataBuffer();
+		final int bands = data.length;
+		final int height = r.getHeight();
+		final int width = r.getWidth();
+		final int x0 = r.getMinX() - r.getSampleModelTranslateX();
+		final int y0 = r.getMinY() - r.getSampleModelTranslateY();
+
+		final int pixelStride;
+		final int scanStride;
+		final int[] banks = new int[bands];
+		final int[] offsets = new int[bands];
+		final int[] masks = new int[bands];
+		final int[] shifts = new int[bands];
+		if (sm instanceof ComponentSampleModel) {
+			ComponentSampleModel csm = (ComponentSampleModel) sm;
+			pixelStride = csm.getPixelStride();
+			scanStride = csm.getScanlineStride();
+			int[] bandOffsets = csm.getBandOffsets();
+			int[] bankIndices = csm.getBankIndices();
+			for (int b = 0; b < bands; b++) {
+				banks[b] = bankIndices[b];
+				offsets[b] = db.getOffsets()[banks[b]] + y0 * scanStride + x0 * pixelStride + bandOffsets[b];
+				masks[b] = -1;
+			}
+		} else if (sm instanceof SinglePixelPackedSampleModel && db instanceof DataBufferInt) {
+			SinglePixelPackedSampleModel ssm = (SinglePixelPackedSampleModel) sm;
+			pixelStride = 1;
+			scanStride = ssm.getScanlineStride();
+			int[] bitMasks = ssm.getBitMasks();
+			int[] bitOffsets = ssm.getBitOffsets();
+			for (int b = 0; b < bands; b++) {
+				offsets[b] = db.getOffset() + y0 * scanStride + x0;
+				masks[b] = bitMasks[b];
+				shifts[b] = bitOffsets[b];
+			}
+		} else {
+			return false;
+		}
+
+		final Class<?> elementType = getPrimitiveType(clazz);
+		final boolean isIntegerDataset = elementType == byte.class || elementType == short.class || elementType == int.class;
+		final boolean unsigned;
+		final Object[] sources = new Object[bands];
+		for (int b = 0; b < bands; b++) {
+			if (db instanceof DataBufferByte) {
+				sources[b] = ((DataBufferByte) db).getData(banks[b]);
+			} else if (db instanceof DataBufferUShort) {
+				sources[b] = ((DataBufferUShort) db).getData(banks[b]);
+			} else if (db instanceof DataBufferShort) {
+				sources[b] = ((DataBufferShort) db).getData(banks[b]);
+			} else if (db instanceof DataBufferInt) {
+				sources[b] = ((DataBufferInt) db).getData(banks[b]);
+			} else if (db instanceof java.awt.image.DataBufferFloat) {
+				sources[b] = ((java.awt.image.DataBufferFloat) db).getData(banks[b]);
+			} else if (db instanceof DataBufferDouble) {
+				sources[b] = ((DataBufferDouble) db).getData(banks[b]);
+			} else {
+				return false;
+			}
+		}
+		Class<?> sourceType = sources[0].getClass().getComponentType();
+		if (sourceType == float.class || sourceType == double.class ? sourceType != elementType : !isIntegerDataset) {
+			return false;
+		}
+		unsigned = db instanceof DataBufferUShort;
+
+		final int size = width * height;
+		for (int b = 0; b < bands; b++) {
+			Object target = pool == null ? Array.newInstance(elementType, size) : pool.acquire(elementType, size);
+			if (isIntegerDataset) {
+				copyIntegerBand(sources[b], unsigned, offsets[b], pixelStride, scanStride, masks[b], shifts[b], width, height, target);
+			} else {
+				int o = offsets[b];
+				for (int y = 0, i = 0; y < height; y++, o += scanStride) {
+					for (int x = 0, j = o; x < width; x++, j += pixelStride) {
+						if (elementType == float.class) {
+							((float[]) target)[i++] = ((float[]) sources[b])[j];
+						} else {
+							((double[]) target)[i++] = ((double[]) sources[b])[j];
+						}
+					}
+				}
+			}
+			data[b] = DatasetFactory.createFromObject(target, height, width);
+		}
+		return true;
+	}
+
+	/**
+	 * Copy band a row at a time through an int buffer
+	 */
+	private static void copyIntegerBand(Object source, boolean unsigned, int offset, int pixelStride, int scanStride,
+			int mask, int shift, int width, int height, Object target) {
+		final int[] row = target instanceof int[] ? null : new int[width];
+		for (int y = 0, o = offset; y < height; y++, o += scanStride) {
+			final int[] out = row == null ? (int[]) target : row;
+			final int s = row == null ? y * width : 0;
+			if (source instanceof byte[]) {
+				final byte[] in = (byte[]) source;
+				for (int x = 0, j = o; x < width; x++, j += pixelStride) {
+					out[s + x] = in[j] & 0xff;
+				}
+			} else if (source instanceof short[]) {
+				final short[] in = (short[]) source;
+				if (unsigned) {
+					for (int x = 0, j = o; x < width; x++, j += pixelStride) {
+						out[s + x] = in[j] & 0xffff;
+					}
+				} else {
+					for (int x = 0, j = o; x < width; x++, j += pixelStride) {
+						out[s + x] = in[j];
+					}
+				}
+			} else {
+				final int[] in = (int[]) source;
+				for (int x = 0, j = o; x < width; x++, j += pixelStride) {
+					out[s + x] = (in[j] & mask) >>> shift;
+				}
+			}
+
+			if (target instanceof byte[]) {
+				final byte[] t = (byte[]) target;
+				for (int x = 0, i = y * width; x < width; x++) {
+					t[i++] = (byte) row[x];
+				}
+			} else if (target instanceof short[]) {
+				final short[] t = (short[]) target;
+				for (int x = 0, i = y * width; x < width; x++) {
+					t[i++] = (short) row[x];
+				}
+			}
+		}
+	}
+
+	private static Class<?> getPrimitiveType(Class<? extends Dataset> clazz) {
+		Class<?> c = InterfaceUtils.getElementClass(clazz);
+		if (Byte.class.equals(c)) {
+			return byte.class;
+		} else if (Short.class.equals(c)) {
+			return short.class;
+		} else if (Integer.class.equals(c)) {
+			return int.class;
+		} else if (Float.class.equals(c)) {
+			return float.class;
+		} else if (Double.class.equals(c)) {
+			return double.class;
+		}
+		return null;
+	}
+
 	/**
 	 * Get datasets from an image
 	 * @param image
@@ -81,8 +264,19 @@ public class AWTImageUtils {
 	 * @return array of datasets
 	 */
 	static public Dataset[] makeDatasets(final BufferedImage image, boolean keepBitWidth) {
-		// make raster from buffered image
-		final Raster ras = image.getData();
+		return makeDatasets(image, keepBitWidth, null);
+	}
+
+	/**
+	 * Get datasets from an image
+	 * @param image
+	 * @param keepBitWidth if true, then use signed primitives of same bit width for possibly unsigned data
+	 * @param pool buffer pool used for datasets (can be null)
+	 * @return array of datasets
+	 */
+	static public Dataset[] makeDatasets(final BufferedImage image, boolean keepBitWidth, ImageBufferPool pool) {
+		// use raster of buffered image directly as it is only read
+		final Raster ras = image.getRaster();
 		final SampleModel sm = ras.getSampleModel();
 		int dbType = reduceDataBufferType(sm);
 		Class<? extends Dataset> clazz = getInterfaceFromDataBufferType(dbType, keepBitWidth);
@@ -90,7 +284,7 @@ public class AWTImageUtils {
 		final int bands = ras.getNumBands();
 		Dataset[] data = new Dataset[bands];
 
-		createDatasets(ras, data, clazz);
+		createDatasets(ras, data, clazz, pool);
 
 		if (dbType == DataBuffer.TYPE_USHORT && !keepBitWidth) {
 			for (int i = 0; i < bands; i++) {
@@ -175,6 +369,17 @@ public class AWTImageUtils {
 	 * @return buffered image
 	 */
 	static public BufferedImage makeBufferedImage(final Dataset data, final int bits) {
+		return makeBufferedImage(data, bits, null);
+	}
+
+	/**
+	 * Get image from a dataset in a single pass
+	 * @param data
+	 * @param bits number of bits (<=16 for non-RGB datasets)
+	 * @param range if not null, used to return the minimum and maximum values of the data
+	 * @return buffered image
+	 */
+	static public BufferedImage makeBufferedImage(final Dataset data, final int bits, final double[] range) {
 		final int[] shape = data.getShape();
 		if (shape.length > 2) {
 			throw new IllegalArgumentException("Rank of data must be less than or equal to two");
@@ -192,6 +397,10 @@ public class AWTImageUtils {
 			image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
 
 			short maxv = rgbds.max().shortValue();
+			if (range != null) {
+				range[0] = rgbds.min().doubleValue();
+				range[1] = maxv;
+			}
 			final IndexIterator iter = rgbds.getIterator(true);
 			final int[] pos = iter.getPos();
 			final short[] rgbdata = rgbds.getData();
@@ -215,33 +424,37 @@ public class AWTImageUtils {
 				}			
 			}
 		} else {
-			DataBuffer buffer = null;
-			SampleModel sampleModel = null;
-			// reconcile data with output format
-
-			// populate data buffer using sample model
-			IntegerDataset tmp = DatasetUtils.cast(IntegerDataset.class, data);
-
-			if (bits <= 8) {
-				buffer = new DataBufferByte(size);
-				sampleModel = new PixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, width, height, 1, width,
-						new int[] { 0 });
-				image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
-
-				sampleModel.setPixels(0, 0, width, height, tmp.getData(), buffer);
-			} else if (bits <= 16) {
-				buffer = new DataBufferUShort(size);
-				sampleModel = new PixelInterleavedSampleModel(DataBuffer.TYPE_USHORT, width, height, 1,
-						width, new int[] { 0 });
-				image = new BufferedImage(width, height, BufferedImage.TYPE_USHORT_GRAY);
-
-				sampleModel.setPixels(0, 0, width, height, tmp.getData(), buffer);
-			} else {
+			// write straight into image's buffer, noting range whilst converting
+			if (bits > 16) {
 				throw new IllegalArgumentException("Number of bits must be less than or equal to 16");
 			}
-
-			WritableRaster wRas = Raster.createWritableRaster(sampleModel, buffer, null);
-			image.setData(wRas);
+			image = new BufferedImage(width, height, bits <= 8 ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_USHORT_GRAY);
+			final DataBuffer buffer = image.getRaster().getDataBuffer();
+			final byte[] bdata = bits <= 8 ? ((DataBufferByte) buffer).getData() : null;
+			final short[] sdata = bits <= 8 ? null : ((DataBufferUShort) buffer).getData();
+
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			final IndexIterator iter = data.getIterator();
+			int i = 0;
+			while (iter.hasNext()) {
+				final double v = data.getElementDoubleAbs(iter.index);
+				if (v < min) {
+					min = v;
+				}
+				if (v > max) {
+					max = v;
+				}
+				if (bdata != null) {
+					bdata[i++] = (byte) (int) v;
+				} else {
+					sdata[i++] = (short) (int) v;
+				}
+			}
+			if (range != null) {
+				range[0] = min;
+				range[1] = max;
+			}
 		}
 
 		return image;
@@ -139,7 +139,60 @@ public interface Configuration extends Map<String, Object> {
 	public default boolean getAsUnsigned() {
 		return (Boolean)get("asUnsigned");
 	}
-	
+
+	/**
+	 * Set number of threads used to convert and encode images when saving
+	 * more than one. Images are still written in order.
+	 * @param threads - number of threads, 1 to save sequentially
+	 * @return previous value or null
+	 */
+	public default Integer setThreads(int threads) {
+		return (Integer)put("threads", threads);
+	}
+
+	/**
+	 * @return number of threads used to save images, default is 1
+	 */
+	public default int getThreads() {
+		Object threads = get("threads");
+		return threads == null ? 1 : Math.max(1, ((Number)threads).intValue());
+	}
+
+	/**
+	 * Set to save all images as pages of a single file when the format
+	 * supports it (e.g. TIFF)
+	 * @param multiPage
+	 * @return previous value or null
+	 */
+	public default Boolean setMultiPage(boolean multiPage) {
+		return (Boolean)put("multiPage", multiPage);
+	}
+
+	/**
+	 * @return true if all images are to be saved as pages of a single file
+	 */
+	public default boolean isMultiPage() {
+		return Boolean.TRUE.equals(get("multiPage"));
+	}
+
+	/**
+	 * Set the maximum number of uncompressed bytes of archive entries
+	 * being inflated and loaded at once.
+	 * @param bytes
+	 * @return previous value or null
+	 */
+	public default Long setInflateBudget(long bytes) {
+		return (Long)put("inflateBudget", bytes);
+	}
+
+	/**
+	 * @return maximum bytes of archive entries loaded at once, default is 64MB
+	 */
+	public default long getInflateBudget() {
+		Object budget = get("inflateBudget");
+		return budget == null ? 64L*1024*1024 : ((Number)budget).longValue();
+	}
+
 	public default void align(File file) {
 		align(file, false);
 	}
@@ -16,20 +16,27 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.imageio.ImageIO;
 
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.january.DatasetException;
+import org.eclipse.dawnsci.nexus.NexusException;
 import org.eclipse.january.IMonitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.github.h5jan.core.DataFrame;
+import io.github.h5jan.io.h5.NxsFile;
+import io.github.h5jan.metrics.LoadEvent;
 
 /**
  * Used to read formats other than HDF5
@@ -112,6 +119,67 @@ public class DataFrameReader {
 		}
 	}
 
+	/**
+	 * Read each entry of an archive, for instance a zip of CSV or TIFF files,
+	 * to its own group of a HDF5 file. The group is named by the entry without
+	 * its extension, for instance "/logs/j21" for "logs/j21.csv". Entries are
+	 * written as they are read so only those loading at once are in memory,
+	 * see {@link Configuration#setInflateBudget(long)}.
+	 * Read a group back with {@link DataFrame#read_hdf_group(String, String)}.
+	 * 
+	 * @param archive - compressed file to read.
+	 * @param filePath - HDF5 file to create.
+	 * @param configuration - configuration or null or empty
+	 * @param monitor - monitor progress.
+	 * @return paths of the groups written, in order of the entries.
+	 * @throws IOExecption - If file read or write error.
+	 * @throws DatasetException - If DataFrame construction fails
+	 * @throws IllegalAccessException - If cannot make registered loader
+	 * @throws InstantiationException - If cannot make registered loader
+	 */
+	public List<String> extract(File archive, String filePath, Configuration configuration, IMonitor monitor) throws IOException, DatasetException, InstantiationException, IllegalAccessException {
+		
+		if (archive==null || !archive.isFile()) throw new IOException("Archive "+archive+" is not a file.");
+		if (configuration==null) configuration = Configuration.createDefault();
+		configuration.align(archive);
+		IStreamLoader<?> loader = getLoader(configuration.getFileName());
+		
+		List<String> groups = new ArrayList<>();
+		try (NxsFile nfile = NxsFile.create(filePath); InputStream in = new FileInputStream(archive)) {
+			
+			InflaterLoader.Entries write = (entryName, frame) -> {
+				String group = group(entryName, groups);
+				try {
+					frame.to_hdf_group(nfile, group);
+				} catch (IOException | DatasetException ne) {
+					throw ne;
+				} catch (Exception ne) {
+					throw new IOException("Cannot write "+entryName+" to "+filePath, ne);
+				}
+				groups.add(group);
+				monitor.worked(1);
+			};
+			
+			if (loader instanceof InflaterLoader) {
+				((InflaterLoader<?>)loader).forEach(in, configuration, monitor, write);
+			} else {
+				write.accept(archive.getName(), load(in, configuration, monitor));
+			}
+		} catch (NexusException ne) {
+			throw new IOException("Cannot write "+filePath, ne);
+		}
+		return groups;
+	}
+	
+	private static String group(String entryName, List<String> used) {
+		String group = "/"+FilenameUtils.removeExtension(FilenameUtils.separatorsToUnix(entryName)).replaceAll("^/+", "");
+		String ret = group;
+		for (int i = 1; used.contains(ret); i++) {
+			ret = group+"_"+i;
+		}
+		return ret;
+	}
+
 	private DataFrame dir(File dir, Configuration configuration, IMonitor monitor) throws InstantiationException, IllegalAccessException, IOException, DatasetException {
 		
 		DataFrame frame = new DataFrame(dir.getName());
@@ -132,16 +200,52 @@ public class DataFrameReader {
 
 	private boolean hasLoader(File file) {
 		if (file.isDirectory()) return false;
-		String ext = FilenameUtils.getExtension(file.getName());
+		return hasLoader(file.getName());
+	}
+
+	boolean hasLoader(String fileName) {
+		String ext = FilenameUtils.getExtension(fileName);
+		if (ext==null) return false;
+		return loaders.containsKey(ext.toLowerCase());
+	}
+
+	/**
+	 * @param fileName
+	 * @return true if the loader for this file must be given a file to read,
+	 * not only a stream. For instance HDF5, or arrow which reads a FileInputStream.
+	 */
+	boolean requiresFile(String fileName) {
+		String ext = FilenameUtils.getExtension(fileName);
 		if (ext==null) return false;
-		return loaders.containsKey(ext);
+		Class<?> loaderClass = loaders.get(ext.toLowerCase());
+		if (loaderClass==null) return false;
+		return loaderClass == H5Loader.class || getStreamClass(loaderClass) != InputStream.class;
+	}
+
+	/**
+	 * @param loaderClass
+	 * @return the type of stream the loader reads, InputStream unless it declares another.
+	 */
+	private static Class<?> getStreamClass(Class<?> loaderClass) {
+		for (Class<?> c = loaderClass; c!=null; c = c.getSuperclass()) {
+			for (Type type : c.getGenericInterfaces()) {
+				if (!(type instanceof ParameterizedType)) continue;
+				ParameterizedType ptype = (ParameterizedType)type;
+				if (ptype.getRawType() != IStreamLoader.class) continue;
+				Type arg = ptype.getActualTypeArguments()[0];
+				if (arg instanceof Class) return (Class<?>)arg;
+			}
+		}
+		return InputStream.class;
 	}
 
 	private DataFrame file(File file, Configuration configuration, IMonitor monitor) throws IOException, InstantiationException, IllegalAccessException, DatasetException {
 		monitor.subTask("Load "+file.getName());
 		if (configuration==null) configuration = Configuration.createDefault();
 		configuration.align(file);
-		return load(new FileInputStream(file), configuration, monitor);
+		try (FileInputStream in = new FileInputStream(file)) {
+			return load(in, configuration, monitor);
+		}
 	}
 	
 	/**
@@ -159,7 +263,14 @@ public class DataFrameReader {
 	 */
 	public DataFrame load(InputStream stream, Configuration configuration, IMonitor monitor) throws IOException, InstantiationException, IllegalAccessException, DatasetException {
 		IStreamLoader loader = getLoader(configuration.getFileName());
-		return loader.load(stream, configuration, monitor);
+		LoadEvent event = new LoadEvent();
+		DataFrame frame = null;
+		try {
+			frame = loader.load(stream, configuration, monitor);
+			return frame;
+		} finally {
+			event.record(loader.getClass(), configuration.getFileName(), frame == null ? -1 : frame.size());
+		}
 	}
 
 	private IStreamLoader getLoader(String fileName) throws IOException, InstantiationException, IllegalAccessException {
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2012 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package io.github.h5jan.io;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.january.dataset.Dataset;
+
+/**
+ * Pool of primitive arrays that back image datasets so that loading a stack of images
+ * does not need to allocate a new buffer for every image.
+ * <p>
+ * A dataset should only be released once its data has been copied elsewhere and
+ * it is no longer used. Arrays that are acquired are not cleared.
+ */
+public class ImageBufferPool {
+
+	private static final int DEFAULT_MAX_HELD = 4;
+
+	private final int maxHeld;
+	private final Map<Class<?>, Map<Integer, Deque<Object>>> pool = new HashMap<>();
+
+	public ImageBufferPool() {
+		this(DEFAULT_MAX_HELD);
+	}
+
+	/**
+	 * @param maxHeld maximum number of arrays of each type and length to hold
+	 */
+	public ImageBufferPool(int maxHeld) {
+		this.maxHeld = maxHeld;
+	}
+
+	/**
+	 * Get an array from the pool or create one if there is none
+	 * @param elementType primitive class of array element
+	 * @param length
+	 * @return array whose contents are undefined
+	 */
+	public synchronized Object acquire(Class<?> elementType, int length) {
+		Map<Integer, Deque<Object>> arrays = pool.get(elementType);
+		if (arrays != null) {
+			Deque<Object> q = arrays.get(length);
+			if (q != null && !q.isEmpty()) {
+				return q.pop();
+			}
+		}
+		return Array.newInstance(elementType, length);
+	}
+
+	/**
+	 * Return dataset's buffer to the pool. Views are ignored
+	 * @param d dataset that is no longer used
+	 */
+	public void release(Dataset d) {
+		Object buffer = d.getBuffer();
+		if (buffer != null && buffer.getClass().isArray() && Array.getLength(buffer) == d.getSize() * d.getElementsPerItem()) {
+			release(buffer);
+		}
+	}
+
+	/**
+	 * Return array to the pool
+	 * @param array primitive array that is no longer used
+	 */
+	public synchronized void release(Object array) {
+		Class<?> elementType = array.getClass().getComponentType();
+		if (elementType == null || !elementType.isPrimitive()) {
+			throw new IllegalArgumentException("Only primitive arrays can be pooled");
+		}
+		Deque<Object> q = pool.computeIfAbsent(elementType, k -> new HashMap<>())
+				.computeIfAbsent(Array.getLength(array), k -> new ArrayDeque<>());
+		if (q.size() < maxHeld) {
+			for (Object a : q) {
+				if (a == array) {
+					return;
+				}
+			}
+			q.push(array);
+		}
+	}
+
+	/**
+	 * Remove all arrays from the pool
+	 */
+	public synchronized void clear() {
+		pool.clear();
+	}
+}
@@ -35,6 +35,10 @@ import java.util.zip.InflaterInputStream;
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.january.DatasetException;
 import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.github.h5jan.core.DataFrame;
 
@@ -45,19 +49,28 @@ import io.github.h5jan.core.DataFrame;
  * These might be for instance a Zip file of LAS files or it might 
  * be a Zip stream of json files.
  * 
+ * Every entry with a loader is read, entries without one are skipped.
+ * If there is more than one, the columns of each are combined in a
+ * composite frame, named by entry. Use {@link DataFrameReader#extract(File, String, Configuration, IMonitor)}
+ * to write each entry to its own group of a HDF5 file instead.
+ * 
  * Different zip extractors are available controlled via a system
  * property:
- * <code>com.halliburton.lgc.gemasis.awc.io.zipExtractType</code>
+ * <code>io.github.h5jan.io.zipExtractType</code>
  * <p>
- * It's value may be "memory" or "file". The default is to read the
- * zip files from memory but optionally a temporary file may be used.
+ * It's value may be "memory" or "file". The default is to read
+ * entries from memory except those whose loader needs a file,
+ * for instance HDF5 or arrow, which are extracted to a temporary file.
+ * The temporary file is deleted once the entry is read into memory.
  * 
  * @author Matthew Gerring
  *
  */
 abstract class InflaterLoader<T extends InflaterInputStream> extends AbstractStreamLoader implements IStreamLoader {
 	
-	private DataFrameReader    factory;
+	private static final Logger logger = LoggerFactory.getLogger(InflaterLoader.class);
+	
+	protected DataFrameReader    factory;
 	private Map<String, Extractor> extractors;
 
 	InflaterLoader(DataFrameReader factory) {
@@ -78,9 +91,46 @@ abstract class InflaterLoader<T extends InflaterInputStream> extends AbstractStr
 	 */
 	abstract String getNextEntry(T stream, Configuration conf) throws IOException;
 
+	/**
+	 * Receives the frame of each entry, in the order of the entries.
+	 */
+	@FunctionalInterface
+	interface Entries {
+		void accept(String entryName, DataFrame frame) throws IOException, DatasetException;
+	}
+
 	@Override
 	public DataFrame load(InputStream stream, Configuration configuration, IMonitor mon) throws IOException, DatasetException {
 
+		String archive = FilenameUtils.getBaseName(configuration.getFileName());
+		
+		List<String>    names  = new ArrayList<>();
+		List<DataFrame> frames = new ArrayList<>();
+		forEach(stream, configuration, mon, (name, frame) -> {
+			names.add(name);
+			frames.add(frame);
+		});
+
+		if (frames.size()==1) {
+			return frames.get(0);
+		} else if (frames.isEmpty()) {
+			throw new IOException("There are no entries which can be loaded in "+archive);
+		} else {
+			return composite(archive, names, frames);
+		}
+	}
+	
+	/**
+	 * Load each entry of the stream which has a loader, one after another.
+	 * @param stream - compressed stream
+	 * @param configuration - configuration
+	 * @param mon - monitor
+	 * @param entries - given the frame of each entry
+	 * @throws IOException
+	 * @throws DatasetException
+	 */
+	void forEach(InputStream stream, Configuration configuration, IMonitor mon, Entries entries) throws IOException, DatasetException {
+		
 		T zstream = null;
 		
 		try {
@@ -94,32 +144,67 @@ abstract class InflaterLoader<T extends InflaterInputStream> extends AbstractStr
 			throw new IOException("Problem making zip input stream!", ob);
 		}
       
-        List<DataFrame> frames = new ArrayList<>();
-        
         // The entries must be the file paths.
         String entryName= null;
         while((entryName = getNextEntry(zstream, configuration))!=null) {
-        	
-        	DataFrame read;
-			try {
-				Extractor extractor = extractors.get(System.getProperty("io.github.h5jan.io.zipExtractType", "file"));
-				read = extractor.extract(entryName, zstream, configuration, mon);
-			} catch (InstantiationException | IllegalAccessException e) {
-				throw new IOException(e);
-			}
-        	frames.add(read);
-        }
-
-        if (frames.size()==1) {
-        	return frames.get(0);
-        } else {
-        	// TODO Make composite Data frames!
-        	throw new IllegalArgumentException("More than one data frame in a compressed file is not supported.");
+        	if (!factory.hasLoader(entryName)) {
+        		logger.debug("No loader for entry {}", entryName);
+        		continue;
+        	}
+        	entries.accept(entryName, extract(entryName, zstream, configuration, mon));
         }
 	}
 	
+	/**
+	 * Read one entry.
+	 * @param entryName - name of entry
+	 * @param zstream - inflated data of this entry
+	 * @param conf - configuration aligned to entry
+	 * @param mon - monitor
+	 * @return frame
+	 * @throws IOException
+	 * @throws DatasetException
+	 */
+	DataFrame extract(String entryName, InputStream zstream, Configuration conf, IMonitor mon) throws IOException, DatasetException {
+		String type = System.getProperty("io.github.h5jan.io.zipExtractType", factory.requiresFile(entryName) ? "file" : "memory");
+		Extractor extractor = extractors.get(type);
+		try {
+			DataFrame read = extractor.extract(entryName, zstream, conf, mon);
+			if (read.getName()==null || read.getName().contains("/")) {
+				read.setName(FilenameUtils.getBaseName(entryName)); // Entries may be in folders.
+			}
+			return read;
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new IOException(e);
+		}
+	}
+	
+	/**
+	 * The columns of each frame named by entry, for instance "logs/j21/DEPTH".
+	 * The columns must all be the same shape.
+	 */
+	private DataFrame composite(String name, List<String> names, List<DataFrame> frames) throws DatasetException {
+		
+		DataFrame ret = new DataFrame(name);
+		ret.setDtype(frames.get(0).getDtype());
+		for (int i = 0; i < frames.size(); i++) {
+			String prefix = FilenameUtils.removeExtension(names.get(i));
+			DataFrame frame = frames.get(i);
+			for (String cname : frame.getColumnNames()) {
+				ILazyDataset column = frame.get(cname).getSliceView();
+				column.setName(prefix+"/"+cname);
+				try {
+					ret.add(column);
+				} catch (IllegalArgumentException ne) {
+					throw new DatasetException("Entry "+names.get(i)+" cannot be combined with the others, extract the entries to HDF5 instead.", ne);
+				}
+			}
+		}
+		return ret;
+	}
+	
 	private DataFrame fileExtract(String entryName, 
-									InflaterInputStream zstream, 
+									InputStream zstream, 
 									Configuration conf, 
 									IMonitor mon) throws IOException, DatasetException, InstantiationException, IllegalAccessException {
 		
@@ -128,26 +213,50 @@ abstract class InflaterLoader<T extends InflaterInputStream> extends AbstractStr
     	File tmp = File.createTempFile(FilenameUtils.getBaseName(entryName), "."+FilenameUtils.getExtension(entryName));
     	tmp.deleteOnExit();
     	
-    	try(FileOutputStream out = new FileOutputStream(tmp)) {
-        	int len = 0;
-        	while ((len = zstream.read(buffer)) > 0) {
-        		out.write(buffer, 0, len);
-            }
-        	out.close();
-        	
-        	conf = conf.clone();
-        	conf.align(tmp, true);
-        	
-        	// Delegate reading of these wells down to existing readers.
-        	return factory.load(new FileInputStream(tmp), conf, mon);
-        	
+    	try {
+	    	try(FileOutputStream out = new FileOutputStream(tmp)) {
+	        	int len = 0;
+	        	while ((len = zstream.read(buffer)) > 0) {
+	        		out.write(buffer, 0, len);
+	            }
+	    	}
+	    	
+	    	conf = conf.clone();
+	    	conf.align(tmp, true);
+	    	
+	    	// Delegate reading of these wells down to existing readers.
+	    	try (FileInputStream in = new FileInputStream(tmp)) {
+	    		return inMemory(factory.load(in, conf, mon));
+	    	}
     	} finally {
     		tmp.delete();
-    	}		
+    	}
+	}
+	
+	/**
+	 * Read columns which are lazy, for instance those of a HDF5 entry,
+	 * so that the frame does not refer to the file it was loaded from.
+	 */
+	private static DataFrame inMemory(DataFrame frame) throws DatasetException {
+		List<ILazyDataset> data = frame.getData();
+		for (int i = 0; i < data.size(); i++) {
+			data.set(i, slice(data.get(i)));
+		}
+		for (Map.Entry<String, ILazyDataset> aux : frame.getAuxData().entrySet()) {
+			aux.setValue(slice(aux.getValue()));
+		}
+		return frame;
+	}
+	
+	private static ILazyDataset slice(ILazyDataset lazy) throws DatasetException {
+		if (lazy instanceof IDataset) return lazy;
+		IDataset ret = lazy.getSlice();
+		ret.setName(lazy.getName());
+		return ret;
 	}
 	
 	private DataFrame memoryExtract(String entryName, 
-										InflaterInputStream zstream, 
+										InputStream zstream, 
 										Configuration conf, 
 										IMonitor mon) throws IOException, DatasetException {
 		
@@ -162,6 +271,11 @@ abstract class InflaterLoader<T extends InflaterInputStream> extends AbstractStr
             }
         	out.close();
         	
+        	// The entry is not a file, its loader must not use the path of the archive.
+        	conf = conf.clone();
+        	conf.remove("filePath");
+        	conf.align(entryName);
+        	
         	// Delegate reading of these wells down to existing readers.
         	try {
 				return factory.load(new ByteArrayInputStream(out.toByteArray()), conf, mon);
@@ -175,7 +289,7 @@ abstract class InflaterLoader<T extends InflaterInputStream> extends AbstractStr
 	@FunctionalInterface
 	private interface Extractor {
 		DataFrame extract(String entryName, 
-							InflaterInputStream zstream, 
+							InputStream zstream, 
 							Configuration conf, 
 							IMonitor mon) throws IOException, DatasetException, InstantiationException, IllegalAccessException;
 	}
@@ -164,9 +164,23 @@ class JavaImageLoader extends AbstractStreamLoader {
 	}
 
 	protected static Dataset createDataset(BufferedImage input, boolean asGrey, boolean keepBitWidth) throws IOException {
+		return createDataset(input, asGrey, keepBitWidth, null);
+	}
+
+	/**
+	 * Create dataset from image
+	 * @param input
+	 * @param asGrey
+	 * @param keepBitWidth
+	 * @param pool buffer pool used for single channel datasets and which takes back channels
+	 * that are combined into a compound dataset (can be null)
+	 * @return dataset
+	 * @throws IOException
+	 */
+	protected static Dataset createDataset(BufferedImage input, boolean asGrey, boolean keepBitWidth, ImageBufferPool pool) throws IOException {
 		Dataset data = null;
 		try {
-			Dataset[] channels = AWTImageUtils.makeDatasets(input, keepBitWidth);
+			Dataset[] channels = AWTImageUtils.makeDatasets(input, keepBitWidth, pool);
 			final int bands = channels.length;
 			if (bands == 1) {
 				data = channels[0];
@@ -191,6 +205,12 @@ class JavaImageLoader extends AbstractStreamLoader {
 
 				if (asGrey)
 					data = ((RGBDataset) data).createGreyDataset(channels[0].getClass());
+
+				if (pool != null) {
+					for (Dataset c : channels) {
+						pool.release(c);
+					}
+				}
 			}
 		} catch (Exception e) {
 			throw new IOException("There was a problem loading the image", e);
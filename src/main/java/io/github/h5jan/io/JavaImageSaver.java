@@ -11,11 +11,15 @@ package io.github.h5jan.io;
 
 import java.awt.image.BufferedImage;
 import java.awt.image.RenderedImage;
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import javax.imageio.ImageIO;
 import javax.media.jai.PlanarImage;
@@ -32,8 +36,9 @@ import io.github.h5jan.core.DataFrame;
  * Class that saves data from DataHolder using native Java ImageIO library
  * with built-in image reader/writer
  * 
- * If the DataHolder contains more than one dataset then multiple image
- * files are saved with names labelled from 00001 to 99999.
+ * If the DataHolder contains more than one dataset then multiple images
+ * are written to the stream in order. These can be converted and encoded
+ * in parallel by setting the number of threads in the configuration.
  */
 class JavaImageSaver implements IStreamSaver {
 
@@ -44,90 +49,177 @@ class JavaImageSaver implements IStreamSaver {
 	@Override
 	public boolean save(OutputStream stream, Configuration conf, DataFrame dh, IMonitor monitor) throws IOException {
 		
-		String fileType = conf.getFileType(); // format name
-		String fileName = conf.getFileName();
-		
-		int numBits = conf.getNumBits();
-		boolean unsigned = conf.getAsUnsigned();
-		double maxVal;
-		if (numBits <= 32) {
-			maxVal = (1L << numBits) - 1.0; // 2^NumBits - 1 (use long in case of overflow)
-		} else {
-			maxVal = 1.0; // flag to use doubles (TIFF only)
-		}
-
-		if (numBits <= 0) {
+		if (conf.getNumBits() <= 0) {
 			throw new IOException(
 					"Number of bits specified must be greater than 0");
 		}
 
-		for (int i = 0, imax = dh.size(); i < imax; i++) {
+		final String fileType = conf.getFileType(); // format name
+		final String fileName = conf.getFileName();
+		final int imax = dh.size();
+		if (imax > 1 && conf.getThreads() > 1) {
+			// encode in parallel to memory then write in order
+			return saveOrdered(imax, conf.getThreads(), i -> {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				writeImage(createImage(conf, dh, i), fileType, out, fileName, dh);
+				return out.toByteArray();
+			}, b -> stream.write(b), monitor);
+		}
 
-			try {
-				String name = null;
-				if (imax == 1) {
-					name = fileName;
-				} else {
-					try {
-						name = fileName.substring(0,
-								(fileName.lastIndexOf(".")));
-					} catch (Exception e) {
-						name = fileName;
-					}
+		return saveOrdered(imax, 1, i -> createImage(conf, dh, i),
+				image -> writeImage(image, fileType, stream, fileName, dh), monitor);
+	}
 
-					NumberFormat format = new DecimalFormat("00000");
-					name = name + format.format(i + 1);
-				}
+	@FunctionalInterface
+	protected interface ImageProducer<T> {
+		T produce(int i) throws Exception;
+	}
 
-				int l = new File(name).getName().lastIndexOf(".");
-				if (l < 0) {
-					name = name + "." + fileType.toLowerCase();
-				}
+	@FunctionalInterface
+	protected interface ImageConsumer<T> {
+		void consume(T t) throws Exception;
+	}
 
-				IDataset idata = dh.get(i).getSlice();
-				Dataset data = DatasetUtils.convertToDataset(idata);
-
-				if (numBits <= 16) {
-					// test to see if the values of the data are within the
-					// capabilities of format
-					if (maxVal > 0 && data.max().doubleValue() > maxVal) {
-						throw new IOException("The value of a pixel exceeds the maximum value that "
-										+ fileType + " is capable of handling. To save a "
-										+ fileType + " it is recommended to use a ScaledSaver class. File "
-										+ fileName + " not written");
+	/**
+	 * Produce items for each image and consume them in order. When more than one thread is
+	 * used, at most twice that number of items are held at any time
+	 * @param n number of images
+	 * @param threads number of threads used to produce items
+	 * @param producer
+	 * @param consumer
+	 * @param monitor
+	 * @return true if all images were consumed, false if cancelled
+	 * @throws IOException
+	 */
+	protected <T> boolean saveOrdered(int n, int threads, ImageProducer<T> producer, ImageConsumer<T> consumer, IMonitor monitor) throws IOException {
+		try {
+			if (threads <= 1 || n <= 1) {
+				for (int i = 0; i < n; i++) {
+					if (monitor != null && monitor.isCancelled()) {
+						return false;
 					}
-					if (unsigned && data.min().doubleValue() < 0) {
-						throw new IOException(
-								"The value of a pixel is less than 0. Recommended using a ScaledSaver class.");
+					consumer.consume(producer.produce(i));
+					if (monitor != null) {
+						monitor.worked(1);
 					}
-					
-					BufferedImage image = AWTImageUtils.makeBufferedImage(data, numBits);
+				}
+				return true;
+			}
 
-					if (image == null) {
-						throw new IOException("Unable to create a buffered image to save file type");
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			Deque<ForkJoinTask<T>> window = new ArrayDeque<>();
+			try {
+				int next = 0;
+				while (next < n || !window.isEmpty()) {
+					if (monitor != null && monitor.isCancelled()) {
+						return false;
+					}
+					while (next < n && window.size() < 2 * threads) {
+						final int i = next++;
+						window.add(pool.submit(() -> producer.produce(i)));
 					}
-					
-					boolean w = writeImageLocked(image, fileType, stream, fileName, dh);
-					if (!w)
-						throw new IOException("No writer for '" + fileName + "' of type " + fileType);
-				} else {
-					TiledImage image = AWTImageUtils.makeTiledImage(data, numBits);
-
-					if (image == null) {
-						throw new IOException("Unable to create a tiled image to save file type");
+					consumer.consume(window.poll().get());
+					if (monitor != null) {
+						monitor.worked(1);
 					}
-					boolean w = writeImageLocked(image, fileType, stream, fileName, dh);
-					if (!w)
-						throw new IOException("No writer for '" + fileName + "' of type " + fileType);
 				}
-			} catch (IOException e) {
-				throw e;
-			} catch (Exception e) {
-				throw new IOException("Error saving file '" + fileName + "'", e);
+			} finally {
+				for (ForkJoinTask<T> t : window) {
+					t.cancel(false);
+				}
+				pool.shutdown();
+			}
+			return true;
+		} catch (ExecutionException e) {
+			Throwable c = e.getCause();
+			// pool wraps checked exceptions
+			while (c instanceof RuntimeException && c.getCause() != null) {
+				c = c.getCause();
+			}
+			if (c instanceof IOException) throw (IOException) c;
+			throw new IOException("Error saving file", c);
+		} catch (IOException e) {
+			throw e;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Saving interrupted");
+		} catch (Exception e) {
+			throw new IOException("Error saving file", e);
+		}
+	}
+
+	/**
+	 * Create image for a column of the data frame
+	 * @param conf
+	 * @param dh
+	 * @param i column index
+	 * @return image
+	 * @throws IOException if the data values cannot be saved in format
+	 */
+	protected RenderedImage createImage(Configuration conf, DataFrame dh, int i) throws IOException {
+		final String fileType = conf.getFileType(); // format name
+		final String fileName = conf.getFileName();
+
+		final int numBits = conf.getNumBits();
+		final boolean unsigned = conf.getAsUnsigned();
+		double maxVal;
+		if (numBits <= 32) {
+			maxVal = (1L << numBits) - 1.0; // 2^NumBits - 1 (use long in case of overflow)
+		} else {
+			maxVal = 1.0; // flag to use doubles (TIFF only)
+		}
+
+		try {
+			IDataset idata = dh.get(i).getSlice();
+			Dataset data = DatasetUtils.convertToDataset(idata);
+
+			if (numBits <= 16) {
+				// range is found whilst converting
+				double[] range = new double[2];
+				BufferedImage image = AWTImageUtils.makeBufferedImage(data, numBits, range);
+
+				if (image == null) {
+					throw new IOException("Unable to create a buffered image to save file type");
+				}
+
+				// test to see if the values of the data are within the
+				// capabilities of format
+				if (maxVal > 0 && range[1] > maxVal) {
+					throw new IOException("The value of a pixel exceeds the maximum value that "
+									+ fileType + " is capable of handling. To save a "
+									+ fileType + " it is recommended to use a ScaledSaver class. File "
+									+ fileName + " not written");
+				}
+				if (unsigned && range[0] < 0) {
+					throw new IOException(
+							"The value of a pixel is less than 0. Recommended using a ScaledSaver class.");
+				}
+				return image;
 			}
 
+			TiledImage image = AWTImageUtils.makeTiledImage(data, numBits);
+
+			if (image == null) {
+				throw new IOException("Unable to create a tiled image to save file type");
+			}
+			return image;
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IOException("Error saving file '" + fileName + "'", e);
+		}
+	}
+
+	private void writeImage(RenderedImage image, String fileType, OutputStream out, String fileName, DataFrame dh) throws IOException {
+		try {
+			boolean w = writeImageLocked(image, fileType, out, fileName, dh);
+			if (!w)
+				throw new IOException("No writer for '" + fileName + "' of type " + fileType);
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IOException("Error saving file '" + fileName + "'", e);
 		}
-		return true;
 	}
 
 	protected boolean writeImageLocked(RenderedImage image, String fileType, OutputStream out, String fileName, DataFrame dh) throws Exception {
@@ -113,7 +113,12 @@ public class TIFFImageLoader extends JavaImageLoader {
 		}
 
 		Class<? extends Dataset> clazz = AWTImageUtils.getInterface(its.getSampleModel(), keepBitWidth);
-		if (n == 1) {
+		if (configuration.getFilePath() == null) {
+			// Not read from a file, for instance an entry of an archive, so the images cannot be read lazily.
+			for (int i = 0; i < n; i++) {
+				output.add(readImage(reader, asGrey, keepBitWidth, i, null));
+			}
+		} else if (n == 1) {
 			ILazyDataset image = createLazyDataset(clazz, configuration, height, width);
 			image.setName(DEF_IMAGE_NAME);
 			output.add(image);
@@ -216,6 +221,7 @@ public class TIFFImageLoader extends JavaImageLoader {
 		SliceND dSlice = new SliceND(count);
 
 		Dataset d = is2D || count[0] == 1 ? null : DatasetFactory.zeros(clazz, count);
+		ImageBufferPool pool = d == null ? null : new ImageBufferPool(1); // reuse buffers when loading stack
 
 		try {
 			// test to see if the filename passed will load
@@ -229,25 +235,28 @@ public class TIFFImageLoader extends JavaImageLoader {
 				reader = new TIFFImageReader(new TIFFImageReaderSpi());
 				reader.setInput(iis);
 
-				image = readImage(reader, asGrey, keepBitWidth, num);
+				image = readImage(reader, asGrey, keepBitWidth, num, pool);
 			} catch (IllegalArgumentException e) { // catch bad number of bits
 				logger.debug("Using alternative 12-bit TIFF reader");
 				reader = new Grey12bitTIFFReader(new Grey12bitTIFFReaderSpi());
 				reader.setInput(iis);
 
-				image = readImage( reader, asGrey, keepBitWidth, num);
+				image = readImage( reader, asGrey, keepBitWidth, num, pool);
 			}
 
 			while (dataStart[0] < count[0]) {
 				if (image == null)
-					image = readImage(reader, asGrey, keepBitWidth, num);
-				image = image.getSliceView(iSlice);
+					image = readImage(reader, asGrey, keepBitWidth, num, pool);
+				Dataset view = image.getSliceView(iSlice);
 				if (d == null) {
-					d = image;
+					d = view;
 					d.setShape(count);
 					break;
 				}
-				d.setSlice(image, dSlice);
+				d.setSlice(view, dSlice);
+				if (image.getElementsPerItem() == 1) {
+					pool.release(image);
+				}
 				if (monitorIncrement(mon)) {
 					break;
 				}
@@ -272,7 +281,7 @@ public class TIFFImageLoader extends JavaImageLoader {
 		return d;
 	}
 
-	private static Dataset readImage(ImageReader reader, boolean asGrey, boolean keepBitWidth, int num) throws IOException {
+	private static Dataset readImage(ImageReader reader, boolean asGrey, boolean keepBitWidth, int num, ImageBufferPool pool) throws IOException {
 		
 		int n = reader.getNumImages(true);
 		if (num >= n) {
@@ -283,7 +292,7 @@ public class TIFFImageLoader extends JavaImageLoader {
 			throw new IOException("File format cannot be read");
 		}
 
-		Dataset image = createDataset(input, asGrey, keepBitWidth);
+		Dataset image = createDataset(input, asGrey, keepBitWidth, pool);
 		String imageName = String.format(IMAGE_NAME_FORMAT, num + 1);
 		image.setName(imageName);
 		return image;
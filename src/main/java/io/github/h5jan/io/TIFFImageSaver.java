@@ -10,30 +10,72 @@
 package io.github.h5jan.io;
 
 import java.awt.image.RenderedImage;
-import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOInvalidTreeException;
 import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.metadata.IIOMetadataNode;
 import javax.imageio.stream.ImageOutputStream;
 
+import org.eclipse.january.IMonitor;
+
 import io.github.h5jan.core.DataFrame;
 
 /**
  * This class saves a DataHolder as a TIFF image file.
+ * 
+ * If multiple pages are set in the configuration then all images are saved
+ * in a single TIFF file.
  */
 class TIFFImageSaver extends JavaImageSaver {
 
 	private static final String FORMAT_NAME = "tiff";
 
+	@Override
+	public boolean save(OutputStream stream, Configuration conf, DataFrame dh, IMonitor monitor) throws IOException {
+		if (!conf.isMultiPage() || dh.size() <= 1) {
+			return super.save(stream, conf, dh, monitor);
+		}
+		if (conf.getNumBits() <= 0) {
+			throw new IOException(
+					"Number of bits specified must be greater than 0");
+		}
+
+		// write all images as pages in one pass, converting in parallel
+		ImageWriter writer = ImageIO.getImageWritersByFormatName(FORMAT_NAME).next();
+		if (!writer.canWriteSequence()) {
+			writer.dispose();
+			throw new IOException("TIFF writer cannot write multiple pages");
+		}
+		try (ImageOutputStream out = ImageIO.createImageOutputStream(stream)) {
+			writer.setOutput(out);
+			writer.prepareWriteSequence(createStreamMetadata(writer));
+			boolean done = saveOrdered(dh.size(), conf.getThreads(), i -> createImage(conf, dh, i),
+					image -> writer.writeToSequence(new IIOImage(image, null, null), null), monitor);
+			writer.endWriteSequence();
+			return done;
+		} finally {
+			writer.dispose();
+		}
+	}
+
 	@Override
 	protected boolean writeImageLocked(RenderedImage image, String fileType, OutputStream stream, String fileName, DataFrame dh) throws Exception {
 		
 		// special case to force little endian
 		ImageWriter writer = ImageIO.getImageWritersByFormatName(FORMAT_NAME).next();
+		IIOMetadata streamMeta = createStreamMetadata(writer);
+
+		writer.setOutput(stream);
+		writer.write(streamMeta, new IIOImage(image, null, null), null);
+		return true;
+	}
+
+	private static IIOMetadata createStreamMetadata(ImageWriter writer) throws IIOInvalidTreeException {
 		IIOMetadata streamMeta = writer.getDefaultStreamMetadata(null);
 		String metadataFormatName = streamMeta.getNativeMetadataFormatName();
 
@@ -43,9 +85,6 @@ class TIFFImageSaver extends JavaImageSaver {
 		endianNode.setAttribute("value", "LITTLE_ENDIAN");
 		tree.appendChild(endianNode);
 		streamMeta.setFromTree(metadataFormatName, tree);
-
-		writer.setOutput(stream);
-		writer.write(streamMeta, new IIOImage(image, null, null), null);
-		return true;
+		return streamMeta;
 	}
 }
@@ -1,9 +1,32 @@
 package io.github.h5jan.io;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+
+import io.github.h5jan.core.DataFrame;
+
+/**
+ * Reads the entries of a zip. If the zip is a file its entries are inflated
+ * and loaded in parallel by random access, in order of the entries with at
+ * most the inflate budget of the configuration of them loading at once.
+ * Otherwise the stream is read one entry after another. The stream is
+ * not closed, that is left to the caller.
+ */
 class ZipLoader extends InflaterLoader<ZipInputStream> {
 
 	public ZipLoader(DataFrameReader factory) {
@@ -26,4 +49,78 @@ class ZipLoader extends InflaterLoader<ZipInputStream> {
 		return entryName;
 	}
 
+	@Override
+	void forEach(InputStream stream, Configuration conf, IMonitor mon, Entries consumer) throws IOException, DatasetException {
+		
+		File file = conf.getFilePath()!=null ? new File(conf.getFilePath()) : null;
+		if (file==null || !file.isFile() || !file.getName().equals(conf.getFileName())) {
+			super.forEach(stream, conf, mon, consumer);
+			return;
+		}
+		
+		try (ZipFile zip = new ZipFile(file)) {
+			
+			List<ZipEntry> entries = zip.stream().filter(e->!e.isDirectory() && factory.hasLoader(e.getName())).collect(Collectors.toList());
+			final long budget = conf.getInflateBudget();
+			
+			// Entries are loaded in parallel and given to the consumer in order by this thread.
+			// Unlike a fork-join pool, the executor gives back the exception an entry failed with.
+			ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+			Deque<Pending> window = new ArrayDeque<>();
+			try {
+				int  next = 0;
+				long held = 0;
+				while (next < entries.size() || !window.isEmpty()) {
+					while (next < entries.size() && (window.isEmpty() || held+bytes(entries.get(next)) <= budget)) {
+						final ZipEntry entry = entries.get(next++);
+						window.add(new Pending(entry, pool.submit(() -> load(zip, entry, conf, mon))));
+						held += bytes(entry);
+					}
+					Pending p = window.poll();
+					DataFrame frame = p.task.get();
+					held -= bytes(p.entry);
+					consumer.accept(p.entry.getName(), frame);
+				}
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted reading "+file.getName(), ie);
+			} catch (ExecutionException ne) {
+				Throwable cause = ne.getCause();
+				if (cause instanceof IOException)      throw (IOException)cause;
+				if (cause instanceof DatasetException) throw (DatasetException)cause;
+				if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+				throw new IOException("Cannot read "+file.getName(), cause);
+			} finally {
+				for (Pending p : window) {
+					p.task.cancel(false);
+				}
+				pool.shutdown();
+			}
+		}
+	}
+	
+	private DataFrame load(ZipFile zip, ZipEntry entry, Configuration conf, IMonitor mon) throws IOException, DatasetException {
+		Configuration econf = conf.clone();
+		econf.align(entry.getName());
+		try (InputStream in = zip.getInputStream(entry)) {
+			return extract(entry.getName(), in, econf, mon);
+		}
+	}
+	
+	private static long bytes(ZipEntry entry) {
+		return Math.max(0, Math.max(entry.getSize(), entry.getCompressedSize()));
+	}
+	
+	/**
+	 * An entry being loaded.
+	 */
+	private static class Pending {
+		final ZipEntry 					entry;
+		final Future<DataFrame> 		task;
+		
+		Pending(ZipEntry entry, Future<DataFrame> task) {
+			this.entry = entry;
+			this.task  = task;
+		}
+	}
 }
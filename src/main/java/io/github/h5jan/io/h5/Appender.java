@@ -12,11 +12,13 @@ package io.github.h5jan.io.h5;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
 
 import org.eclipse.dawnsci.nexus.NexusException;
 import org.eclipse.january.DatasetException;
 import org.eclipse.january.IMonitor;
 import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.january.dataset.ILazyWriteableDataset;
 
 import io.github.h5jan.core.DataFrame;
@@ -45,6 +47,21 @@ public interface Appender extends AutoCloseable {
 		return new AppenderImpl(filePath, h5Path, data, frame, closer);
 	}
 
+	/**
+	 * Create a Appender writing to a group of a file which is already open,
+	 * for instance to write several frames to one file. The file is not
+	 * closed by the appender.
+	 * @param file
+	 * @param h5Path
+	 * @param data
+	 * @param frame
+	 * @param closer
+	 * @return
+	 */
+	public static Appender instance(NxsFile file, String h5Path, ILazyWriteableDataset data, DataFrame frame, Closeable closer) {
+		return new AppenderImpl(file, h5Path, data, frame, closer);
+	}
+
 	/**
 	 * Add slice to end of current writable dataset
 	 * 
@@ -66,6 +83,18 @@ public interface Appender extends AutoCloseable {
 	 */
 	void append(String name, IDataset slice) throws Exception ;
 
+	/**
+	 * Add columns to end of current writable dataset. The columns are sliced
+	 * and converted in parallel and written in order, runs of adjacent columns
+	 * being written together as one block. The bytes of columns held in memory
+	 * at once are bounded by the write budget.
+	 * 
+	 * @param names - names of columns we are appending.
+	 * @param columns - columns to append, each may be lazy.
+	 * @throws Exception - if a column cannot be read or written.
+	 */
+	void append(List<String> names, List<? extends ILazyDataset> columns) throws Exception;
+
 	/**
 	 * Append or record extra data. This data does not get saved as
 	 * data frame columns.
@@ -121,6 +150,75 @@ public interface Appender extends AutoCloseable {
 	 */
 	public void setCompression(int compression);
 
+	/**
+	 * The number of threads used to slice and convert columns
+	 * when appending several at once.
+	 * @return threads, default is the number of processors
+	 */
+	public int getWriteThreads();
+
+	/**
+	 * The number of threads used to slice and convert columns
+	 * when appending several at once. One means the columns are
+	 * read on the writing thread.
+	 * @param threads
+	 */
+	public void setWriteThreads(int threads);
+
+	/**
+	 * The maximum number of bytes of columns held in memory whilst
+	 * appending several at once.
+	 * @return bytes, default is 64MB
+	 */
+	public long getWriteBudget();
+
+	/**
+	 * The maximum number of bytes of columns held in memory whilst
+	 * appending several at once. A single column larger than this is
+	 * still written.
+	 * @param bytes
+	 */
+	public void setWriteBudget(long bytes);
+
+	/**
+	 * The number of bytes of adjacent columns copied and written
+	 * together as one block when appending several at once.
+	 * @return bytes, default is 4MB
+	 */
+	public long getBlockSize();
+
+	/**
+	 * The number of bytes of adjacent columns copied and written
+	 * together as one block when appending several at once. A block
+	 * has at least one column.
+	 * @param bytes
+	 */
+	public void setBlockSize(long bytes);
+
+	/**
+	 * Write the names, metadata and statistics of the frame and close
+	 * the file, unless it is shared.
+	 * @throws NexusException - if nexus cannot write the attributes or close the file.
+	 * @throws IOException - if there is an IO error writing to the file.
+	 */
+	@Override
+	void close() throws NexusException, IOException;
+
+	/**
+	 * The number of rows in each chunk for which the minimum and maximum
+	 * of 1D numerical columns are written, for queries to skip chunks.
+	 * @return rows, default is ChunkStatistics.DEFAULT_ROWS
+	 */
+	public int getStatisticsRows();
+
+	/**
+	 * The number of rows in each chunk for which the minimum and maximum
+	 * of 1D numerical columns are written, for queries to skip chunks.
+	 * Zero means no statistics are written.
+	 * @param rows
+	 */
+	public void setStatisticsRows(int rows);
+
 	/**
 	 * May be optionally called to create the file and make
 	 * it ready for writing. Setting compression after init() has
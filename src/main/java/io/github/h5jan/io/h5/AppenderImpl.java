@@ -12,26 +12,39 @@ package io.github.h5jan.io.h5;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.dawnsci.analysis.api.tree.GroupNode;
 import org.eclipse.dawnsci.nexus.NexusException;
 import org.eclipse.dawnsci.nexus.NexusFile;
 import org.eclipse.january.IMonitor;
 import org.eclipse.january.dataset.DTypeUtils;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.IDataset;
 import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.ShapeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.github.h5jan.core.ChunkStatistics;
 import io.github.h5jan.core.DataFrame;
 import io.github.h5jan.core.FrameUtil;
+import io.github.h5jan.metrics.AppendEvent;
 
 /**
  * Class to append data during a slice writing operation.
@@ -47,6 +60,8 @@ class AppenderImpl implements Appender {
 	private String      			h5Path;
 	private List<String> 			names;
 	private NxsFile      			hFile;
+	private final boolean			shared; // File is owned by caller
+	private boolean					initialised;
 	private ILazyWriteableDataset 	data;
 	private DataFrame			 	frame;
 	private Closeable 				closer;
@@ -58,6 +73,15 @@ class AppenderImpl implements Appender {
 
 	private int compression = NexusFile.COMPRESSION_NONE;
 
+	// Adjacent columns are written together in blocks of about this size.
+	private long blockSize    = 4L*1024*1024;
+
+	private int  writeThreads = Runtime.getRuntime().availableProcessors();
+	private long writeBudget  = 64L*1024*1024;
+
+	// Bounds of chunks of rows of the columns, written with the frame for queries.
+	private ChunkStatistics statistics = new ChunkStatistics();
+
 	
 	AppenderImpl(String filePath, String h5Path, ILazyWriteableDataset data, DataFrame frame, Closeable closer) throws NexusException, IOException {
 		
@@ -71,16 +95,36 @@ class AppenderImpl implements Appender {
 		this.data 	= data;
 		this.frame 	= frame;
 		this.closer = closer;
+		this.shared = false;
+	}
+	
+	/**
+	 * Append to a group of a file which is already open. The file is not closed
+	 * with the appender and no reference to the group is written to its root.
+	 */
+	AppenderImpl(NxsFile hFile, String h5Path, ILazyWriteableDataset data, DataFrame frame, Closeable closer) {
+		this.filePath = hFile.getFilePath();
+		this.names	= new ArrayList<>();
+		this.h5Path = h5Path;
+		if (data==null) {
+			throw new IllegalArgumentException("The data must not be null!");
+		}
+
+		this.hFile  = hFile;
+		this.data 	= data;
+		this.frame 	= frame;
+		this.closer = closer;
+		this.shared = true;
 	}
 	
 	@Override
 	public void init() throws Exception {
 		// We make the hdf5 file when the first slice comes in.
-		if (hFile==null) {
-			this.hFile 	= NxsFile.create(filePath);
+		if (!initialised) {
+			if (hFile==null) this.hFile = NxsFile.create(filePath);
 			this.hFile.createData(h5Path, data, compression, true);
 			
-			Util.setReferenceAttributes(hFile, h5Path, data.getName());
+			if (!shared) Util.setReferenceAttributes(hFile, h5Path, data.getName());
 			
 			if (!frame.keySet().isEmpty()) {
 				GroupNode node = hFile.getGroup(h5Path, true);
@@ -90,22 +134,152 @@ class AppenderImpl implements Appender {
 				if (this.aux==null) this.aux = new LinkedHashMap<String, ILazyDataset>();
 				this.aux.putAll(frame.getAuxData()); // Sets names when we close the file.
 			}
+			initialised = true;
 		}
 	}
 	
 	@Override
 	public void append(String columnName, IDataset slice) throws Exception {
 		
+		AppendEvent event = new AppendEvent();
 		init();
 		names.add(columnName);
 		
 		int i = names.size()-1; // The index we are on
-		append(data, slice, i, true);
+		boolean inData = append(data, slice, i, true);
+		statistics(columnName, slice, inData);
+		event.record(filePath, columnName, slice);
+	}
+	
+	@Override
+	public void append(List<String> columnNames, List<? extends ILazyDataset> columns) throws Exception {
+		
+		if (columnNames.size()!=columns.size()) {
+			throw new IllegalArgumentException("There must be one name for each column!");
+		}
+		init();
+		final int n = columns.size();
+		if (n==0) return;
+		
+		// Columns of a frame are the same shape so blocks can be the same size.
+		final long columnBytes = Math.max(1, bytes(columns.get(0)));
+		final int  per = (int)Math.max(1, Math.min(n, blockSize/columnBytes));
+		final long blockBytes = 2*per*columnBytes; // The slices and the block they are copied to.
+		
+		if (writeThreads<=1 || n<=per) {
+			for (int i = 0; i < n; i+=per) {
+				commit(prepare(columnNames, columns, i, Math.min(n, i+per)));
+			}
+			return;
+		}
+		
+		// Blocks are prepared in parallel and written in order by this thread.
+		// Unlike a fork-join pool, the executor gives back the exception a block failed with.
+		ExecutorService pool = Executors.newFixedThreadPool(writeThreads);
+		Deque<Future<Block>> window = new ArrayDeque<>();
+		try {
+			int next = 0;
+			while (next < n || !window.isEmpty()) {
+				while (next < n && (window.isEmpty() || (window.size()+1)*blockBytes <= writeBudget)) {
+					final int from = next;
+					final int to   = Math.min(n, from+per);
+					window.add(pool.submit(() -> prepare(columnNames, columns, from, to)));
+					next = to;
+				}
+				commit(window.poll().get());
+			}
+		} catch (ExecutionException ne) {
+			Throwable cause = ne.getCause();
+			if (cause instanceof Exception) throw (Exception)cause;
+			throw ne;
+		} finally {
+			for (Future<Block> t : window) {
+				t.cancel(false);
+			}
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Adjacent columns read and, if they fit the data, copied to one block.
+	 */
+	private static class Block {
+		List<String> names;
+		IDataset[]   slices;
+		Dataset      block; // null if columns must be appended one by one
+	}
+	
+	private Block prepare(List<String> columnNames, List<? extends ILazyDataset> columns, int from, int to) throws Exception {
+		
+		Block ret = new Block();
+		ret.names  = columnNames.subList(from, to);
+		ret.slices = new IDataset[to-from];
+		
+		int[] shape = data.getShape();
+		int[] columnShape = Arrays.copyOf(shape, shape.length-1);
+		int dtype = DTypeUtils.getDType(data);
+		boolean fits = DTypeUtils.isDTypeElemental(dtype);
+		for (int i = from; i < to; i++) {
+			IDataset slice = columns.get(i).getSlice().squeeze();
+			slice.setName(columnNames.get(i));
+			ret.slices[i-from] = slice;
+			fits = fits && Arrays.equals(columnShape, slice.getShape()) && isCompatible(data, slice) && !isWildlyDifferent(data, slice);
+		}
+		if (!fits) return ret;
+		
+		int[] bshape = Arrays.copyOf(columnShape, shape.length);
+		bshape[bshape.length-1] = to-from;
+		Dataset block = DatasetFactory.zeros(DTypeUtils.getInterface(dtype), bshape);
+		int[] start = new int[bshape.length];
+		int[] stop  = bshape.clone();
+		for (int i = 0; i < ret.slices.length; i++) {
+			Dataset column = DatasetUtils.convertToDataset(ret.slices[i]).getView(false);
+			column.setShape(FrameUtil.addDimension(column).getShape());
+			start[start.length-1] = i;
+			stop[stop.length-1]   = i+1;
+			block.setSlice(column, start, stop, null);
+		}
+		ret.block = block;
+		return ret;
+	}
+	
+	private void commit(Block b) throws Exception {
+		
+		if (b.block==null) {
+			for (IDataset slice : b.slices) {
+				append(slice.getName(), slice);
+			}
+			return;
+		}
+		
+		AppendEvent event = new AppendEvent();
+		int i = names.size(); // The index we are on
+		data.setSlice(monitor, b.block, FrameUtil.orient(data, i, b.slices.length, b.block.getShape()));
+		names.addAll(b.names);
+		for (IDataset slice : b.slices) {
+			statistics(slice.getName(), slice, true);
+		}
+		event.record(filePath, b.names.get(0), b.block);
+	}
+	
+	private void statistics(String columnName, IDataset slice, boolean inData) {
+		if (statistics==null) return;
+		if (inData) {
+			statistics.add(columnName, slice.getSliceView().squeezeEnds());
+		} else {
+			statistics.remove(columnName);
+		}
+	}
+	
+	private static long bytes(ILazyDataset column) {
+		int isize = DTypeUtils.getItemBytes(DTypeUtils.getDType(column), column.getElementsPerItem());
+		return ShapeUtils.calcLongSize(column.getShape())*isize;
 	}
 	
 	@Override
 	public void record(String name, IDataset slice) throws Exception {
 		
+		AppendEvent event = new AppendEvent();
 		init();
 		
 		// Create stack for the slices, if it not there already
@@ -118,6 +292,7 @@ class AppenderImpl implements Appender {
 			int i = names.size()-1; // The index we are on
 			append((ILazyWriteableDataset)data, slice, i, false);
 		}
+		event.record(filePath, name, slice);
 	}
 	
 	@Override
@@ -137,7 +312,10 @@ class AppenderImpl implements Appender {
 		return false;
 	}
 	
-	private void append(ILazyWriteableDataset data, IDataset slice, int index, boolean mayRecord) throws Exception {
+	/**
+	 * @return true if the slice is kept in the data, false if it was only recorded as auxiliary data
+	 */
+	private boolean append(ILazyWriteableDataset data, IDataset slice, int index, boolean mayRecord) throws Exception {
 		
 		slice = FrameUtil.addDimension(slice);
 		boolean compatible = isCompatible(data, slice);
@@ -154,7 +332,7 @@ class AppenderImpl implements Appender {
 			record(slice.getName(), slice);
 			if (!compatible) names.remove(slice.getName());
 		}
-		
+		return compatible;
 	}
 
 	private boolean isWildlyDifferent(ILazyWriteableDataset d, IDataset s) {
@@ -178,9 +356,12 @@ class AppenderImpl implements Appender {
 	}
 
 	@Override
-	public void close() throws Exception {
+	public void close() throws NexusException, IOException {
 		try {
 			Util.setMetaAttributues(hFile, h5Path, frame, names, aux!=null?aux.keySet():null);
+			if (initialised && data.getRank()==2) {
+				Util.setStatistics(hFile, h5Path, statistics, names, data.getShape()[0]);
+			}
 		} catch (Exception ne) {
 			logger.debug("Cannot write meta attributes", ne);
 			throw ne;
@@ -190,7 +371,7 @@ class AppenderImpl implements Appender {
 				aux = null;
 			}
 			try {
-				if (this.hFile!=null) this.hFile.close();
+				if (this.hFile!=null && !shared) this.hFile.close();
 			} finally {
 				this.hFile = null;
 				this.closer.close();
@@ -215,4 +396,44 @@ class AppenderImpl implements Appender {
 	public void setCompression(int compression) {
 		this.compression = compression;
 	}
+
+	@Override
+	public int getWriteThreads() {
+		return writeThreads;
+	}
+
+	@Override
+	public void setWriteThreads(int threads) {
+		this.writeThreads = threads;
+	}
+
+	@Override
+	public int getStatisticsRows() {
+		return statistics!=null ? statistics.getRows() : 0;
+	}
+
+	@Override
+	public void setStatisticsRows(int rows) {
+		this.statistics = rows>0 ? new ChunkStatistics(rows) : null;
+	}
+
+	@Override
+	public long getWriteBudget() {
+		return writeBudget;
+	}
+
+	@Override
+	public void setWriteBudget(long bytes) {
+		this.writeBudget = bytes;
+	}
+
+	@Override
+	public long getBlockSize() {
+		return blockSize;
+	}
+
+	@Override
+	public void setBlockSize(long bytes) {
+		this.blockSize = bytes;
+	}
 }
@@ -15,6 +15,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import org.eclipse.dawnsci.analysis.api.tree.GroupNode;
 import org.eclipse.dawnsci.analysis.tree.impl.AttributeImpl;
 import org.eclipse.dawnsci.nexus.NexusException;
 
@@ -22,6 +23,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.github.h5jan.core.ChunkStatistics;
 import io.github.h5jan.core.Constants;
 import io.github.h5jan.core.DataFrame;
 
@@ -98,4 +100,26 @@ public class Util {
 		}
 	}
 
+	/**
+	 * Bounds of each chunk of rows of the columns written, if any are known.
+	 * The chunk size is an attribute of the group but the bounds are datasets in
+	 * it, as they grow with the number of columns beyond what an attribute may hold.
+	 * @param hFile
+	 * @param h5Path
+	 * @param stats
+	 * @param columnNames
+	 * @param size - number of rows in a column
+	 * @throws NexusException
+	 */
+	static void setStatistics(NxsFile hFile, String h5Path, ChunkStatistics stats, List<String> columnNames, int size) throws NexusException {
+		
+		if (stats==null || stats.isEmpty() || columnNames.isEmpty()) return;
+		
+		int count = stats.getChunkCount(size);
+		GroupNode node = hFile.getGroup(h5Path, true);
+		hFile.createData(node, Constants.CHUNK_MIN, stats.getMinima(columnNames, count));
+		hFile.createData(node, Constants.CHUNK_MAX, stats.getMaxima(columnNames, count));
+		hFile.addAttribute(h5Path, new AttributeImpl(Constants.CHUNK_ROWS, stats.getRows()));
+	}
+
 }
@@ -0,0 +1,66 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ * 
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.metrics;
+
+import java.util.Arrays;
+
+import org.eclipse.january.dataset.IDataset;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted by each append or record of a slice by an Appender.
+ */
+@Name("io.github.h5jan.Append")
+@Label("Append")
+@Category({"h5jan", "Appender"})
+@Description("Slice appended to a frame being written to a HDF5 file")
+@StackTrace(false)
+public class AppendEvent extends TimedEvent {
+
+	@Label("File")
+	String file;
+
+	@Label("Name")
+	String name;
+
+	@Label("Shape")
+	String shape;
+
+	@Label("Bytes")
+	@DataAmount
+	long bytes;
+
+	/**
+	 * @param file
+	 * @param name of column or record
+	 * @param slice appended
+	 */
+	public void record(String file, String name, IDataset slice) {
+		long time = finish();
+		long n = Metrics.bytes(slice);
+		MetricsRegistry registry = MetricsRegistry.getDefault();
+		registry.histogram(Metrics.APPEND).record(time);
+		registry.counter(Metrics.APPEND_BYTES).add(n);
+		if (shouldCommit()) {
+			this.file = file;
+			this.name = name;
+			this.shape = slice == null ? null : Arrays.toString(slice.getShape());
+			this.bytes = n;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ * 
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count which may be added to concurrently.
+ * 
+ * @see MetricsRegistry#counter(String)
+ */
+public class Counter {
+
+	private final String name;
+	private final LongAdder count = new LongAdder();
+
+	Counter(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @return name in registry
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Add one
+	 */
+	public void increment() {
+		count.increment();
+	}
+
+	/**
+	 * @param n to add
+	 */
+	public void add(long n) {
+		count.add(n);
+	}
+
+	/**
+	 * @return count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Set count back to zero
+	 */
+	public void reset() {
+		count.reset();
+	}
+
+	@Override
+	public String toString() {
+		return name + "=" + getCount();
+	}
+}
@@ -0,0 +1,74 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ * 
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emitted by HDF5FileFactory.acquireFile. Create it before taking the lock,
+ * call {@link #locked()} once it is held and {@link #record(String, boolean, boolean)}
+ * when the file is acquired.
+ */
+@Name("io.github.h5jan.HDF5Acquire")
+@Label("HDF5 Acquire File")
+@Category({"h5jan", "HDF5"})
+@Description("Acquisition of a HDF5 file from the factory which holds files open")
+@StackTrace(false)
+public class HDF5AcquireEvent extends TimedEvent {
+
+	@Label("File")
+	String file;
+
+	@Label("Writeable")
+	boolean writeable;
+
+	@Label("Cached")
+	@Description("File was already open")
+	boolean cached;
+
+	@Label("Wait Time")
+	@Description("Time waited for the factory lock")
+	@Timespan(Timespan.NANOSECONDS)
+	long waitTime = -1;
+
+	/**
+	 * Mark when the factory lock is held
+	 */
+	public void locked() {
+		waitTime = elapsed();
+	}
+
+	/**
+	 * @param file
+	 * @param writeable
+	 * @param cached true if file was already open
+	 */
+	public void record(String file, boolean writeable, boolean cached) {
+		long time = finish();
+		MetricsRegistry registry = MetricsRegistry.getDefault();
+		registry.histogram(Metrics.HDF5_ACQUIRE).record(time);
+		if (waitTime >= 0) {
+			registry.histogram(Metrics.HDF5_ACQUIRE_WAIT).record(waitTime);
+		}
+		registry.counter(cached ? Metrics.HDF5_ACQUIRE_HIT : Metrics.HDF5_ACQUIRE_MISS).increment();
+		if (shouldCommit()) {
+			this.file = file;
+			this.writeable = writeable;
+			this.cached = cached;
+			commit();
+		}
+	}
+}
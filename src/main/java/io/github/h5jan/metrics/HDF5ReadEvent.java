@@ -0,0 +1,67 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ * 
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.metrics;
+
+import java.util.Arrays;
+
+import org.eclipse.january.dataset.IDataset;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted by HDF5Utils.readDataset. Create it when starting and call
+ * {@link #record(String, String, IDataset)} when finished.
+ */
+@Name("io.github.h5jan.HDF5Read")
+@Label("HDF5 Read")
+@Category({"h5jan", "HDF5"})
+@Description("Read of a slice of a dataset from a HDF5 file")
+@StackTrace(false)
+public class HDF5ReadEvent extends TimedEvent {
+
+	@Label("File")
+	String file;
+
+	@Label("Path")
+	String path;
+
+	@Label("Shape")
+	String shape;
+
+	@Label("Bytes")
+	@DataAmount
+	long bytes;
+
+	/**
+	 * @param file
+	 * @param path of dataset in file
+	 * @param data read (can be null if it failed)
+	 */
+	public void record(String file, String path, IDataset data) {
+		long time = finish();
+		long n = Metrics.bytes(data);
+		MetricsRegistry registry = MetricsRegistry.getDefault();
+		registry.histogram(Metrics.HDF5_READ).record(time);
+		registry.counter(Metrics.HDF5_READ_BYTES).add(n);
+		if (shouldCommit()) {
+			this.file = file;
+			this.path = path;
+			this.shape = data == null ? null : Arrays.toString(data.getShape());
+			this.bytes = n;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ * 
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emitted for each job run from a HDF5File write queue. Create it when the
+ * job is queued, call {@link #started()} when it is taken from the queue and
+ * {@link #record(String)} when it is done. The duration of the event is the
+ * time taken to run the job.
+ */
+@Name("io.github.h5jan.HDF5WriteQueue")
+@Label("HDF5 Write Job")
+@Category({"h5jan", "HDF5"})
+@Description("Write job run from the queue of a HDF5 file")
+@StackTrace(false)
+public class HDF5WriteQueueEvent extends Event {
+
+	@Label("File")
+	String file;
+
+	@Label("Queue Depth")
+	@Description("Number of jobs ahead in queue when added")
+	int depth;
+
+	@Label("Queue Time")
+	@Description("Time spent in queue")
+	@Timespan(Timespan.NANOSECONDS)
+	long queueTime;
+
+	private final transient long queued;
+	private transient long started;
+
+	/**
+	 * @param depth number of jobs ahead in queue
+	 */
+	public HDF5WriteQueueEvent(int depth) {
+		this.depth = depth;
+		queued = System.nanoTime();
+		MetricsRegistry.getDefault().histogram(Metrics.HDF5_QUEUE_DEPTH).record(depth);
+	}
+
+	/**
+	 * Mark when job is taken from queue
+	 */
+	public void started() {
+		started = System.nanoTime();
+		queueTime = started - queued;
+		begin();
+	}
+
+	/**
+	 * @param file
+	 */
+	public void record(String file) {
+		end();
+		MetricsRegistry registry = MetricsRegistry.getDefault();
+		registry.histogram(Metrics.HDF5_QUEUE_WAIT).record(queueTime);
+		registry.histogram(Metrics.HDF5_QUEUE_RUN).record(System.nanoTime() - started);
+		if (shouldCommit()) {
+			this.file = file;
+			commit();
+		}
+	}
+}
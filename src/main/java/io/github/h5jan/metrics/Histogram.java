@@ -0,0 +1,145 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ * 
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of non-negative values, such as durations in nanoseconds
+ * or sizes in bytes, which may be recorded concurrently. Values are
+ * counted in buckets of powers of two so percentiles are accurate to
+ * within a factor of two.
+ * 
+ * @see MetricsRegistry#histogram(String)
+ */
+public class Histogram {
+
+	private static final int BUCKETS = Long.SIZE;
+
+	private final String name;
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS); // bucket b holds [2^(b-1), 2^b)
+
+	Histogram(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @return name in registry
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @param value to record, negative values are recorded as zero
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		count.increment();
+		sum.add(value);
+		min.accumulate(value);
+		max.accumulate(value);
+		buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+	}
+
+	/**
+	 * @return number of values recorded
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return sum of values recorded
+	 */
+	public long getSum() {
+		return sum.sum();
+	}
+
+	/**
+	 * @return smallest value recorded or zero if none
+	 */
+	public long getMin() {
+		return getCount() == 0 ? 0 : min.get();
+	}
+
+	/**
+	 * @return largest value recorded or zero if none
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return mean of values recorded or NaN if none
+	 */
+	public double getMean() {
+		long n = getCount();
+		return n == 0 ? Double.NaN : getSum() / (double) n;
+	}
+
+	/**
+	 * @param fraction between 0 and 1, e.g. 0.99 for the 99th percentile
+	 * @return upper bound of bucket containing the percentile, no larger than the
+	 * largest value recorded, or zero if none
+	 */
+	public long getPercentile(double fraction) {
+		if (fraction < 0 || fraction > 1) {
+			throw new IllegalArgumentException("Fraction must be between 0 and 1");
+		}
+		long total = 0;
+		long[] counts = new long[BUCKETS];
+		for (int b = 0; b < BUCKETS; b++) {
+			counts[b] = buckets.get(b);
+			total += counts[b];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(fraction * total));
+		long seen = 0;
+		for (int b = 0; b < BUCKETS; b++) {
+			seen += counts[b];
+			if (seen >= rank) {
+				long upper = b == 0 ? 0 : (b == BUCKETS - 1 ? Long.MAX_VALUE : (1L << b) - 1);
+				return Math.min(upper, getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Forget all values recorded
+	 */
+	public void reset() {
+		count.reset();
+		sum.reset();
+		min.reset();
+		max.reset();
+		for (int b = 0; b < BUCKETS; b++) {
+			buckets.set(b, 0);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s count=%d mean=%.1f min=%d p50=%d p99=%d max=%d", name, getCount(), getMean(),
+				getMin(), getPercentile(0.5), getPercentile(0.99), getMax());
+	}
+}
@@ -0,0 +1,58 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ * 
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted by each load of a frame by an IStreamLoader.
+ */
+@Name("io.github.h5jan.Load")
+@Label("Load")
+@Category({"h5jan", "Loader"})
+@Description("Frame loaded from a stream")
+@StackTrace(false)
+public class LoadEvent extends TimedEvent {
+
+	@Label("Loader")
+	String loader;
+
+	@Label("File")
+	String file;
+
+	@Label("Columns")
+	@Description("Number of columns loaded or -1 if the load failed")
+	int columns;
+
+	/**
+	 * @param loader class of loader
+	 * @param file name of file or stream
+	 * @param columns number loaded or -1 if the load failed
+	 */
+	public void record(Class<?> loader, String file, int columns) {
+		long time = finish();
+		MetricsRegistry registry = MetricsRegistry.getDefault();
+		registry.histogram(Metrics.LOAD + loader.getSimpleName()).record(time);
+		if (columns < 0) {
+			registry.counter(Metrics.LOAD_FAILED).increment();
+		}
+		if (shouldCommit()) {
+			this.loader = loader.getName();
+			this.file = file;
+			this.columns = columns;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ * 
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.metrics;
+
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.IDataset;
+
+/**
+ * Names of the metrics recorded in {@link MetricsRegistry#getDefault()}.
+ * Durations are in nanoseconds.
+ */
+public final class Metrics {
+
+	/**
+	 * Histogram of durations of HDF5Utils.readDataset
+	 */
+	public static final String HDF5_READ = "hdf5.read";
+	/**
+	 * Counter of bytes read by HDF5Utils.readDataset
+	 */
+	public static final String HDF5_READ_BYTES = "hdf5.read.bytes";
+	/**
+	 * Histogram of durations of HDF5Utils.writeDatasetSlice
+	 */
+	public static final String HDF5_WRITE = "hdf5.write";
+	/**
+	 * Counter of bytes written by HDF5Utils.writeDatasetSlice
+	 */
+	public static final String HDF5_WRITE_BYTES = "hdf5.write.bytes";
+	/**
+	 * Histogram of durations of HDF5FileFactory.acquireFile
+	 */
+	public static final String HDF5_ACQUIRE = "hdf5.acquire";
+	/**
+	 * Histogram of time waited for the lock in HDF5FileFactory.acquireFile
+	 */
+	public static final String HDF5_ACQUIRE_WAIT = "hdf5.acquire.wait";
+	/**
+	 * Counter of files acquired which were already open
+	 */
+	public static final String HDF5_ACQUIRE_HIT = "hdf5.acquire.hit";
+	/**
+	 * Counter of files acquired which had to be opened or created
+	 */
+	public static final String HDF5_ACQUIRE_MISS = "hdf5.acquire.miss";
+	/**
+	 * Histogram of number of jobs ahead of each added to a HDF5File write queue
+	 */
+	public static final String HDF5_QUEUE_DEPTH = "hdf5.queue.depth";
+	/**
+	 * Histogram of time write jobs spend in a HDF5File write queue
+	 */
+	public static final String HDF5_QUEUE_WAIT = "hdf5.queue.wait";
+	/**
+	 * Histogram of durations of write jobs run from a HDF5File write queue
+	 */
+	public static final String HDF5_QUEUE_RUN = "hdf5.queue.run";
+	/**
+	 * Histogram of durations of Appender.append and Appender.record
+	 */
+	public static final String APPEND = "append";
+	/**
+	 * Counter of bytes appended
+	 */
+	public static final String APPEND_BYTES = "append.bytes";
+	/**
+	 * Prefix of histograms of durations of IStreamLoader.load, by simple name of loader class
+	 */
+	public static final String LOAD = "load.";
+	/**
+	 * Counter of loads which failed
+	 */
+	public static final String LOAD_FAILED = "load.failed";
+
+	private Metrics() {
+	}
+
+	/**
+	 * @param data may be null
+	 * @return number of bytes in data or zero if null
+	 */
+	static long bytes(IDataset data) {
+		if (data == null) {
+			return 0;
+		}
+		return (long) data.getSize() * DatasetUtils.convertToDataset(data).getItemBytes();
+	}
+}
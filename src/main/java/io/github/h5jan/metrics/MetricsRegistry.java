@@ -0,0 +1,95 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ * 
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process registry of counters and histograms, which are created on
+ * first use. The I/O hot paths record to the default registry as well as
+ * emitting JDK Flight Recorder events, so their cost can be queried without
+ * a recording:
+ * <pre>
+ * Histogram reads = MetricsRegistry.getDefault().histogram(Metrics.HDF5_READ);
+ * System.out.println(reads.getCount() + " reads, p99 " + reads.getPercentile(0.99) + "ns");
+ * </pre>
+ * 
+ * @see Metrics for names of metrics recorded
+ */
+public class MetricsRegistry {
+
+	private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+	/**
+	 * @return registry used by the library
+	 */
+	public static MetricsRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+	/**
+	 * @param name
+	 * @return counter of name, created if necessary
+	 */
+	public Counter counter(String name) {
+		return counters.computeIfAbsent(name, Counter::new);
+	}
+
+	/**
+	 * @param name
+	 * @return histogram of name, created if necessary
+	 */
+	public Histogram histogram(String name) {
+		return histograms.computeIfAbsent(name, Histogram::new);
+	}
+
+	/**
+	 * @return counts of all counters by name
+	 */
+	public SortedMap<String, Long> getCounts() {
+		SortedMap<String, Long> counts = new TreeMap<>();
+		for (Map.Entry<String, Counter> e : counters.entrySet()) {
+			counts.put(e.getKey(), e.getValue().getCount());
+		}
+		return counts;
+	}
+
+	/**
+	 * @return all histograms by name
+	 */
+	public SortedMap<String, Histogram> getHistograms() {
+		return new TreeMap<>(histograms);
+	}
+
+	/**
+	 * Reset all counters and histograms. They stay registered so references
+	 * held to them remain valid.
+	 */
+	public void reset() {
+		counters.values().forEach(Counter::reset);
+		histograms.values().forEach(Histogram::reset);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buf = new StringBuilder();
+		getCounts().forEach((n, c) -> buf.append(n).append('=').append(c).append('\n'));
+		getHistograms().values().forEach(h -> buf.append(h).append('\n'));
+		return buf.toString();
+	}
+}
@@ -0,0 +1,43 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ * 
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.metrics;
+
+import jdk.jfr.Event;
+
+/**
+ * Event which times itself whether or not a flight recording is running,
+ * so the duration can also be recorded in {@link MetricsRegistry}.
+ */
+abstract class TimedEvent extends Event {
+
+	private final transient long start;
+
+	TimedEvent() {
+		start = System.nanoTime();
+		begin();
+	}
+
+	/**
+	 * End event
+	 * @return nanoseconds since event was created
+	 */
+	long finish() {
+		end();
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * @return nanoseconds since event was created
+	 */
+	long elapsed() {
+		return System.nanoTime() - start;
+	}
+}
@@ -85,4 +85,11 @@ public interface Node {
 	 */
 	public boolean isSymbolicNode();
 	
+
+	/**
+	 * @return group node that first linked to this node, can be null if not linked or not known
+	 */
+	public default GroupNode getParentGroup() {
+		return null;
+	}
 }
@@ -33,6 +33,9 @@ public class TreeUtils {
 	
 	/**
 	 * Get the path which ends with {@value Node#SEPARATOR} if it refers to a group
+	 * <p>
+	 * The path is found by walking up from the node through the groups that first linked
+	 * to each node. If that does not reach the tree's root then the tree is searched
 	 * @param tree
 	 * @param node
 	 * @return path to node, return null if not found
@@ -42,12 +45,48 @@ public class TreeUtils {
 		if (g == node) {
 			return Tree.ROOT;
 		}
-		String p = getPathDepthFirst(Tree.ROOT, g, node);
+		String p = getPathFromParents(g, node);
+		if (p == null) {
+			p = getPathDepthFirst(Tree.ROOT, g, node);
+		}
 		if (node instanceof GroupNode && p != null && !p.endsWith(Node.SEPARATOR)) {
 			p = p + Node.SEPARATOR;
 		}
 		return p;
 	}
+
+	/**
+	 * Limit on the number of parent links followed. A group can be linked from one of its
+	 * own descendants so the links may form a cycle; this stops the walk and leaves such
+	 * (and any deeper) trees to the depth-first search. NeXus trees are rarely more than
+	 * ten levels deep
+	 */
+	private static final int MAX_PARENT_DEPTH = 256;
+
+	private static String getPathFromParents(final GroupNode root, final Node node) {
+		final List<String> names = new ArrayList<>();
+		Node n = node;
+		while (names.size() < MAX_PARENT_DEPTH) {
+			GroupNode p = n.getParentGroup();
+			String name = p == null ? null : p.findLinkedNodeName(n);
+			if (name == null) {
+				return null;
+			}
+			names.add(name);
+			if (p == root) {
+				StringBuilder path = new StringBuilder(Tree.ROOT);
+				for (int i = names.size() - 1; i >= 0; i--) {
+					path.append(names.get(i));
+					if (i > 0) {
+						path.append(Node.SEPARATOR);
+					}
+				}
+				return path.toString();
+			}
+			n = p;
+		}
+		return null; // too deep or cyclic
+	}
 	
 	/**
 	 * Returns the node at the given path in the tree, or <code>null</code> if there is no such node.
@@ -57,19 +96,29 @@ public class TreeUtils {
 	 * @return node, or <code>null</code>
 	 */
 	public static Node getNode(Tree tree, String path) {
-		final String[] pathSegments = path.split(Node.SEPARATOR);
-		if (!"".equals(pathSegments[0])) {
+		if (!path.isEmpty() && !path.startsWith(Node.SEPARATOR)) {
 			// first character must be '/'
 			throw new IllegalArgumentException("Invalid path, must be absolute, was: " + path);
 		}
-		
+
+		final int sl = Node.SEPARATOR.length();
+		int end = path.length();
+		while (end > 0 && path.startsWith(Node.SEPARATOR, end - sl)) { // ignore trailing separators
+			end -= sl;
+		}
+
 		Node node = tree.getGroupNode();
-		for (int i = 1; i < pathSegments.length; i++) {
+		int start = sl;
+		while (start <= end && end > 0) {
 			if (!(node instanceof GroupNode)) {
 				return null;
 			}
-			
-			node = ((GroupNode) node).getNode(pathSegments[i]);
+			int i = path.indexOf(Node.SEPARATOR, start);
+			if (i < 0 || i > end) {
+				i = end;
+			}
+			node = ((GroupNode) node).getNode(path.substring(start, i));
+			start = i + sl;
 		}
 		
 		return node;
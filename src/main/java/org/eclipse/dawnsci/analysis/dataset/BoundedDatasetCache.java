@@ -0,0 +1,592 @@
+/*-
+ * Copyright 2017 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.IDataset;
+
+/**
+ * Cache of datasets bounded by the total number of bytes they hold. Each entry
+ * is weighed as {@code getSize() * getItemBytes()} and entries are evicted as
+ * others are added to keep within the budget, either least recently used first
+ * or by W-TinyLFU, which only admits a new entry to the main part of the cache
+ * if it has been used more often than the entry it would evict.
+ * <p>
+ * Entries can be pinned so they are not evicted; when pinned entries exceed the
+ * budget, the cache holds more than the budget until they are unpinned. Entries
+ * heavier than the budget are not held unless pinned.
+ * <p>
+ * All methods are thread-safe. Values are computed outside the lock, so a value
+ * may be computed more than once by concurrent callers.
+ *
+ * @param <K> key type
+ */
+public class BoundedDatasetCache<K> {
+
+	/**
+	 * Policy used to admit entries and choose which to evict
+	 */
+	public enum Admission {
+		/**
+		 * Evict least recently used
+		 */
+		LRU,
+		/**
+		 * Admit via a small LRU window then to segmented LRU main part if used
+		 * more frequently than its victim
+		 */
+		TINY_LFU,
+	}
+
+	private static final double WINDOW_FRACTION = 0.01;
+	private static final double PROTECTED_FRACTION = 0.8;
+
+	private static class Entry<K> {
+		final K key;
+		Dataset value;
+		long weight;
+		int pins;
+		LinkedHashMap<K, Entry<K>> segment;
+
+		Entry(K key) {
+			this.key = key;
+		}
+	}
+
+	private final long maxWeight;
+	private final Admission admission;
+
+	// segments in order of least recently used first
+	private final LinkedHashMap<K, Entry<K>> window = new LinkedHashMap<>();
+	private final LinkedHashMap<K, Entry<K>> probation = new LinkedHashMap<>();
+	private final LinkedHashMap<K, Entry<K>> protect = new LinkedHashMap<>();
+	private final Map<K, Entry<K>> entries = new LinkedHashMap<>();
+	private final long maxWindow;
+	private final long maxProtected;
+	private long windowWeight;
+	private long probationWeight;
+	private long protectedWeight;
+	private final FrequencySketch sketch;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long evictedWeight;
+
+	/**
+	 * Create cache that evicts least recently used entries
+	 * @param maxBytes budget
+	 */
+	public BoundedDatasetCache(long maxBytes) {
+		this(maxBytes, Admission.LRU);
+	}
+
+	/**
+	 * @param maxBytes budget
+	 * @param admission policy
+	 */
+	public BoundedDatasetCache(long maxBytes, Admission admission) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("Budget must be positive");
+		}
+		this.maxWeight = maxBytes;
+		this.admission = admission;
+		if (admission == Admission.LRU) {
+			maxWindow = maxBytes;
+			maxProtected = 0;
+			sketch = null;
+		} else {
+			maxWindow = Math.max(1, (long) (WINDOW_FRACTION * maxBytes));
+			maxProtected = (long) (PROTECTED_FRACTION * (maxBytes - maxWindow));
+			sketch = new FrequencySketch();
+		}
+	}
+
+	/**
+	 * @param data
+	 * @return number of bytes held by dataset
+	 */
+	public static long weigh(IDataset data) {
+		if (data == null) {
+			return 0;
+		}
+		return (long) data.getSize() * DatasetUtils.convertToDataset(data).getItemBytes();
+	}
+
+	/**
+	 * @return budget in bytes
+	 */
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * @return admission policy
+	 */
+	public Admission getAdmission() {
+		return admission;
+	}
+
+	/**
+	 * @return number of bytes held
+	 */
+	public synchronized long getWeight() {
+		return windowWeight + probationWeight + protectedWeight;
+	}
+
+	/**
+	 * @return number of entries
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @param key
+	 * @return true if cached
+	 */
+	public synchronized boolean containsKey(K key) {
+		return entries.containsKey(key);
+	}
+
+	/**
+	 * @param key
+	 * @return cached value or null
+	 */
+	public synchronized Dataset get(K key) {
+		record(key);
+		Entry<K> e = entries.get(key);
+		if (e == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		touch(e);
+		return e.value;
+	}
+
+	/**
+	 * Retrieve cached value, computing and caching it if absent
+	 * @param key
+	 * @param function to compute value from key, which may return null
+	 * @return value or null if absent and computed as null
+	 */
+	public Dataset get(K key, Function<? super K, ? extends IDataset> function) {
+		Dataset value = get(key);
+		if (value == null) {
+			IDataset computed = function.apply(key);
+			if (computed != null) {
+				value = DatasetUtils.convertToDataset(computed);
+				put(key, value, false, false);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Cache value, replacing any existing value of key but keeping its pins
+	 * @param key
+	 * @param value
+	 */
+	public void put(K key, IDataset value) {
+		put(key, DatasetUtils.convertToDataset(value), true, false);
+	}
+
+	/**
+	 * Cache value, replacing any existing value of key, and pin it unless it is already
+	 * pinned, as one operation so the value cannot be evicted in between. A pinned value
+	 * is held even if heavier than the budget
+	 * @param key
+	 * @param value
+	 */
+	public void putPinned(K key, IDataset value) {
+		put(key, DatasetUtils.convertToDataset(value), true, true);
+	}
+
+	private synchronized void put(K key, Dataset value, boolean replace, boolean pin) {
+		long weight = weigh(value);
+		Entry<K> e = entries.get(key);
+		if (e != null) {
+			if (replace) {
+				LinkedHashMap<K, Entry<K>> segment = e.segment;
+				unlink(e);
+				e.value = value;
+				e.weight = weight;
+				if (pin && e.pins == 0) {
+					e.pins = 1;
+				}
+				if (weight > maxWeight && e.pins == 0) {
+					discard(e);
+					return;
+				}
+				link(e, segment);
+				evict();
+			}
+			return;
+		}
+		record(key);
+		e = new Entry<>(key);
+		e.value = value;
+		e.weight = weight;
+		if (pin) {
+			e.pins = 1;
+		} else if (weight > maxWeight) {
+			evictions++;
+			evictedWeight += weight;
+			return;
+		}
+		entries.put(key, e);
+		link(e, window);
+		evict();
+	}
+
+	/**
+	 * Remove entry whether or not it is pinned
+	 * @param key
+	 * @return value that was cached or null
+	 */
+	public synchronized Dataset remove(K key) {
+		Entry<K> e = entries.remove(key);
+		if (e == null) {
+			return null;
+		}
+		unlink(e);
+		return e.value;
+	}
+
+	/**
+	 * Remove all entries whether or not they are pinned
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		window.clear();
+		probation.clear();
+		protect.clear();
+		windowWeight = 0;
+		probationWeight = 0;
+		protectedWeight = 0;
+	}
+
+	/**
+	 * Pin entry so it is not evicted. Each pin must be matched by an unpin
+	 * @param key
+	 * @return true if key is cached and so was pinned
+	 */
+	public synchronized boolean pin(K key) {
+		Entry<K> e = entries.get(key);
+		if (e == null) {
+			return false;
+		}
+		e.pins++;
+		return true;
+	}
+
+	/**
+	 * Release a pin of entry, which becomes evictable when all its pins are released
+	 * @param key
+	 */
+	public synchronized void unpin(K key) {
+		Entry<K> e = entries.get(key);
+		if (e != null && e.pins > 0) {
+			e.pins--;
+			if (e.pins == 0) {
+				evict();
+			}
+		}
+	}
+
+	/**
+	 * @param key
+	 * @return number of pins on entry or zero if not cached
+	 */
+	public synchronized int getPinCount(K key) {
+		Entry<K> e = entries.get(key);
+		return e == null ? 0 : e.pins;
+	}
+
+	/**
+	 * @return number of gets which found a value
+	 */
+	public synchronized long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * @return number of gets which did not find a value
+	 */
+	public synchronized long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * @return fraction of gets which found a value or NaN if none
+	 */
+	public synchronized double getHitRate() {
+		long n = hits + misses;
+		return n == 0 ? Double.NaN : hits / (double) n;
+	}
+
+	/**
+	 * @return number of entries evicted or not admitted
+	 */
+	public synchronized long getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * @return number of bytes evicted or not admitted
+	 */
+	public synchronized long getEvictedWeight() {
+		return evictedWeight;
+	}
+
+	/**
+	 * Set hit, miss and eviction counts back to zero
+	 */
+	public synchronized void resetStatistics() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+		evictedWeight = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("%s %d entries, %d of %d bytes, hits %d, misses %d, evictions %d", admission,
+				entries.size(), getWeight(), maxWeight, hits, misses, evictions);
+	}
+
+	private void record(K key) {
+		if (sketch != null) {
+			sketch.increment(key.hashCode(), entries.size());
+		}
+	}
+
+	private void link(Entry<K> e, LinkedHashMap<K, Entry<K>> segment) {
+		e.segment = segment;
+		segment.put(e.key, e);
+		if (segment == window) {
+			windowWeight += e.weight;
+		} else if (segment == probation) {
+			probationWeight += e.weight;
+		} else {
+			protectedWeight += e.weight;
+		}
+	}
+
+	private void unlink(Entry<K> e) {
+		LinkedHashMap<K, Entry<K>> segment = e.segment;
+		if (segment == null) {
+			return;
+		}
+		segment.remove(e.key);
+		if (segment == window) {
+			windowWeight -= e.weight;
+		} else if (segment == probation) {
+			probationWeight -= e.weight;
+		} else {
+			protectedWeight -= e.weight;
+		}
+		e.segment = null;
+	}
+
+	/**
+	 * Move entry to most recently used end of its segment, promoting it from
+	 * probation to protected
+	 */
+	private void touch(Entry<K> e) {
+		LinkedHashMap<K, Entry<K>> segment = e.segment;
+		unlink(e);
+		if (segment == probation) {
+			link(e, protect);
+			// demote least recently used protected entries to probation
+			Iterator<Entry<K>> it = protect.values().iterator();
+			while (protectedWeight > maxProtected && it.hasNext()) {
+				Entry<K> p = it.next();
+				if (p == e) {
+					break;
+				}
+				it.remove();
+				protectedWeight -= p.weight;
+				p.segment = null;
+				link(p, probation);
+			}
+		} else {
+			link(e, segment);
+		}
+	}
+
+	private void evict() {
+		if (admission == Admission.LRU) {
+			evictFrom(window, maxWeight);
+			return;
+		}
+
+		// move least recently used entries out of window as candidates for main part
+		Iterator<Entry<K>> it = window.values().iterator();
+		while (windowWeight > maxWindow && it.hasNext()) {
+			Entry<K> c = it.next();
+			if (c.pins > 0) {
+				continue;
+			}
+			it.remove();
+			windowWeight -= c.weight;
+			c.segment = null;
+			admit(c);
+		}
+
+		// then evict from main part, if still over budget from pinned or promoted entries
+		if (getWeight() > maxWeight) {
+			evictFrom(probation, maxWeight);
+		}
+		if (getWeight() > maxWeight) {
+			evictFrom(protect, maxWeight);
+		}
+		if (getWeight() > maxWeight) {
+			evictFrom(window, maxWeight);
+		}
+	}
+
+	/**
+	 * Admit candidate to probation if there is room or it is used more often than
+	 * the victims it would displace
+	 */
+	private void admit(Entry<K> c) {
+		long maxMain = maxWeight - Math.min(windowWeight, maxWindow);
+		if (c.weight > maxMain) {
+			discard(c);
+			return;
+		}
+
+		long excess = probationWeight + protectedWeight + c.weight - maxMain;
+		if (excess > 0) {
+			int frequency = sketch.frequency(c.key.hashCode());
+			// find enough unpinned victims, least recently used first
+			long freed = 0;
+			for (Entry<K> v : probation.values()) {
+				if (freed >= excess) {
+					break;
+				}
+				if (v.pins > 0) {
+					continue;
+				}
+				if (sketch.frequency(v.key.hashCode()) >= frequency) {
+					discard(c);
+					return;
+				}
+				freed += v.weight;
+			}
+			if (freed < excess) {
+				discard(c);
+				return;
+			}
+			evictFrom(probation, maxMain + windowWeight - c.weight);
+		}
+		link(c, probation);
+	}
+
+	/**
+	 * Evict unpinned entries from segment, least recently used first, until cache
+	 * weight is within given limit
+	 */
+	private void evictFrom(LinkedHashMap<K, Entry<K>> segment, long limit) {
+		Iterator<Entry<K>> it = segment.values().iterator();
+		while (getWeight() > limit && it.hasNext()) {
+			Entry<K> v = it.next();
+			if (v.pins > 0) {
+				continue;
+			}
+			it.remove();
+			if (segment == window) {
+				windowWeight -= v.weight;
+			} else if (segment == probation) {
+				probationWeight -= v.weight;
+			} else {
+				protectedWeight -= v.weight;
+			}
+			v.segment = null;
+			discard(v);
+		}
+	}
+
+	private void discard(Entry<K> e) {
+		entries.remove(e.key);
+		evictions++;
+		evictedWeight += e.weight;
+	}
+
+	/**
+	 * Count-min sketch of approximate frequencies of keys, with four rows of
+	 * four-bit counters which are halved periodically so that old uses fade
+	 */
+	private static class FrequencySketch {
+		private static final int ROWS = 4;
+		private static final int[] SEEDS = {0x97cb3127, 0x9e3779b9, 0x85ebca6b, 0xc2b2ae35};
+		private static final int MAX = 15;
+
+		private byte[][] table;
+		private int mask;
+		private int additions;
+		private int sampleSize;
+
+		FrequencySketch() {
+			resize(256);
+		}
+
+		private void resize(int width) {
+			table = new byte[ROWS][width];
+			mask = width - 1;
+			additions = 0;
+			sampleSize = 10 * width;
+		}
+
+		private int index(int hash, int row) {
+			int h = (hash ^ (hash >>> 16)) * SEEDS[row];
+			h ^= h >>> 15;
+			return h & mask;
+		}
+
+		void increment(int hash, int size) {
+			if (4 * size > table[0].length && table[0].length < (1 << 24)) {
+				resize(Integer.highestOneBit(4 * size) << 1);
+			}
+			boolean added = false;
+			for (int r = 0; r < ROWS; r++) {
+				int i = index(hash, r);
+				if (table[r][i] < MAX) {
+					table[r][i]++;
+					added = true;
+				}
+			}
+			if (added && ++additions >= sampleSize) {
+				for (byte[] row : table) {
+					for (int i = 0; i < row.length; i++) {
+						row[i] >>= 1;
+					}
+				}
+				additions /= 2;
+			}
+		}
+
+		int frequency(int hash) {
+			int f = MAX;
+			for (int r = 0; r < ROWS; r++) {
+				f = Math.min(f, table[r][index(hash, r)]);
+			}
+			return f;
+		}
+	}
+}
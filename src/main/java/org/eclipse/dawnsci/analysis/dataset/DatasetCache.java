@@ -9,30 +9,63 @@
 
 package org.eclipse.dawnsci.analysis.dataset;
 
-import java.lang.ref.SoftReference;
-import java.util.IdentityHashMap;
-import java.util.Map;
-
+import org.eclipse.dawnsci.analysis.dataset.BoundedDatasetCache.Admission;
 import org.eclipse.dawnsci.analysis.dataset.impl.function.DatasetToDatasetFunction;
 import org.eclipse.january.dataset.Dataset;
-import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.IDataset;
 
 /**
- * Cache of computed dataset values
+ * Cache of computed dataset values, keyed by identity of input and bounded
+ * by the number of bytes in the values
  */
 public class DatasetCache {
 
+	/**
+	 * Default budget as a fraction of maximum heap size
+	 */
+	public static final double DEFAULT_HEAP_FRACTION = 0.125;
+
 	private DatasetToDatasetFunction function;
-	private Map<IDataset, SoftReference<Dataset>> map;
+	private BoundedDatasetCache<Key> cache;
 
 	/**
-	 * Create a cache for given function
+	 * Key that compares inputs by identity as dataset equality compares values
+	 */
+	private static class Key {
+		private final IDataset input;
+
+		Key(IDataset input) {
+			this.input = input;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(input);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).input == input;
+		}
+	}
+
+	/**
+	 * Create a cache for given function with a budget of an eighth of the maximum heap
 	 * @param function
 	 */
 	public DatasetCache(DatasetToDatasetFunction function) {
+		this(function, (long) (DEFAULT_HEAP_FRACTION * Runtime.getRuntime().maxMemory()), Admission.LRU);
+	}
+
+	/**
+	 * Create a cache for given function
+	 * @param function
+	 * @param maxBytes budget for computed values
+	 * @param admission policy
+	 */
+	public DatasetCache(DatasetToDatasetFunction function, long maxBytes, Admission admission) {
 		this.function = function;
-		map = new IdentityHashMap<IDataset, SoftReference<Dataset>>();
+		cache = new BoundedDatasetCache<>(maxBytes, admission);
 	}
 
 	/**
@@ -41,15 +74,24 @@ public class DatasetCache {
 	 * @return computed value
 	 */
 	public Dataset get(IDataset input) {
-		SoftReference<Dataset> ref = map.get(input);
-		Dataset output;
-		if (ref == null || ref.get() == null) {
-			output = DatasetUtils.convertToDataset(function.value(input).get(0));
-			map.put(input, new SoftReference<Dataset>(output));
-		} else {
-			output = ref.get();
-		}
-		return output;
+		return cache.get(new Key(input), k -> function.value(k.input).get(0));
+	}
+
+	/**
+	 * Pin computed value of input so it is not evicted
+	 * @param input
+	 * @return true if cached and so was pinned
+	 */
+	public boolean pin(IDataset input) {
+		return cache.pin(new Key(input));
+	}
+
+	/**
+	 * Release a pin of computed value of input
+	 * @param input
+	 */
+	public void unpin(IDataset input) {
+		cache.unpin(new Key(input));
 	}
 
 	/**
@@ -58,18 +100,20 @@ public class DatasetCache {
 	 * @return true if was cached
 	 */
 	public boolean remove(Dataset input) {
-		SoftReference<Dataset> ref = map.remove(input);
-		if (ref == null || ref.get() == null) {
-			return false;
-		}
-		ref.clear();
-		return true;
+		return cache.remove(new Key(input)) != null;
 	}
 
 	/**
 	 * Clear cache
 	 */
 	public void clear() {
-		map.clear();
+		cache.clear();
+	}
+
+	/**
+	 * @return cache of computed values, for its statistics
+	 */
+	public BoundedDatasetCache<?> getCache() {
+		return cache;
 	}
 }
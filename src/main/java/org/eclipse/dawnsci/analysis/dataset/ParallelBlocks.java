@@ -0,0 +1,126 @@
+/*-
+ * Copyright 2017 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BinaryOperator;
+
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+
+/**
+ * Runs numbered blocks of work (tiles, chunks, frames, ...) in parallel on the
+ * common fork-join pool, one block per task.
+ * <p>
+ * Once a block fails or the monitor is cancelled, blocks which have not started
+ * are skipped. The first failure is rethrown to the caller: dataset and runtime
+ * exceptions as they are, others wrapped in a {@link DatasetException}. The
+ * monitor, if any, is worked once per completed block.
+ */
+public final class ParallelBlocks {
+
+	@FunctionalInterface
+	public interface Block {
+		void run(int index) throws Exception;
+	}
+
+	@FunctionalInterface
+	public interface Evaluation<T> {
+		T evaluate(int index) throws Exception;
+	}
+
+	private ParallelBlocks() {
+	}
+
+	/**
+	 * Run blocks [0, count) in parallel
+	 * @param count number of blocks
+	 * @param block work of each block
+	 * @param monitor may be null
+	 * @throws DatasetException
+	 */
+	public static void run(int count, Block block, IMonitor monitor) throws DatasetException {
+		reduce(count, i -> {
+			block.run(i);
+			return null;
+		}, (a, b) -> null, monitor);
+	}
+
+	/**
+	 * Evaluate blocks [0, count) in parallel and merge their results in order
+	 * of index. Null results are not merged.
+	 * @param count number of blocks
+	 * @param evaluation result of each block
+	 * @param merge combines results of adjacent ranges of blocks, left then right
+	 * @param monitor may be null
+	 * @return merged result or null if there are no results
+	 * @throws DatasetException
+	 */
+	public static <T> T reduce(int count, Evaluation<T> evaluation, BinaryOperator<T> merge, IMonitor monitor) throws DatasetException {
+		if (count <= 0) {
+			return null;
+		}
+
+		AtomicReference<Exception> error = new AtomicReference<>();
+		Task<T> task = new Task<>(0, count, evaluation, merge, monitor, error);
+		T result = count == 1 ? task.compute() : ForkJoinPool.commonPool().invoke(task);
+
+		Exception e = error.get();
+		if (e instanceof DatasetException) throw (DatasetException) e;
+		if (e instanceof RuntimeException) throw (RuntimeException) e;
+		if (e != null) throw new DatasetException(e);
+		return result;
+	}
+
+	private static class Task<T> extends RecursiveTask<T> {
+		private static final long serialVersionUID = 1L;
+
+		private final int start, stop;
+		private final Evaluation<T> evaluation;
+		private final BinaryOperator<T> merge;
+		private final IMonitor monitor;
+		private final AtomicReference<Exception> error;
+
+		Task(int start, int stop, Evaluation<T> evaluation, BinaryOperator<T> merge, IMonitor monitor, AtomicReference<Exception> error) {
+			this.start = start;
+			this.stop = stop;
+			this.evaluation = evaluation;
+			this.merge = merge;
+			this.monitor = monitor;
+			this.error = error;
+		}
+
+		@Override
+		protected T compute() {
+			if (stop - start > 1) {
+				int mid = (start + stop) >>> 1;
+				Task<T> left = new Task<>(start, mid, evaluation, merge, monitor, error);
+				Task<T> right = new Task<>(mid, stop, evaluation, merge, monitor, error);
+				left.fork();
+				T r = right.compute();
+				T l = left.join();
+				if (l == null) return r;
+				if (r == null) return l;
+				return merge.apply(l, r);
+			}
+			if (error.get() != null || (monitor != null && monitor.isCancelled())) return null;
+			try {
+				T result = evaluation.evaluate(start);
+				if (monitor != null) monitor.worked(1);
+				return result;
+			} catch (Exception e) {
+				error.compareAndSet(null, e);
+				return null;
+			}
+		}
+	}
+}
@@ -95,7 +95,12 @@ public class Downsample implements DatasetToDatasetFunction, IDownsampleService
 			}
 			final int[] shape = new int[drank];
 			for (int i = 0; i < drank; i++) {
-				shape[i] = (dshape[i] + bshape[i] - 1)/bshape[i];
+				shape[i] = (dshape[i] + lbshape[i] - 1)/lbshape[i];
+			}
+
+			if (DownsampleKernels.isSupported(dataset, mode)) {
+				result.add(DownsampleKernels.bin(dataset, mode, lbshape, shape));
+				continue;
 			}
 
 			final Dataset binned;
@@ -120,7 +125,7 @@ public class Downsample implements DatasetToDatasetFunction, IDownsampleService
 			case POINT:
 				while (biter.hasNext()) {
 					for (int i = 0; i < drank; i++) {
-						spos[i] = bshape[i]*bpos[i];
+						spos[i] = lbshape[i]*bpos[i];
 					}
 
 					binned.setObjectAbs(biter.index, dataset.getObject(spos));
@@ -131,8 +136,8 @@ public class Downsample implements DatasetToDatasetFunction, IDownsampleService
 				if (isize == 1) {
 					while (biter.hasNext()) {
 						for (int i = 0; i < drank; i++) {
-							spos[i] = bshape[i] * bpos[i];
-							epos[i] = spos[i] + bshape[i];
+							spos[i] = lbshape[i] * bpos[i];
+							epos[i] = spos[i] + lbshape[i];
 							if (epos[i] > dshape[i]) // ensure bin is within dataset
 								epos[i] = dshape[i];
 						}
@@ -156,8 +161,8 @@ public class Downsample implements DatasetToDatasetFunction, IDownsampleService
 				} else {
 					while (biter.hasNext()) {
 						for (int i = 0; i < drank; i++) {
-							spos[i] = bshape[i] * bpos[i];
-							epos[i] = spos[i] + bshape[i];
+							spos[i] = lbshape[i] * bpos[i];
+							epos[i] = spos[i] + lbshape[i];
 							if (epos[i] > dshape[i])
 								epos[i] = dshape[i];
 						}
@@ -188,8 +193,8 @@ public class Downsample implements DatasetToDatasetFunction, IDownsampleService
 				if (isize == 1) {
 					while (biter.hasNext()) {
 						for (int i = 0; i < drank; i++) {
-							spos[i] = bshape[i] * bpos[i];
-							epos[i] = spos[i] + bshape[i];
+							spos[i] = lbshape[i] * bpos[i];
+							epos[i] = spos[i] + lbshape[i];
 							if (epos[i] > dshape[i])
 								epos[i] = dshape[i];
 						}
@@ -208,8 +213,8 @@ public class Downsample implements DatasetToDatasetFunction, IDownsampleService
 				} else {
 					while (biter.hasNext()) {
 						for (int i = 0; i < drank; i++) {
-							spos[i] = bshape[i] * bpos[i];
-							epos[i] = spos[i] + bshape[i];
+							spos[i] = lbshape[i] * bpos[i];
+							epos[i] = spos[i] + lbshape[i];
 							if (epos[i] > dshape[i])
 								epos[i] = dshape[i];
 						}
@@ -235,8 +240,8 @@ public class Downsample implements DatasetToDatasetFunction, IDownsampleService
 				if (isize == 1) {
 					while (biter.hasNext()) {
 						for (int i = 0; i < drank; i++) {
-							spos[i] = bshape[i] * bpos[i];
-							epos[i] = spos[i] + bshape[i];
+							spos[i] = lbshape[i] * bpos[i];
+							epos[i] = spos[i] + lbshape[i];
 							if (epos[i] > dshape[i])
 								epos[i] = dshape[i];
 						}
@@ -255,8 +260,8 @@ public class Downsample implements DatasetToDatasetFunction, IDownsampleService
 				} else {
 					while (biter.hasNext()) {
 						for (int i = 0; i < drank; i++) {
-							spos[i] = bshape[i] * bpos[i];
-							epos[i] = spos[i] + bshape[i];
+							spos[i] = lbshape[i] * bpos[i];
+							epos[i] = spos[i] + lbshape[i];
 							if (epos[i] > dshape[i])
 								epos[i] = dshape[i];
 						}
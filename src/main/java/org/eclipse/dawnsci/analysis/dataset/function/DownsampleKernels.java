@@ -0,0 +1,461 @@
+/*
+ * Copyright (c) 2012 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset.function;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.eclipse.dawnsci.analysis.api.downsample.DownsampleMode;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.FloatDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.ShortDataset;
+
+/**
+ * Down-sampling kernels for 2D and 3D single element datasets of doubles, floats,
+ * ints and shorts. These work directly on the primitive buffers (following any
+ * strides of views). The rows in each bin are first reduced into a row of
+ * accumulators with simple loops that the JIT can unroll and vectorise, then
+ * neighbouring columns are reduced. Output rows are split into stripes which
+ * run in parallel for large datasets.
+ * <p>
+ * Means are calculated as sums over counts so may differ from the running mean
+ * used for other types in the last bit.
+ */
+final class DownsampleKernels {
+
+	/**
+	 * Number of input items above which stripes are run in parallel
+	 */
+	static final int PARALLEL_THRESHOLD = 1 << 16;
+
+	private DownsampleKernels() {
+	}
+
+	@FunctionalInterface
+	private interface RowKernel {
+		/**
+		 * Bin output rows in stripe
+		 * @param start first output row
+		 * @param stop last output row (exclusive)
+		 */
+		void rows(int start, int stop);
+	}
+
+	/**
+	 * Bin geometry with dataset as three dimensions, the last of which is a row
+	 */
+	private static final class Bins {
+		final int n0, n1, n2; // input shape
+		final int b0, b1, b2; // bin shape
+		final int s0, s1, s2; // input strides
+		final int offset;
+		final int o1, o2; // output shape
+		final int rows;
+
+		Bins(Dataset dataset, int[] bshape, int[] shape) {
+			int[] dshape = dataset.getShape();
+			int rank = dshape.length;
+			int[] strides = dataset.getStrides();
+			if (strides == null) {
+				strides = new int[rank];
+				int s = 1;
+				for (int i = rank - 1; i >= 0; i--) {
+					strides[i] = s;
+					s *= dshape[i];
+				}
+			}
+			boolean three = rank == 3;
+			n0 = three ? dshape[0] : 1;
+			b0 = three ? bshape[0] : 1;
+			s0 = three ? strides[0] : 0;
+			n1 = dshape[rank - 2];
+			b1 = bshape[rank - 2];
+			s1 = strides[rank - 2];
+			n2 = dshape[rank - 1];
+			b2 = bshape[rank - 1];
+			s2 = strides[rank - 1];
+			offset = dataset.getOffset();
+			o1 = shape[rank - 2];
+			o2 = shape[rank - 1];
+			rows = (three ? shape[0] : 1) * o1;
+		}
+
+		int start0(int row) {
+			return (row / o1) * b0;
+		}
+
+		int stop0(int row) {
+			return Math.min(start0(row) + b0, n0);
+		}
+
+		int start1(int row) {
+			return (row % o1) * b1;
+		}
+
+		int stop1(int row) {
+			return Math.min(start1(row) + b1, n1);
+		}
+
+		int corner(int row) {
+			return offset + start0(row) * s0 + start1(row) * s1;
+		}
+
+		void run(RowKernel kernel) {
+			long work = (long) n0 * n1 * n2;
+			if (rows < 2 || work < PARALLEL_THRESHOLD) {
+				kernel.rows(0, rows);
+				return;
+			}
+			final int stripes = Math.min(rows, ForkJoinPool.getCommonPoolParallelism() * 4);
+			IntStream.range(0, stripes).parallel().forEach(s -> kernel.rows((int) ((long) rows * s / stripes), (int) ((long) rows * (s + 1) / stripes)));
+		}
+	}
+
+	/**
+	 * @param dataset
+	 * @param mode
+	 * @return true if dataset can be binned by these kernels
+	 */
+	static boolean isSupported(Dataset dataset, DownsampleMode mode) {
+		if (mode == DownsampleMode.SUM || dataset.getElementsPerItem() != 1) {
+			return false;
+		}
+		int rank = dataset.getRank();
+		if (rank != 2 && rank != 3) {
+			return false;
+		}
+		return dataset instanceof DoubleDataset || dataset instanceof FloatDataset
+				|| dataset instanceof IntegerDataset || dataset instanceof ShortDataset;
+	}
+
+	/**
+	 * Bin dataset. Use {@link #isSupported(Dataset, DownsampleMode)} first.
+	 * @param dataset
+	 * @param mode
+	 * @param bshape bin shape of same rank as dataset
+	 * @param shape binned shape
+	 * @return binned dataset
+	 */
+	static Dataset bin(Dataset dataset, DownsampleMode mode, int[] bshape, int[] shape) {
+		Bins g = new Bins(dataset, bshape, shape);
+		if (dataset instanceof DoubleDataset) {
+			DoubleDataset binned = DatasetFactory.zeros(DoubleDataset.class, shape);
+			g.run(doubleKernel(g, mode, ((DoubleDataset) dataset).getData(), binned.getData()));
+			return binned;
+		}
+		if (dataset instanceof FloatDataset) {
+			FloatDataset binned = DatasetFactory.zeros(FloatDataset.class, shape);
+			g.run(floatKernel(g, mode, ((FloatDataset) dataset).getData(), binned.getData()));
+			return binned;
+		}
+		if (dataset instanceof IntegerDataset) {
+			IntegerDataset binned = DatasetFactory.zeros(IntegerDataset.class, shape);
+			g.run(intKernel(g, mode, ((IntegerDataset) dataset).getData(), binned.getData()));
+			return binned;
+		}
+		ShortDataset binned = DatasetFactory.zeros(ShortDataset.class, shape);
+		g.run(shortKernel(g, mode, ((ShortDataset) dataset).getData(), binned.getData()));
+		return binned;
+	}
+
+	private static RowKernel doubleKernel(Bins g, DownsampleMode mode, double[] in, double[] out) {
+		switch (mode) {
+		case POINT:
+			return (start, stop) -> {
+				final int step = g.b2 * g.s2;
+				for (int r = start; r < stop; r++) {
+					final int base = g.corner(r);
+					for (int o = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						out[k] = in[base + o * step];
+					}
+				}
+			};
+		case MEAN:
+			return (start, stop) -> {
+				final double[] sum = new double[g.n2];
+				final int[] num = new int[g.n2];
+				for (int r = start; r < stop; r++) {
+					Arrays.fill(sum, 0);
+					Arrays.fill(num, 0);
+					for (int i = g.start0(r), imax = g.stop0(r); i < imax; i++) {
+						for (int j = g.start1(r), jmax = g.stop1(r); j < jmax; j++) {
+							final int base = g.offset + i * g.s0 + j * g.s1;
+							for (int c = 0; c < g.n2; c++) {
+								final double v = in[base + c * g.s2];
+								final boolean finite = Double.isFinite(v);
+								sum[c] += finite ? v : 0;
+								num[c] += finite ? 1 : 0;
+							}
+						}
+					}
+					for (int o = 0, c = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						double s = 0;
+						int n = 0;
+						for (int cmax = Math.min(c + g.b2, g.n2); c < cmax; c++) {
+							s += sum[c];
+							n += num[c];
+						}
+						out[k] = n == 0 ? 0 : (s / n);
+					}
+				}
+			};
+		case MAXIMUM:
+		case MINIMUM:
+			// minimum is found as maximum of negated values, ignoring NaNs and infinities
+			final double sign = mode == DownsampleMode.MAXIMUM ? 1 : -1;
+			final double lim = Double.POSITIVE_INFINITY;
+			return (start, stop) -> {
+				final double[] ext = new double[g.n2];
+				for (int r = start; r < stop; r++) {
+					Arrays.fill(ext, Double.NEGATIVE_INFINITY);
+					for (int i = g.start0(r), imax = g.stop0(r); i < imax; i++) {
+						for (int j = g.start1(r), jmax = g.stop1(r); j < jmax; j++) {
+							final int base = g.offset + i * g.s0 + j * g.s1;
+							for (int c = 0; c < g.n2; c++) {
+								final double v = sign * in[base + c * g.s2];
+								ext[c] = Math.max(ext[c], v < lim ? v : -lim);
+							}
+						}
+					}
+					for (int o = 0, c = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						double e = ext[c++];
+						for (int cmax = Math.min(c - 1 + g.b2, g.n2); c < cmax; c++) {
+							e = Math.max(e, ext[c]);
+						}
+						out[k] = sign * e;
+					}
+				}
+			};
+		default:
+			throw new IllegalArgumentException("Mode " + mode + " not supported");
+		}
+	}
+
+	private static RowKernel floatKernel(Bins g, DownsampleMode mode, float[] in, float[] out) {
+		switch (mode) {
+		case POINT:
+			return (start, stop) -> {
+				final int step = g.b2 * g.s2;
+				for (int r = start; r < stop; r++) {
+					final int base = g.corner(r);
+					for (int o = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						out[k] = in[base + o * step];
+					}
+				}
+			};
+		case MEAN:
+			return (start, stop) -> {
+				final double[] sum = new double[g.n2];
+				final int[] num = new int[g.n2];
+				for (int r = start; r < stop; r++) {
+					Arrays.fill(sum, 0);
+					Arrays.fill(num, 0);
+					for (int i = g.start0(r), imax = g.stop0(r); i < imax; i++) {
+						for (int j = g.start1(r), jmax = g.stop1(r); j < jmax; j++) {
+							final int base = g.offset + i * g.s0 + j * g.s1;
+							for (int c = 0; c < g.n2; c++) {
+								final float v = in[base + c * g.s2];
+								final boolean finite = Float.isFinite(v);
+								sum[c] += finite ? v : 0;
+								num[c] += finite ? 1 : 0;
+							}
+						}
+					}
+					for (int o = 0, c = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						double s = 0;
+						int n = 0;
+						for (int cmax = Math.min(c + g.b2, g.n2); c < cmax; c++) {
+							s += sum[c];
+							n += num[c];
+						}
+						out[k] = n == 0 ? 0 : (float) (s / n);
+					}
+				}
+			};
+		case MAXIMUM:
+		case MINIMUM:
+			// minimum is found as maximum of negated values, ignoring NaNs and infinities
+			final float sign = mode == DownsampleMode.MAXIMUM ? 1 : -1;
+			final float lim = Float.POSITIVE_INFINITY;
+			return (start, stop) -> {
+				final float[] ext = new float[g.n2];
+				for (int r = start; r < stop; r++) {
+					Arrays.fill(ext, Float.NEGATIVE_INFINITY);
+					for (int i = g.start0(r), imax = g.stop0(r); i < imax; i++) {
+						for (int j = g.start1(r), jmax = g.stop1(r); j < jmax; j++) {
+							final int base = g.offset + i * g.s0 + j * g.s1;
+							for (int c = 0; c < g.n2; c++) {
+								final float v = sign * in[base + c * g.s2];
+								ext[c] = Math.max(ext[c], v < lim ? v : -lim);
+							}
+						}
+					}
+					for (int o = 0, c = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						float e = ext[c++];
+						for (int cmax = Math.min(c - 1 + g.b2, g.n2); c < cmax; c++) {
+							e = Math.max(e, ext[c]);
+						}
+						out[k] = sign * e;
+					}
+				}
+			};
+		default:
+			throw new IllegalArgumentException("Mode " + mode + " not supported");
+		}
+	}
+
+	private static RowKernel intKernel(Bins g, DownsampleMode mode, int[] in, int[] out) {
+		switch (mode) {
+		case POINT:
+			return (start, stop) -> {
+				final int step = g.b2 * g.s2;
+				for (int r = start; r < stop; r++) {
+					final int base = g.corner(r);
+					for (int o = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						out[k] = in[base + o * step];
+					}
+				}
+			};
+		case MEAN:
+			return (start, stop) -> {
+				final long[] sum = new long[g.n2];
+				for (int r = start; r < stop; r++) {
+					Arrays.fill(sum, 0);
+					for (int i = g.start0(r), imax = g.stop0(r); i < imax; i++) {
+						for (int j = g.start1(r), jmax = g.stop1(r); j < jmax; j++) {
+							final int base = g.offset + i * g.s0 + j * g.s1;
+							for (int c = 0; c < g.n2; c++) {
+								sum[c] += in[base + c * g.s2];
+							}
+						}
+					}
+					final int area = (g.stop0(r) - g.start0(r)) * (g.stop1(r) - g.start1(r));
+					for (int o = 0, c = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						long s = 0;
+						final int cmax = Math.min(c + g.b2, g.n2);
+						final int n = area * (cmax - c);
+						for (; c < cmax; c++) {
+							s += sum[c];
+						}
+						out[k] = (int) (long) ((double) s / n);
+					}
+				}
+			};
+		case MAXIMUM:
+		case MINIMUM:
+			final boolean max = mode == DownsampleMode.MAXIMUM;
+			return (start, stop) -> {
+				final int[] ext = new int[g.n2];
+				for (int r = start; r < stop; r++) {
+					Arrays.fill(ext, max ? Integer.MIN_VALUE : Integer.MAX_VALUE);
+					for (int i = g.start0(r), imax = g.stop0(r); i < imax; i++) {
+						for (int j = g.start1(r), jmax = g.stop1(r); j < jmax; j++) {
+							final int base = g.offset + i * g.s0 + j * g.s1;
+							if (max) {
+								for (int c = 0; c < g.n2; c++) {
+									ext[c] = Math.max(ext[c], in[base + c * g.s2]);
+								}
+							} else {
+								for (int c = 0; c < g.n2; c++) {
+									ext[c] = Math.min(ext[c], in[base + c * g.s2]);
+								}
+							}
+						}
+					}
+					for (int o = 0, c = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						int e = ext[c++];
+						for (int cmax = Math.min(c - 1 + g.b2, g.n2); c < cmax; c++) {
+							e = max ? Math.max(e, ext[c]) : Math.min(e, ext[c]);
+						}
+						out[k] = e;
+					}
+				}
+			};
+		default:
+			throw new IllegalArgumentException("Mode " + mode + " not supported");
+		}
+	}
+
+	private static RowKernel shortKernel(Bins g, DownsampleMode mode, short[] in, short[] out) {
+		switch (mode) {
+		case POINT:
+			return (start, stop) -> {
+				final int step = g.b2 * g.s2;
+				for (int r = start; r < stop; r++) {
+					final int base = g.corner(r);
+					for (int o = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						out[k] = in[base + o * step];
+					}
+				}
+			};
+		case MEAN:
+			return (start, stop) -> {
+				final long[] sum = new long[g.n2];
+				for (int r = start; r < stop; r++) {
+					Arrays.fill(sum, 0);
+					for (int i = g.start0(r), imax = g.stop0(r); i < imax; i++) {
+						for (int j = g.start1(r), jmax = g.stop1(r); j < jmax; j++) {
+							final int base = g.offset + i * g.s0 + j * g.s1;
+							for (int c = 0; c < g.n2; c++) {
+								sum[c] += in[base + c * g.s2];
+							}
+						}
+					}
+					final int area = (g.stop0(r) - g.start0(r)) * (g.stop1(r) - g.start1(r));
+					for (int o = 0, c = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						long s = 0;
+						final int cmax = Math.min(c + g.b2, g.n2);
+						final int n = area * (cmax - c);
+						for (; c < cmax; c++) {
+							s += sum[c];
+						}
+						out[k] = (short) (long) ((double) s / n);
+					}
+				}
+			};
+		case MAXIMUM:
+		case MINIMUM:
+			final boolean max = mode == DownsampleMode.MAXIMUM;
+			return (start, stop) -> {
+				final int[] ext = new int[g.n2];
+				for (int r = start; r < stop; r++) {
+					Arrays.fill(ext, max ? Integer.MIN_VALUE : Integer.MAX_VALUE);
+					for (int i = g.start0(r), imax = g.stop0(r); i < imax; i++) {
+						for (int j = g.start1(r), jmax = g.stop1(r); j < jmax; j++) {
+							final int base = g.offset + i * g.s0 + j * g.s1;
+							if (max) {
+								for (int c = 0; c < g.n2; c++) {
+									ext[c] = Math.max(ext[c], in[base + c * g.s2]);
+								}
+							} else {
+								for (int c = 0; c < g.n2; c++) {
+									ext[c] = Math.min(ext[c], in[base + c * g.s2]);
+								}
+							}
+						}
+					}
+					for (int o = 0, c = 0, k = r * g.o2; o < g.o2; o++, k++) {
+						int e = ext[c++];
+						for (int cmax = Math.min(c - 1 + g.b2, g.n2); c < cmax; c++) {
+							e = max ? Math.max(e, ext[c]) : Math.min(e, ext[c]);
+						}
+						out[k] = (short) e;
+					}
+				}
+			};
+		default:
+			throw new IllegalArgumentException("Mode " + mode + " not supported");
+		}
+	}
+}
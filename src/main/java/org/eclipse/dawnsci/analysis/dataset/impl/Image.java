@@ -24,6 +24,7 @@ import org.eclipse.dawnsci.analysis.dataset.roi.EllipticalROI;
 import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
 import org.eclipse.january.IMonitor;
 import org.eclipse.january.dataset.CompoundDataset;
+import org.eclipse.january.dataset.CompoundDoubleDataset;
 import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
 import org.eclipse.january.dataset.DatasetUtils;
@@ -207,7 +208,7 @@ public class Image {
 	}
 
 	/**
-	 * Applies a minimum filter (slower)
+	 * Applies a minimum filter with a rectangular kernel
 	 * 
 	 * @param input
 	 * @param kernel
@@ -218,7 +219,7 @@ public class Image {
 	}
 
 	/**
-	 * Applies a maximum filter (slower)
+	 * Applies a maximum filter with a rectangular kernel
 	 * 
 	 * @param input
 	 * @param kernel
@@ -229,7 +230,7 @@ public class Image {
 	}
 
 	/**
-	 * Applies a median filter (slower)
+	 * Applies a median filter with a rectangular kernel (fast for 2D integer images)
 	 * 
 	 * @param input
 	 * @param kernel
@@ -240,7 +241,7 @@ public class Image {
 	}
 
 	/**
-	 * Applies a mean Filter (slower)
+	 * Applies a mean filter with a rectangular kernel
 	 * 
 	 * @param input
 	 * @param kernel
@@ -250,6 +251,19 @@ public class Image {
 		return filter(input, kernel, FilterType.MEAN);
 	}
 
+	/**
+	 * Applies an approximate gaussian blur filter as three successive mean filters with
+	 * a rectangular kernel. Along each axis, the variance of the blur is (k^2 - 1)/4
+	 * for a kernel size of k
+	 * 
+	 * @param input
+	 * @param kernel
+	 * @return filtered data
+	 */
+	public static Dataset gaussianBlurFilter(Dataset input, int[] kernel) {
+		return filter(input, kernel, FilterType.GAUSSIAN_BLUR);
+	}
+
 	/**
 	 * Applies a median filter (faster)
 	 * 
@@ -333,6 +347,26 @@ public class Image {
 			throw new IllegalArgumentException("Kernel shape must be the same shape as the input dataset");
 
 		Dataset result = input.clone();
+		double[] values = KernelFilter.filter(input, kernel, type);
+		if (values != null) {
+			result.setSlice(DatasetFactory.createFromObject(values, shape));
+			return result;
+		}
+
+		if (type == FilterType.GAUSSIAN_BLUR) {
+			// successive mean filters in floating point so values are not truncated between them
+			Dataset blurred = input;
+			if (!input.hasFloatingPointElements()) {
+				blurred = input.getElementsPerItem() == 1 ? DatasetUtils.cast(DoubleDataset.class, input)
+						: DatasetUtils.cast(CompoundDoubleDataset.class, input);
+			}
+			for (int i = 0; i < 3; i++) {
+				blurred = filter(blurred, kernel, FilterType.MEAN);
+			}
+			result.setSlice(blurred);
+			return result;
+		}
+
 		int[] offset = kernel.clone();
 		for (int i = 0; i < offset.length; i++) {
 			offset[i] = -kernel[i] / 2;
@@ -359,8 +393,6 @@ public class Image {
 				result.set(slice.max(), pos);
 			} else if (type == FilterType.MEAN) {
 				result.set(slice.mean(), pos);
-			} else if (type == FilterType.GAUSSIAN_BLUR) {
-				logger.error("Filter not implemented:", new Exception("Filter not available"));
 			}
 		}
 		return result;
@@ -0,0 +1,422 @@
+/*-
+ * Copyright 2015 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset.impl;
+
+import org.eclipse.dawnsci.analysis.dataset.impl.Image.FilterType;
+import org.eclipse.january.dataset.ByteDataset;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.LongDataset;
+import org.eclipse.january.dataset.ShortDataset;
+
+/**
+ * Rectangular kernel filters that take constant time per pixel, independent of kernel size.
+ *
+ * The kernel window at each position is clipped to the dataset so results match those of
+ * applying the filter to each clipped sub-region:
+ * <dl>
+ * <dt>min/max</dt><dd>van Herk/Gil-Werman running extrema applied separately along each axis</dd>
+ * <dt>mean</dt><dd>running sums applied separately along each axis then divided by window size</dd>
+ * <dt>median</dt><dd>sliding histogram along rows (Huang) for 2D integer images</dd>
+ * </dl>
+ * Each pass runs in parallel over stripes of lines.
+ */
+final class KernelFilter {
+
+	private KernelFilter() {
+	}
+
+	/**
+	 * Number of neighbouring lines processed together when filtering across rows
+	 */
+	private static final int BLOCK = 16;
+
+	/**
+	 * Maximum range of values in an integer image that uses a histogram median
+	 */
+	private static final int MAX_HISTOGRAM_BINS = 1 << 16;
+
+	/**
+	 * Filter input with a rectangular kernel
+	 * @param input
+	 * @param kernel
+	 * @param type
+	 * @return filtered values in flat order or null if no fast path is available for input
+	 */
+	static double[] filter(Dataset input, int[] kernel, FilterType type) {
+		final int[] shape = input.getShapeRef();
+		if (input.getElementsPerItem() != 1 || shape.length == 0 || input.getSize() == 0) {
+			return null;
+		}
+		for (int k : kernel) {
+			if (k < 1) {
+				return null;
+			}
+		}
+
+		final boolean isInteger = input instanceof ByteDataset || input instanceof ShortDataset ||
+				input instanceof IntegerDataset || input instanceof LongDataset;
+		if (!isInteger && !(input.hasFloatingPointElements())) {
+			return null;
+		}
+
+		final double[] data = toContiguousDoubles(input);
+		switch (type) {
+		case MIN:
+			return extrema(data, shape, kernel, true);
+		case MAX:
+			return extrema(data, shape, kernel, false);
+		case MEAN:
+			return isInteger || allFinite(data) ? mean(data, shape, kernel) : null;
+		case GAUSSIAN_BLUR:
+			return isInteger || allFinite(data) ? mean(mean(mean(data, shape, kernel), shape, kernel), shape, kernel) : null;
+		case MEDIAN:
+			return isInteger && shape.length == 2 ? median(data, shape, kernel) : null;
+		default:
+			return null;
+		}
+	}
+
+	private static double[] toContiguousDoubles(Dataset ds) {
+		if (ds.getStrides() != null || ds.getOffset() != 0) {
+			ds = ds.getSlice();
+		}
+		return ds instanceof DoubleDataset ? ((DoubleDataset) ds).getData() : DatasetUtils.cast(DoubleDataset.class, ds).getData();
+	}
+
+	private static boolean allFinite(double[] data) {
+		for (double v : data) {
+			if (!Double.isFinite(v)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static double[] extrema(double[] data, int[] shape, int[] kernel, boolean isMin) {
+		for (int a = shape.length - 1; a >= 0; a--) {
+			if (kernel[a] > 1) {
+				data = linePass(data, shape, a, kernel[a], isMin ? LineOp.MIN : LineOp.MAX);
+			}
+		}
+		return data;
+	}
+
+	private static double[] mean(double[] data, int[] shape, int[] kernel) {
+		final double[] input = data;
+		for (int a = shape.length - 1; a >= 0; a--) {
+			if (kernel[a] > 1) {
+				data = linePass(data, shape, a, kernel[a], LineOp.SUM);
+			}
+		}
+
+		final double[] sums = data == input ? data.clone() : data;
+		final int rank = shape.length;
+		final int last = shape[rank - 1];
+		final double[][] counts = new double[rank][];
+		for (int a = 0; a < rank; a++) {
+			counts[a] = windowSizes(shape[a], kernel[a]);
+		}
+		RangeTask.invoke(sums.length / last, last, (start, stop) -> {
+			final double[] cl = counts[rank - 1];
+			for (int r = start; r < stop; r++) {
+				int q = r;
+				double c = 1;
+				for (int a = rank - 2; a >= 0; a--) {
+					c *= counts[a][q % shape[a]];
+					q /= shape[a];
+				}
+				final int o = r * last;
+				for (int j = 0; j < last; j++) {
+					sums[o + j] /= c * cl[j];
+				}
+			}
+		});
+		return sums;
+	}
+
+	/**
+	 * @param n
+	 * @param k
+	 * @return number of items in clipped window at each position
+	 */
+	private static double[] windowSizes(int n, int k) {
+		final int h = k / 2;
+		double[] sizes = new double[n];
+		for (int i = 0; i < n; i++) {
+			sizes[i] = Math.min(n, i - h + k) - Math.max(0, i - h);
+		}
+		return sizes;
+	}
+
+	/**
+	 * Apply operation to all lines along given axis
+	 * @param src
+	 * @param shape
+	 * @param axis
+	 * @param k kernel size along axis
+	 * @param op
+	 * @return filtered values
+	 */
+	private static double[] linePass(final double[] src, final int[] shape, final int axis, final int k, final LineOp op) {
+		final double[] dst = new double[src.length];
+		final int n = shape[axis];
+		int stride = 1;
+		for (int a = axis + 1; a < shape.length; a++) {
+			stride *= shape[a];
+		}
+		final int inner = stride;
+		final int outer = src.length / (n * inner);
+		final int width = Math.min(inner, BLOCK);
+		final int blocks = (inner + width - 1) / width;
+
+		RangeTask.invoke(outer * blocks, n * width, (start, stop) -> {
+			final double[] work = new double[op.getWorkSize(n, k) * width];
+			for (int u = start; u < stop; u++) {
+				final int b = (u % blocks) * width;
+				op.apply(src, dst, (u / blocks) * n * inner + b, n, inner, Math.min(width, inner - b), k, work);
+			}
+		});
+		return dst;
+	}
+
+	/**
+	 * Operations on a block of lines. The lines are interleaved so item j of line c is at
+	 * offset + j*stride + c where c is less than width
+	 */
+	private enum LineOp {
+		SUM {
+			@Override
+			int getWorkSize(int n, int k) {
+				return n + 1;
+			}
+
+			@Override
+			void apply(double[] src, double[] dst, int offset, int n, int stride, int width, int k, double[] work) {
+				// prefix sums where row j holds sum of first j items
+				for (int c = 0; c < width; c++) {
+					work[c] = 0;
+				}
+				for (int j = 0; j < n; j++) {
+					final int s = offset + j * stride;
+					final int p = j * width;
+					final int q = p + width;
+					for (int c = 0; c < width; c++) {
+						work[q + c] = work[p + c] + src[s + c];
+					}
+				}
+
+				final int h = k / 2;
+				for (int i = 0; i < n; i++) {
+					final int lo = Math.max(0, i - h) * width;
+					final int hi = Math.min(n, i - h + k) * width;
+					final int d = offset + i * stride;
+					for (int c = 0; c < width; c++) {
+						dst[d + c] = work[hi + c] - work[lo + c];
+					}
+				}
+			}
+		},
+		MIN {
+			@Override
+			int getWorkSize(int n, int k) {
+				return 2 * (n + k - 1);
+			}
+
+			@Override
+			void apply(double[] src, double[] dst, int offset, int n, int stride, int width, int k, double[] work) {
+				runningExtrema(src, dst, offset, n, stride, width, k, work, true);
+			}
+		},
+		MAX {
+			@Override
+			int getWorkSize(int n, int k) {
+				return 2 * (n + k - 1);
+			}
+
+			@Override
+			void apply(double[] src, double[] dst, int offset, int n, int stride, int width, int k, double[] work) {
+				runningExtrema(src, dst, offset, n, stride, width, k, work, false);
+			}
+		};
+
+		abstract int getWorkSize(int n, int k);
+
+		abstract void apply(double[] src, double[] dst, int offset, int n, int stride, int width, int k, double[] work);
+	}
+
+	/**
+	 * van Herk/Gil-Werman algorithm: pad line so each window is [i, i+k) then split into
+	 * blocks of k to find prefix and suffix extrema within each block. Each window covers
+	 * the end of one block and the start of the next so needs only one comparison
+	 */
+	private static void runningExtrema(double[] src, double[] dst, int offset, int n, int stride, int width, int k, double[] work, boolean isMin) {
+		final double pad = isMin ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+		final int h = k / 2;
+		final int m = n + k - 1;
+		final int r = m * width;
+
+		// prefix extrema from start of each block
+		for (int p = 0, q = 0; p < m; p++, q = q == k - 1 ? 0 : q + 1) { // q = p % k
+			final int j = p - h;
+			final boolean inside = j >= 0 && j < n;
+			final int s = offset + j * stride;
+			final int g = p * width;
+			if (q == 0) {
+				for (int c = 0; c < width; c++) {
+					work[g + c] = inside ? src[s + c] : pad;
+				}
+			} else {
+				for (int c = 0; c < width; c++) {
+					final double v = inside ? src[s + c] : pad;
+					final double u = work[g - width + c];
+					work[g + c] = isMin ? Math.min(u, v) : Math.max(u, v);
+				}
+			}
+		}
+
+		// suffix extrema to end of each block
+		for (int p = m - 1, q = m % k; p >= 0; p--, q = q == 0 ? k - 1 : q - 1) { // q = (p + 1) % k
+			final int j = p - h;
+			final boolean inside = j >= 0 && j < n;
+			final int s = offset + j * stride;
+			final int g = r + p * width;
+			if (p == m - 1 || q == 0) {
+				for (int c = 0; c < width; c++) {
+					work[g + c] = inside ? src[s + c] : pad;
+				}
+			} else {
+				for (int c = 0; c < width; c++) {
+					final double v = inside ? src[s + c] : pad;
+					final double u = work[g + width + c];
+					work[g + c] = isMin ? Math.min(u, v) : Math.max(u, v);
+				}
+			}
+		}
+
+		for (int i = 0; i < n; i++) {
+			final int d = offset + i * stride;
+			final int g = (i + k - 1) * width;
+			final int s = r + i * width;
+			for (int c = 0; c < width; c++) {
+				final double u = work[s + c];
+				final double v = work[g + c];
+				dst[d + c] = isMin ? Math.min(u, v) : Math.max(u, v);
+			}
+		}
+	}
+
+	/**
+	 * Median of integer image using a histogram of the window which is updated
+	 * column by column as the window slides along each row
+	 * @return median image or null if range of values is too large
+	 */
+	private static double[] median(double[] data, int[] shape, int[] kernel) {
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (double v : data) {
+			if (v < min) {
+				min = v;
+			}
+			if (v > max) {
+				max = v;
+			}
+		}
+		if (max - min >= MAX_HISTOGRAM_BINS) {
+			return null;
+		}
+
+		final double base = min;
+		final int bins = (int) (max - min) + 1;
+		final int[] values = new int[data.length];
+		for (int i = 0; i < data.length; i++) {
+			values[i] = (int) (data[i] - base);
+		}
+
+		final int rows = shape[0];
+		final int cols = shape[1];
+		final int k0 = kernel[0];
+		final int k1 = kernel[1];
+		final int h0 = k0 / 2;
+		final int h1 = k1 / 2;
+		final double[] out = new double[data.length];
+
+		RangeTask.invoke(rows, cols * Math.min(k0, rows), (start, stop) -> {
+			final int[] hist = new int[bins];
+			for (int i = start; i < stop; i++) {
+				final int r0 = Math.max(0, i - h0) * cols;
+				final int r1 = Math.min(rows, i - h0 + k0) * cols;
+				final int nr = (r1 - r0) / cols;
+
+				for (int c = 0, cmax = Math.min(cols, k1 - h1); c < cmax; c++) {
+					for (int p = r0 + c; p < r1; p += cols) {
+						hist[values[p]]++;
+					}
+				}
+				int m = 0;     // current median bin
+				int below = 0; // number of items in bins less than m
+
+				final int o = i * cols;
+				for (int j = 0; j < cols; j++) {
+					if (j > 0) {
+						final int old = j - 1 - h1;
+						if (old >= 0) {
+							for (int p = r0 + old; p < r1; p += cols) {
+								final int b = values[p];
+								hist[b]--;
+								if (b < m) {
+									below--;
+								}
+							}
+						}
+						final int add = j - h1 + k1 - 1;
+						if (add < cols) {
+							for (int p = r0 + add; p < r1; p += cols) {
+								final int b = values[p];
+								hist[b]++;
+								if (b < m) {
+									below++;
+								}
+							}
+						}
+					}
+
+					final int n = nr * (Math.min(cols, j - h1 + k1) - Math.max(0, j - h1));
+					final int t = (n - 1) / 2;
+					while (below > t) {
+						m--;
+						below -= hist[m];
+					}
+					while (below + hist[m] <= t) {
+						below += hist[m];
+						m++;
+					}
+					int upper = m;
+					if (n / 2 >= below + hist[m]) { // even number of items straddling two bins
+						do {
+							upper++;
+						} while (hist[upper] == 0);
+					}
+					out[o + j] = base + (m + upper) / 2.;
+				}
+
+				// empty histogram for next row
+				for (int c = Math.max(0, cols - 1 - h1), cmax = Math.min(cols, cols - 1 - h1 + k1); c < cmax; c++) {
+					for (int p = r0 + c; p < r1; p += cols) {
+						hist[values[p]]--;
+					}
+				}
+			}
+		});
+		return out;
+	}
+}
@@ -0,0 +1,64 @@
+/*-
+ * Copyright 2015 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset.impl;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Task that splits a range of items (e.g. rows of an image) into sub-ranges to run in parallel
+ */
+class RangeTask extends RecursiveAction {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Minimum number of elements processed by each parallel task
+	 */
+	private static final int MIN_TASK_SIZE = 1 << 16;
+
+	interface RangeAction {
+		void run(int start, int stop);
+	}
+
+	private final RangeAction action;
+	private final int start, stop, grain;
+
+	private RangeTask(RangeAction action, int start, int stop, int grain) {
+		this.action = action;
+		this.start = start;
+		this.stop = stop;
+		this.grain = grain;
+	}
+
+	/**
+	 * Run action over the range [0, n) in parallel where each item covers m elements
+	 * @param n
+	 * @param m
+	 * @param action
+	 */
+	static void invoke(int n, int m, RangeAction action) {
+		int grain = Math.max(1, MIN_TASK_SIZE / Math.max(1, m));
+		if (grain >= n) {
+			action.run(0, n);
+		} else {
+			ForkJoinPool.commonPool().invoke(new RangeTask(action, 0, n, grain));
+		}
+	}
+
+	@Override
+	protected void compute() {
+		if (stop - start <= grain) {
+			action.run(start, stop);
+			return;
+		}
+		int mid = (start + stop) >>> 1;
+		invokeAll(new RangeTask(action, start, mid, grain), new RangeTask(action, mid, stop, grain));
+	}
+}
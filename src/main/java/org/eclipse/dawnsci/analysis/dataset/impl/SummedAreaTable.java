@@ -11,8 +11,15 @@ package org.eclipse.dawnsci.analysis.dataset.impl;
 
 import org.eclipse.dawnsci.analysis.api.roi.IRectangularROI;
 import org.eclipse.dawnsci.analysis.dataset.impl.Image.FilterType;
+import org.eclipse.january.dataset.ByteDataset;
 import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.FloatDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.LongDataset;
+import org.eclipse.january.dataset.ShortDataset;
 
 /**
  * This code is based on:
@@ -30,6 +37,9 @@ import org.eclipse.january.dataset.DatasetFactory;
  *  
  *  On Dataset are slow. Therefore we have replaced these with absolute index.
  *
+ *  The table is built with a prefix sum along rows followed by one down
+ *  columns so that both passes stream through memory and can run in parallel.
+ *
  * @author Matthew Gerring
  */
 public class SummedAreaTable {
@@ -40,7 +50,8 @@ public class SummedAreaTable {
 	 * Must be declared as Dataset because IDataset can cause the unwanted autoboxing problem.
 	 */
 	private Dataset       image;
-	private double[]      sum, sum2; // Use double[] because faster than Dataset
+	private Table         sum, sum2; // Use primitive tables because faster than Dataset
+	private boolean       useFloat;
 
 	/**
 	 * Calls SummedAreaTable(Image, false)
@@ -58,8 +69,24 @@ public class SummedAreaTable {
 	 * @throws Exception
 	 */
 	public SummedAreaTable(Dataset image, boolean willRequireVariance) throws Exception {
+		this(image, willRequireVariance, false);
+	}
+
+	/**
+	 * Constructs the summed table.
+	 * 
+	 * Integer images are summed exactly in long tables (provided the sum of squares
+	 * does not overflow). Otherwise tables are held as doubles unless useFloat is set
+	 * where floats are used to halve the memory at the cost of precision in large images.
+	 * @param image
+	 * @param willRequireVariance set to true if you know that you need fano or variance
+	 * @param useFloat set to true to store tables as floats
+	 * @throws Exception
+	 */
+	public SummedAreaTable(Dataset image, boolean willRequireVariance, boolean useFloat) throws Exception {
 		this.image = image;
 		this.shape = image.getShape();
+		this.useFloat = useFloat;
 		if (image.getRank()!=2) throw new Exception("You may only get sum table of 2D data!");
 		if (shape[0]<1) throw new Exception("You may only get sum table with image of side > 0");
 		if (shape[1]<1) throw new Exception("You may only get sum table with image of side > 0");
@@ -67,7 +94,9 @@ public class SummedAreaTable {
 	}
 	
 	/**
-	 * We mess about here with creating the sums in one pass for speed reasons.
+	 * We create the sums in two passes: a prefix sum along each row (in parallel
+	 * over stripes of rows) then a prefix sum down the columns (in parallel over
+	 * blocks of columns). Both passes run over contiguous memory.
 	 * The test SummedAreaTableTest should check if logic remains correct.
 	 * @param image
 	 * @param requireSum2
@@ -80,48 +109,272 @@ public class SummedAreaTable {
 		if (sum!=null && sum2!=null)   return;
 		if (sum!=null && !requireSum2) return;
 		
-	    //Create integral
-		boolean requireSum = false;
-		if (sum == null) {
-			sum  = new double[shape[0]*shape[1]];
-			requireSum = true;
+		final boolean requireSum = sum == null;
+		final Object  data = getContiguousBuffer(image);
+		final boolean exact = !useFloat && (data instanceof int[] || data instanceof long[]);
+
+		final Table s  = requireSum  ? createTable(exact) : null;
+		final Table s2 = requireSum2 ? createTable(exact) : null;
+
+		final int rows = shape[0];
+		final int cols = shape[1];
+		RangeTask.invoke(rows, cols, (start, stop) -> {
+			for (int r = start; r < stop; r++) {
+				if (s != null)  s.fillRow(data, r * cols, cols, false);
+				if (s2 != null) s2.fillRow(data, r * cols, cols, true);
+			}
+		});
+		RangeTask.invoke(cols, rows, (start, stop) -> {
+			if (s != null)  s.accumulateColumns(rows, cols, start, stop);
+			if (s2 != null) s2.accumulateColumns(rows, cols, start, stop);
+		});
+
+		if (s != null)  sum  = s;
+		if (s2 != null) sum2 = s2;
+	}
+
+	private Table createTable(boolean exact) {
+		final int size = shape[0]*shape[1];
+		if (exact) return new LongTable(size);
+		if (useFloat) return new FloatTable(size);
+		return new DoubleTable(size);
+	}
+
+	/**
+	 * @param image
+	 * @return primitive buffer of a contiguous dataset. Integer types are widened to int
+	 * so that they can be read with one loop, other types are cast to double
+	 */
+	private static Object getContiguousBuffer(Dataset image) {
+		if (image.getStrides() != null || image.getOffset() != 0) {
+			image = image.getSlice();
 		}
-		
-		if (requireSum2 && sum2==null) {
-			sum2  = new double[shape[0]*shape[1]];
+		if (image.getElementsPerItem() == 1) {
+			if (image instanceof IntegerDataset || image instanceof LongDataset ||
+					image instanceof DoubleDataset || image instanceof FloatDataset) {
+				return image.getBuffer();
+			}
+			if (image instanceof ByteDataset || image instanceof ShortDataset) {
+				return image.cast(IntegerDataset.class).getBuffer();
+			}
 		}
-	    
-	    // Create a position iterator
-	    final int[] pos = new int[]{0,0};
-	    for(int i=0;i<sum.length;++i) {
-	    	final double value = image.getElementDoubleAbs(i);
-	    	fillNDPositionFromShape(i, shape, pos);    	
-	        if (requireSum)  fill(i, value,  sum,  pos, shape);
-	        if (requireSum2) fill(i, Math.pow(value, 2d), sum2, pos, shape);
-	    }
+		return DatasetUtils.cast(DoubleDataset.class, image).getBuffer();
 	}
 
 	/**
-	 * private static final so that compiler will inline it
-	 * @param value
-	 * @param sum
-	 * @param pos
-	 * @param shape
+	 * Summed area table held in a flat primitive array
 	 */
-	private static final void fill(int index, double value, double[] sum, int[] pos, int[] shape) {
-    	
-		int x = pos[0];
-    	int y = pos[1];
-    	
-        // I(x,y) = i(x,y) + I(x-1,y) + I(x,y-1) - I(x-1,y-1)
-        //Calculate coefficients
-        double sxm  = (x > 0)          ? sum[get1DIndexFast(x-1,y,shape)]   : 0;
-        double sym  = (y > 0)          ? sum[get1DIndexFast(x,y-1,shape)]   : 0;
-        double sxym = (x > 0 && y > 0) ? sum[get1DIndexFast(x-1,y-1,shape)] : 0;
-        
-        double val = value + sxm + sym - sxym;
-        sum[index] = val;  // Fast
- 	}
+	private static abstract class Table {
+		/**
+		 * Fill row with prefix sum of values (or their squares) from data
+		 */
+		abstract void fillRow(Object data, int offset, int length, boolean square);
+
+		/**
+		 * Add each row to the following row for columns from start to stop
+		 */
+		abstract void accumulateColumns(int rows, int cols, int start, int stop);
+
+		abstract double get(int index);
+
+		/**
+		 * @return D + A - B - C where negative indices are treated as zero
+		 */
+		abstract double getBox(int a, int b, int c, int d);
+	}
+
+	private static final class DoubleTable extends Table {
+		private final double[] t;
+
+		DoubleTable(int size) {
+			t = new double[size];
+		}
+
+		@Override
+		void fillRow(Object data, int offset, int length, boolean square) {
+			final double[] t = this.t;
+			final int end = offset + length;
+			double run = 0;
+			if (data instanceof double[]) {
+				final double[] v = (double[]) data;
+				for (int i = offset; i < end; i++) {
+					final double x = v[i];
+					run += square ? x*x : x;
+					t[i] = run;
+				}
+			} else if (data instanceof float[]) {
+				final float[] v = (float[]) data;
+				for (int i = offset; i < end; i++) {
+					final double x = v[i];
+					run += square ? x*x : x;
+					t[i] = run;
+				}
+			} else if (data instanceof long[]) {
+				final long[] v = (long[]) data;
+				for (int i = offset; i < end; i++) {
+					final double x = v[i];
+					run += square ? x*x : x;
+					t[i] = run;
+				}
+			} else {
+				final int[] v = (int[]) data;
+				for (int i = offset; i < end; i++) {
+					final double x = v[i];
+					run += square ? x*x : x;
+					t[i] = run;
+				}
+			}
+		}
+
+		@Override
+		void accumulateColumns(int rows, int cols, int start, int stop) {
+			final double[] t = this.t;
+			for (int r = 1; r < rows; r++) {
+				final int p = (r - 1) * cols;
+				final int o = r * cols;
+				for (int c = start; c < stop; c++) {
+					t[o + c] += t[p + c];
+				}
+			}
+		}
+
+		@Override
+		double get(int index) {
+			return t[index];
+		}
+
+		@Override
+		double getBox(int a, int b, int c, int d) {
+			double A = a < 0 ? 0 : t[a];
+			double B = b < 0 ? 0 : t[b];
+			double C = c < 0 ? 0 : t[c];
+			return t[d] + A - B - C;
+		}
+	}
+
+	private static final class FloatTable extends Table {
+		private final float[] t;
+
+		FloatTable(int size) {
+			t = new float[size];
+		}
+
+		@Override
+		void fillRow(Object data, int offset, int length, boolean square) {
+			final float[] t = this.t;
+			final int end = offset + length;
+			double run = 0;
+			if (data instanceof float[]) {
+				final float[] v = (float[]) data;
+				for (int i = offset; i < end; i++) {
+					final double x = v[i];
+					run += square ? x*x : x;
+					t[i] = (float) run;
+				}
+			} else if (data instanceof double[]) {
+				final double[] v = (double[]) data;
+				for (int i = offset; i < end; i++) {
+					final double x = v[i];
+					run += square ? x*x : x;
+					t[i] = (float) run;
+				}
+			} else if (data instanceof long[]) {
+				final long[] v = (long[]) data;
+				for (int i = offset; i < end; i++) {
+					final double x = v[i];
+					run += square ? x*x : x;
+					t[i] = (float) run;
+				}
+			} else {
+				final int[] v = (int[]) data;
+				for (int i = offset; i < end; i++) {
+					final double x = v[i];
+					run += square ? x*x : x;
+					t[i] = (float) run;
+				}
+			}
+		}
+
+		@Override
+		void accumulateColumns(int rows, int cols, int start, int stop) {
+			final float[] t = this.t;
+			for (int r = 1; r < rows; r++) {
+				final int p = (r - 1) * cols;
+				final int o = r * cols;
+				for (int c = start; c < stop; c++) {
+					t[o + c] += t[p + c];
+				}
+			}
+		}
+
+		@Override
+		double get(int index) {
+			return t[index];
+		}
+
+		@Override
+		double getBox(int a, int b, int c, int d) {
+			double A = a < 0 ? 0 : t[a];
+			double B = b < 0 ? 0 : t[b];
+			double C = c < 0 ? 0 : t[c];
+			return t[d] + A - B - C;
+		}
+	}
+
+	private static final class LongTable extends Table {
+		private final long[] t;
+
+		LongTable(int size) {
+			t = new long[size];
+		}
+
+		@Override
+		void fillRow(Object data, int offset, int length, boolean square) {
+			final long[] t = this.t;
+			final int end = offset + length;
+			long run = 0;
+			if (data instanceof long[]) {
+				final long[] v = (long[]) data;
+				for (int i = offset; i < end; i++) {
+					final long x = v[i];
+					run += square ? x*x : x;
+					t[i] = run;
+				}
+			} else {
+				final int[] v = (int[]) data;
+				for (int i = offset; i < end; i++) {
+					final long x = v[i];
+					run += square ? x*x : x;
+					t[i] = run;
+				}
+			}
+		}
+
+		@Override
+		void accumulateColumns(int rows, int cols, int start, int stop) {
+			final long[] t = this.t;
+			for (int r = 1; r < rows; r++) {
+				final int p = (r - 1) * cols;
+				final int o = r * cols;
+				for (int c = start; c < stop; c++) {
+					t[o + c] += t[p + c];
+				}
+			}
+		}
+
+		@Override
+		double get(int index) {
+			return t[index];
+		}
+
+		@Override
+		double getBox(int a, int b, int c, int d) {
+			long A = a < 0 ? 0 : t[a];
+			long B = b < 0 ? 0 : t[b];
+			long C = c < 0 ? 0 : t[c];
+			return t[d] + A - B - C;
+		}
+	}
 
 	/**
 	 * Creates a fano image where each pixel is the fano factor
@@ -176,37 +429,38 @@ public class SummedAreaTable {
 		return getImage(box, FilterType.MEAN);
 	}
 
-	private Dataset getImage(int[] box, FilterType type) throws Exception {
+	private Dataset getImage(int[] box, final FilterType type) throws Exception {
 		if (box[0] % 2 == 0)
 			throw new Exception("Box first dim is not odd!");
 		if (box[1] % 2 == 0)
 			throw new Exception("Box second dim is not odd!");
 		// Compute some things to save FPOs
-		int n = box[0]*box[1]; // Save a FPO inside loop.
+		final int n = box[0]*box[1]; // Save a FPO inside loop.
 		final double[] filter = new double[shape[0]*shape[1]];
 
-		int r1 = (int)Math.floor(box[0]/2d); // for instance 3->1, 5->2, 7->3 
-		int r2 = (int)Math.floor(box[1]/2d); // for instance 3->1, 5->2, 7->3 
-		int[] radii = new int[]{r1, r2};
-
-		if (sum2==null) createSummedTable(image, true);
-
-		int[] point  = new int[]{0,0};
-		int[] coords = new int[]{0,0,0,0};
-		
-		for (int i = 0; i < filter.length; i++) {
-			// Point from the iterator
-			fillNDPositionFromShape(i, shape, point);
-
-			// Save FPO by calculating coords once per pixel and
-			// passing to getBoxVarianceInternal and getBoxMeanInternal
-			fillCoordsInternal(point, shape, radii, coords);
-			// Call fano (variance/mean)
-			if (type == FilterType.MEAN)
-				filter[i] = getBoxFanoFactorInternal(coords, n);
-			else if (type == FilterType.FANO)
-				filter[i] = getBoxMeanInternal(coords, n);
-		}
+		final int r1 = box[0]/2; // for instance 3->1, 5->2, 7->3 
+		final int r2 = box[1]/2; // for instance 3->1, 5->2, 7->3 
+
+		if (type == FilterType.FANO && sum2==null) createSummedTable(image, true);
+
+		final int rows = shape[0];
+		final int cols = shape[1];
+		RangeTask.invoke(rows, cols, (start, stop) -> {
+			final int[] coords = new int[4];
+			for (int x = start; x < stop; x++) {
+				coords[0] = Math.max(x - r1, 0);
+				coords[2] = Math.min(x + r1, rows - 1);
+				int o = x * cols;
+				for (int y = 0; y < cols; y++) {
+					coords[1] = Math.max(y - r2, 0);
+					coords[3] = Math.min(y + r2, cols - 1);
+					if (type == FilterType.MEAN)
+						filter[o + y] = getBoxMeanInternal(coords, n);
+					else if (type == FilterType.FANO)
+						filter[o + y] = getBoxFanoFactorInternal(coords, n);
+				}
+			}
+		});
 		return DatasetFactory.createFromObject(filter, shape);
 	}
 
@@ -291,19 +545,19 @@ public class SummedAreaTable {
 	 * @param coords Coordinates of box: x1,y1,x2,y2
 	 * @return the sum of a region
 	 */
-	private static final double getBoxSumInternal(double[] sum, int[] coords, int[] shape) {
+	private static final double getBoxSumInternal(Table sum, int[] coords, int[] shape) {
 
 		int minx = coords[0];
 		int miny = coords[1];
 		int maxx = coords[2];
 		int maxy = coords[3];
 		
-		double A = (minx > 0 && miny > 0) ? sum[get1DIndexFast(minx-1, miny-1, shape)] : 0d;
-		double B = (miny > 0)             ? sum[get1DIndexFast(maxx, miny-1, shape)]   : 0d;
-		double C = (minx > 0)             ? sum[get1DIndexFast(minx-1, maxy, shape)]   : 0d;
-		double D = sum[get1DIndexFast(maxx, maxy, shape)];
+		int A = (minx > 0 && miny > 0) ? get1DIndexFast(minx-1, miny-1, shape) : -1;
+		int B = (miny > 0)             ? get1DIndexFast(maxx, miny-1, shape)   : -1;
+		int C = (minx > 0)             ? get1DIndexFast(minx-1, maxy, shape)   : -1;
+		int D = get1DIndexFast(maxx, maxy, shape);
 		
-		return (D+A-B-C);
+		return sum.getBox(A, B, C, D);
 	}
 	
 	/**
@@ -317,12 +571,6 @@ public class SummedAreaTable {
 		return i*shape[1] + j;
 	}
 
-	private final static void fillNDPositionFromShape(int n, int[] shape, int[] pos) {
-		pos[1] = n % shape[1];
-		n /= shape[1];
-		pos[0] = n;
-	}
-	
 	/**
 	 * Get the variance for a given box.
 	 * 
@@ -370,7 +618,7 @@ public class SummedAreaTable {
 		double s1 = getBoxSumInternal(sum,  coords, shape);		
 		double s2 = getBoxSumInternal(sum2, coords, shape);
 		
-		return (1d/n)*(s2 - (Math.pow(s1, 2d)/n));
+		return (1d/n)*(s2 - (s1*s1/n));
 	}
 
 	
@@ -479,7 +727,7 @@ public class SummedAreaTable {
 	}
 
 	public double getDouble(int i, int j) {
-		return sum[get1DIndexFast(i, j, shape)];
+		return sum.get(get1DIndexFast(i, j, shape));
 	}
 
 }
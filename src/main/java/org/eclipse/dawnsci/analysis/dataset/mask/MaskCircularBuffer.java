@@ -4,50 +4,60 @@ import java.util.Arrays;
 
 import org.eclipse.dawnsci.analysis.api.roi.IROI;
 import org.eclipse.dawnsci.analysis.dataset.slicer.ROIVisitor;
-import org.eclipse.dawnsci.analysis.dataset.slicer.SliceVisitor;
+import org.eclipse.dawnsci.analysis.dataset.slicer.SpanVisitor;
 import org.eclipse.january.dataset.BooleanDataset;
-import org.eclipse.january.dataset.Comparisons;
 import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
-import org.eclipse.january.dataset.IDataset;
 import org.eclipse.january.dataset.IndexIterator;
-import org.eclipse.january.dataset.IntegerDataset;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Buffer that allows multiple masking steps to be applied and undone
- * 
- * Optimised for speed and low memory usage
- * 
+ *
+ * Optimised for speed and low memory usage: each masking step is stored as
+ * a packed bit plane (one bit per pixel) which is only allocated when used,
+ * and operations work on 64 pixels at a time.
+ *
  */
 public class MaskCircularBuffer {
 
-	private IntegerDataset mask;
-	int bitMask = START;
-	private static final int END = 0x80000000;
-	private static final int START = 0x00000001;
-	
+	private static final int LEVELS = 32;
+
+	private final int[] shape;
+	private final int size;
+	private final int words;
+	private final long lastWordMask;
+
+	// planes[level] holds the pixels masked in that step, or null if none
+	private final long[][] planes = new long[LEVELS][];
+	int level = 0;
+
+	// shared view of mask and range of words changed since it was last updated
+	private BooleanDataset view;
+	private int dirtyStart;
+	private int dirtyStop;
+
 	private final static Logger logger = LoggerFactory.getLogger(MaskCircularBuffer.class);
-	
+
 	public MaskCircularBuffer(int[] shape) {
-		mask = DatasetFactory.zeros(IntegerDataset.class, shape);
+		this.shape = shape.clone();
+		size = shape.length == 0 ? 1 : Arrays.stream(shape).reduce(1, (a, b) -> a * b);
+		words = (size + 63) >>> 6;
+		lastWordMask = (size & 63) == 0 ? -1L : (1L << (size & 63)) - 1;
+		markAllDirty();
 	}
-	
+
 	public void maskROI(IROI inputROI) {
-		
+
+		final long[] plane = getPlane(level);
+		final int width = shape[1];
 		try {
-			ROIVisitor.visitHorizontalSections(mask, inputROI, new SliceVisitor() {
-				
-				@Override
-				public void visit(IDataset data) throws Exception {
-					updateArray((IntegerDataset)data);
-					
-				}
-				
+			ROIVisitor.visitHorizontalSpans(shape, inputROI, new SpanVisitor() {
+
 				@Override
-				public boolean isCancelled() {
-					return false;
+				public void visit(int row, int start, int stop) {
+					setRange(plane, row * width + start, row * width + stop);
 				}
 			});
 		} catch (Exception e) {
@@ -55,138 +65,244 @@ public class MaskCircularBuffer {
 		}
 
 		nextBitMask();
-		
+
 	}
-	
+
+	/**
+	 * @return new dataset which is true for unmasked pixels
+	 */
 	public BooleanDataset getMask(){
-		return Comparisons.equalTo(mask, 0);
+		return getMaskView().clone();
+	}
+
+	/**
+	 * Get a view of the mask that is updated in place and shared between calls.
+	 * Only the parts of the mask that have changed since the last call are rewritten.
+	 * The view must not be modified
+	 *
+	 * @return dataset which is true for unmasked pixels
+	 */
+	public BooleanDataset getMaskView() {
+		if (view == null) {
+			view = DatasetFactory.zeros(BooleanDataset.class, shape);
+			markAllDirty();
+		}
+		if (dirtyStart < dirtyStop) {
+			final boolean[] data = view.getData();
+			for (int w = dirtyStart; w < dirtyStop; w++) {
+				final long u = union(w);
+				final int base = w << 6;
+				final int end = Math.min(64, size - base);
+				for (int b = 0; b < end; b++) {
+					data[base + b] = (u & (1L << b)) == 0;
+				}
+			}
+			dirtyStart = words;
+			dirtyStop = 0;
+		}
+		return view;
 	}
-	
+
+	/**
+	 * @return number of masked pixels
+	 */
+	public int getMaskedCount() {
+		int count = 0;
+		for (int w = 0; w < words; w++) {
+			count += Long.bitCount(union(w));
+		}
+		return count;
+	}
+
 	public void undo() {
-		if (bitMask == START) {
+		if (level == 0) {
 			return;
 		}
-		
-		bitMask = bitMask >>> 1;
-		IndexIterator iterator = mask.getIterator();
-		
-		while (iterator.hasNext()) {
-			int v = (int)mask.getElementLongAbs(iterator.index);
-			mask.setAbs(iterator.index, v & ~bitMask);
+
+		level--;
+		if (planes[level] != null) {
+			planes[level] = null;
+			markAllDirty();
 		}
 	}
-	
+
 	public boolean isBufferEmpty() {
-		return bitMask == START;
+		return level == 0;
 	}
-	
+
 	public void invert(){
-		
-		IndexIterator iterator = mask.getIterator();
-		
-		while (iterator.hasNext()) {
-			int v = (int)mask.getElementLongAbs(iterator.index);
-			
-			mask.setAbs(iterator.index, v == 0 ? 1 : 0);
+
+		long[] inverted = new long[words];
+		for (int w = 0; w < words; w++) {
+			inverted[w] = ~union(w);
 		}
-		
-		bitMask = START;
+		if (words > 0) {
+			inverted[words - 1] &= lastWordMask;
+		}
+
+		Arrays.fill(planes, null);
+		planes[0] = inverted;
+		markAllDirty();
+
+		level = 0;
 		nextBitMask();
 	}
-	
+
 	public void clear() {
-		bitMask = START;
-		mask.fill(0);
+		level = 0;
+		Arrays.fill(planes, null);
+		markAllDirty();
 	}
-	
+
 	private void nextBitMask(){
-		if (bitMask == END) {
+		if (level == LEVELS - 1) {
 			freeEndSlot();
 		} else {
-			bitMask = bitMask << 1;
+			level++;
 		}
 	}
-	
-	private void freeEndSlot() {
 
-		IndexIterator iterator = mask.getIterator();
-		
-		while (iterator.hasNext()) {
-			int v = (int)mask.getElementLongAbs(iterator.index);
-			
-			int pos1 = v & START;
-			v = v >> 1;
-			v = (v | pos1);
-			v = (v & ~END);
-			mask.setAbs(iterator.index, v);
+	/**
+	 * Merge oldest two steps and shift the others down to free the last slot
+	 */
+	private void freeEndSlot() {
+		long[] first = planes[0];
+		long[] second = planes[1];
+		if (first == null) {
+			first = second;
+		} else if (second != null) {
+			for (int w = 0; w < words; w++) {
+				first[w] |= second[w];
+			}
 		}
+		planes[0] = first;
+		System.arraycopy(planes, 2, planes, 1, LEVELS - 2);
+		planes[LEVELS - 1] = null;
 	}
-	
+
 	public void maskThreshold(Double min, Double max, Dataset data) {
-		if (!Arrays.equals(mask.getShape(), data.getShape())) throw new IllegalArgumentException("must have same shape");
-		
-		
-		int count = 0;
-		
+		if (!Arrays.equals(shape, data.getShape())) throw new IllegalArgumentException("must have same shape");
+
+		final boolean hasMin = min != null;
+		final boolean hasMax = max != null;
+		final double lo = hasMin ? min : 0;
+		final double hi = hasMax ? max : 0;
+		final long[] plane = getPlane(level);
+
 		IndexIterator iterator = data.getIterator();
-		
+
+		int count = 0;
+		long bits = 0;
 		while (iterator.hasNext()) {
 			double element = data.getElementDoubleAbs(iterator.index);
-			
-			if (min != null && element < min) {
-				long v = mask.getElementLongAbs(count);
-				v= v | bitMask;
-				mask.setAbs(count, (int)v);
-			}
-			
-			if (max != null && element > max) {
-				long v = mask.getElementLongAbs(count);
-				v= v | bitMask;
-				mask.setAbs(count, (int)v);
+
+			if ((hasMin && element < lo) || (hasMax && element > hi)) {
+				bits |= 1L << (count & 63);
 			}
-			
+
 			count++;
+			if ((count & 63) == 0) {
+				plane[(count - 1) >>> 6] |= bits;
+				bits = 0;
+			}
+		}
+		if ((count & 63) != 0) {
+			plane[count >>> 6] |= bits;
 		}
-		
+		markAllDirty();
+
 		nextBitMask();
 	}
-	
+
 	public void merge(Dataset m) {
-		if (!Arrays.equals(mask.getShape(), m.getShape())) throw new IllegalArgumentException("must have same shape");
-		
-		int count = 0;
-		
+		if (!Arrays.equals(shape, m.getShape())) throw new IllegalArgumentException("must have same shape");
+
+		final long[] plane = getPlane(level);
+
 		IndexIterator iterator = m.getIterator();
-		
+
+		int count = 0;
+		long bits = 0;
 		while (iterator.hasNext()) {
-			double element = m.getElementDoubleAbs(iterator.index);
-			
-			if (element == 0) {
-				long v = mask.getElementLongAbs(count);
-				v= v | bitMask;
-				mask.setAbs(count, (int)v);
+			if (m.getElementDoubleAbs(iterator.index) == 0) {
+				bits |= 1L << (count & 63);
 			}
-				
+
 			count++;
+			if ((count & 63) == 0) {
+				plane[(count - 1) >>> 6] |= bits;
+				bits = 0;
+			}
+		}
+		if ((count & 63) != 0) {
+			plane[count >>> 6] |= bits;
 		}
-		
+		markAllDirty();
+
 		nextBitMask();
 	}
-	
+
 	public void maskPixel(int x, int y) {
-		
-		int i = mask.get(y, x);
-		mask.set(i | bitMask, y, x);
-		
+		if (x < 0 || x >= shape[1] || y < 0 || y >= shape[0]) {
+			throw new ArrayIndexOutOfBoundsException("Pixel (" + x + ", " + y + ") is outside mask of shape " + Arrays.toString(shape));
+		}
+
+		int i = y * shape[1] + x;
+		getPlane(level)[i >>> 6] |= 1L << (i & 63);
+		markDirty(i >>> 6, (i >>> 6) + 1);
+
 		nextBitMask();
 	}
-	
-	private void updateArray(IntegerDataset section) {
-		IndexIterator iterator = section.getIterator();
-		while (iterator.hasNext()) {
-			int v = (int)section.getElementLongAbs(iterator.index);
-			section.setAbs(iterator.index, v | bitMask);
+
+	private long[] getPlane(int l) {
+		long[] plane = planes[l];
+		if (plane == null) {
+			plane = new long[words];
+			planes[l] = plane;
+		}
+		return plane;
+	}
+
+	private long union(int w) {
+		long u = 0;
+		for (long[] plane : planes) {
+			if (plane != null) {
+				u |= plane[w];
+			}
+		}
+		return u;
+	}
+
+	/**
+	 * Set bits from start (inclusive) to stop (exclusive)
+	 */
+	private void setRange(long[] plane, int start, int stop) {
+		if (start >= stop) {
+			return;
+		}
+		final int sw = start >>> 6;
+		final int ew = (stop - 1) >>> 6;
+		final long first = -1L << (start & 63);
+		final long last = -1L >>> (63 - ((stop - 1) & 63));
+		if (sw == ew) {
+			plane[sw] |= first & last;
+		} else {
+			plane[sw] |= first;
+			for (int w = sw + 1; w < ew; w++) {
+				plane[w] = -1L;
+			}
+			plane[ew] |= last;
 		}
+		markDirty(sw, ew + 1);
+	}
+
+	private void markDirty(int start, int stop) {
+		dirtyStart = Math.min(dirtyStart, start);
+		dirtyStop = Math.max(dirtyStop, stop);
+	}
+
+	private void markAllDirty() {
+		dirtyStart = 0;
+		dirtyStop = words;
 	}
-	
 }
@@ -9,23 +9,29 @@
 
 package org.eclipse.dawnsci.analysis.dataset.slicer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.january.DatasetException;
+import org.eclipse.january.MetadataException;
 import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
 import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.IDataset;
 import org.eclipse.january.dataset.IDynamicDataset;
 import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.IndexIterator;
+import org.eclipse.january.dataset.InterfaceUtils;
 import org.eclipse.january.dataset.LongDataset;
+import org.eclipse.january.dataset.ShapeUtils;
 import org.eclipse.january.dataset.SliceND;
 import org.eclipse.january.metadata.AxesMetadata;
 import org.eclipse.january.metadata.DynamicMetadataUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class DynamicSliceViewIterator implements ISliceViewIterator {
+public class DynamicSliceViewIterator implements ISliceViewIterator, AutoCloseable {
 
 	private static final Logger logger = LoggerFactory.getLogger(DynamicSliceViewIterator.class);
 	
@@ -42,21 +48,32 @@ public class DynamicSliceViewIterator implements ISliceViewIterator {
 	
 	private int maxTimeout = 60000;
 	private int timeout = 1000;
+
+	private static final int MIN_WAIT = 2; // shortest wait in ms for new data
+	private static final long MAX_BATCH_BYTES = 64l * 1024 * 1024;
+
+	private boolean repeating;
+	private SWMRTailWatcher tail;
+	private long[][] keyCache; // values of keys read so far
+	private int[][] keyShapes; // shapes of keys when cached
 	
 	public DynamicSliceViewIterator(IDynamicDataset lazy, IDynamicDataset[] keys, IDynamicDataset finished, int dataSize) {
 		this(lazy, keys, finished, dataSize, false);
 	}
 	
 	public DynamicSliceViewIterator(IDynamicDataset lazy, IDynamicDataset[] keys, IDynamicDataset finished, int dataSize, boolean repeating) {
+		this.lazy = lazy;
+		this.keys = keys;
+		this.finished = finished;
+		this.repeating = repeating;
+		keyCache = new long[keys.length][];
+		keyShapes = new int[keys.length][];
 		try {
 			iterator = new DynamicSliceNDIterator(lazy.getShape(), mergeKeys(keys), lazy.getRank()-dataSize);
 			if (repeating) iterator.enableRepeating();
 		} catch (DatasetException e) {
 			logger.error("Could not get data from lazy dataset", e);
 		}
-		this.lazy = lazy;
-		this.keys = keys;
-		this.finished = finished;
 		
 		int lr = lazy.getRank();
 		
@@ -81,48 +98,116 @@ public class DynamicSliceViewIterator implements ISliceViewIterator {
 
 	public void updateShape() {
 		try {
-			lazy.refreshShape();
-			int[] current = lazy.getShape();
 			for (IDynamicDataset k : keys) k.refreshShape();
-			int[] s = DynamicMetadataUtils.refreshDynamicAxesMetadata(lazy.getMetadata(AxesMetadata.class), lazy.getShape());
-			logger.info("Dynamic iterator setting max shape " + Arrays.toString(s) + " for lazy shape " + Arrays.toString(current));
-			for (int i = 0; i < axes.length;i++) {
-				s[axes[i]] = current[axes[i]];
-			}
-			lazy.resize(s);
-			iterator.updateShape(lazy.getShape(), mergeKeys(keys));
+			IDataset key = readKeys(0);
+			refreshLazyShape();
+			iterator.updateShape(lazy.getShape(), key);
 		} catch (Exception e) {
 			logger.error("Error refreshing axes",e);
 		}
 		
 	}
+
+	private void refreshLazyShape() throws MetadataException {
+		lazy.refreshShape();
+		int[] current = lazy.getShape();
+		int[] s = DynamicMetadataUtils.refreshDynamicAxesMetadata(lazy.getMetadata(AxesMetadata.class), lazy.getShape());
+		logger.debug("Dynamic iterator setting max shape {} for lazy shape {}", Arrays.toString(s), Arrays.toString(current));
+		for (int i = 0; i < axes.length;i++) {
+			s[axes[i]] = current[axes[i]];
+		}
+		lazy.resize(s);
+	}
+
+	/**
+	 * Refresh keys, only reading their values from the first position not yet iterated over,
+	 * and refresh the shape of the lazy dataset only when the keys go beyond it
+	 * @return true if the next view is available
+	 */
+	private boolean refresh() {
+		try {
+			for (IDynamicDataset k : keys) k.refreshShape();
+			IDataset key = readKeys(repeating ? 0 : iterator.getCount());
+			if (key.getSize() > iterator.getCurrentMax() + 1) {
+				refreshLazyShape();
+			}
+			iterator.updateShape(lazy.getShape(), key);
+		} catch (Exception e) {
+			logger.error("Error refreshing keys",e);
+		}
+		return iterator.peekHasNext();
+	}
+
+	private boolean isFinished() throws DatasetException {
+		finished.refreshShape();
+		return finished.getSlice().getInt(0) == 1;
+	}
+
+	private SWMRTailWatcher getTail() {
+		if (tail == null) {
+			tail = new SWMRTailWatcher(source == null ? null : source.getFilePath(), MIN_WAIT, timeout);
+		}
+		return tail;
+	}
+
+	private void closeTail() {
+		if (tail != null) {
+			tail.close();
+			tail = null;
+		}
+	}
 	
 	@Override
 	public boolean hasNext() {
 		
-		boolean hasNext = next;
-		double time = 0;
+		final long start = System.currentTimeMillis();
+		long time = 0;
 		
 		while (time < maxTimeout && !iterator.peekHasNext()  && !last) {
 			try {
-				Thread.sleep(timeout);
-				updateShape();
-				finished.refreshShape();
-				last = finished.getSlice().getInt(0) == 1;
-				time += timeout;
+				getTail().await(maxTimeout - time);
+				if (refresh()) {
+					tail.dataArrived();
+				} else if (isFinished()) {
+					last = true;
+					refresh(); // pick up views written before finishing
+				}
 			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
 				break;
 			} catch (DatasetException e) {
 				logger.error("Could not get data from lazy dataset", e);
 			}
+			time = System.currentTimeMillis() - start;
 		}
 		
 		if (time >= maxTimeout) {
 			last = true;
 			logger.error("Dynamic slice view iterator has timed-out");
 		}
+		if (last) {
+			closeTail();
+		}
 		
-		return hasNext;
+		return next || iterator.peekHasNext();
+	}
+
+	/**
+	 * Move on to the first view if it arrived after creation
+	 */
+	private void advanceToFirst() {
+		if (!next && iterator.peekHasNext()) {
+			next = iterator.hasNext();
+		}
+	}
+
+	/**
+	 * Stop watching the file for changes. The iterator can still be used and will
+	 * watch again if it has to wait for more views
+	 */
+	@Override
+	public void close() {
+		closeTail();
 	}
 	
 	/**
@@ -132,6 +217,7 @@ public class DynamicSliceViewIterator implements ISliceViewIterator {
 	public void reset() {
 		iterator.reset();
 		last = false;
+		closeTail();
 		updateShape();
 		next = iterator.hasNext();
 	}
@@ -143,6 +229,7 @@ public class DynamicSliceViewIterator implements ISliceViewIterator {
 	 */
 	@Override
 	public ILazyDataset next() {
+		advanceToFirst();
 		SliceND current = iterator.getCurrentSlice().clone();
 		ILazyDataset view;
 		try {
@@ -153,19 +240,101 @@ public class DynamicSliceViewIterator implements ISliceViewIterator {
 		}
 		view.clearMetadata(SliceFromSeriesMetadata.class);
 		
-		int count = iterator.getCount();
+		view.setMetadata(createMetadata(current, iterator.getCount()));
 		
+		next = iterator.hasNext();
+		
+		return view;
+	}
+
+	private SliceFromSeriesMetadata createMetadata(SliceND current, int count) {
 		SliceInformation sl = new SliceInformation(current,
 				current.clone(), new SliceND(lazy.getShape()),
 				axes, last ? count : -1, count - 1);
 		
-		SliceFromSeriesMetadata m = new SliceFromSeriesMetadata(source, sl);
-		
-		view.setMetadata(m);
-		
+		return new SliceFromSeriesMetadata(source, sl);
+	}
+
+	/**
+	 * Get the current view and those following it that have already arrived and lie next to it
+	 * along the last scan dimension. These are loaded from the lazy dataset as one block
+	 * @param maxViews maximum number of views to get
+	 * @return list of loaded views
+	 * @throws DatasetException
+	 */
+	public List<IDataset> nextBatch(int maxViews) throws DatasetException {
+		advanceToFirst();
+		List<SliceND> slices = new ArrayList<>();
+		List<Integer> counts = new ArrayList<>();
+		slices.add(iterator.getCurrentSlice().clone());
+		counts.add(iterator.getCount());
 		next = iterator.hasNext();
-		
-		return view;
+
+		final int dim = lazy.getRank() - axes.length - 1; // last scan dimension
+		if (!repeating && dim >= 0) {
+			// a view is only taken once the one after it has arrived (or it is the last) 
+			while (next && slices.size() < maxViews && (last || iterator.peekHasNext())) {
+				SliceND s = iterator.getCurrentSlice();
+				if (!isNextAlong(slices.get(slices.size() - 1), s, dim)) {
+					break;
+				}
+				slices.add(s.clone());
+				counts.add(iterator.getCount());
+				next = iterator.hasNext();
+			}
+		}
+
+		List<IDataset> views = new ArrayList<>(slices.size());
+		SliceND first = slices.get(0);
+		if (slices.size() == 1) {
+			Dataset view = DatasetUtils.convertToDataset(lazy.getSlice(first));
+			view.clearMetadata(SliceFromSeriesMetadata.class);
+			view.setMetadata(createMetadata(first, counts.get(0)));
+			views.add(view);
+			return views;
+		}
+
+		int n = slices.size();
+		int[] start = first.getStart().clone();
+		int[] stop = first.getStop().clone();
+		stop[dim] = start[dim] + n;
+		SliceND region = new SliceND(lazy.getShape(), start, stop, first.getStep());
+		Dataset block = DatasetUtils.convertToDataset(lazy.getSlice(region));
+		block.clearMetadata(SliceFromSeriesMetadata.class);
+		int[] bShape = block.getShapeRef();
+		for (int i = 0; i < n; i++) {
+			SliceND local = new SliceND(bShape);
+			local.setSlice(dim, i, i + 1, 1);
+			Dataset view = block.getSliceView(local);
+			view.setMetadata(createMetadata(slices.get(i), counts.get(i)));
+			views.add(view);
+		}
+		return views;
+	}
+
+	/**
+	 * Get the number of views to load in a batch so that it does not exceed 64MB
+	 * @return number of views
+	 */
+	public int getBatchSize() {
+		int[] shape = lazy.getShape();
+		long size = InterfaceUtils.getItemBytes(lazy.getElementsPerItem(), InterfaceUtils.getInterfaceFromClass(lazy.getElementsPerItem(), lazy.getElementClass()));
+		for (int a : axes) {
+			size *= Math.max(1, shape[a]);
+		}
+		return (int) Math.max(1, Math.min(Integer.MAX_VALUE, MAX_BATCH_BYTES / size));
+	}
+
+	private static boolean isNextAlong(SliceND previous, SliceND current, int dim) {
+		int[] ps = previous.getStart();
+		int[] cs = current.getStart();
+		for (int i = 0; i <= dim; i++) {
+			int d = i == dim ? 1 : 0;
+			if (cs[i] != ps[i] + d) {
+				return false;
+			}
+		}
+		return true;
 	}
 	
 	/**
@@ -194,46 +363,94 @@ public class DynamicSliceViewIterator implements ISliceViewIterator {
 	
 	private IDataset mergeKeys(IDynamicDataset[] keys) throws DatasetException {
 		
-		try {
-			
-			for (IDynamicDataset key : keys) {
-				String name = key.getName();
-				if (name == null) name = "unknown";
-				logger.info("merge " + name + " with shape " + Arrays.toString(key.getShape()));
-			}
-			
-			//For testing on I18
-		} catch (Exception e) {
-			logger.info("Exception testing keys",e);
+		for (IDynamicDataset key : keys) {
+			String name = key.getName();
+			if (name == null) name = "unknown";
+			logger.info("merge " + name + " with shape " + Arrays.toString(key.getShape()));
 		}
 		
-		if (keys.length == 1) return keys[0].getSlice();
-		Dataset[] dk = new Dataset[keys.length];
-		int[] maxShape = new int[keys[0].getRank()];
+		return readKeys(0);
+	}
+
+	/**
+	 * Read keys and merge them into a single key. Only rows of the keys that contain or follow
+	 * the given position are read from file and the others are taken from earlier reads
+	 * @param from first position (in the flattened keys) to read
+	 * @return key that is zero where any of the keys is zero
+	 * @throws DatasetException
+	 */
+	private IDataset readKeys(int from) throws DatasetException {
 		int minSize = Integer.MAX_VALUE;
 		for (int i = 0; i < keys.length; i++) {
-			dk[i] = DatasetUtils.convertToDataset(keys[i].getSlice());
-			int[] shape = dk[i].getShape();
-			for (int j = 0 ; j < shape.length; j++) if (maxShape[j] < shape[j]) maxShape[j] = shape[j];
-			if (dk[i].getSize() < minSize) minSize = dk[i].getSize();
+			int[] shape = keys[i].getShape();
+			int size = ShapeUtils.calcSize(shape);
+			long[] cache = keyCache[i];
+			int first = from;
+			if (cache == null || !Arrays.equals(shape, keyShapes[i])) {
+				if (cache != null && isLeadingGrowth(keyShapes[i], shape)) {
+					cache = Arrays.copyOf(cache, size);
+				} else { // flattened positions have moved so read all again
+					cache = new long[size];
+					first = 0;
+				}
+				keyCache[i] = cache;
+				keyShapes[i] = shape.clone();
+			}
+			if (size > 0 && first < size) {
+				int rowSize = shape.length == 0 ? 1 : size / shape[0];
+				int row = first / rowSize;
+				int[] start = new int[shape.length];
+				if (shape.length > 0) {
+					start[0] = row;
+				}
+				Dataset k = DatasetUtils.convertToDataset(keys[i].getSlice(null, start, shape, null));
+				IndexIterator it = k.getIterator();
+				int j = row * rowSize;
+				while (it.hasNext()) {
+					cache[j++] = k.getElementLongAbs(it.index);
+				}
+			}
+			if (size < minSize) minSize = size;
 		}
-		
-		Dataset key = DatasetFactory.zeros(LongDataset.class,new int[]{minSize});
-		
+
+		if (keys.length == 1) {
+			return DatasetFactory.createFromObject(LongDataset.class, keyCache[0].clone());
+		}
+
+		long[] merged = new long[minSize];
 		for (int i = 0; i < minSize ; i++) {
 			long sum = 0;
-			for (Dataset k : dk) {
-				if (i > k.getSize()) return key;
-				long l = k.getElementLongAbs(i);
-				if (k.getElementLongAbs(i) == 0) return key;
+			boolean zero = false;
+			for (long[] k : keyCache) {
+				long l = k[i];
+				if (l == 0) {
+					zero = true;
+					break;
+				}
 				sum+=l;
-				
 			}
-			
-			key.set(sum, i);
+			if (zero) break;
+			merged[i] = sum;
 		}
 		
-		return key;
+		return DatasetFactory.createFromObject(LongDataset.class, merged);
+	}
+
+	/**
+	 * @param old
+	 * @param shape
+	 * @return true if shape only differs from old in its first dimension
+	 */
+	private static boolean isLeadingGrowth(int[] old, int[] shape) {
+		if (old == null || old.length != shape.length || shape.length == 0) {
+			return false;
+		}
+		for (int i = 1; i < shape.length; i++) {
+			if (old[i] != shape[i]) {
+				return false;
+			}
+		}
+		return true;
 	}
 	
 }
@@ -18,12 +18,39 @@ import org.eclipse.january.dataset.IDataset;
 
 public class ROIVisitor {
 
-	public static void visitHorizontalSections(IDataset data, IROI inputROI, SliceVisitor visitor) throws Exception {
+	public static void visitHorizontalSections(final IDataset data, IROI inputROI, final SliceVisitor visitor) throws Exception {
+		
+		final int[] start = new int[]{0,0};
+		final int[] stop = new int[]{0,0};
+		final int[] step = new int[]{1,1};
+		
+		visitHorizontalSpans(data.getShape(), inputROI, new SpanVisitor() {
+			
+			@Override
+			public void visit(int row, int s, int e) throws Exception {
+				start[0] = row;
+				stop[0] = row+1;
+				start[1] = s;
+				stop[1] = e;
+				IDataset section = data.getSliceView(start, stop, step);
+				visitor.visit(section);
+			}
+		});
+	}
+	
+	/**
+	 * Visit the horizontal runs of pixels inside a region of interest, in row order
+	 * 
+	 * @param shape - shape of image
+	 * @param inputROI - region
+	 * @param visitor - called with row and column range for each run
+	 * @throws Exception
+	 */
+	public static void visitHorizontalSpans(int[] shape, IROI inputROI, SpanVisitor visitor) throws Exception {
 		
 		IROI roi = inputROI.copy();
 		
 		IRectangularROI bounds = roi.getBounds();
-		int[] shape = data.getShape();
 		int iStart = (int)Math.floor(bounds.getPointY());
 		int iStop = (int)Math.ceil(bounds.getPointY()+bounds.getLength(1));
 		if (iStop > shape[0]) iStop = shape[0];
@@ -42,35 +69,22 @@ public class ROIVisitor {
 				}
 				if (cutsEnd && !inters.contains(shape[1]-1)) inters.add(shape[1]-1);
 				
-				int[] start = new int[]{i,0};
-				int[] stop = new int[]{i+1,0};
-				int[] step = new int[]{1,1};
-				
 				while (!inters.isEmpty()) {
 					
 					if (inters.size() == 1) {
-						start[1] = inters.get(0);
-						stop[1] = start[1]+1;
-						IDataset section = data.getSliceView(start, stop, step);
-						visitor.visit(section);
+						int s = inters.get(0);
+						visitor.visit(i, s, s+1);
 						inters.remove(0);
 					} else {
 						int s = inters.get(0);
 						int e = inters.get(1);
 						
 						if (roi.containsPoint(s+(e-s)/2d, i)) {
-							start[1] = s;
-							stop[1] = e;
-							IDataset section = data.getSliceView(start, stop, step);
-							visitor.visit(section);
-							inters.remove(0);
+							visitor.visit(i, s, e);
 						} else {
-							start[1] = inters.get(0);
-							stop[1] = start[1]+1;
-							IDataset section = data.getSliceView(start, stop, step);
-							visitor.visit(section);
-							inters.remove(0);
+							visitor.visit(i, s, s+1);
 						}
+						inters.remove(0);
 					}
 				}
 			}
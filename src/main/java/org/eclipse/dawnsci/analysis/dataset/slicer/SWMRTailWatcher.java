@@ -0,0 +1,145 @@
+/*-
+ * Copyright 2015 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset.slicer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Waits for a file that is being written (e.g. in SWMR mode) to change.
+ * <p>
+ * The file's directory is watched for modifications so a reader can wake as soon as a writer
+ * has flushed. As change notifications are not available on every file system (and are
+ * not made for writes from other hosts), waiting is also limited by a period which starts
+ * short and doubles each time nothing arrives, up to a maximum. The period is reset when
+ * the reader reports that new data has arrived.
+ */
+public class SWMRTailWatcher implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(SWMRTailWatcher.class);
+
+	private final int minWait;
+	private final int maxWait;
+	private int wait;
+
+	private WatchService watcher;
+	private Path fileName;
+
+	/**
+	 * @param filePath file to watch, can be null to only back off
+	 * @param minWait shortest period to wait in milliseconds
+	 * @param maxWait longest period to wait in milliseconds
+	 */
+	public SWMRTailWatcher(String filePath, int minWait, int maxWait) {
+		this.minWait = Math.max(1, minWait);
+		this.maxWait = Math.max(this.minWait, maxWait);
+		wait = this.minWait;
+
+		if (filePath != null) {
+			try {
+				Path path = Paths.get(filePath).toAbsolutePath();
+				Path dir = path.getParent();
+				if (dir != null) {
+					WatchService service = FileSystems.getDefault().newWatchService();
+					try {
+						dir.register(service, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+					} catch (IOException | RuntimeException e) {
+						service.close();
+						throw e;
+					}
+					watcher = service;
+					fileName = path.getFileName();
+				}
+			} catch (IOException | RuntimeException e) {
+				logger.warn("Cannot watch {} for changes so will poll it", filePath, e);
+			}
+		}
+	}
+
+	/**
+	 * @return true if change notifications are used
+	 */
+	public boolean isWatching() {
+		return watcher != null;
+	}
+
+	/**
+	 * Wait until file changes or the current back-off period has elapsed. If it did not change, the
+	 * period is doubled for the next wait
+	 * @param limit maximum time to wait in milliseconds
+	 * @return true if a change was notified
+	 * @throws InterruptedException
+	 */
+	public boolean await(long limit) throws InterruptedException {
+		final long period = Math.max(0, Math.min(limit, wait));
+		boolean changed = false;
+		if (watcher == null) {
+			Thread.sleep(period);
+		} else {
+			final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(period);
+			long left = period;
+			while (!changed && left > 0) {
+				WatchKey key = watcher.poll(left, TimeUnit.MILLISECONDS);
+				if (key == null) {
+					break;
+				}
+				for (WatchEvent<?> e : key.pollEvents()) {
+					if (e.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(e.context())) {
+						changed = true;
+					}
+				}
+				key.reset();
+				left = TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime());
+			}
+		}
+
+		if (!changed) {
+			wait = Math.min(maxWait, 2 * wait);
+		}
+		return changed;
+	}
+
+	/**
+	 * Report that new data has arrived so the back-off period is reset
+	 */
+	public void dataArrived() {
+		wait = minWait;
+	}
+
+	/**
+	 * @return current back-off period in milliseconds
+	 */
+	public int getWait() {
+		return wait;
+	}
+
+	@Override
+	public void close() {
+		if (watcher != null) {
+			try {
+				watcher.close();
+			} catch (IOException e) {
+				logger.error("Could not close file watcher", e);
+			}
+			watcher = null;
+		}
+	}
+}
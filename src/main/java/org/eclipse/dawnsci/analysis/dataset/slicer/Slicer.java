@@ -15,6 +15,7 @@ package org.eclipse.dawnsci.analysis.dataset.slicer;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
@@ -42,6 +43,11 @@ public class Slicer {
 	
 	public static void visit(ISliceViewIterator iterator, SliceVisitor visitor) throws Exception {
 		
+		if (iterator instanceof DynamicSliceViewIterator) {
+			visitBatches((DynamicSliceViewIterator) iterator, visitor);
+			return;
+		}
+
 		long time = 0;
 		int count = 0;
 		
@@ -59,6 +65,39 @@ public class Slicer {
 		
 	}
 
+	/**
+	 * Visit views of a dataset that is being written to. All views that have arrived when
+	 * the iterator is woken are loaded together then visited in turn
+	 * @param iterator
+	 * @param visitor
+	 * @throws Exception
+	 */
+	private static void visitBatches(DynamicSliceViewIterator iterator, SliceVisitor visitor) throws Exception {
+		
+		long time = 0;
+		int count = 0;
+		final int batch = iterator.getBatchSize();
+		
+		try {
+			while (iterator.hasNext()) {
+				long t = System.currentTimeMillis();
+				List<IDataset> views = iterator.nextBatch(batch);
+				time += System.currentTimeMillis()-t;
+				for (IDataset data : views) {
+					count++;
+					visitor.visit(data);
+					if (visitor.isCancelled()) break;
+				}
+				if (visitor.isCancelled()) break;
+			}
+		} finally {
+			iterator.close();
+		}
+		
+		logger.info("Average load time: " + time/(double)count + " ms");
+		
+	}
+
 	public static void visitParallel(ISliceViewIterator iterator, final SliceVisitor visitor, int nProcessors) throws Exception {
 
 		//Can't just farm out each slice to a separate thread, need to block when thread pool full,
@@ -0,0 +1,25 @@
+/*-
+ * Copyright 2017 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset.slicer;
+
+/**
+ * Used with {@link ROIVisitor} to visit horizontal runs of pixels without slicing a dataset
+ */
+public interface SpanVisitor {
+
+	/**
+	 * Visit each run of pixels in a row
+	 * @param row - index of row
+	 * @param start - index of first pixel in run
+	 * @param stop - index after last pixel in run
+	 * @throws Exception
+	 */
+	public void visit(int row, int start, int stop) throws Exception;
+}
@@ -15,6 +15,7 @@ package org.eclipse.dawnsci.analysis.tree.impl;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -36,6 +37,8 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 	private int numDataNodes;
 	private int numGroupNodes;
 	private final Map<String, NodeLink> nodes;
+	private final Map<Node, String> names; // reverse index of first name linking to each node
+	private int hardLinks; // number of links to nodes that are already linked by another name
 	private boolean populated = false;
 
 	@Override
@@ -57,6 +60,7 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 		numDataNodes = 0;
 		numGroupNodes = 0;
 		nodes = new LinkedHashMap<String, NodeLink>();
+		names = new IdentityHashMap<Node, String>();
 	}
 
 	@Override
@@ -96,7 +100,7 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 			} else {
 				numDataNodes++;
 			}
-			nodes.put(name, link);
+			putLink(name, link);
 			populated = true;
 		}
 	}
@@ -198,7 +202,7 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 				numGroupNodes++;
 			}
 			// add the new node
-			nodes.put(name, createNodeLink(name, g));
+			putLink(name, createNodeLink(name, g));
 			populated = true;
 		}
 	}
@@ -225,6 +229,11 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 
 	@Override
 	public void removeGroupNode(final GroupNode g) {
+		String name = findLinkedNodeName(g);
+		if (name != null) {
+			removeNode(name, true);
+			return;
+		}
 		for (String n : nodes.keySet()) {
 			NodeLink l = nodes.get(n);
 			if (l.getDestination().equals(g)) {
@@ -319,7 +328,7 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 			} else {
 				numDataNodes++;
 			}
-			nodes.put(name, createNodeLink(name, d));
+			putLink(name, createNodeLink(name, d));
 			populated = true;
 		}
 	}
@@ -329,15 +338,72 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 	}
 
 	private void removeNode(String name, boolean isGroup) {
-		nodes.remove(name);
+		synchronized (nodes) {
+			NodeLink old = nodes.remove(name);
+			if (old != null) {
+				unindex(name, old.getDestination());
+			}
 
-		if (isGroup) {
-			numGroupNodes--;
-		} else {
-			numDataNodes--;
+			if (isGroup) {
+				numGroupNodes--;
+			} else {
+				numDataNodes--;
+			}
+			assert numGroupNodes >= 0 && numDataNodes >= 0;
+			populated = numDataNodes > 0 || numGroupNodes > 0;
+		}
+	}
+
+	/**
+	 * Put link in group and update reverse index. Must be called when holding lock on nodes
+	 * @param name
+	 * @param link
+	 */
+	private void putLink(String name, NodeLink link) {
+		NodeLink old = nodes.put(name, link);
+		if (old != null) {
+			unindex(name, old.getDestination());
+		}
+		Node n = link.getDestination();
+		if (n != null) {
+			if (names.putIfAbsent(n, name) == null) {
+				if (n instanceof NodeImpl) {
+					((NodeImpl) n).linkParent(this);
+				}
+			} else {
+				hardLinks++;
+			}
+		}
+	}
+
+	/**
+	 * Remove name of node that is no longer linked with it from reverse index. Must be
+	 * called when holding lock on nodes
+	 * @param name
+	 * @param n
+	 */
+	private void unindex(String name, Node n) {
+		if (n == null) {
+			return;
+		}
+		if (!name.equals(names.get(n))) {
+			hardLinks--;
+			return;
+		}
+
+		names.remove(n);
+		if (hardLinks > 0) { // look for another link to node
+			for (Entry<String, NodeLink> e : nodes.entrySet()) {
+				if (e.getValue().getDestination() == n) {
+					names.put(n, e.getKey());
+					hardLinks--;
+					return;
+				}
+			}
+		}
+		if (n instanceof NodeImpl) {
+			((NodeImpl) n).unlinkParent(this);
 		}
-		assert numGroupNodes >= 0 && numDataNodes >= 0;
-		populated = numDataNodes > 0 || numGroupNodes > 0;
 	}
 
 	@Override
@@ -362,6 +428,11 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 
 	@Override
 	public void removeDataNode(final DataNode d) {
+		String name = findLinkedNodeName(d);
+		if (name != null) {
+			removeNode(name, false);
+			return;
+		}
 		for (String n : nodes.keySet()) {
 			NodeLink l = nodes.get(n);
 			if (l.getDestination().equals(d)) {
@@ -387,7 +458,7 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 					numDataNodes++;
 				}
 			}
-			nodes.put(name, createNodeLink(name, s));
+			putLink(name, createNodeLink(name, s));
 			populated = true;
 		}
 	}
@@ -427,6 +498,11 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 
 	@Override
 	public void removeSymbolicNode(SymbolicNode s) {
+		String name = findLinkedNodeName(s);
+		if (name != null) {
+			removeNode(name, name.endsWith(SEPARATOR));
+			return;
+		}
 		for (String n : nodes.keySet()) {
 			NodeLink l = nodes.get(n);
 			if (l.getDestination().equals(s)) {
@@ -445,12 +521,9 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 
 	@Override
 	public String findLinkedNodeName(Node node) {
-		for (Entry<String, NodeLink> e : nodes.entrySet()) {
-			if (e.getValue().getDestination() == node) {
-				return e.getKey();
-			}
+		synchronized (nodes) {
+			return names.get(node);
 		}
-		return null;
 	}
 
 	@Override
@@ -524,23 +597,26 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 	@Override
 	public NodeLink findNodeLink(String pathname) {
 		String attr = null;
-		int a = pathname.lastIndexOf(ATTRIBUTE);
-		if (a == 0) {
+		int end = pathname.lastIndexOf(ATTRIBUTE);
+		if (end == 0) {
 			throw new IllegalArgumentException("Attribute only path not allowed");
-		} else if (a > 0) {
-			attr = pathname.substring(a + 1);
-			pathname = pathname.substring(0, a);
+		} else if (end > 0) {
+			attr = pathname.substring(end + 1);
+		} else {
+			end = pathname.length();
 		}
 
-		int i = pathname.indexOf(SEPARATOR);
-		if (i == 0) {
-			pathname = pathname.substring(1);
-			i = pathname.indexOf(SEPARATOR);
-		}
+		// walk down groups without copying remainder of path at each level
+		final int sl = SEPARATOR.length();
+		int start = pathname.startsWith(SEPARATOR) ? sl : 0;
+		GroupNodeImpl g = this;
+		while (true) {
+			int i = pathname.indexOf(SEPARATOR, start);
+			if (i >= end) {
+				i = -1;
+			}
 
-		String link = i < 0 ? pathname : pathname.substring(0, i);
-		if (nodes.containsKey(link)) {
-			NodeLink nl = nodes.get(link);
+			NodeLink nl = g.nodes.get(pathname.substring(start, i < 0 ? end : i));
 			while (nl != null && nl.isDestinationSymbolic()) {
 				nl = ((SymbolicNode) nl.getDestination()).getNodeLink();
 			}
@@ -549,15 +625,23 @@ public class GroupNodeImpl extends NodeImpl implements GroupNode, Serializable {
 			}
 			if (i < 0) {
 				return checkAttribute(nl, attr);
-			} else if (nl.isDestinationGroup()) {
-				String path = pathname.substring(i + 1);
-				if (path.isEmpty()) { // pathname ended in SEPARATOR
-					return checkAttribute(nl, attr);
-				}
-				return checkAttribute(((GroupNode) nl.getDestination()).findNodeLink(path), attr);
+			} else if (!nl.isDestinationGroup()) {
+				return null;
 			}
+
+			start = i + sl;
+			if (start >= end) { // pathname ended in SEPARATOR
+				return checkAttribute(nl, attr);
+			}
+			if (pathname.startsWith(SEPARATOR, start)) {
+				start += sl;
+			}
+			Node n = nl.getDestination();
+			if (!(n instanceof GroupNodeImpl)) {
+				return checkAttribute(((GroupNode) n).findNodeLink(pathname.substring(start, end)), attr);
+			}
+			g = (GroupNodeImpl) n;
 		}
-		return null;
 	}
 
 	static NodeLink checkAttribute(NodeLink nl, String attr) {
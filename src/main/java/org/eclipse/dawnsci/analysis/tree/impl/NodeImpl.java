@@ -17,6 +17,7 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
+import org.eclipse.dawnsci.analysis.api.tree.GroupNode;
 import org.eclipse.dawnsci.analysis.api.tree.Node;
 
 public abstract class NodeImpl implements Node, Serializable {
@@ -26,6 +27,7 @@ public abstract class NodeImpl implements Node, Serializable {
 	protected LinkedHashMap<String, Attribute> attributes;
 	protected static final String INDENT = "    ";
 	protected final long id;
+	private GroupNode parent;
 
 	/**
 	 * Construct a node with given object ID
@@ -41,6 +43,31 @@ public abstract class NodeImpl implements Node, Serializable {
 		return id;
 	}
 
+	@Override
+	public GroupNode getParentGroup() {
+		return parent;
+	}
+
+	/**
+	 * Note group has linked to this node
+	 * @param group
+	 */
+	void linkParent(GroupNode group) {
+		if (parent == null) {
+			parent = group;
+		}
+	}
+
+	/**
+	 * Note group no longer links to this node
+	 * @param group
+	 */
+	void unlinkParent(GroupNode group) {
+		if (parent == group) {
+			parent = null;
+		}
+	}
+
 	@Override
 	public int getNumberOfAttributes() {
 		return attributes.size();
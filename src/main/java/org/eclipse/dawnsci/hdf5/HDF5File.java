@@ -9,9 +9,14 @@
 
 package org.eclipse.dawnsci.hdf5;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
@@ -27,6 +32,8 @@ import org.eclipse.january.dataset.SliceND;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.github.h5jan.metrics.HDF5WriteQueueEvent;
+
 /**
  * Class to hold state of a HDF5 file
  */
@@ -44,6 +51,9 @@ public class HDF5File {
 
 	private Map<String, long[]> datasetIDs;
 	private boolean cacheIDs;
+	private final Map<String, HDF5ReadHandle> readHandles = new HashMap<>();
+
+	private final Set<HDF5LazySaver> combiningSavers = Collections.newSetFromMap(new IdentityHashMap<>());
 
 	/**
 	 * 
@@ -126,19 +136,24 @@ public class HDF5File {
 		private ILazyWriteableDataset out;
 		private final IDataset data;
 		private final SliceND slice;
-		public WriteJob(final ILazyWriteableDataset out, final IDataset data, final SliceND slice) {
+		private final HDF5WriteQueueEvent event;
+		public WriteJob(final ILazyWriteableDataset out, final IDataset data, final SliceND slice, int depth) {
 			this.out = out;
 			this.data = data;
 			this.slice = slice;
+			this.event = new HDF5WriteQueueEvent(depth);
 		}
 
 		@Override
 		public void run() {
 //			System.err.printf("Writing " + DatasetUtils.convertToDataset(data).toString(true) + " to " + slice.toString());
+			event.started();
 			try {
 				out.setSliceSync(null, data, slice);
 			} catch (DatasetException e) {
 				throw new RuntimeException(e);
+			} finally {
+				event.record(file);
 			}
 //			System.err.printf("... end\n");
 		}
@@ -158,7 +173,7 @@ public class HDF5File {
 			}
 			if (!service.isShutdown()) {
 				try {
-					service.submit(new WriteJob(destination, data, slice));
+					service.submit(new WriteJob(destination, data, slice, service.getQueue().size()));
 					return true;
 				} catch (RejectedExecutionException e) {
 				}
@@ -167,14 +182,57 @@ public class HDF5File {
 		return false;
 	}
 
+	/**
+	 * Add saver that holds staged rows to be written when file is flushed
+	 * @param saver
+	 */
+	void addCombiningSaver(HDF5LazySaver saver) {
+		synchronized (combiningSavers) {
+			combiningSavers.add(saver);
+		}
+	}
+
+	/**
+	 * Write rows staged by savers that combine small appends
+	 * <p>
+	 * This does not hold the lock on this file as savers may be writing concurrently
+	 */
+	public void flushCombinedWrites() {
+		List<HDF5LazySaver> savers;
+		synchronized (combiningSavers) {
+			if (combiningSavers.isEmpty()) {
+				return;
+			}
+			savers = new ArrayList<>(combiningSavers);
+			combiningSavers.clear();
+		}
+		for (HDF5LazySaver s : savers) {
+			try {
+				s.flush(this);
+			} catch (NexusException e) {
+				logger.error("Could not write combined slices of {} in {}", s, file, e);
+			}
+		}
+	}
+
 	/**
 	 * Finish all writes (block until it is done)
 	 */
-	public synchronized void flushWrites() {
-		if (service != null) {
-			BlockingQueue<Runnable> queue = service.getQueue();
+	public void flushWrites() {
+		flushCombinedWrites();
+		flushQueuedWrites();
+	}
+
+	private void flushQueuedWrites() {
+		ThreadPoolExecutor s;
+		synchronized (this) {
+			s = service;
+		}
+		// wait without holding the lock on this file as queued jobs need it to open datasets
+		if (s != null) {
+			BlockingQueue<Runnable> queue = s.getQueue();
 			final long milli = 10; // period to sleep between checking for empty queue
-			while (!service.isTerminated() && queue.peek() != null) {
+			while (!s.isTerminated() && queue.peek() != null) {
 				try {
 					Thread.sleep(milli);
 				} catch (InterruptedException e) {
@@ -214,6 +272,11 @@ public class HDF5File {
 			}
 
 		}
+
+		for (HDF5ReadHandle h : readHandles.values()) {
+			h.close();
+		}
+		readHandles.clear();
 	}
 
 	@Override
@@ -290,6 +353,37 @@ public class HDF5File {
 		}
 	}
 
+	/**
+	 * Get handle to dataset which holds its IDs open for reading until the file
+	 * is finished with or the handle is closed
+	 * @param dataPath
+	 * @return handle or null if file is writeable or dataset cannot be held open
+	 */
+	synchronized HDF5ReadHandle getReadHandle(final String dataPath) {
+		if (writeable) {
+			return null;
+		}
+		HDF5ReadHandle h = readHandles.get(dataPath);
+		if (h == null) {
+			h = HDF5ReadHandle.open(this, dataPath);
+			if (h != null) {
+				readHandles.put(dataPath, h);
+			}
+		}
+		return h;
+	}
+
+	/**
+	 * Close read handle to dataset if it is held
+	 * @param dataPath
+	 */
+	synchronized void closeReadHandle(final String dataPath) {
+		HDF5ReadHandle h = readHandles.remove(dataPath);
+		if (h != null) {
+			h.close();
+		}
+	}
+
 	/**
 	 * @param dataPath
 	 * @return true if dataset IDs are cached
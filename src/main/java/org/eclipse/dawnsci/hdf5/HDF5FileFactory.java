@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import hdf.hdf5lib.H5;
 import hdf.hdf5lib.HDF5Constants;
 import hdf.hdf5lib.exceptions.HDF5LibraryException;
+import io.github.h5jan.metrics.HDF5AcquireEvent;
 
 /**
  * This contains method to access low level HDF5 file IDs and allows them to
@@ -188,7 +189,12 @@ public class HDF5FileFactory {
 	 * @return file ID
 	 * @throws ScanFileHolderException
 	 */
-	private synchronized static HDF5File acquireFile(String fileName, boolean writeable, boolean asNew, boolean withLatestVersion) throws ScanFileHolderException {
+	private static HDF5File acquireFile(String fileName, boolean writeable, boolean asNew, boolean withLatestVersion) throws ScanFileHolderException {
+		return acquireFile(fileName, writeable, asNew, withLatestVersion, new HDF5AcquireEvent());
+	}
+
+	private synchronized static HDF5File acquireFile(String fileName, boolean writeable, boolean asNew, boolean withLatestVersion, HDF5AcquireEvent event) throws ScanFileHolderException {
+		event.locked();
 		final String cPath;
 		try {
 			cPath = canonicalisePath(fileName);
@@ -226,6 +232,7 @@ public class HDF5FileFactory {
 							throw new ScanFileHolderException(msg);
 						}
 						access.incrementCount();
+						event.record(cPath, writeable, true);
 						return access;
 					}
 				}
@@ -281,6 +288,7 @@ public class HDF5FileFactory {
 				}
 				access = new HDF5File(cPath, fid, asNew || writeable, canSWMR);
 				INSTANCE.map.put(cPath, access);
+				event.record(cPath, access.isWriteable(), false);
 				return access;
 			} catch (Throwable le) {
 // FIXME for CustomTomoConverter, etc 
@@ -15,9 +15,12 @@ import java.io.Serializable;
 import java.util.Arrays;
 
 import org.eclipse.dawnsci.analysis.api.io.ScanFileHolderException;
+import org.eclipse.dawnsci.analysis.dataset.BoundedDatasetCache;
 import org.eclipse.january.IMonitor;
 import org.eclipse.january.dataset.DTypeUtils;
 import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.InterfaceUtils;
 import org.eclipse.january.dataset.SliceND;
 import org.eclipse.january.io.ILazyDynamicLoader;
 import org.eclipse.january.io.ILazyLoader;
@@ -42,6 +45,12 @@ public class HDF5LazyLoader implements ILazyLoader, ILazyDynamicLoader, Serializ
 	protected String name;
 	protected File file;
 
+	private static final int CHUNK_BYTES = 64 * 1024; // size of blocks cached for contiguous datasets
+	private static final int MAX_AMPLIFICATION = 8; // of elements read into cache over those requested
+
+	private transient BoundedDatasetCache<ChunkKey> sliceCache;
+	private transient int[] cacheChunks;
+
 	/**
 	 * @param hostname
 	 * @param filename
@@ -150,10 +159,10 @@ public class HDF5LazyLoader implements ILazyLoader, ILazyDynamicLoader, Serializ
 					}
 				}
 
-				d = HDF5Utils.loadDataset(filePath, nodePath, tstart, tsize, tstep, isize, clazz, extendUnsigned);
+				d = loadCachedDataset(tstart, tsize, tstep);
 				d.setShape(newShape); // squeeze shape back
 			} else {
-				d = HDF5Utils.loadDataset(filePath, nodePath, lstart, newShape, lstep, isize, clazz, extendUnsigned);
+				d = loadCachedDataset(lstart, newShape, lstep);
 			}
 			if (d != null) {
 				d.setName(name);
@@ -171,8 +180,216 @@ public class HDF5LazyLoader implements ILazyLoader, ILazyDynamicLoader, Serializ
 		return d;
 	}
 
+	/**
+	 * Load slice of dataset in its true shape
+	 * @param start
+	 * @param count
+	 * @param step
+	 * @return dataset
+	 * @throws Exception
+	 */
+	protected Dataset loadDataset(int[] start, int[] count, int[] step) throws Exception {
+		return HDF5Utils.loadDataset(filePath, nodePath, start, count, step, isize, clazz, extendUnsigned);
+	}
+
+	/**
+	 * Set cache of slices which holds blocks aligned with the dataset's chunks, or
+	 * blocks of whole trailing dimensions for contiguous datasets, so that
+	 * overlapping slices are read from the file once. Slices which would need
+	 * much more than they contain to be read are not cached
+	 * @param maxBytes maximum number of bytes to hold, zero to remove cache
+	 */
+	public synchronized void setSliceCache(long maxBytes) {
+		sliceCache = maxBytes > 0 ? new BoundedDatasetCache<>(maxBytes) : null;
+		cacheChunks = null;
+	}
+
+	/**
+	 * @return cache of slices, or null if not set
+	 */
+	public synchronized BoundedDatasetCache<ChunkKey> getSliceCache() {
+		return sliceCache;
+	}
+
+	/**
+	 * Clear cache of slices, if set, so subsequent slices are read from the file
+	 */
+	public synchronized void clearSliceCache() {
+		if (sliceCache != null) {
+			sliceCache.clear();
+		}
+		cacheChunks = null;
+	}
+
+	private Dataset loadCachedDataset(int[] start, int[] count, int[] step) throws Exception {
+		BoundedDatasetCache<ChunkKey> cache;
+		int[] chunks = null;
+		int[] shape = null;
+		synchronized (this) {
+			cache = sliceCache;
+			if (cache != null && trueShape.length > 0) {
+				if (cacheChunks == null) {
+					cacheChunks = getCacheChunks();
+				}
+				chunks = cacheChunks;
+				shape = trueShape.clone();
+			}
+		}
+		if (chunks == null || chunks.length != shape.length) {
+			return loadDataset(start, count, step);
+		}
+		final int rank = shape.length;
+
+		int[] flip = HDF5Utils.flipSteps(step);
+		if (flip != null) { // use cached blocks then reverse
+			int[] fstart = start.clone();
+			int[] fstep = step.clone();
+			for (int i = 0; i < rank; i++) {
+				if (fstep[i] < 0) {
+					fstart[i] += (count[i] - 1) * fstep[i];
+					fstep[i] = -fstep[i];
+				}
+			}
+			Dataset d = loadCachedDataset(fstart, count, fstep);
+			return d == null ? null : d.getSlice(null, null, flip);
+		}
+
+		// ranges of chunk positions that the slice covers
+		final int[] cfirst = new int[rank];
+		final int[] clast = new int[rank];
+		long requested = 1;
+		long aligned = 1;
+		for (int i = 0; i < rank; i++) {
+			if (count[i] <= 0) {
+				return loadDataset(start, count, step);
+			}
+			int end = start[i] + (count[i] - 1) * step[i];
+			if (end >= shape[i]) {
+				return loadDataset(start, count, step);
+			}
+			cfirst[i] = start[i] / chunks[i];
+			clast[i] = end / chunks[i];
+			requested *= count[i];
+			aligned *= (long) (clast[i] - cfirst[i] + 1) * chunks[i];
+		}
+		long itemBytes = InterfaceUtils.getItemBytes(isize < 0 ? 1 : isize, clazz);
+		if (aligned > MAX_AMPLIFICATION * requested || aligned * itemBytes > cache.getMaxWeight() / 4) {
+			return loadDataset(start, count, step);
+		}
+
+		Dataset d = null;
+		final int[] pos = cfirst.clone();
+		final int[] cstart = new int[rank];
+		final int[] ccount = new int[rank];
+		final int[] ones = new int[rank];
+		Arrays.fill(ones, 1);
+		final int[] sstart = new int[rank]; // within chunk
+		final int[] sstop = new int[rank];
+		final int[] dstart = new int[rank]; // within result
+		final int[] dstop = new int[rank];
+		do {
+			boolean hit = true;
+			for (int i = 0; i < rank; i++) {
+				int c0 = pos[i] * chunks[i];
+				int c1 = Math.min(c0 + chunks[i], shape[i]);
+				int k0 = Math.max(0, (c0 - start[i] + step[i] - 1) / step[i]);
+				int k1 = Math.min(count[i], (c1 - start[i] + step[i] - 1) / step[i]);
+				if (k0 >= k1) { // steps over chunk
+					hit = false;
+					break;
+				}
+				cstart[i] = c0;
+				ccount[i] = c1 - c0;
+				sstart[i] = start[i] + k0 * step[i] - c0;
+				sstop[i] = start[i] + (k1 - 1) * step[i] - c0 + 1;
+				dstart[i] = k0;
+				dstop[i] = k1;
+			}
+			if (hit) {
+				final ChunkKey key = new ChunkKey(pos.clone());
+				Dataset c = cache.get(key);
+				if (c == null) {
+					c = loadDataset(cstart.clone(), ccount.clone(), ones);
+					if (c == null) {
+						return null;
+					}
+					cache.put(key, c);
+				}
+				if (d == null) {
+					d = DatasetFactory.zeros(c.getElementsPerItem(), c.getClass(), count);
+				}
+				d.setSlice(c.getSliceView(sstart, sstop, step), dstart, dstop, ones);
+			}
+		} while (next(pos, cfirst, clast));
+		return d;
+	}
+
+	private static boolean next(int[] pos, int[] first, int[] last) {
+		for (int i = pos.length - 1; i >= 0; i--) {
+			if (++pos[i] <= last[i]) {
+				return true;
+			}
+			pos[i] = first[i];
+		}
+		return false;
+	}
+
+	/**
+	 * @return shape of blocks to cache
+	 */
+	private int[] getCacheChunks() {
+		int[] chunks = null;
+		try {
+			chunks = HDF5Utils.getChunkShape(filePath, nodePath);
+		} catch (ScanFileHolderException e) {
+			logger.debug("Could not get chunk shape of {}", this, e);
+		}
+		if (chunks != null) {
+			return chunks;
+		}
+
+		// whole trailing dimensions up to a block size
+		final int rank = trueShape.length;
+		chunks = new int[rank];
+		Arrays.fill(chunks, 1);
+		long size = Math.max(1, CHUNK_BYTES / InterfaceUtils.getItemBytes(isize < 0 ? 1 : isize, clazz));
+		for (int i = rank - 1; i >= 0 && size > 1; i--) {
+			int n = Math.max(1, trueShape[i]);
+			chunks[i] = (int) Math.min(n, size);
+			size /= n;
+		}
+		return chunks;
+	}
+
+	/**
+	 * Position of block in slice cache
+	 */
+	public static final class ChunkKey {
+		private final int[] position;
+
+		private ChunkKey(int[] position) {
+			this.position = position;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(position);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof ChunkKey && Arrays.equals(position, ((ChunkKey) obj).position);
+		}
+
+		@Override
+		public String toString() {
+			return Arrays.toString(position);
+		}
+	}
+
 	@Override
 	public int[] refreshShape() {
+		clearSliceCache();
 		int[][] shape = null;
 		try {
 			shape = HDF5Utils.getDatasetShape(filePath, nodePath);
@@ -21,10 +21,13 @@ import org.eclipse.dawnsci.nexus.NexusException;
 import org.eclipse.january.IMonitor;
 import org.eclipse.january.dataset.DTypeUtils;
 import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
 import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.IDataset;
 import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.InterfaceUtils;
 import org.eclipse.january.dataset.SliceND;
+import org.eclipse.january.dataset.StringDataset;
 import org.eclipse.january.io.ILazyAsyncSaver;
 
 /**
@@ -46,6 +49,13 @@ public class HDF5LazySaver extends HDF5LazyLoader implements ILazyAsyncSaver, Se
 
 	private String dataPath;
 
+	private static final int COMBINING_TARGET_BYTES = 1 << 20; // size of staging buffer when unchunked
+
+	private volatile int combiningRows = 0; // capacity of staging buffer in rows (zero to disable)
+	private transient Dataset pending; // staging buffer of whole rows
+	private int pendingStart; // first row in file of staged rows
+	private int pendingRows;  // number of staged rows
+
 	/**
 	 * 
 	 * @param hostname
@@ -142,8 +152,59 @@ public class HDF5LazySaver extends HDF5LazyLoader implements ILazyAsyncSaver, Se
 		}
 	}
 
+	/**
+	 * Set whether to combine small appends
+	 * <p>
+	 * When enabled, slices that cover whole rows (i.e. the full extent of all but the first
+	 * dimension) and follow on from each other are copied into a staging buffer that holds
+	 * a chunk's worth of rows (or about 1MB if the dataset is not chunked). The buffer is
+	 * written as a single slice when it is full, when a slice is set that does not follow on,
+	 * or when {@link #flush()} is called or its file is flushed or closed. This is disabled by
+	 * default
+	 * @param combine
+	 * @throws IOException if staged rows could not be written
+	 */
+	public void setWriteCombining(boolean combine) throws IOException {
+		int rows = 0;
+		if (combine) {
+			if (chunks != null && chunks.length > 0) {
+				rows = chunks[0];
+			} else {
+				int rowSize = InterfaceUtils.getItemBytes(1, clazz);
+				for (int i = 1; i < trueShape.length; i++) {
+					rowSize *= Math.max(1, maxShape[i] > 0 ? maxShape[i] : trueShape[i]);
+				}
+				rows = COMBINING_TARGET_BYTES / rowSize;
+			}
+		}
+		setWriteCombiningRows(rows);
+	}
+
+	/**
+	 * Set number of rows to combine from small appends
+	 * @param rows maximum number of rows held in staging buffer, one or less disables
+	 * write combining
+	 * @throws IOException if staged rows could not be written
+	 * @see #setWriteCombining(boolean)
+	 */
+	public void setWriteCombiningRows(int rows) throws IOException {
+		flush();
+		synchronized (this) {
+			combiningRows = rows > 1 ? rows : 0;
+			pending = null;
+		}
+	}
+
+	/**
+	 * @return true if small appends are combined
+	 */
+	public boolean isWriteCombining() {
+		return combiningRows > 0;
+	}
+
 	@Override
 	public void setSlice(IMonitor mon, IDataset data, SliceND slice) throws IOException {
+		clearSliceCache();
 		if (!init) {
 			boolean zeroes = false;
 			for (int i : trueShape) {
@@ -168,7 +229,7 @@ public class HDF5LazySaver extends HDF5LazyLoader implements ILazyAsyncSaver, Se
 			if (!create) { // ensure create on first use
 				HDF5Utils.setDatasetSlice(filePath, parentPath, name, slice, data);
 				create = true;
-			} else {
+			} else if (combiningRows == 0 || !combine(data, slice)) {
 				HDF5File fid = HDF5FileFactory.acquireFile(filePath, true);
 				try {
 					HDF5Utils.writeDatasetSlice(fid, dataPath, slice, data);
@@ -190,6 +251,214 @@ public class HDF5LazySaver extends HDF5LazyLoader implements ILazyAsyncSaver, Se
 		}
 	}
 
+	/**
+	 * Write any rows held in staging buffer
+	 * @throws IOException
+	 */
+	public void flush() throws IOException {
+		PendingBlock b;
+		synchronized (this) {
+			b = detachPending(false);
+		}
+		if (b != null) {
+			try {
+				HDF5File fid = HDF5FileFactory.acquireFile(filePath, true);
+				try {
+					b.write(fid, dataPath);
+				} finally {
+					fid.decrementCount();
+				}
+			} catch (ScanFileHolderException | NexusException e) {
+				throw new IOException("Problem writing combined slice to dataset", e);
+			}
+		}
+	}
+
+	/**
+	 * Write any rows held in staging buffer to given file
+	 * @param fid
+	 * @throws NexusException
+	 */
+	void flush(HDF5File fid) throws NexusException {
+		PendingBlock b;
+		synchronized (this) {
+			b = detachPending(false);
+		}
+		if (b != null) {
+			b.write(fid, dataPath);
+		}
+	}
+
+	@Override
+	public Dataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+		if (combiningRows > 0) {
+			flush();
+		}
+		return super.getDataset(mon, slice);
+	}
+
+	/**
+	 * Add slice to staging buffer if it follows on from the staged rows. The staged rows
+	 * are written out when the buffer is full or cannot take the slice
+	 * @param data
+	 * @param slice
+	 * @return true if slice has been staged or written, false if it needs writing
+	 * @throws ScanFileHolderException
+	 */
+	private boolean combine(IDataset data, SliceND slice) throws ScanFileHolderException {
+		final boolean rowwise = isWholeRows(slice);
+		final int[] shape = slice.getShape();
+		final int start = rowwise ? slice.getStart()[0] : -1;
+		final int rows = rowwise ? shape[0] : 0;
+
+		PendingBlock before = null;
+		PendingBlock full = null;
+		boolean staged = false;
+		boolean first = false;
+		synchronized (this) {
+			if (pendingRows > 0 && (!rowwise || start != pendingStart + pendingRows
+					|| pendingRows + rows > combiningRows || !isSameRowShape(shape))) {
+				before = detachPending(true);
+			}
+			if (rowwise && rows < combiningRows) {
+				if (pending == null || !isSameRowShape(shape)) {
+					int[] bShape = shape.clone();
+					bShape[0] = combiningRows;
+					pending = DatasetFactory.zeros(clazz, bShape);
+				}
+				int[] bShape = pending.getShapeRef();
+				int[] bStart = new int[bShape.length];
+				int[] bStop = bShape.clone();
+				bStart[0] = pendingRows;
+				bStop[0] = pendingRows + rows;
+				Dataset d = DatasetUtils.convertToDataset(data);
+				if (!Arrays.equals(d.getShapeRef(), shape)) {
+					d = d.getView(false);
+					d.setShape(shape);
+				}
+				pending.setSlice(d, new SliceND(bShape, bStart, bStop, null));
+				first = pendingRows == 0;
+				if (first) {
+					pendingStart = start;
+				}
+				pendingRows += rows;
+				if (pendingRows == combiningRows) {
+					full = detachPending(false);
+				}
+				staged = true;
+			}
+		}
+
+		if (before == null && (!staged || (full == null && !first))) {
+			return staged; // nothing to write or register
+		}
+
+		HDF5File fid = HDF5FileFactory.acquireFile(filePath, true);
+		try {
+			// staged rows are written before any overlapping slice
+			if (before != null) {
+				before.write(fid, dataPath);
+			}
+			if (!staged) {
+				HDF5Utils.writeDatasetSlice(fid, dataPath, slice, data);
+			} else if (full != null) {
+				full.write(fid, dataPath);
+			} else {
+				fid.addCombiningSaver(this);
+			}
+		} catch (NexusException e) {
+			throw new ScanFileHolderException("Problem writing slice to dataset", e);
+		} finally {
+			fid.decrementCount();
+		}
+		return true;
+	}
+
+	/**
+	 * @param slice
+	 * @return true if slice consists of whole rows that can be staged
+	 */
+	private boolean isWholeRows(SliceND slice) {
+		if (!InterfaceUtils.isElemental(clazz) || clazz == StringDataset.class) {
+			return false;
+		}
+		final int[] sShape = slice.getSourceShape();
+		final int rank = sShape.length;
+		if (rank == 0 || rank != trueShape.length) {
+			return false;
+		}
+		final int[] start = slice.getStart();
+		final int[] step = slice.getStep();
+		final int[] shape = slice.getShape();
+		if (step[0] != 1) {
+			return false;
+		}
+		for (int i = 1; i < rank; i++) { // slices can only be expanded in first dimension
+			if (start[i] != 0 || step[i] != 1 || shape[i] != sShape[i] || shape[i] != trueShape[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isSameRowShape(int[] shape) {
+		if (pending == null) {
+			return false;
+		}
+		int[] bShape = pending.getShapeRef();
+		for (int i = 1; i < shape.length; i++) {
+			if (bShape[i] != shape[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Remove staged rows from buffer (must hold lock)
+	 * @param reuse if true, keep buffer for further rows
+	 * @return block of staged rows or null if there are none
+	 */
+	private PendingBlock detachPending(boolean reuse) {
+		if (pendingRows == 0) {
+			return null;
+		}
+		int[] bShape = pending.getShapeRef();
+		Dataset d;
+		if (pendingRows == bShape[0] && !reuse) {
+			d = pending; // hand over whole buffer as it may not be written yet
+			pending = null;
+		} else {
+			int[] stop = bShape.clone();
+			stop[0] = pendingRows;
+			d = pending.getSlice(null, stop, null);
+		}
+		int[] start = new int[bShape.length];
+		int[] stop = d.getShape();
+		start[0] = pendingStart;
+		stop[0] += pendingStart;
+		int[] sShape = stop.clone();
+		pendingRows = 0;
+		return new PendingBlock(d, new SliceND(sShape, start, stop, null));
+	}
+
+	/**
+	 * Rows detached from the staging buffer
+	 */
+	private static class PendingBlock {
+		private final Dataset data;
+		private final SliceND slice;
+
+		PendingBlock(Dataset data, SliceND slice) {
+			this.data = data;
+			this.slice = slice;
+		}
+
+		void write(HDF5File fid, String dataPath) throws NexusException {
+			HDF5Utils.writeDatasetSlice(fid, dataPath, slice, data);
+		}
+	}
+
 	/**
 	 * Set to asynchronously write if lazy writeable dataset is not null
 	 * <p>
@@ -213,6 +482,7 @@ public class HDF5LazySaver extends HDF5LazyLoader implements ILazyAsyncSaver, Se
 
 	@Override
 	public void setSliceAsync(IMonitor mon, IDataset data, SliceND slice) throws IOException {
+		clearSliceCache();
 		try {
 			HDF5File fid = HDF5FileFactory.acquireFile(filePath, true);
 			synchronized (fid) {
@@ -0,0 +1,345 @@
+/*-
+ * Copyright 2015 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.hdf5;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.dawnsci.analysis.api.io.ScanFileHolderException;
+import org.eclipse.dawnsci.analysis.api.tree.Node;
+import org.eclipse.january.dataset.ByteDataset;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.FloatDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.LazyDataset;
+import org.eclipse.january.dataset.LongDataset;
+import org.eclipse.january.dataset.ShortDataset;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.HDF5Constants;
+
+/**
+ * Lazy loader for contiguous, unfiltered HDF5 datasets which maps the raw data
+ * in the file into memory and copies slices straight out of the mapping rather
+ * than going through the HDF5 library. The mapping lives outside the heap and
+ * its pages are shared with the operating system's file cache.
+ * <p>
+ * Only signed integer and floating point datasets with contiguous storage can be
+ * mapped; use {@link #create(String, String)} which returns null for any other
+ * dataset so callers can fall back to {@link HDF5LazyLoader}. The file must not
+ * be written to whilst it is mapped.
+ */
+public class HDF5MappedLoader extends HDF5LazyLoader {
+	private static final long serialVersionUID = -2830416529165734151L;
+
+	/**
+	 * Maximum number of bytes in a mapped segment
+	 */
+	static final int MAX_SEGMENT = Integer.MAX_VALUE;
+
+	private final long offset;
+	private final boolean bigEndian;
+	private final int itemSize;
+	private final long segmentItems;
+
+	private transient MappedByteBuffer[] segments;
+	private transient Buffer[] views;
+
+	/**
+	 * Open dataset in file and check whether its data can be mapped
+	 * @param fileName
+	 * @param node path to dataset
+	 * @return loader or null if dataset is chunked, filtered, external, unallocated or not of a signed numeric type
+	 * @throws ScanFileHolderException
+	 */
+	public static HDF5MappedLoader create(String fileName, String node) throws ScanFileHolderException {
+		return create(fileName, node, MAX_SEGMENT);
+	}
+
+	static HDF5MappedLoader create(String fileName, String node, int maxSegment) throws ScanFileHolderException {
+		try {
+			HDF5File fid = HDF5FileFactory.acquireFile(fileName, false);
+			long did = -1, pid = -1, tid = -1, sid = -1;
+			try {
+				did = H5.H5Dopen(fid.getID(), node, HDF5Constants.H5P_DEFAULT);
+				pid = H5.H5Dget_create_plist(did);
+				if (H5.H5Pget_layout(pid) != HDF5Constants.H5D_CONTIGUOUS || H5.H5Pget_nfilters(pid) != 0
+						|| H5.H5Pget_external_count(pid) != 0) {
+					return null;
+				}
+				long offset = H5.H5Dget_offset(did);
+				if (offset < 0) { // not yet allocated
+					return null;
+				}
+
+				tid = H5.H5Dget_type(did);
+				int tclass = H5.H5Tget_class(tid);
+				int size = (int) H5.H5Tget_size(tid);
+				Class<? extends Dataset> clazz = null;
+				if (tclass == HDF5Constants.H5T_FLOAT) {
+					clazz = size == 4 ? FloatDataset.class : size == 8 ? DoubleDataset.class : null;
+				} else if (tclass == HDF5Constants.H5T_INTEGER && H5.H5Tget_sign(tid) != HDF5Constants.H5T_SGN_NONE) {
+					switch (size) {
+					case 1: clazz = ByteDataset.class; break;
+					case 2: clazz = ShortDataset.class; break;
+					case 4: clazz = IntegerDataset.class; break;
+					case 8: clazz = LongDataset.class; break;
+					}
+				}
+				if (clazz == null) {
+					return null;
+				}
+				boolean bigEndian = H5.H5Tget_order(tid) == HDF5Constants.H5T_ORDER_BE;
+
+				sid = H5.H5Dget_space(did);
+				int type = H5.H5Sget_simple_extent_type(sid);
+				if (type == HDF5Constants.H5S_NULL) {
+					return null;
+				}
+				int[] shape;
+				if (type == HDF5Constants.H5S_SCALAR) {
+					shape = new int[0];
+				} else {
+					long[] dims = new long[H5.H5Sget_simple_extent_ndims(sid)];
+					H5.H5Sget_simple_extent_dims(sid, dims, null);
+					shape = new int[dims.length];
+					for (int i = 0; i < dims.length; i++) {
+						if (dims[i] > Integer.MAX_VALUE) {
+							return null;
+						}
+						shape[i] = (int) dims[i];
+					}
+				}
+				String name = node.substring(node.lastIndexOf(Node.SEPARATOR) + 1);
+				return new HDF5MappedLoader(fileName, node, name, shape, clazz, offset, bigEndian, size, maxSegment);
+			} finally {
+				if (sid != -1) H5.H5Sclose(sid);
+				if (tid != -1) H5.H5Tclose(tid);
+				if (pid != -1) H5.H5Pclose(pid);
+				if (did != -1) H5.H5Dclose(did);
+			}
+		} catch (Exception e) {
+			throw new ScanFileHolderException("Could not check dataset " + node + " in " + fileName + " for mapping", e);
+		} finally {
+			HDF5FileFactory.releaseFile(fileName);
+		}
+	}
+
+	/**
+	 * Create lazy dataset of mapped dataset
+	 * @param fileName
+	 * @param node path to dataset
+	 * @return lazy dataset or null if dataset cannot be mapped
+	 * @throws ScanFileHolderException
+	 */
+	public static LazyDataset createDataset(String fileName, String node) throws ScanFileHolderException {
+		HDF5MappedLoader loader = create(fileName, node);
+		return loader == null ? null : loader.createDataset();
+	}
+
+	private HDF5MappedLoader(String fileName, String node, String name, int[] shape, Class<? extends Dataset> clazz,
+			long offset, boolean bigEndian, int itemSize, int maxSegment) {
+		super(null, fileName, node, name, shape, 1, clazz, false);
+		this.offset = offset;
+		this.bigEndian = bigEndian;
+		this.itemSize = itemSize;
+		this.segmentItems = maxSegment / itemSize;
+	}
+
+	/**
+	 * @return lazy dataset backed by this loader
+	 */
+	public LazyDataset createDataset() {
+		return new LazyDataset(this, name, clazz, trueShape.clone());
+	}
+
+	/**
+	 * @return shape of dataset
+	 */
+	public int[] getShape() {
+		return trueShape.clone();
+	}
+
+	/**
+	 * @return byte offset of data in file
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Raw data of dataset in row-major order, split into segments when it is larger
+	 * than a buffer can address
+	 * @return read-only views of mapped segments with byte order of data
+	 * @throws IOException
+	 */
+	public ByteBuffer[] getBuffers() throws IOException {
+		MappedByteBuffer[] s = map();
+		ByteBuffer[] buffers = new ByteBuffer[s.length];
+		for (int i = 0; i < s.length; i++) {
+			buffers[i] = s[i].asReadOnlyBuffer().order(s[i].order());
+		}
+		return buffers;
+	}
+
+	@Override
+	public int[] refreshShape() {
+		return trueShape.clone(); // contiguous datasets cannot be resized
+	}
+
+	private synchronized MappedByteBuffer[] map() throws IOException {
+		if (segments != null) {
+			return segments;
+		}
+
+		long items = 1;
+		for (int s : trueShape) {
+			items *= s;
+		}
+		int n = (int) Math.max(1, (items + segmentItems - 1) / segmentItems);
+		MappedByteBuffer[] s = new MappedByteBuffer[n];
+		Buffer[] v = new Buffer[n];
+		ByteOrder order = bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+		try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+			for (int i = 0; i < n; i++) {
+				long first = i * segmentItems;
+				long size = Math.min(segmentItems, items - first) * itemSize;
+				s[i] = channel.map(MapMode.READ_ONLY, offset + first * itemSize, size);
+				s[i].order(order);
+				v[i] = view(s[i]);
+			}
+		}
+		views = v;
+		segments = s;
+		return s;
+	}
+
+	private Buffer view(ByteBuffer b) {
+		if (clazz == DoubleDataset.class) {
+			return b.asDoubleBuffer();
+		} else if (clazz == FloatDataset.class) {
+			return b.asFloatBuffer();
+		} else if (clazz == LongDataset.class) {
+			return b.asLongBuffer();
+		} else if (clazz == IntegerDataset.class) {
+			return b.asIntBuffer();
+		} else if (clazz == ShortDataset.class) {
+			return b.asShortBuffer();
+		}
+		return b;
+	}
+
+	@Override
+	protected Dataset loadDataset(int[] start, int[] count, int[] step) throws Exception {
+		map();
+
+		Dataset d = DatasetFactory.zeros(clazz, count);
+		final int size = d.getSize();
+		if (size == 0) {
+			return d;
+		}
+		final Object dst = d.getBuffer();
+		final int rank = count.length;
+		if (rank == 0) {
+			read(0, 1, dst, 0, 1);
+			return d;
+		}
+
+		// items between positions in each dimension of file
+		long[] strides = new long[rank];
+		strides[rank - 1] = 1;
+		for (int i = rank - 2; i >= 0; i--) {
+			strides[i] = strides[i + 1] * trueShape[i + 1];
+		}
+
+		// copy runs along last dimension
+		final int run = count[rank - 1];
+		final int rstep = step[rank - 1];
+		int[] pos = new int[rank - 1];
+		for (int off = 0; off < size; off += run) {
+			long item = start[rank - 1];
+			for (int i = 0; i < rank - 1; i++) {
+				item += (start[i] + (long) pos[i] * step[i]) * strides[i];
+			}
+			read(item, rstep, dst, off, run);
+
+			for (int i = rank - 2; i >= 0; i--) {
+				if (++pos[i] < count[i]) {
+					break;
+				}
+				pos[i] = 0;
+			}
+		}
+		return d;
+	}
+
+	private void read(long item, int step, Object dst, int off, int n) {
+		if (step == 1) {
+			while (n > 0) {
+				int s = (int) (item / segmentItems);
+				int p = (int) (item % segmentItems);
+				int len = (int) Math.min(n, segmentItems - p);
+				copy(views[s], p, dst, off, len);
+				item += len;
+				off += len;
+				n -= len;
+			}
+		} else {
+			for (int i = 0; i < n; i++, item += step) {
+				copy(views[(int) (item / segmentItems)], (int) (item % segmentItems), dst, off + i, 1);
+			}
+		}
+	}
+
+	/**
+	 * Copy from view into array using a duplicate so that views can be shared between threads
+	 */
+	private static void copy(Buffer view, int p, Object dst, int off, int n) {
+		if (dst instanceof double[]) {
+			DoubleBuffer b = ((DoubleBuffer) view).duplicate();
+			b.position(p);
+			b.get((double[]) dst, off, n);
+		} else if (dst instanceof float[]) {
+			FloatBuffer b = ((FloatBuffer) view).duplicate();
+			b.position(p);
+			b.get((float[]) dst, off, n);
+		} else if (dst instanceof long[]) {
+			LongBuffer b = ((LongBuffer) view).duplicate();
+			b.position(p);
+			b.get((long[]) dst, off, n);
+		} else if (dst instanceof int[]) {
+			IntBuffer b = ((IntBuffer) view).duplicate();
+			b.position(p);
+			b.get((int[]) dst, off, n);
+		} else if (dst instanceof short[]) {
+			ShortBuffer b = ((ShortBuffer) view).duplicate();
+			b.position(p);
+			b.get((short[]) dst, off, n);
+		} else {
+			ByteBuffer b = ((ByteBuffer) view).duplicate();
+			b.position(p);
+			b.get((byte[]) dst, off, n);
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*-
+ * Copyright 2018 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.hdf5;
+
+import org.eclipse.dawnsci.hdf5.HDF5Utils.DatasetType;
+import org.eclipse.dawnsci.nexus.NexusException;
+import org.eclipse.january.dataset.Dataset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.HDF5Constants;
+import hdf.hdf5lib.exceptions.HDF5Exception;
+import hdf.hdf5lib.structs.H5O_info_t;
+
+/**
+ * Open IDs of a dataset, its type, native type and data space which are held
+ * by a read-only {@link HDF5File} so that reading slices does not open and close
+ * them each time. They are closed when the file is finished with or when the
+ * dataset's shape is refreshed.
+ */
+class HDF5ReadHandle {
+	private static final Logger logger = LoggerFactory.getLogger(HDF5ReadHandle.class);
+
+	private final HDF5File f;
+	private final String dataPath;
+	private long did = -1;
+	private long tid = -1;
+	private long ntid = -1;
+	private long sid = -1;
+	private DatasetType type;
+	private int rank;
+	private int[] chunks;
+
+	private HDF5ReadHandle(HDF5File f, String dataPath) {
+		this.f = f;
+		this.dataPath = dataPath;
+	}
+
+	/**
+	 * Open dataset
+	 * @param f
+	 * @param dataPath
+	 * @return handle or null if path is not a dataset or its type cannot be read
+	 */
+	static HDF5ReadHandle open(HDF5File f, String dataPath) {
+		HDF5ReadHandle h = new HDF5ReadHandle(f, dataPath);
+		try {
+			H5O_info_t info = H5.H5Oget_info_by_name(f.getID(), dataPath, HDF5Constants.H5O_INFO_BASIC, HDF5Constants.H5P_DEFAULT);
+			if (info.type != HDF5Constants.H5O_TYPE_DATASET) {
+				return null;
+			}
+			h.did = H5.H5Dopen(f.getID(), dataPath, HDF5Constants.H5P_DEFAULT);
+			h.tid = H5.H5Dget_type(h.did);
+			if (H5.H5Tequal(h.tid, HDF5Constants.H5T_STD_REF_OBJ)) {
+				h.close();
+				return null;
+			}
+			h.ntid = H5.H5Tget_native_type(h.tid);
+			h.type = HDF5Utils.getDatasetType(h.tid, h.ntid);
+			if (h.type == null) {
+				h.close();
+				return null;
+			}
+			h.sid = H5.H5Dget_space(h.did);
+			h.rank = H5.H5Sget_simple_extent_ndims(h.sid);
+
+			h.chunks = readChunks(h.did, h.rank);
+			return h;
+		} catch (HDF5Exception | NexusException e) {
+			logger.debug("Could not hold {} in {} open", dataPath, f, e);
+			h.close();
+			return null;
+		}
+	}
+
+	/**
+	 * Read chunk shape of open dataset
+	 * @param did dataset ID
+	 * @param rank
+	 * @return chunk shape or null if dataset is not chunked
+	 * @throws HDF5Exception
+	 */
+	static int[] readChunks(long did, int rank) throws HDF5Exception {
+		if (rank == 0) {
+			return null;
+		}
+		long pid = H5.H5Dget_create_plist(did);
+		try {
+			if (H5.H5Pget_layout(pid) != HDF5Constants.H5D_CHUNKED) {
+				return null;
+			}
+			long[] c = new long[rank];
+			H5.H5Pget_chunk(pid, rank, c);
+			int[] chunks = new int[rank];
+			for (int i = 0; i < rank; i++) {
+				chunks[i] = (int) c[i];
+			}
+			return chunks;
+		} finally {
+			H5.H5Pclose(pid);
+		}
+	}
+
+	/**
+	 * @return chunk shape or null if dataset is not chunked
+	 */
+	int[] getChunks() {
+		return chunks == null ? null : chunks.clone();
+	}
+
+	/**
+	 * Read slice of dataset
+	 * @param start
+	 * @param count
+	 * @param step
+	 * @param isize can be -1 for item size from file
+	 * @param clazz can be null for dataset interface from file
+	 * @param extend
+	 * @return dataset
+	 * @throws NexusException
+	 */
+	synchronized Dataset read(final int[] start, final int[] count, final int[] step, final int isize,
+			final Class<? extends Dataset> clazz, final boolean extend) throws NexusException {
+		if (did == -1) {
+			throw new NexusException("Dataset " + dataPath + " in " + f + " has been closed");
+		}
+		try {
+			return HDF5Utils.read(did, tid, sid, rank, type, start, count, step, isize, clazz, extend);
+		} catch (HDF5Exception e) {
+			HDF5Utils.logAndThrowNexusException(e, "Could not read data from %s in %s", dataPath, f);
+		}
+		return null;
+	}
+
+	/**
+	 * Close IDs
+	 */
+	synchronized void close() {
+		long[] ids = {sid, ntid, tid};
+		for (int i = 0; i < ids.length; i++) {
+			if (ids[i] != -1) {
+				try {
+					if (i == 0) {
+						H5.H5Sclose(ids[i]);
+					} else {
+						H5.H5Tclose(ids[i]);
+					}
+				} catch (HDF5Exception e) {
+				}
+			}
+		}
+		if (did != -1) {
+			try {
+				H5.H5Dclose(did);
+			} catch (HDF5Exception e) {
+			}
+		}
+		sid = ntid = tid = did = -1;
+	}
+}
@@ -60,6 +60,8 @@ import hdf.hdf5lib.HDF5Constants;
 import hdf.hdf5lib.exceptions.HDF5Exception;
 import hdf.hdf5lib.exceptions.HDF5LibraryException;
 import hdf.hdf5lib.structs.H5O_info_t;
+import io.github.h5jan.metrics.HDF5ReadEvent;
+import io.github.h5jan.metrics.HDF5WriteEvent;
 
 public class HDF5Utils {
 	private static final Logger logger = LoggerFactory.getLogger(HDF5Utils.class);
@@ -364,7 +366,7 @@ public class HDF5Utils {
 		throw new ScanFileHolderException(msg, e);
 	}
 
-	private static void logAndThrowNexusException(Throwable e, String format, Object... args) throws NexusException {
+	static void logAndThrowNexusException(Throwable e, String format, Object... args) throws NexusException {
 		String msg = String.format(format, args);
 		if (e == null) {
 			logger.error(msg);
@@ -473,6 +475,44 @@ public class HDF5Utils {
 		}
 	}
 
+	/**
+	 * Get chunk shape of dataset in given file
+	 * @param fileName
+	 * @param node
+	 * @return chunk shape or null if dataset is not chunked
+	 * @throws ScanFileHolderException
+	 */
+	static int[] getChunkShape(final String fileName, final String node) throws ScanFileHolderException {
+		try {
+			HDF5File fid = HDF5FileFactory.acquireFile(fileName, false);
+			long did = -1;
+			long sid = -1;
+			try {
+				did = H5.H5Dopen(fid.getID(), node, HDF5Constants.H5P_DEFAULT);
+				sid = H5.H5Dget_space(did);
+				return HDF5ReadHandle.readChunks(did, H5.H5Sget_simple_extent_ndims(sid));
+			} finally {
+				if (sid != -1) {
+					try {
+						H5.H5Sclose(sid);
+					} catch (HDF5Exception ex) {
+					}
+				}
+				if (did != -1) {
+					try {
+						H5.H5Dclose(did);
+					} catch (HDF5Exception ex) {
+					}
+				}
+			}
+		} catch (Throwable le) {
+			logAndThrowSFHException(le, "Problem loading chunk shape in file");
+			return null;
+		} finally {
+			HDF5FileFactory.releaseFile(fileName);
+		}
+	}
+
 	/**
 	 * Read shape information from a dataset
 	 * @param f
@@ -482,6 +522,7 @@ public class HDF5Utils {
 	 * @throws NexusException
 	 */
 	public static int[][] readDatasetShape(HDF5File f, String dataPath) throws NexusException {
+		f.closeReadHandle(dataPath); // as its data space may be out of date
 		long hdfDatasetId = -1;
 		try {
 			try {
@@ -568,6 +609,24 @@ public class HDF5Utils {
 	public static Dataset readDataset(HDF5File f, final String dataPath, final int[] start, final int[] count,
 			final int[] step, final int isize, final Class<? extends Dataset> clazz, final boolean extend)
 					throws NexusException {
+		HDF5ReadEvent event = new HDF5ReadEvent();
+		Dataset data = null;
+		try {
+			data = read(f, dataPath, start, count, step, isize, clazz, extend);
+			return data;
+		} finally {
+			event.record(f.toString(), dataPath, data);
+		}
+	}
+
+	private static Dataset read(HDF5File f, final String dataPath, final int[] start, final int[] count,
+			final int[] step, final int isize, final Class<? extends Dataset> clazz, final boolean extend)
+					throws NexusException {
+		HDF5ReadHandle h = f.getReadHandle(dataPath);
+		if (h != null) {
+			return h.read(start, count, step, isize, clazz, extend);
+		}
+
 		Dataset data = null;
 
 		try {
@@ -598,7 +657,6 @@ public class HDF5Utils {
 				logAndThrowNexusException(null, "Datatype not supported for %s in %s", dataPath, f);
 			}
 			long sid = -1;
-			long msid = -1;
 			int rank;
 
 			// create a new scalar dataset
@@ -606,51 +664,14 @@ public class HDF5Utils {
 				sid = H5.H5Dget_space(did);
 				rank = H5.H5Sget_simple_extent_ndims(sid);
 
-				final long[] sstart = new long[rank]; // source start
-				final long[] sstride = new long[rank]; // source steps
-				final long[] dsize = new long[rank]; // destination size
-
-				for (int i = 0; i < rank; i++) {
-					sstart[i] = start[i];
-					sstride[i] = step[i];
-					dsize[i] = count[i];
-				}
-
-				if (rank == 0) {
-					msid = H5.H5Screate(HDF5Constants.H5S_SCALAR);
-				} else {
-					H5.H5Sselect_hyperslab(sid, HDF5Constants.H5S_SELECT_SET, sstart, sstride, dsize, null);
-					msid = H5.H5Screate_simple(rank, dsize, null);
-					H5.H5Sselect_all(msid);
-				}
-				Class<? extends Dataset> lClass = clazz == null ? type.clazz : clazz;
-				final int lisize = isize >= 0 ? isize : type.isize;
-				data = DatasetFactory.zeros(lisize, lClass, count);
-				Object odata = data.getBuffer();
-
 				try {
-					if (type.isVariableLength) {
-						H5.H5Dread_VLStrings(did, tid, msid, sid, HDF5Constants.H5P_DEFAULT, (Object[]) odata);
-					} else if (StringDataset.class.isAssignableFrom(type.clazz)) {
-						H5.H5Dread_string(did, tid, msid, sid, HDF5Constants.H5P_DEFAULT, (String[]) odata);
-					} else {
-						H5.H5Dread(did, tid, msid, sid, HDF5Constants.H5P_DEFAULT, odata);
-					}
-					if (extend) {
-						data = DatasetUtils.makeUnsigned(data, true);
-					}
+					data = read(did, tid, sid, rank, type, start, count, step, isize, clazz, extend);
 				} catch (HDF5LibraryException e) {
 					logAndThrowNexusException(e, "Could not read data from %s in %s", dataPath, f);
 				}
 			} catch (HDF5Exception ex) {
 				logAndThrowNexusException(ex, "Could not get data space information from %s in %s", dataPath, f);
 			} finally {
-				if (msid != -1) {
-					try {
-						H5.H5Sclose(msid);
-					} catch (HDF5Exception ex2) {
-					}
-				}
 				if (sid != -1) {
 					try {
 						H5.H5Sclose(sid);
@@ -684,6 +705,100 @@ public class HDF5Utils {
 		return data;
 	}
 
+	/**
+	 * Read slice of an open dataset. Dimensions with negative steps are read forwards
+	 * then reversed
+	 * @param did dataset ID
+	 * @param tid datatype ID
+	 * @param sid dataspace ID, whose selection is set to the slice
+	 * @param rank of dataspace
+	 * @param type of dataset
+	 * @param start
+	 * @param count
+	 * @param step
+	 * @param isize can be -1 for item size from file
+	 * @param clazz can be null for dataset interface from file
+	 * @param extend
+	 * @return dataset
+	 * @throws HDF5Exception
+	 */
+	static Dataset read(long did, long tid, long sid, int rank, DatasetType type, final int[] start, final int[] count,
+			final int[] step, final int isize, final Class<? extends Dataset> clazz, final boolean extend) throws HDF5Exception {
+		int[] flip = flipSteps(step);
+		if (flip != null) { // read forwards then reverse
+			int[] fstart = start.clone();
+			int[] fstep = step.clone();
+			for (int i = 0; i < rank; i++) {
+				if (fstep[i] < 0) {
+					fstart[i] += (count[i] - 1) * fstep[i];
+					fstep[i] = -fstep[i];
+				}
+			}
+			return read(did, tid, sid, rank, type, fstart, count, fstep, isize, clazz, extend).getSlice(null, null, flip);
+		}
+
+		long msid = -1;
+		try {
+			final long[] sstart = new long[rank]; // source start
+			final long[] sstride = new long[rank]; // source steps
+			final long[] dsize = new long[rank]; // destination size
+			for (int i = 0; i < rank; i++) {
+				sstart[i] = start[i];
+				sstride[i] = step[i];
+				dsize[i] = count[i];
+			}
+
+			if (rank == 0) {
+				msid = H5.H5Screate(HDF5Constants.H5S_SCALAR);
+			} else {
+				H5.H5Sselect_hyperslab(sid, HDF5Constants.H5S_SELECT_SET, sstart, sstride, dsize, null);
+				msid = H5.H5Screate_simple(rank, dsize, null);
+				H5.H5Sselect_all(msid);
+			}
+			Class<? extends Dataset> lClass = clazz == null ? type.clazz : clazz;
+			final int lisize = isize >= 0 ? isize : type.isize;
+			Dataset data = DatasetFactory.zeros(lisize, lClass, count);
+			Object odata = data.getBuffer();
+
+			if (type.isVariableLength) {
+				H5.H5Dread_VLStrings(did, tid, msid, sid, HDF5Constants.H5P_DEFAULT, (Object[]) odata);
+			} else if (StringDataset.class.isAssignableFrom(type.clazz)) {
+				H5.H5Dread_string(did, tid, msid, sid, HDF5Constants.H5P_DEFAULT, (String[]) odata);
+			} else {
+				H5.H5Dread(did, tid, msid, sid, HDF5Constants.H5P_DEFAULT, odata);
+			}
+			if (extend) {
+				data = DatasetUtils.makeUnsigned(data, true);
+			}
+			return data;
+		} finally {
+			if (msid != -1) {
+				try {
+					H5.H5Sclose(msid);
+				} catch (HDF5Exception ex) {
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param step
+	 * @return steps to reverse dimensions read with negative steps or null if there are none
+	 */
+	static int[] flipSteps(int[] step) {
+		int[] flip = null;
+		for (int i = 0; i < step.length; i++) {
+			if (step[i] < 0) {
+				if (flip == null) {
+					flip = new int[step.length];
+					Arrays.fill(flip, 1);
+				}
+				flip[i] = -1;
+			}
+		}
+		return flip;
+	}
+
 	/**
 	 * @return the absolute path to data
 	 */
@@ -1365,6 +1480,17 @@ public class HDF5Utils {
 	 * @throws NexusException
 	 */
 	public static void writeDatasetSlice(HDF5File f, String dataPath, SliceND slice, IDataset value) throws NexusException {
+		HDF5WriteEvent event = new HDF5WriteEvent();
+		boolean written = false;
+		try {
+			write(f, dataPath, slice, value);
+			written = true;
+		} finally {
+			event.record(f.toString(), dataPath, written ? value : null);
+		}
+	}
+
+	private static void write(HDF5File f, String dataPath, SliceND slice, IDataset value) throws NexusException {
 		long[] ids = null;
 		try {
 			ids = f.openDataset(dataPath);
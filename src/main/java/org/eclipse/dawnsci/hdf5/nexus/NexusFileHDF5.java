@@ -10,6 +10,7 @@
 package org.eclipse.dawnsci.hdf5.nexus;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.URI;
 import java.nio.charset.Charset;
@@ -95,6 +96,7 @@ public class NexusFileHDF5 implements NexusFile {
 
 	private boolean useSWMR = false;
 	private boolean writeAsync;
+	private boolean writeCombining;
 
 	private boolean swmrOn = false;
 
@@ -301,6 +303,16 @@ public class NexusFileHDF5 implements NexusFile {
 		writeAsync = async;
 	}
 
+	/**
+	 * Set whether synchronous writes to datasets created afterwards combine small appends into
+	 * chunk-sized writes. Staged rows are written when the file is flushed or closed
+	 * @param combine
+	 * @see HDF5LazySaver#setWriteCombining(boolean)
+	 */
+	public void setWriteCombining(boolean combine) {
+		writeCombining = combine;
+	}
+
 	@Override
 	public void setDebug(boolean debug) {
 		// TODO Auto-generated method stub
@@ -756,6 +768,8 @@ public class NexusFileHDF5 implements NexusFile {
 			saver.setAlreadyCreated();
 			if (writeAsync) {
 				saver.setAsyncWriteableDataset((LazyWriteableDataset) lazyDataset);
+			} else {
+				setWriteCombining(saver);
 			}
 			((ILazyWriteableDataset) lazyDataset).setWritingAsync(writeAsync);
 		} else {
@@ -1030,6 +1044,8 @@ public class NexusFileHDF5 implements NexusFile {
 		saver.setAlreadyCreated();
 		if (writeAsync) {
 			saver.setAsyncWriteableDataset(data);
+		} else {
+			setWriteCombining(saver);
 		}
 		data.setWritingAsync(writeAsync);
 		data.setSaver(saver);
@@ -1565,6 +1581,7 @@ public class NexusFileHDF5 implements NexusFile {
 			return -1;
 		}
 
+		file.flushCombinedWrites();
 		try {
 			return H5.H5Fflush(fileId, HDF5Constants.H5F_SCOPE_GLOBAL);
 		} catch (HDF5LibraryException e) {
@@ -1573,6 +1590,7 @@ public class NexusFileHDF5 implements NexusFile {
 	}
 
 	public void flushAllCachedDatasets() {
+		file.flushCombinedWrites();
 		file.flushDatasets();
 	}
 	
@@ -1745,6 +1763,16 @@ public class NexusFileHDF5 implements NexusFile {
 		throw new IllegalArgumentException("Invalid datatype requested: " + clazz.getName());
 	}
 
+	private void setWriteCombining(HDF5LazySaver saver) throws NexusException {
+		if (writeCombining) {
+			try {
+				saver.setWriteCombining(true);
+			} catch (IOException e) {
+				throw new NexusException("Could not set write combining", e);
+			}
+		}
+	}
+
 	public void setCacheDataset(boolean cacheDataset) {
 		file.setDatasetIDsCaching(cacheDataset);
 	}
@@ -96,6 +96,14 @@ public interface NXobject extends GroupNode {
 	 * @return the dataset for the field with the given name, or <code>null</code> if the no such dataset exists
 	 */
 	public IDataset getDataset(String name);
+
+	/**
+	 * Gets the lazy dataset for the field with the given name, if it exists, otherwise <code>null</code>.
+	 * Unlike {@link #getDataset(String)}, no data is loaded.
+	 * @param name dataset name
+	 * @return the lazy dataset for the field with the given name, or <code>null</code> if the no such dataset exists
+	 */
+	public ILazyDataset getLazyDataset(String name);
 	
 	/**
 	 * Creates and adds a new {@link ILazyWriteableDataset} to this group for the given field name,
@@ -12,11 +12,13 @@
 
 package org.eclipse.dawnsci.nexus.impl;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -26,6 +28,7 @@ import org.eclipse.dawnsci.analysis.api.tree.GroupNode;
 import org.eclipse.dawnsci.analysis.api.tree.Node;
 import org.eclipse.dawnsci.analysis.api.tree.NodeLink;
 import org.eclipse.dawnsci.analysis.api.tree.SymbolicNode;
+import org.eclipse.dawnsci.analysis.dataset.BoundedDatasetCache;
 import org.eclipse.dawnsci.analysis.tree.TreeFactory;
 import org.eclipse.dawnsci.analysis.tree.impl.GroupNodeImpl;
 import org.eclipse.dawnsci.nexus.NXobject;
@@ -59,7 +62,67 @@ public abstract class NXobjectImpl extends GroupNodeImpl implements NXobject {
 	
 	private static final int CACHE_LIMIT = 1024;
 
-	private Map<String, Dataset> cached = new HashMap<>();
+	private static final long CACHE_BYTES = 64L << 20;
+
+	/**
+	 * Values of fields and attributes, shared by all objects
+	 */
+	private static final BoundedDatasetCache<CacheKey> CACHE = new BoundedDatasetCache<>(CACHE_BYTES);
+
+	/**
+	 * Keys whose objects have been garbage collected
+	 */
+	private static final ReferenceQueue<NXobjectImpl> STALE_KEYS = new ReferenceQueue<>();
+
+	/**
+	 * Key of field or attribute of an object, compared by identity of object. The object
+	 * is only weakly referenced so the cache does not keep it alive
+	 */
+	private static class CacheKey extends WeakReference<NXobjectImpl> {
+		private final int hash;
+		private final String name;
+
+		CacheKey(NXobjectImpl owner, String name) {
+			super(owner, STALE_KEYS);
+			this.hash = 31 * System.identityHashCode(owner) + name.hashCode();
+			this.name = name;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			NXobjectImpl owner = get();
+			return owner != null && owner == other.get() && name.equals(other.name);
+		}
+	}
+
+	/**
+	 * Remove entries of objects that have been garbage collected, pinned or not
+	 */
+	private static void removeStaleKeys() {
+		Reference<? extends NXobjectImpl> r;
+		while ((r = STALE_KEYS.poll()) != null) {
+			CACHE.remove((CacheKey) r);
+		}
+	}
+
+	/**
+	 * @return cache of values of fields and attributes, for its statistics
+	 */
+	public static BoundedDatasetCache<?> getDatasetCache() {
+		return CACHE;
+	}
 
 	/**
 	 * Creates a new NeXus group node. This constructor is used when
@@ -81,29 +144,34 @@ public abstract class NXobjectImpl extends GroupNodeImpl implements NXobject {
 		createNxClassAttribute();
 	}
 
+	private CacheKey key(String name) {
+		removeStaleKeys();
+		return new CacheKey(this, name);
+	}
+
 	private Dataset getCached(String name) {
-		if (!cached.containsKey(name)) {
+		return CACHE.get(key(name), k -> {
 			DataNode dataNode = getDataNode(name);
-			if (dataNode != null) {
-				ILazyDataset lazy = dataNode.getDataset();
-				if (!(lazy instanceof IDataset)) {
-					// if this is a lazy dataset, set the slice on it
-					int size = lazy.getSize();
-					if (size > CACHE_LIMIT) {
-						// cannot return a Dataset if the size is too large
-						throw new IllegalStateException("Dataset is too large to cache. This method should only be used for small datasets.");
-					} else {
-						try {
-							lazy = lazy.getSlice();
-						} catch (DatasetException e) {
-							throw new RuntimeException("Could not get data from lazy dataset", e);
-						}
+			if (dataNode == null) {
+				return null;
+			}
+			ILazyDataset lazy = dataNode.getDataset();
+			if (!(lazy instanceof IDataset)) {
+				// if this is a lazy dataset, set the slice on it
+				int size = lazy.getSize();
+				if (size > CACHE_LIMIT) {
+					// cannot return a Dataset if the size is too large
+					throw new IllegalStateException("Dataset is too large to cache. This method should only be used for small datasets.");
+				} else {
+					try {
+						lazy = lazy.getSlice();
+					} catch (DatasetException e) {
+						throw new RuntimeException("Could not get data from lazy dataset", e);
 					}
 				}
-				cached.put(name, DatasetUtils.convertToDataset((IDataset) lazy));
 			}
-		}
-		return cached.get(name);
+			return (IDataset) lazy;
+		});
 	}
 
 	@Override
@@ -138,6 +206,14 @@ public abstract class NXobjectImpl extends GroupNodeImpl implements NXobject {
 		return getCached(name);
 	}
 	
+	@Override
+	public ILazyDataset getLazyDataset(String name) {
+		if (!containsDataNode(name)) {
+			return null;
+		}
+		return getDataNode(name).getDataset();
+	}
+
 	@Override
 	public ILazyWriteableDataset getLazyWritableDataset(String name) {
 		if (containsDataNode(name)) {
@@ -161,11 +237,13 @@ public abstract class NXobjectImpl extends GroupNodeImpl implements NXobject {
 		}
 		// update the cache
 		if (value instanceof Dataset) {
-			cached.put(name, (Dataset) value);
+			CacheKey k = key(name);
+			CACHE.put(k, value);
+			CACHE.unpin(k); // any change made by setField is now held by the node
 		} else {
 			// if this is a lazy dataset only, only clear the old value
 			// the new value will be calculated when required
-			cached.remove(name);
+			CACHE.remove(key(name));
 		}
 		
 		return dataNode;
@@ -287,7 +365,7 @@ public abstract class NXobjectImpl extends GroupNodeImpl implements NXobject {
 			StringDataset dataset = DatasetFactory.createFromObject(StringDataset.class, value);
 			dataNode = createDataNode(name, dataset);
 			// add the new dataset to the cache
-			cached.put(name, dataset);
+			CACHE.put(key(name), dataset);
 		}
 		
 		return dataNode;
@@ -364,11 +442,16 @@ public abstract class NXobjectImpl extends GroupNodeImpl implements NXobject {
 			}
 			
 			dataset.setObjectAbs(0, value);
+			if (dataNode.getDataset() != dataset) {
+				// value read from a lazy dataset so keep it to hold the change,
+				// putting it back in case it was evicted after it was read
+				CACHE.putPinned(key(name), dataset);
+			}
 		} else {
 			Dataset dataset = DatasetFactory.createFromObject(value);
 			dataset.setName(name);
 			dataNode = createDataNode(name, dataset);
-			cached.put(name, dataset);
+			CACHE.put(key(name), dataset);
 		}
 		
 		return dataNode;
@@ -394,23 +477,18 @@ public abstract class NXobjectImpl extends GroupNodeImpl implements NXobject {
 		node.addAttribute(a);
 		Dataset d = DatasetUtils.convertToDataset(a.getValue());
 		d.setName(attrName);
-		cached.put(makeAttributeKey(name, attrName), d);
+		CACHE.put(key(makeAttributeKey(name, attrName)), d);
 	}
 
 	private Dataset getCachedAttribute(String name, String attrName) {
-		String key = makeAttributeKey(name, attrName);
-		if (!cached.containsKey(key)) {
+		return CACHE.get(key(makeAttributeKey(name, attrName)), k -> {
 			Node node = name == null ? this : getNode(name);
 			if (node == null) {
 				throw new IllegalArgumentException("No group of field with name " + name);
 			}
 			Attribute a = node.getAttribute(attrName);
-			if (a != null) {
-				cached.put(key, DatasetUtils.convertToDataset(a.getValue()));
-			}
-		}
-
-		return cached.get(key);
+			return a == null ? null : a.getValue();
+		});
 	}
 	
 	@Override
@@ -12,18 +12,26 @@
 package org.eclipse.dawnsci.nexus.validation;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import javax.measure.Unit;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 import org.eclipse.dawnsci.analysis.api.tree.GroupNode;
+import org.eclipse.dawnsci.nexus.NXentry;
 import org.eclipse.dawnsci.nexus.NXobject;
+import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXtransformations;
-import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.DatasetException;
 import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.Slice;
 import org.eclipse.january.metadata.MetadataType;
 import org.eclipse.january.metadata.UnitMetadata;
 
@@ -34,6 +42,9 @@ import org.eclipse.january.metadata.UnitMetadata;
  * A subclass exists for each application definition, generated by XSLT. Each subclass
  * invokes the methods in this abstract superclass as appropriate according to the
  * application definition as defined by the appropriate NXDL file.
+ * <p>
+ * Fields are checked using their lazy datasets so only the metadata (element class, shape
+ * and units) is used. Values are read only for enumeration fields.
  */
 public abstract class AbstractNexusValidator implements NexusApplicationValidator {
 	
@@ -41,6 +52,31 @@ public abstract class AbstractNexusValidator implements NexusApplicationValidato
 	
 	private Map<String, Integer> localGroupDimensionPlaceholderValues = new HashMap<>();
 	
+	/**
+	 * Validate all entries of the given tree in parallel. As a validator holds the sizes of
+	 * dimensions seen, each entry is given a new validator
+	 * @param root
+	 * @param validatorFactory supplies a validator for each entry
+	 * @throws NexusValidationException if any entry is not valid, this is from the first invalid entry
+	 */
+	public static void validateEntries(final NXroot root, final Supplier<? extends NexusApplicationValidator> validatorFactory) throws NexusValidationException {
+		final List<Entry<String, NXentry>> entries = new ArrayList<>(root.getAllEntry().entrySet());
+		final NexusValidationException[] errors = new NexusValidationException[entries.size()];
+		IntStream.range(0, entries.size()).parallel().forEach(i -> {
+			try {
+				validatorFactory.get().validate(entries.get(i).getValue());
+			} catch (NexusValidationException e) {
+				errors[i] = e;
+			}
+		});
+
+		for (int i = 0; i < errors.length; i++) {
+			if (errors[i] != null) {
+				throw new NexusValidationException("Entry '" + entries.get(i).getKey() + "': " + errors[i].getMessage(), errors[i]);
+			}
+		}
+	}
+
 	/**
 	 * Throw an {@link NexusValidationException} with the given message.
 	 * @param message message
@@ -90,10 +126,10 @@ public abstract class AbstractNexusValidator implements NexusApplicationValidato
 	/**
 	 * Validates that the given field value is not <code>null</code>.
 	 * @param fieldName name of field
-	 * @param dataset the field value, an {@link IDataset}
+	 * @param dataset the field value, an {@link ILazyDataset}
 	 * @throws NexusValidationException if the field is <code>null</code>
 	 */
-	protected void validateFieldNotNull(String fieldName, IDataset dataset) throws NexusValidationException {
+	protected void validateFieldNotNull(String fieldName, ILazyDataset dataset) throws NexusValidationException {
 		validateNotNull("The field " + fieldName + " must be set", dataset);
 	}
 	
@@ -111,22 +147,22 @@ public abstract class AbstractNexusValidator implements NexusApplicationValidato
 	/**
 	 * Validates that an enumeration field has one of the given permitted values.
 	 * @param fieldName name of the field
-	 * @param dataset the field value, a {@link Dataset}
+	 * @param dataset the field value, an {@link ILazyDataset} which is read
 	 * @param permittedValues the permitted values
 	 * @throws NexusValidationException if the value of the field is not one of the permitted values
 	 */
-	protected void validateFieldEnumeration(String fieldName, IDataset dataset, String... permittedValues) throws NexusValidationException {
+	protected void validateFieldEnumeration(String fieldName, ILazyDataset dataset, String... permittedValues) throws NexusValidationException {
 		validateEnumeration(fieldName, "field", dataset, permittedValues);
 	}
 	
 	/**
 	 * Validates that the type of the given field is that given.
 	 * @param fieldName field name
-	 * @param dataset field value, an {@link IDataset}
+	 * @param dataset field value, an {@link ILazyDataset}
 	 * @param type expected type
 	 * @throws NexusValidationException if the type of the field is not that given
 	 */
-	protected void validateFieldType(final String fieldName, final IDataset dataset, final NexusDataType type) throws NexusValidationException {
+	protected void validateFieldType(final String fieldName, final ILazyDataset dataset, final NexusDataType type) throws NexusValidationException {
 		type.validate(fieldName, dataset);
 	}
 	
@@ -134,12 +170,12 @@ public abstract class AbstractNexusValidator implements NexusApplicationValidato
 	 * Validates that the given field has units consistent with the given unit category.
 	 * 
 	 * @param fieldName field name
-	 * @param dataset field value, an {@link IDataset}
+	 * @param dataset field value, an {@link ILazyDataset}
 	 * @param unitCategory expected unit category
 	 * @throws Exception if an unexpected exception occurs
 	 * @throws NexusValidationException if the field's units are not consistent with the given unit category
 	 */
-	protected void validateFieldUnits(final String fieldName, final IDataset dataset,
+	protected void validateFieldUnits(final String fieldName, final ILazyDataset dataset,
 			final NexusUnitCategory unitCategory) throws NexusValidationException {
 		List<? extends MetadataType> metadata;
 		try {
@@ -165,11 +201,11 @@ public abstract class AbstractNexusValidator implements NexusApplicationValidato
 	/**
 	 * Validates that the given field has the expected rank.
 	 * @param fieldName field name
-	 * @param dataset field value, an {@link IDataset}
+	 * @param dataset field value, an {@link ILazyDataset}
 	 * @param rank expected rank
 	 * @throws NexusValidationException if the field does not have the expected rank
 	 */
-	protected void validateFieldRank(final String fieldName, final IDataset dataset, final int rank)
+	protected void validateFieldRank(final String fieldName, final ILazyDataset dataset, final int rank)
 			throws NexusValidationException {
 		if (dataset.getRank() != rank) {
 			failValidation("The field " + fieldName + " has a rank of " + dataset.getRank() + ", expected " + rank); 
@@ -187,7 +223,7 @@ public abstract class AbstractNexusValidator implements NexusApplicationValidato
 	 * @throws NexusValidationException if a dimension did not have the expected size
 	 */
 	protected void validateFieldDimensions(final String fieldName,
-			final IDataset dataset, String groupName, Object... dimensions)
+			final ILazyDataset dataset, String groupName, Object... dimensions)
 			throws NexusValidationException {
 		final int[] shape = dataset.getShape();
 
@@ -277,6 +313,18 @@ public abstract class AbstractNexusValidator implements NexusApplicationValidato
 		} while (dependsOnStr != null && !dependsOnStr.equals(".")); // "." marks the final transformation
 	}
 	
+	/**
+	 * Validate the given transformations, starting with the one named by the given field
+	 * @param transformations transformations
+	 * @param dependsOn the field holding the name of the first transformation
+	 * @throws NexusValidationException if an expected transformation does not exist
+	 * @see #validateTransformations(Map, String)
+	 */
+	protected void validateTransformations(final Map<String, NXtransformations> transformations, final ILazyDataset dependsOn) throws NexusValidationException {
+		validateFieldNotNull("depends_on", dependsOn);
+		validateTransformations(transformations, readFirstString("depends_on", "field", dependsOn));
+	}
+
 	/**
 	 * Clears the map of values of dimension placeholders, as these are local only to the current group.
 	 */
@@ -284,7 +332,7 @@ public abstract class AbstractNexusValidator implements NexusApplicationValidato
 		localGroupDimensionPlaceholderValues = new HashMap<String, Integer>();
 	}
 
-	private void validateEnumeration(String nodeName, String nodeType, IDataset dataset, String... permittedValues) throws NexusValidationException {
+	private void validateEnumeration(String nodeName, String nodeType, ILazyDataset dataset, String... permittedValues) throws NexusValidationException {
 		// note: this method assumes that the enumeration values are always strings
 		if (dataset.getRank() != 1) { // TODO confirm rank for enums: 0 or 1?
 			failValidation(MessageFormat.format("The enumeration {0} ''{1}'' must have a rank of 1", nodeType, nodeName));
@@ -295,7 +343,7 @@ public abstract class AbstractNexusValidator implements NexusApplicationValidato
 			failValidation(MessageFormat.format("The enumeration {0} ''{1}'' must have a size of 1", nodeType, nodeName));
 		}
 		
-		String value = dataset.getString(0);
+		String value = readFirstString(nodeName, nodeType, dataset);
 		validateNotNull(MessageFormat.format(
 				"The value of the enumeration {0} ''{1}'' cannot be null", nodeType, nodeName), value);
 		
@@ -313,6 +361,22 @@ public abstract class AbstractNexusValidator implements NexusApplicationValidato
 		}
 	}
 
+	private String readFirstString(String nodeName, String nodeType, ILazyDataset dataset) throws NexusValidationException {
+		// only values of some fields are read
+		final IDataset data;
+		if (dataset instanceof IDataset) {
+			data = (IDataset) dataset;
+		} else {
+			try {
+				data = dataset.getRank() == 0 ? dataset.getSlice() : dataset.getSliceView(new Slice(1)).getSlice();
+			} catch (DatasetException e) {
+				throw new NexusValidationException(MessageFormat.format(
+						"Could not read the {0} ''{1}''", nodeType, nodeName), e);
+			}
+		}
+		return data.getSize() == 0 ? null : data.getString(0);
+	}
+
 	/**
 	 * A helper method to get the actual dimension size for the given placeholder string, if it exists.
 	 * If this is the first occurrence of this placeholder, 
@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 
 import org.eclipse.dawnsci.nexus.NXroot;
@@ -60,74 +60,74 @@ public class NXarchiveValidator extends AbstractNexusValidator implements NexusA
 		validateAttributeNotNull("index", index_attr);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'experiment_identifier' of type NX_CHAR.
-		final IDataset experiment_identifier = group.getExperiment_identifier();
+		final ILazyDataset experiment_identifier = group.getLazyDataset(NXsubentry.NX_EXPERIMENT_IDENTIFIER);
 		validateFieldNotNull("experiment_identifier", experiment_identifier);
 		validateFieldType("experiment_identifier", experiment_identifier, NX_CHAR);
 
 		// validate field 'experiment_description' of type NX_CHAR.
-		final IDataset experiment_description = group.getExperiment_description();
+		final ILazyDataset experiment_description = group.getLazyDataset(NXsubentry.NX_EXPERIMENT_DESCRIPTION);
 		validateFieldNotNull("experiment_description", experiment_description);
 		validateFieldType("experiment_description", experiment_description, NX_CHAR);
 
 		// validate field 'collection_identifier' of type NX_CHAR.
-		final IDataset collection_identifier = group.getCollection_identifier();
+		final ILazyDataset collection_identifier = group.getLazyDataset(NXsubentry.NX_COLLECTION_IDENTIFIER);
 		validateFieldNotNull("collection_identifier", collection_identifier);
 		validateFieldType("collection_identifier", collection_identifier, NX_CHAR);
 
 		// validate field 'collection_description' of type NX_CHAR.
-		final IDataset collection_description = group.getCollection_description();
+		final ILazyDataset collection_description = group.getLazyDataset(NXsubentry.NX_COLLECTION_DESCRIPTION);
 		validateFieldNotNull("collection_description", collection_description);
 		validateFieldType("collection_description", collection_description, NX_CHAR);
 
 		// validate field 'entry_identifier' of type NX_CHAR.
-		final IDataset entry_identifier = group.getEntry_identifier();
+		final ILazyDataset entry_identifier = group.getLazyDataset(NXsubentry.NX_ENTRY_IDENTIFIER);
 		validateFieldNotNull("entry_identifier", entry_identifier);
 		validateFieldType("entry_identifier", entry_identifier, NX_CHAR);
 
 		// validate field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		validateFieldNotNull("start_time", start_time);
 		validateFieldType("start_time", start_time, NX_DATE_TIME);
 
 		// validate field 'end_time' of type NX_DATE_TIME.
-		final IDataset end_time = group.getEnd_time();
+		final ILazyDataset end_time = group.getLazyDataset(NXsubentry.NX_END_TIME);
 		validateFieldNotNull("end_time", end_time);
 		validateFieldType("end_time", end_time, NX_DATE_TIME);
 
 		// validate field 'duration' of type NX_FLOAT.
-		final IDataset duration = group.getDuration();
+		final ILazyDataset duration = group.getLazyDataset(NXsubentry.NX_DURATION);
 		validateFieldNotNull("duration", duration);
 		validateFieldType("duration", duration, NX_FLOAT);
 		validateFieldUnits("duration", duration, NX_TIME);
 
 		// validate field 'collection_time' of type NX_FLOAT.
-		final IDataset collection_time = group.getCollection_time();
+		final ILazyDataset collection_time = group.getLazyDataset(NXsubentry.NX_COLLECTION_TIME);
 		validateFieldNotNull("collection_time", collection_time);
 		validateFieldType("collection_time", collection_time, NX_FLOAT);
 		validateFieldUnits("collection_time", collection_time, NX_TIME);
 
 		// validate field 'run_cycle' of type NX_CHAR.
-		final IDataset run_cycle = group.getRun_cycle();
+		final ILazyDataset run_cycle = group.getLazyDataset(NXsubentry.NX_RUN_CYCLE);
 		validateFieldNotNull("run_cycle", run_cycle);
 		validateFieldType("run_cycle", run_cycle, NX_CHAR);
 
 		// validate field 'revision' of type NX_CHAR.
-		final IDataset revision = group.getRevision();
+		final ILazyDataset revision = group.getLazyDataset(NXsubentry.NX_REVISION);
 		validateFieldNotNull("revision", revision);
 		validateFieldType("revision", revision, NX_CHAR);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXarchive");
 
 		// validate field 'program' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset program = group.getDataset("program");
+		final ILazyDataset program = group.getLazyDataset("program");
 		validateFieldNotNull("program", program);
 		validateFieldType("program", program, NX_CHAR);
 		// validate attribute 'version' of field 'program'
@@ -136,7 +136,7 @@ public class NXarchiveValidator extends AbstractNexusValidator implements NexusA
 
 
 		// validate field 'release_date' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset release_date = group.getDataset("release_date");
+		final ILazyDataset release_date = group.getLazyDataset("release_date");
 		validateFieldNotNull("release_date", release_date);
 		validateFieldType("release_date", release_date, NX_CHAR);
 		validateFieldUnits("release_date", release_date, NX_TIME);
@@ -159,17 +159,17 @@ public class NXarchiveValidator extends AbstractNexusValidator implements NexusA
 		validateGroupNotNull("user", NXuser.class, group);
 
 		// validate field 'name' of type NX_CHAR.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXuser.NX_NAME);
 		validateFieldNotNull("name", name);
 		validateFieldType("name", name, NX_CHAR);
 
 		// validate field 'role' of type NX_CHAR.
-		final IDataset role = group.getRole();
+		final ILazyDataset role = group.getLazyDataset(NXuser.NX_ROLE);
 		validateFieldNotNull("role", role);
 		validateFieldType("role", role, NX_CHAR);
 
 		// validate field 'facility_user_id' of type NX_CHAR.
-		final IDataset facility_user_id = group.getFacility_user_id();
+		final ILazyDataset facility_user_id = group.getLazyDataset(NXuser.NX_FACILITY_USER_ID);
 		validateFieldNotNull("facility_user_id", facility_user_id);
 		validateFieldType("facility_user_id", facility_user_id, NX_CHAR);
 	}
@@ -182,12 +182,12 @@ public class NXarchiveValidator extends AbstractNexusValidator implements NexusA
 		validateGroupNotNull("instrument", NXinstrument.class, group);
 
 		// validate field 'name' of type NX_CHAR.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXinstrument.NX_NAME);
 		validateFieldNotNull("name", name);
 		validateFieldType("name", name, NX_CHAR);
 
 		// validate field 'description' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset description = group.getDataset("description");
+		final ILazyDataset description = group.getLazyDataset("description");
 		validateFieldNotNull("description", description);
 		validateFieldType("description", description, NX_CHAR);
 		// validate unnamed child group of type NXsource (possibly multiple)
@@ -205,7 +205,7 @@ public class NXarchiveValidator extends AbstractNexusValidator implements NexusA
 		validateGroupNotNull(null, NXsource.class, group);
 
 		// validate field 'type' of type NX_CHAR.
-		final IDataset type = group.getType();
+		final ILazyDataset type = group.getLazyDataset(NXsource.NX_TYPE);
 		validateFieldNotNull("type", type);
 		validateFieldType("type", type, NX_CHAR);
 		validateFieldEnumeration("type", type,
@@ -218,11 +218,11 @@ public class NXarchiveValidator extends AbstractNexusValidator implements NexusA
 				"Fixed Tube X-ray");
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsource.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'probe' of unknown type.
-		final IDataset probe = group.getProbe();
+		final ILazyDataset probe = group.getLazyDataset(NXsource.NX_PROBE);
 		validateFieldNotNull("probe", probe);
 		validateFieldEnumeration("probe", probe,
 				"neutron",
@@ -239,21 +239,21 @@ public class NXarchiveValidator extends AbstractNexusValidator implements NexusA
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'sample_id' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset sample_id = group.getDataset("sample_id");
+		final ILazyDataset sample_id = group.getLazyDataset("sample_id");
 		validateFieldNotNull("sample_id", sample_id);
 		validateFieldType("sample_id", sample_id, NX_CHAR);
 
 		// validate field 'description' of type NX_CHAR.
-		final IDataset description = group.getDescription();
+		final ILazyDataset description = group.getLazyDataset(NXsample.NX_DESCRIPTION);
 		validateFieldNotNull("description", description);
 		validateFieldType("description", description, NX_CHAR);
 
 		// validate field 'type' of type NX_CHAR.
-		final IDataset type = group.getType();
+		final ILazyDataset type = group.getLazyDataset(NXsample.NX_TYPE);
 		validateFieldNotNull("type", type);
 		validateFieldType("type", type, NX_CHAR);
 		validateFieldEnumeration("type", type,
@@ -266,18 +266,18 @@ public class NXarchiveValidator extends AbstractNexusValidator implements NexusA
 				"sample_environment");
 
 		// validate field 'chemical_formula' of type NX_CHAR.
-		final IDataset chemical_formula = group.getChemical_formula();
+		final ILazyDataset chemical_formula = group.getLazyDataset(NXsample.NX_CHEMICAL_FORMULA);
 		validateFieldNotNull("chemical_formula", chemical_formula);
 		validateFieldType("chemical_formula", chemical_formula, NX_CHAR);
 
 		// validate field 'preparation_date' of type NX_CHAR.
-		final IDataset preparation_date = group.getPreparation_date();
+		final ILazyDataset preparation_date = group.getLazyDataset(NXsample.NX_PREPARATION_DATE);
 		validateFieldNotNull("preparation_date", preparation_date);
 		validateFieldType("preparation_date", preparation_date, NX_CHAR);
 		validateFieldUnits("preparation_date", preparation_date, NX_TIME);
 
 		// validate field 'situation' of type NX_CHAR.
-		final IDataset situation = group.getSituation();
+		final ILazyDataset situation = group.getLazyDataset(NXsample.NX_SITUATION);
 		validateFieldNotNull("situation", situation);
 		validateFieldType("situation", situation, NX_CHAR);
 		validateFieldEnumeration("situation", situation,
@@ -290,35 +290,35 @@ public class NXarchiveValidator extends AbstractNexusValidator implements NexusA
 				"other");
 
 		// validate field 'temperature' of type NX_FLOAT.
-		final IDataset temperature = group.getTemperature();
+		final ILazyDataset temperature = group.getLazyDataset(NXsample.NX_TEMPERATURE);
 		validateFieldNotNull("temperature", temperature);
 		validateFieldType("temperature", temperature, NX_FLOAT);
 		validateFieldUnits("temperature", temperature, NX_TEMPERATURE);
 		validateFieldDimensions("temperature", temperature, "NXsample", "n_Temp");
 
 		// validate field 'magnetic_field' of type NX_FLOAT.
-		final IDataset magnetic_field = group.getMagnetic_field();
+		final ILazyDataset magnetic_field = group.getLazyDataset(NXsample.NX_MAGNETIC_FIELD);
 		validateFieldNotNull("magnetic_field", magnetic_field);
 		validateFieldType("magnetic_field", magnetic_field, NX_FLOAT);
 		validateFieldUnits("magnetic_field", magnetic_field, NX_CURRENT);
 		validateFieldDimensions("magnetic_field", magnetic_field, "NXsample", "n_mField");
 
 		// validate field 'electric_field' of type NX_FLOAT.
-		final IDataset electric_field = group.getElectric_field();
+		final ILazyDataset electric_field = group.getLazyDataset(NXsample.NX_ELECTRIC_FIELD);
 		validateFieldNotNull("electric_field", electric_field);
 		validateFieldType("electric_field", electric_field, NX_FLOAT);
 		validateFieldUnits("electric_field", electric_field, NX_VOLTAGE);
 		validateFieldDimensions("electric_field", electric_field, "NXsample", "n_eField");
 
 		// validate field 'stress_field' of type NX_FLOAT.
-		final IDataset stress_field = group.getStress_field();
+		final ILazyDataset stress_field = group.getLazyDataset(NXsample.NX_STRESS_FIELD);
 		validateFieldNotNull("stress_field", stress_field);
 		validateFieldType("stress_field", stress_field, NX_FLOAT);
 		validateFieldUnits("stress_field", stress_field, NX_UNITLESS);
 		validateFieldDimensions("stress_field", stress_field, "NXsample", "n_sField");
 
 		// validate field 'pressure' of type NX_FLOAT.
-		final IDataset pressure = group.getPressure();
+		final ILazyDataset pressure = group.getLazyDataset(NXsample.NX_PRESSURE);
 		validateFieldNotNull("pressure", pressure);
 		validateFieldType("pressure", pressure, NX_FLOAT);
 		validateFieldUnits("pressure", pressure, NX_PRESSURE);
@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 
 import org.eclipse.dawnsci.nexus.NXroot;
@@ -65,17 +65,17 @@ public class NXarpesValidator extends AbstractNexusValidator implements NexusApp
 		validateAttributeNotNull("entry", entry_attr);
 
 		// validate field 'title' of type NX_CHAR.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 		validateFieldType("title", title, NX_CHAR);
 
 		// validate field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		validateFieldNotNull("start_time", start_time);
 		validateFieldType("start_time", start_time, NX_DATE_TIME);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXarpes");
@@ -127,7 +127,7 @@ public class NXarpesValidator extends AbstractNexusValidator implements NexusApp
 		validateGroupNotNull(null, NXsource.class, group);
 
 		// validate field 'type' of type NX_CHAR.
-		final IDataset type = group.getType();
+		final ILazyDataset type = group.getLazyDataset(NXsource.NX_TYPE);
 		validateFieldNotNull("type", type);
 		validateFieldType("type", type, NX_CHAR);
 		validateFieldEnumeration("type", type,
@@ -145,12 +145,12 @@ public class NXarpesValidator extends AbstractNexusValidator implements NexusApp
 				"UV Plasma Source");
 
 		// validate field 'name' of type NX_CHAR.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsource.NX_NAME);
 		validateFieldNotNull("name", name);
 		validateFieldType("name", name, NX_CHAR);
 
 		// validate field 'probe' of unknown type.
-		final IDataset probe = group.getProbe();
+		final ILazyDataset probe = group.getLazyDataset(NXsource.NX_PROBE);
 		validateFieldNotNull("probe", probe);
 		validateFieldEnumeration("probe", probe,
 				"x-ray");
@@ -164,7 +164,7 @@ public class NXarpesValidator extends AbstractNexusValidator implements NexusApp
 		validateGroupNotNull("monochromator", NXmonochromator.class, group);
 
 		// validate field 'energy' of type NX_NUMBER.
-		final IDataset energy = group.getEnergy();
+		final ILazyDataset energy = group.getLazyDataset(NXmonochromator.NX_ENERGY);
 		validateFieldNotNull("energy", energy);
 		validateFieldType("energy", energy, NX_NUMBER);
 		validateFieldUnits("energy", energy, NX_ENERGY);
@@ -179,7 +179,7 @@ public class NXarpesValidator extends AbstractNexusValidator implements NexusApp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_NUMBER.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_NUMBER);
 		validateFieldUnits("data", data, NX_ANY);
@@ -187,12 +187,12 @@ public class NXarpesValidator extends AbstractNexusValidator implements NexusApp
 		validateFieldDimensions("data", data, "NXdetector", "np", "i", "j", "tof");
 
 		// validate field 'lens_mode' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset lens_mode = group.getDataset("lens_mode");
+		final ILazyDataset lens_mode = group.getLazyDataset("lens_mode");
 		validateFieldNotNull("lens_mode", lens_mode);
 		validateFieldType("lens_mode", lens_mode, NX_CHAR);
 
 		// validate field 'acquisition_mode' of unknown type.
-		final IDataset acquisition_mode = group.getAcquisition_mode();
+		final ILazyDataset acquisition_mode = group.getLazyDataset(NXdetector.NX_ACQUISITION_MODE);
 		validateFieldNotNull("acquisition_mode", acquisition_mode);
 		validateFieldType("acquisition_mode", acquisition_mode, NX_CHAR);
 		validateFieldEnumeration("acquisition_mode", acquisition_mode,
@@ -200,59 +200,59 @@ public class NXarpesValidator extends AbstractNexusValidator implements NexusApp
 				"fixed");
 
 		// validate field 'entrance_slit_shape' of unknown type. Note: field not defined in base class.
-		final IDataset entrance_slit_shape = group.getDataset("entrance_slit_shape");
+		final ILazyDataset entrance_slit_shape = group.getLazyDataset("entrance_slit_shape");
 		validateFieldNotNull("entrance_slit_shape", entrance_slit_shape);
 		validateFieldEnumeration("entrance_slit_shape", entrance_slit_shape,
 				"curved",
 				"straight");
 
 		// validate field 'entrance_slit_setting' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset entrance_slit_setting = group.getDataset("entrance_slit_setting");
+		final ILazyDataset entrance_slit_setting = group.getLazyDataset("entrance_slit_setting");
 		validateFieldNotNull("entrance_slit_setting", entrance_slit_setting);
 		validateFieldType("entrance_slit_setting", entrance_slit_setting, NX_NUMBER);
 		validateFieldUnits("entrance_slit_setting", entrance_slit_setting, NX_ANY);
 
 		// validate field 'entrance_slit_size' of unknown type. Note: field not defined in base class.
-		final IDataset entrance_slit_size = group.getDataset("entrance_slit_size");
+		final ILazyDataset entrance_slit_size = group.getLazyDataset("entrance_slit_size");
 		validateFieldNotNull("entrance_slit_size", entrance_slit_size);
 		validateFieldUnits("entrance_slit_size", entrance_slit_size, NX_LENGTH);
 
 		// validate field 'pass_energy' of unknown type. Note: field not defined in base class.
-		final IDataset pass_energy = group.getDataset("pass_energy");
+		final ILazyDataset pass_energy = group.getLazyDataset("pass_energy");
 		validateFieldNotNull("pass_energy", pass_energy);
 		validateFieldUnits("pass_energy", pass_energy, NX_ENERGY);
 
 		// validate field 'time_per_channel' of unknown type. Note: field not defined in base class.
-		final IDataset time_per_channel = group.getDataset("time_per_channel");
+		final ILazyDataset time_per_channel = group.getLazyDataset("time_per_channel");
 		validateFieldNotNull("time_per_channel", time_per_channel);
 		validateFieldUnits("time_per_channel", time_per_channel, NX_TIME);
 
 		// validate field 'angles' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset angles = group.getDataset("angles");
+		final ILazyDataset angles = group.getLazyDataset("angles");
 		validateFieldNotNull("angles", angles);
 		validateFieldType("angles", angles, NX_NUMBER);
 		validateFieldUnits("angles", angles, NX_ANGLE);
 
 		// validate field 'energies' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset energies = group.getDataset("energies");
+		final ILazyDataset energies = group.getLazyDataset("energies");
 		validateFieldNotNull("energies", energies);
 		validateFieldType("energies", energies, NX_NUMBER);
 		validateFieldUnits("energies", energies, NX_ENERGY);
 
 		// validate field 'sensor_size' of type NX_INT. Note: field not defined in base class.
-		final IDataset sensor_size = group.getDataset("sensor_size");
+		final ILazyDataset sensor_size = group.getLazyDataset("sensor_size");
 		validateFieldNotNull("sensor_size", sensor_size);
 		validateFieldType("sensor_size", sensor_size, NX_INT);
 		validateFieldRank("sensor_size", sensor_size, 2);
 
 		// validate field 'region_origin' of type NX_INT. Note: field not defined in base class.
-		final IDataset region_origin = group.getDataset("region_origin");
+		final ILazyDataset region_origin = group.getLazyDataset("region_origin");
 		validateFieldNotNull("region_origin", region_origin);
 		validateFieldType("region_origin", region_origin, NX_INT);
 		validateFieldRank("region_origin", region_origin, 2);
 
 		// validate field 'region_size' of type NX_INT. Note: field not defined in base class.
-		final IDataset region_size = group.getDataset("region_size");
+		final ILazyDataset region_size = group.getLazyDataset("region_size");
 		validateFieldNotNull("region_size", region_size);
 		validateFieldType("region_size", region_size, NX_INT);
 		validateFieldRank("region_size", region_size, 2);
@@ -267,12 +267,12 @@ public class NXarpesValidator extends AbstractNexusValidator implements NexusApp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of type NX_CHAR.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 		validateFieldType("name", name, NX_CHAR);
 
 		// validate field 'temperature' of type NX_NUMBER.
-		final IDataset temperature = group.getTemperature();
+		final ILazyDataset temperature = group.getLazyDataset(NXsample.NX_TEMPERATURE);
 		validateFieldNotNull("temperature", temperature);
 		validateFieldType("temperature", temperature, NX_NUMBER);
 		validateFieldUnits("temperature", temperature, NX_TEMPERATURE);
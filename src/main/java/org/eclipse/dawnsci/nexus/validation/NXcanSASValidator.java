@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 
 import org.eclipse.dawnsci.nexus.NXroot;
@@ -81,17 +81,17 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 				"1.0");
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXcanSAS");
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'run' of unknown type. Note: field not defined in base class.
-		final IDataset run = group.getDataset("run");
+		final ILazyDataset run = group.getLazyDataset("run");
 		validateFieldNotNull("run", run);
 		// validate attribute 'name' of field 'run'
 		final Attribute run_attr_name = group.getAttribute("name");
@@ -186,7 +186,7 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 		validateAttributeType("timestamp", timestamp_attr, NX_DATE_TIME);
 
 		// validate field 'Q' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset Q = group.getDataset("Q");
+		final ILazyDataset Q = group.getLazyDataset("Q");
 		validateFieldNotNull("Q", Q);
 		validateFieldType("Q", Q, NX_NUMBER);
 		validateFieldUnits("Q", Q, NX_PER_LENGTH);
@@ -214,7 +214,7 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 
 
 		// validate field 'I' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset I = group.getDataset("I");
+		final ILazyDataset I = group.getLazyDataset("I");
 		validateFieldNotNull("I", I);
 		validateFieldType("I", I, NX_NUMBER);
 		// validate attribute 'units' of field 'I'
@@ -237,7 +237,7 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 
 
 		// validate optional field 'Idev' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset Idev = group.getDataset("Idev");
+		final ILazyDataset Idev = group.getLazyDataset("Idev");
 		if (Idev != null) {
 			validateFieldType("Idev", Idev, NX_NUMBER);
 		// validate attribute 'units' of field 'Idev'
@@ -253,7 +253,7 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 		}
 
 		// validate optional field 'Qdev' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset Qdev = group.getDataset("Qdev");
+		final ILazyDataset Qdev = group.getLazyDataset("Qdev");
 		if (Qdev != null) {
 			validateFieldType("Qdev", Qdev, NX_NUMBER);
 			validateFieldUnits("Qdev", Qdev, NX_PER_LENGTH);
@@ -268,7 +268,7 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 		}
 
 		// validate optional field 'dQw' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset dQw = group.getDataset("dQw");
+		final ILazyDataset dQw = group.getLazyDataset("dQw");
 		if (dQw != null) {
 			validateFieldType("dQw", dQw, NX_NUMBER);
 			validateFieldUnits("dQw", dQw, NX_PER_LENGTH);
@@ -283,7 +283,7 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 		}
 
 		// validate optional field 'dQl' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset dQl = group.getDataset("dQl");
+		final ILazyDataset dQl = group.getLazyDataset("dQl");
 		if (dQl != null) {
 			validateFieldType("dQl", dQl, NX_NUMBER);
 			validateFieldUnits("dQl", dQl, NX_PER_LENGTH);
@@ -298,7 +298,7 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 		}
 
 		// validate optional field 'Qmean' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset Qmean = group.getDataset("Qmean");
+		final ILazyDataset Qmean = group.getLazyDataset("Qmean");
 		if (Qmean != null) {
 			validateFieldType("Qmean", Qmean, NX_NUMBER);
 			validateFieldUnits("Qmean", Qmean, NX_PER_LENGTH);
@@ -313,7 +313,7 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 		}
 
 		// validate optional field 'ShadowFactor' of unknown type. Note: field not defined in base class.
-		final IDataset ShadowFactor = group.getDataset("ShadowFactor");
+		final ILazyDataset ShadowFactor = group.getLazyDataset("ShadowFactor");
 		if (ShadowFactor != null) {
 			validateFieldUnits("ShadowFactor", ShadowFactor, NX_DIMENSIONLESS);
 		}
@@ -371,18 +371,18 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 				"SASaperture");
 
 		// validate field 'shape' of unknown type. Note: field not defined in base class.
-		final IDataset shape = group.getDataset("shape");
+		final ILazyDataset shape = group.getLazyDataset("shape");
 		validateFieldNotNull("shape", shape);
 
 		// validate optional field 'x_gap' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset x_gap = group.getDataset("x_gap");
+		final ILazyDataset x_gap = group.getLazyDataset("x_gap");
 		if (x_gap != null) {
 			validateFieldType("x_gap", x_gap, NX_NUMBER);
 			validateFieldUnits("x_gap", x_gap, NX_LENGTH);
 		}
 
 		// validate optional field 'y_gap' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset y_gap = group.getDataset("y_gap");
+		final ILazyDataset y_gap = group.getLazyDataset("y_gap");
 		if (y_gap != null) {
 			validateFieldType("y_gap", y_gap, NX_NUMBER);
 			validateFieldUnits("y_gap", y_gap, NX_LENGTH);
@@ -403,14 +403,14 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 				"SAScollimation");
 
 		// validate optional field 'length' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset length = group.getDataset("length");
+		final ILazyDataset length = group.getLazyDataset("length");
 		if (length != null) {
 			validateFieldType("length", length, NX_NUMBER);
 			validateFieldUnits("length", length, NX_LENGTH);
 		}
 
 		// validate optional field 'distance' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset distance = group.getDataset("distance");
+		final ILazyDataset distance = group.getLazyDataset("distance");
 		if (distance != null) {
 			validateFieldType("distance", distance, NX_NUMBER);
 			validateFieldUnits("distance", distance, NX_LENGTH);
@@ -432,74 +432,74 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 				"SASdetector");
 
 		// validate field 'name' of unknown type. Note: field not defined in base class.
-		final IDataset name = group.getDataset("name");
+		final ILazyDataset name = group.getLazyDataset("name");
 		validateFieldNotNull("name", name);
 
 		// validate optional field 'SDD' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset SDD = group.getDataset("SDD");
+		final ILazyDataset SDD = group.getLazyDataset("SDD");
 		if (SDD != null) {
 			validateFieldType("SDD", SDD, NX_NUMBER);
 			validateFieldUnits("SDD", SDD, NX_LENGTH);
 		}
 
 		// validate optional field 'slit_length' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset slit_length = group.getDataset("slit_length");
+		final ILazyDataset slit_length = group.getLazyDataset("slit_length");
 		if (slit_length != null) {
 			validateFieldType("slit_length", slit_length, NX_NUMBER);
 			validateFieldUnits("slit_length", slit_length, NX_PER_LENGTH);
 		}
 
 		// validate optional field 'x_position' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset x_position = group.getDataset("x_position");
+		final ILazyDataset x_position = group.getLazyDataset("x_position");
 		if (x_position != null) {
 			validateFieldType("x_position", x_position, NX_NUMBER);
 			validateFieldUnits("x_position", x_position, NX_LENGTH);
 		}
 
 		// validate optional field 'y_position' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset y_position = group.getDataset("y_position");
+		final ILazyDataset y_position = group.getLazyDataset("y_position");
 		if (y_position != null) {
 			validateFieldType("y_position", y_position, NX_NUMBER);
 			validateFieldUnits("y_position", y_position, NX_LENGTH);
 		}
 
 		// validate optional field 'roll' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset roll = group.getDataset("roll");
+		final ILazyDataset roll = group.getLazyDataset("roll");
 		if (roll != null) {
 			validateFieldType("roll", roll, NX_NUMBER);
 			validateFieldUnits("roll", roll, NX_ANGLE);
 		}
 
 		// validate optional field 'pitch' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset pitch = group.getDataset("pitch");
+		final ILazyDataset pitch = group.getLazyDataset("pitch");
 		if (pitch != null) {
 			validateFieldType("pitch", pitch, NX_NUMBER);
 			validateFieldUnits("pitch", pitch, NX_ANGLE);
 		}
 
 		// validate optional field 'yaw' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset yaw = group.getDataset("yaw");
+		final ILazyDataset yaw = group.getLazyDataset("yaw");
 		if (yaw != null) {
 			validateFieldType("yaw", yaw, NX_NUMBER);
 			validateFieldUnits("yaw", yaw, NX_ANGLE);
 		}
 
 		// validate optional field 'beam_center_x' of type NX_FLOAT.
-		final IDataset beam_center_x = group.getBeam_center_x();
+		final ILazyDataset beam_center_x = group.getLazyDataset(NXdetector.NX_BEAM_CENTER_X);
 		if (beam_center_x != null) {
 			validateFieldType("beam_center_x", beam_center_x, NX_FLOAT);
 			validateFieldUnits("beam_center_x", beam_center_x, NX_LENGTH);
 		}
 
 		// validate optional field 'beam_center_y' of type NX_FLOAT.
-		final IDataset beam_center_y = group.getBeam_center_y();
+		final ILazyDataset beam_center_y = group.getLazyDataset(NXdetector.NX_BEAM_CENTER_Y);
 		if (beam_center_y != null) {
 			validateFieldType("beam_center_y", beam_center_y, NX_FLOAT);
 			validateFieldUnits("beam_center_y", beam_center_y, NX_LENGTH);
 		}
 
 		// validate optional field 'x_pixel_size' of type NX_FLOAT.
-		final IDataset x_pixel_size = group.getX_pixel_size();
+		final ILazyDataset x_pixel_size = group.getLazyDataset(NXdetector.NX_X_PIXEL_SIZE);
 		if (x_pixel_size != null) {
 			validateFieldType("x_pixel_size", x_pixel_size, NX_FLOAT);
 			validateFieldUnits("x_pixel_size", x_pixel_size, NX_LENGTH);
@@ -508,7 +508,7 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 		}
 
 		// validate optional field 'y_pixel_size' of type NX_FLOAT.
-		final IDataset y_pixel_size = group.getY_pixel_size();
+		final ILazyDataset y_pixel_size = group.getLazyDataset(NXdetector.NX_Y_PIXEL_SIZE);
 		if (y_pixel_size != null) {
 			validateFieldType("y_pixel_size", y_pixel_size, NX_FLOAT);
 			validateFieldUnits("y_pixel_size", y_pixel_size, NX_LENGTH);
@@ -531,7 +531,7 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 				"SASsource");
 
 		// validate field 'radiation' of unknown type. Note: field not defined in base class.
-		final IDataset radiation = group.getDataset("radiation");
+		final ILazyDataset radiation = group.getLazyDataset("radiation");
 		validateFieldNotNull("radiation", radiation);
 		validateFieldEnumeration("radiation", radiation,
 				"Spallation Neutron Source",
@@ -556,47 +556,47 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 				"proton");
 
 		// validate optional field 'beam_shape' of unknown type. Note: field not defined in base class.
-		final IDataset beam_shape = group.getDataset("beam_shape");
+		final ILazyDataset beam_shape = group.getLazyDataset("beam_shape");
 		if (beam_shape != null) {
 		}
 
 		// validate optional field 'incident_wavelength' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset incident_wavelength = group.getDataset("incident_wavelength");
+		final ILazyDataset incident_wavelength = group.getLazyDataset("incident_wavelength");
 		if (incident_wavelength != null) {
 			validateFieldType("incident_wavelength", incident_wavelength, NX_NUMBER);
 			validateFieldUnits("incident_wavelength", incident_wavelength, NX_WAVELENGTH);
 		}
 
 		// validate optional field 'wavelength_min' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset wavelength_min = group.getDataset("wavelength_min");
+		final ILazyDataset wavelength_min = group.getLazyDataset("wavelength_min");
 		if (wavelength_min != null) {
 			validateFieldType("wavelength_min", wavelength_min, NX_NUMBER);
 			validateFieldUnits("wavelength_min", wavelength_min, NX_WAVELENGTH);
 		}
 
 		// validate optional field 'wavelength_max' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset wavelength_max = group.getDataset("wavelength_max");
+		final ILazyDataset wavelength_max = group.getLazyDataset("wavelength_max");
 		if (wavelength_max != null) {
 			validateFieldType("wavelength_max", wavelength_max, NX_NUMBER);
 			validateFieldUnits("wavelength_max", wavelength_max, NX_WAVELENGTH);
 		}
 
 		// validate optional field 'incident_wavelength_spread' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset incident_wavelength_spread = group.getDataset("incident_wavelength_spread");
+		final ILazyDataset incident_wavelength_spread = group.getLazyDataset("incident_wavelength_spread");
 		if (incident_wavelength_spread != null) {
 			validateFieldType("incident_wavelength_spread", incident_wavelength_spread, NX_NUMBER);
 			validateFieldUnits("incident_wavelength_spread", incident_wavelength_spread, NX_WAVELENGTH);
 		}
 
 		// validate optional field 'beam_size_x' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset beam_size_x = group.getDataset("beam_size_x");
+		final ILazyDataset beam_size_x = group.getLazyDataset("beam_size_x");
 		if (beam_size_x != null) {
 			validateFieldType("beam_size_x", beam_size_x, NX_NUMBER);
 			validateFieldUnits("beam_size_x", beam_size_x, NX_LENGTH);
 		}
 
 		// validate optional field 'beam_size_y' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset beam_size_y = group.getDataset("beam_size_y");
+		final ILazyDataset beam_size_y = group.getLazyDataset("beam_size_y");
 		if (beam_size_y != null) {
 			validateFieldType("beam_size_y", beam_size_y, NX_NUMBER);
 			validateFieldUnits("beam_size_y", beam_size_y, NX_LENGTH);
@@ -618,25 +618,25 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 				"SASsample");
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate optional field 'thickness' of type NX_FLOAT.
-		final IDataset thickness = group.getThickness();
+		final ILazyDataset thickness = group.getLazyDataset(NXsample.NX_THICKNESS);
 		if (thickness != null) {
 			validateFieldType("thickness", thickness, NX_FLOAT);
 			validateFieldUnits("thickness", thickness, NX_LENGTH);
 		}
 
 		// validate optional field 'transmission' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset transmission = group.getDataset("transmission");
+		final ILazyDataset transmission = group.getLazyDataset("transmission");
 		if (transmission != null) {
 			validateFieldType("transmission", transmission, NX_NUMBER);
 			validateFieldUnits("transmission", transmission, NX_DIMENSIONLESS);
 		}
 
 		// validate optional field 'temperature' of type NX_NUMBER.
-		final IDataset temperature = group.getTemperature();
+		final ILazyDataset temperature = group.getLazyDataset(NXsample.NX_TEMPERATURE);
 		if (temperature != null) {
 			validateFieldType("temperature", temperature, NX_NUMBER);
 			validateFieldUnits("temperature", temperature, NX_TEMPERATURE);
@@ -644,40 +644,40 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 		}
 
 		// validate optional field 'details' of unknown type. Note: field not defined in base class.
-		final IDataset details = group.getDataset("details");
+		final ILazyDataset details = group.getLazyDataset("details");
 		if (details != null) {
 		}
 
 		// validate optional field 'x_position' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset x_position = group.getDataset("x_position");
+		final ILazyDataset x_position = group.getLazyDataset("x_position");
 		if (x_position != null) {
 			validateFieldType("x_position", x_position, NX_NUMBER);
 			validateFieldUnits("x_position", x_position, NX_LENGTH);
 		}
 
 		// validate optional field 'y_position' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset y_position = group.getDataset("y_position");
+		final ILazyDataset y_position = group.getLazyDataset("y_position");
 		if (y_position != null) {
 			validateFieldType("y_position", y_position, NX_NUMBER);
 			validateFieldUnits("y_position", y_position, NX_LENGTH);
 		}
 
 		// validate optional field 'roll' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset roll = group.getDataset("roll");
+		final ILazyDataset roll = group.getLazyDataset("roll");
 		if (roll != null) {
 			validateFieldType("roll", roll, NX_NUMBER);
 			validateFieldUnits("roll", roll, NX_ANGLE);
 		}
 
 		// validate optional field 'pitch' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset pitch = group.getDataset("pitch");
+		final ILazyDataset pitch = group.getLazyDataset("pitch");
 		if (pitch != null) {
 			validateFieldType("pitch", pitch, NX_NUMBER);
 			validateFieldUnits("pitch", pitch, NX_ANGLE);
 		}
 
 		// validate optional field 'yaw' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset yaw = group.getDataset("yaw");
+		final ILazyDataset yaw = group.getLazyDataset("yaw");
 		if (yaw != null) {
 			validateFieldType("yaw", yaw, NX_NUMBER);
 			validateFieldUnits("yaw", yaw, NX_ANGLE);
@@ -698,23 +698,23 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 				"SASprocess");
 
 		// validate optional field 'name' of unknown type. Note: field not defined in base class.
-		final IDataset name = group.getDataset("name");
+		final ILazyDataset name = group.getLazyDataset("name");
 		if (name != null) {
 		}
 
 		// validate optional field 'date' of type NX_DATE_TIME.
-		final IDataset date = group.getDate();
+		final ILazyDataset date = group.getLazyDataset(NXprocess.NX_DATE);
 		if (date != null) {
 			validateFieldType("date", date, NX_DATE_TIME);
 		}
 
 		// validate optional field 'description' of unknown type. Note: field not defined in base class.
-		final IDataset description = group.getDataset("description");
+		final ILazyDataset description = group.getLazyDataset("description");
 		if (description != null) {
 		}
 
 		// validate optional field 'term' of unknown type. Note: field not defined in base class.
-		final IDataset term = group.getDataset("term");
+		final ILazyDataset term = group.getLazyDataset("term");
 		if (term != null) {
 		}
 
@@ -812,13 +812,13 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 		validateAttributeType("timestamp", timestamp_attr, NX_DATE_TIME);
 
 		// validate field 'lambda' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset lambda = group.getDataset("lambda");
+		final ILazyDataset lambda = group.getLazyDataset("lambda");
 		validateFieldNotNull("lambda", lambda);
 		validateFieldType("lambda", lambda, NX_NUMBER);
 		validateFieldUnits("lambda", lambda, NX_WAVELENGTH);
 
 		// validate field 'T' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset T = group.getDataset("T");
+		final ILazyDataset T = group.getLazyDataset("T");
 		validateFieldNotNull("T", T);
 		validateFieldType("T", T, NX_NUMBER);
 		validateFieldUnits("T", T, NX_DIMENSIONLESS);
@@ -828,7 +828,7 @@ public class NXcanSASValidator extends AbstractNexusValidator implements NexusAp
 
 
 		// validate field 'Tdev' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset Tdev = group.getDataset("Tdev");
+		final ILazyDataset Tdev = group.getLazyDataset("Tdev");
 		validateFieldNotNull("Tdev", Tdev);
 		validateFieldType("Tdev", Tdev, NX_NUMBER);
 		validateFieldUnits("Tdev", Tdev, NX_DIMENSIONLESS);
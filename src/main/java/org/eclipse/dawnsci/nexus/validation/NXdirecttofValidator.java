@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -54,16 +54,16 @@ public class NXdirecttofValidator extends AbstractNexusValidator implements Nexu
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		validateFieldNotNull("start_time", start_time);
 		validateFieldType("start_time", start_time, NX_DATE_TIME);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXdirecttof");
@@ -101,13 +101,13 @@ public class NXdirecttofValidator extends AbstractNexusValidator implements Nexu
 		validateGroupNotNull("fermi_chopper", NXfermi_chopper.class, group);
 
 		// validate field 'rotation_speed' of type NX_FLOAT.
-		final IDataset rotation_speed = group.getRotation_speed();
+		final ILazyDataset rotation_speed = group.getLazyDataset(NXfermi_chopper.NX_ROTATION_SPEED);
 		validateFieldNotNull("rotation_speed", rotation_speed);
 		validateFieldType("rotation_speed", rotation_speed, NX_FLOAT);
 		validateFieldUnits("rotation_speed", rotation_speed, NX_FREQUENCY);
 
 		// validate field 'energy' of type NX_FLOAT.
-		final IDataset energy = group.getEnergy();
+		final ILazyDataset energy = group.getLazyDataset(NXfermi_chopper.NX_ENERGY);
 		validateFieldNotNull("energy", energy);
 		validateFieldType("energy", energy, NX_FLOAT);
 		validateFieldUnits("energy", energy, NX_ENERGY);
@@ -122,13 +122,13 @@ public class NXdirecttofValidator extends AbstractNexusValidator implements Nexu
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'rotation_speed' of type NX_FLOAT.
-		final IDataset rotation_speed = group.getRotation_speed();
+		final ILazyDataset rotation_speed = group.getLazyDataset(NXdisk_chopper.NX_ROTATION_SPEED);
 		validateFieldNotNull("rotation_speed", rotation_speed);
 		validateFieldType("rotation_speed", rotation_speed, NX_FLOAT);
 		validateFieldUnits("rotation_speed", rotation_speed, NX_FREQUENCY);
 
 		// validate field 'energy' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset energy = group.getDataset("energy");
+		final ILazyDataset energy = group.getLazyDataset("energy");
 		validateFieldNotNull("energy", energy);
 		validateFieldType("energy", energy, NX_FLOAT);
 		validateFieldUnits("energy", energy, NX_ENERGY);
@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -58,16 +58,16 @@ public class NXfluoValidator extends AbstractNexusValidator implements NexusAppl
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		validateFieldNotNull("start_time", start_time);
 		validateFieldType("start_time", start_time, NX_DATE_TIME);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXfluo");
@@ -122,7 +122,7 @@ public class NXfluoValidator extends AbstractNexusValidator implements NexusAppl
 		validateGroupNotNull(null, NXsource.class, group);
 
 		// validate field 'type' of unknown type.
-		final IDataset type = group.getType();
+		final ILazyDataset type = group.getLazyDataset(NXsource.NX_TYPE);
 		validateFieldNotNull("type", type);
 		validateFieldEnumeration("type", type,
 				"Spallation Neutron Source",
@@ -139,11 +139,11 @@ public class NXfluoValidator extends AbstractNexusValidator implements NexusAppl
 				"UV Plasma Source");
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsource.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'probe' of unknown type.
-		final IDataset probe = group.getProbe();
+		final ILazyDataset probe = group.getLazyDataset(NXsource.NX_PROBE);
 		validateFieldNotNull("probe", probe);
 		validateFieldEnumeration("probe", probe,
 				"x-ray");
@@ -157,7 +157,7 @@ public class NXfluoValidator extends AbstractNexusValidator implements NexusAppl
 		validateGroupNotNull("monochromator", NXmonochromator.class, group);
 
 		// validate field 'wavelength' of type NX_FLOAT.
-		final IDataset wavelength = group.getWavelength();
+		final ILazyDataset wavelength = group.getLazyDataset(NXmonochromator.NX_WAVELENGTH);
 		validateFieldNotNull("wavelength", wavelength);
 		validateFieldType("wavelength", wavelength, NX_FLOAT);
 		validateFieldUnits("wavelength", wavelength, NX_WAVELENGTH);
@@ -172,7 +172,7 @@ public class NXfluoValidator extends AbstractNexusValidator implements NexusAppl
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -180,7 +180,7 @@ public class NXfluoValidator extends AbstractNexusValidator implements NexusAppl
 		validateFieldDimensions("data", data, null, "nenergy");
 
 		// validate field 'energy' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset energy = group.getDataset("energy");
+		final ILazyDataset energy = group.getLazyDataset("energy");
 		validateFieldNotNull("energy", energy);
 		validateFieldType("energy", energy, NX_FLOAT);
 		validateFieldRank("energy", energy, 1);
@@ -196,7 +196,7 @@ public class NXfluoValidator extends AbstractNexusValidator implements NexusAppl
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 	}
 
@@ -209,20 +209,20 @@ public class NXfluoValidator extends AbstractNexusValidator implements NexusAppl
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'mode' of unknown type.
-		final IDataset mode = group.getMode();
+		final ILazyDataset mode = group.getLazyDataset(NXmonitor.NX_MODE);
 		validateFieldNotNull("mode", mode);
 		validateFieldEnumeration("mode", mode,
 				"monitor",
 				"timer");
 
 		// validate field 'preset' of type NX_FLOAT.
-		final IDataset preset = group.getPreset();
+		final ILazyDataset preset = group.getLazyDataset(NXmonitor.NX_PRESET);
 		validateFieldNotNull("preset", preset);
 		validateFieldType("preset", preset, NX_FLOAT);
 		validateFieldUnits("preset", preset, NX_ANY);
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXmonitor.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -53,16 +53,16 @@ public class NXindirecttofValidator extends AbstractNexusValidator implements Ne
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		validateFieldNotNull("start_time", start_time);
 		validateFieldType("start_time", start_time, NX_DATE_TIME);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXindirecttof");
@@ -93,7 +93,7 @@ public class NXindirecttofValidator extends AbstractNexusValidator implements Ne
 		validateGroupNotNull("analyser", NXmonochromator.class, group);
 
 		// validate field 'energy' of type NX_FLOAT.
-		final IDataset energy = group.getEnergy();
+		final ILazyDataset energy = group.getLazyDataset(NXmonochromator.NX_ENERGY);
 		validateFieldNotNull("energy", energy);
 		validateFieldType("energy", energy, NX_FLOAT);
 		validateFieldUnits("energy", energy, NX_ENERGY);
@@ -101,7 +101,7 @@ public class NXindirecttofValidator extends AbstractNexusValidator implements Ne
 		validateFieldDimensions("energy", energy, null, "nDet");
 
 		// validate field 'polar_angle' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset polar_angle = group.getDataset("polar_angle");
+		final ILazyDataset polar_angle = group.getLazyDataset("polar_angle");
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -109,7 +109,7 @@ public class NXindirecttofValidator extends AbstractNexusValidator implements Ne
 		validateFieldDimensions("polar_angle", polar_angle, null, "ndet");
 
 		// validate field 'distance' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset distance = group.getDataset("distance");
+		final ILazyDataset distance = group.getLazyDataset("distance");
 		validateFieldNotNull("distance", distance);
 		validateFieldType("distance", distance, NX_FLOAT);
 		validateFieldUnits("distance", distance, NX_LENGTH);
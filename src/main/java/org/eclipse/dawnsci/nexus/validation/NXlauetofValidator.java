@@ -13,7 +13,7 @@ package org.eclipse.dawnsci.nexus.validation;
 import static org.eclipse.dawnsci.nexus.validation.NexusDataType.*;
 import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 
 import org.eclipse.dawnsci.nexus.NXroot;
@@ -55,7 +55,7 @@ public class NXlauetofValidator extends AbstractNexusValidator implements NexusA
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXlauetof");
@@ -93,7 +93,7 @@ public class NXlauetofValidator extends AbstractNexusValidator implements NexusA
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'polar_angle' of type NX_FLOAT.
-		final IDataset polar_angle = group.getPolar_angle();
+		final ILazyDataset polar_angle = group.getLazyDataset(NXdetector.NX_POLAR_ANGLE);
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -101,7 +101,7 @@ public class NXlauetofValidator extends AbstractNexusValidator implements NexusA
 		validateFieldDimensions("polar_angle", polar_angle, "NXdetector", "np", "i", "j");
 
 		// validate field 'azimuthal_angle' of type NX_FLOAT.
-		final IDataset azimuthal_angle = group.getAzimuthal_angle();
+		final ILazyDataset azimuthal_angle = group.getLazyDataset(NXdetector.NX_AZIMUTHAL_ANGLE);
 		validateFieldNotNull("azimuthal_angle", azimuthal_angle);
 		validateFieldType("azimuthal_angle", azimuthal_angle, NX_FLOAT);
 		validateFieldUnits("azimuthal_angle", azimuthal_angle, NX_ANGLE);
@@ -109,7 +109,7 @@ public class NXlauetofValidator extends AbstractNexusValidator implements NexusA
 		validateFieldDimensions("azimuthal_angle", azimuthal_angle, "NXdetector", "np", "i", "j");
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -124,7 +124,7 @@ public class NXlauetofValidator extends AbstractNexusValidator implements NexusA
 
 
 		// validate field 'x_pixel_size' of type NX_FLOAT.
-		final IDataset x_pixel_size = group.getX_pixel_size();
+		final ILazyDataset x_pixel_size = group.getLazyDataset(NXdetector.NX_X_PIXEL_SIZE);
 		validateFieldNotNull("x_pixel_size", x_pixel_size);
 		validateFieldType("x_pixel_size", x_pixel_size, NX_FLOAT);
 		validateFieldUnits("x_pixel_size", x_pixel_size, NX_LENGTH);
@@ -132,7 +132,7 @@ public class NXlauetofValidator extends AbstractNexusValidator implements NexusA
 		validateFieldDimensions("x_pixel_size", x_pixel_size, "NXdetector", "i", "j");
 
 		// validate field 'y_pixel_size' of type NX_FLOAT.
-		final IDataset y_pixel_size = group.getY_pixel_size();
+		final ILazyDataset y_pixel_size = group.getLazyDataset(NXdetector.NX_Y_PIXEL_SIZE);
 		validateFieldNotNull("y_pixel_size", y_pixel_size);
 		validateFieldType("y_pixel_size", y_pixel_size, NX_FLOAT);
 		validateFieldUnits("y_pixel_size", y_pixel_size, NX_LENGTH);
@@ -140,7 +140,7 @@ public class NXlauetofValidator extends AbstractNexusValidator implements NexusA
 		validateFieldDimensions("y_pixel_size", y_pixel_size, "NXdetector", "i", "j");
 
 		// validate field 'distance' of type NX_FLOAT.
-		final IDataset distance = group.getDistance();
+		final ILazyDataset distance = group.getLazyDataset(NXdetector.NX_DISTANCE);
 		validateFieldNotNull("distance", distance);
 		validateFieldType("distance", distance, NX_FLOAT);
 		validateFieldUnits("distance", distance, NX_LENGTH);
@@ -148,7 +148,7 @@ public class NXlauetofValidator extends AbstractNexusValidator implements NexusA
 		validateFieldDimensions("distance", distance, "NXdetector", "np", "i", "j");
 
 		// validate field 'time_of_flight' of type NX_FLOAT.
-		final IDataset time_of_flight = group.getTime_of_flight();
+		final ILazyDataset time_of_flight = group.getLazyDataset(NXdetector.NX_TIME_OF_FLIGHT);
 		validateFieldNotNull("time_of_flight", time_of_flight);
 		validateFieldType("time_of_flight", time_of_flight, NX_FLOAT);
 		validateFieldUnits("time_of_flight", time_of_flight, NX_TIME_OF_FLIGHT);
@@ -165,18 +165,18 @@ public class NXlauetofValidator extends AbstractNexusValidator implements NexusA
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'orientation_matrix' of type NX_FLOAT.
-		final IDataset orientation_matrix = group.getOrientation_matrix();
+		final ILazyDataset orientation_matrix = group.getLazyDataset(NXsample.NX_ORIENTATION_MATRIX);
 		validateFieldNotNull("orientation_matrix", orientation_matrix);
 		validateFieldType("orientation_matrix", orientation_matrix, NX_FLOAT);
 		validateFieldRank("orientation_matrix", orientation_matrix, 2);
 		validateFieldDimensions("orientation_matrix", orientation_matrix, null, 3, 3);
 
 		// validate field 'unit_cell' of type NX_FLOAT.
-		final IDataset unit_cell = group.getUnit_cell();
+		final ILazyDataset unit_cell = group.getLazyDataset(NXsample.NX_UNIT_CELL);
 		validateFieldNotNull("unit_cell", unit_cell);
 		validateFieldType("unit_cell", unit_cell, NX_FLOAT);
 		validateFieldUnits("unit_cell", unit_cell, NX_LENGTH);
@@ -193,20 +193,20 @@ public class NXlauetofValidator extends AbstractNexusValidator implements NexusA
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'mode' of unknown type.
-		final IDataset mode = group.getMode();
+		final ILazyDataset mode = group.getLazyDataset(NXmonitor.NX_MODE);
 		validateFieldNotNull("mode", mode);
 		validateFieldEnumeration("mode", mode,
 				"monitor",
 				"timer");
 
 		// validate field 'preset' of type NX_FLOAT.
-		final IDataset preset = group.getPreset();
+		final ILazyDataset preset = group.getLazyDataset(NXmonitor.NX_PRESET);
 		validateFieldNotNull("preset", preset);
 		validateFieldType("preset", preset, NX_FLOAT);
 		validateFieldUnits("preset", preset, NX_ANY);
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXmonitor.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -214,7 +214,7 @@ public class NXlauetofValidator extends AbstractNexusValidator implements NexusA
 		validateFieldDimensions("data", data, null, "nTOF");
 
 		// validate field 'time_of_flight' of type NX_FLOAT.
-		final IDataset time_of_flight = group.getTime_of_flight();
+		final ILazyDataset time_of_flight = group.getLazyDataset(NXmonitor.NX_TIME_OF_FLIGHT);
 		validateFieldNotNull("time_of_flight", time_of_flight);
 		validateFieldType("time_of_flight", time_of_flight, NX_FLOAT);
 		validateFieldUnits("time_of_flight", time_of_flight, NX_TIME_OF_FLIGHT);
@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 
 import org.eclipse.dawnsci.nexus.NXroot;
@@ -65,25 +65,25 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		validateGroupNotNull(null, NXentry.class, group);
 
 		// validate optional field 'title' of type NX_CHAR.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		if (title != null) {
 			validateFieldType("title", title, NX_CHAR);
 		}
 
 		// validate optional field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		if (start_time != null) {
 			validateFieldType("start_time", start_time, NX_DATE_TIME);
 		}
 
 		// validate optional field 'end_time' of type NX_DATE_TIME.
-		final IDataset end_time = group.getEnd_time();
+		final ILazyDataset end_time = group.getLazyDataset(NXsubentry.NX_END_TIME);
 		if (end_time != null) {
 			validateFieldType("end_time", end_time, NX_DATE_TIME);
 		}
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXmx");
@@ -141,7 +141,7 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		validateGroupNotNull(null, NXattenuator.class, group);
 
 		// validate optional field 'attenuator_transmission' of type NX_NUMBER.
-		final IDataset attenuator_transmission = group.getAttenuator_transmission();
+		final ILazyDataset attenuator_transmission = group.getLazyDataset(NXattenuator.NX_ATTENUATOR_TRANSMISSION);
 		if (attenuator_transmission != null) {
 			validateFieldType("attenuator_transmission", attenuator_transmission, NX_NUMBER);
 			validateFieldUnits("attenuator_transmission", attenuator_transmission, NX_UNITLESS);
@@ -157,19 +157,19 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'group_names' of type NX_CHAR.
-		final IDataset group_names = group.getGroup_names();
+		final ILazyDataset group_names = group.getLazyDataset(NXdetector_group.NX_GROUP_NAMES);
 		validateFieldNotNull("group_names", group_names);
 		validateFieldType("group_names", group_names, NX_CHAR);
 		validateFieldDimensions("group_names", group_names, null, "");
 
 		// validate field 'group_index' of type NX_INT.
-		final IDataset group_index = group.getGroup_index();
+		final ILazyDataset group_index = group.getLazyDataset(NXdetector_group.NX_GROUP_INDEX);
 		validateFieldNotNull("group_index", group_index);
 		validateFieldType("group_index", group_index, NX_INT);
 		validateFieldDimensions("group_index", group_index, null, "i");
 
 		// validate field 'group_parent' of type NX_INT.
-		final IDataset group_parent = group.getGroup_parent();
+		final ILazyDataset group_parent = group.getLazyDataset(NXdetector_group.NX_GROUP_PARENT);
 		validateFieldNotNull("group_parent", group_parent);
 		validateFieldType("group_parent", group_parent, NX_INT);
 		validateFieldDimensions("group_parent", group_parent, null, "");
@@ -184,30 +184,30 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'depends_on' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset depends_on = group.getDataset("depends_on");
+		final ILazyDataset depends_on = group.getLazyDataset("depends_on");
 		validateFieldNotNull("depends_on", depends_on);
 		validateFieldType("depends_on", depends_on, NX_CHAR);
 
 		// validate field 'data' of type NX_NUMBER.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_NUMBER);
 		validateFieldUnits("data", data, NX_ANY);
 		validateFieldDimensions("data", data, null, "np", "i", "j", "k");
 
 		// validate optional field 'description' of unknown type.
-		final IDataset description = group.getDescription();
+		final ILazyDataset description = group.getLazyDataset(NXdetector.NX_DESCRIPTION);
 		if (description != null) {
 		}
 
 		// validate optional field 'time_per_channel' of unknown type. Note: field not defined in base class.
-		final IDataset time_per_channel = group.getDataset("time_per_channel");
+		final ILazyDataset time_per_channel = group.getLazyDataset("time_per_channel");
 		if (time_per_channel != null) {
 			validateFieldUnits("time_per_channel", time_per_channel, NX_TIME);
 		}
 
 		// validate optional field 'distance' of type NX_FLOAT.
-		final IDataset distance = group.getDistance();
+		final ILazyDataset distance = group.getLazyDataset(NXdetector.NX_DISTANCE);
 		if (distance != null) {
 			validateFieldType("distance", distance, NX_FLOAT);
 			validateFieldUnits("distance", distance, NX_LENGTH);
@@ -216,7 +216,7 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		}
 
 		// validate optional field 'dead_time' of type NX_FLOAT.
-		final IDataset dead_time = group.getDead_time();
+		final ILazyDataset dead_time = group.getLazyDataset(NXdetector.NX_DEAD_TIME);
 		if (dead_time != null) {
 			validateFieldType("dead_time", dead_time, NX_FLOAT);
 			validateFieldUnits("dead_time", dead_time, NX_TIME);
@@ -225,7 +225,7 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		}
 
 		// validate optional field 'count_time' of type NX_NUMBER.
-		final IDataset count_time = group.getCount_time();
+		final ILazyDataset count_time = group.getLazyDataset(NXdetector.NX_COUNT_TIME);
 		if (count_time != null) {
 			validateFieldType("count_time", count_time, NX_NUMBER);
 			validateFieldUnits("count_time", count_time, NX_TIME);
@@ -234,86 +234,86 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		}
 
 		// validate optional field 'beam_center_x' of type NX_FLOAT.
-		final IDataset beam_center_x = group.getBeam_center_x();
+		final ILazyDataset beam_center_x = group.getLazyDataset(NXdetector.NX_BEAM_CENTER_X);
 		if (beam_center_x != null) {
 			validateFieldType("beam_center_x", beam_center_x, NX_FLOAT);
 			validateFieldUnits("beam_center_x", beam_center_x, NX_LENGTH);
 		}
 
 		// validate optional field 'beam_center_y' of type NX_FLOAT.
-		final IDataset beam_center_y = group.getBeam_center_y();
+		final ILazyDataset beam_center_y = group.getLazyDataset(NXdetector.NX_BEAM_CENTER_Y);
 		if (beam_center_y != null) {
 			validateFieldType("beam_center_y", beam_center_y, NX_FLOAT);
 			validateFieldUnits("beam_center_y", beam_center_y, NX_LENGTH);
 		}
 
 		// validate optional field 'angular_calibration_applied' of type NX_BOOLEAN.
-		final IDataset angular_calibration_applied = group.getAngular_calibration_applied();
+		final ILazyDataset angular_calibration_applied = group.getLazyDataset(NXdetector.NX_ANGULAR_CALIBRATION_APPLIED);
 		if (angular_calibration_applied != null) {
 			validateFieldType("angular_calibration_applied", angular_calibration_applied, NX_BOOLEAN);
 		}
 
 		// validate optional field 'angular_calibration' of type NX_FLOAT.
-		final IDataset angular_calibration = group.getAngular_calibration();
+		final ILazyDataset angular_calibration = group.getLazyDataset(NXdetector.NX_ANGULAR_CALIBRATION);
 		if (angular_calibration != null) {
 			validateFieldType("angular_calibration", angular_calibration, NX_FLOAT);
 			validateFieldDimensions("angular_calibration", angular_calibration, null, "i", "j", "k");
 		}
 
 		// validate optional field 'flatfield_applied' of type NX_BOOLEAN.
-		final IDataset flatfield_applied = group.getFlatfield_applied();
+		final ILazyDataset flatfield_applied = group.getLazyDataset(NXdetector.NX_FLATFIELD_APPLIED);
 		if (flatfield_applied != null) {
 			validateFieldType("flatfield_applied", flatfield_applied, NX_BOOLEAN);
 		}
 
 		// validate optional field 'flatfield' of type NX_FLOAT.
-		final IDataset flatfield = group.getFlatfield();
+		final ILazyDataset flatfield = group.getLazyDataset(NXdetector.NX_FLATFIELD);
 		if (flatfield != null) {
 			validateFieldType("flatfield", flatfield, NX_FLOAT);
 			validateFieldDimensions("flatfield", flatfield, null, "i", "j", "k");
 		}
 
 		// validate optional field 'flatfield_error' of type NX_FLOAT.
-		final IDataset flatfield_error = group.getFlatfield_error();
+		final ILazyDataset flatfield_error = group.getLazyDataset(NXdetector.NX_FLATFIELD_ERROR);
 		if (flatfield_error != null) {
 			validateFieldType("flatfield_error", flatfield_error, NX_FLOAT);
 			validateFieldDimensions("flatfield_error", flatfield_error, null, "i", "j", "k");
 		}
 
 		// validate optional field 'pixel_mask_applied' of type NX_BOOLEAN.
-		final IDataset pixel_mask_applied = group.getPixel_mask_applied();
+		final ILazyDataset pixel_mask_applied = group.getLazyDataset(NXdetector.NX_PIXEL_MASK_APPLIED);
 		if (pixel_mask_applied != null) {
 			validateFieldType("pixel_mask_applied", pixel_mask_applied, NX_BOOLEAN);
 		}
 
 		// validate optional field 'pixel_mask' of type NX_INT.
-		final IDataset pixel_mask = group.getPixel_mask();
+		final ILazyDataset pixel_mask = group.getLazyDataset(NXdetector.NX_PIXEL_MASK);
 		if (pixel_mask != null) {
 			validateFieldType("pixel_mask", pixel_mask, NX_INT);
 			validateFieldDimensions("pixel_mask", pixel_mask, null, "i", "j", "k");
 		}
 
 		// validate optional field 'countrate_correction_applied' of type NX_BOOLEAN. Note: field not defined in base class.
-		final IDataset countrate_correction_applied = group.getDataset("countrate_correction_applied");
+		final ILazyDataset countrate_correction_applied = group.getLazyDataset("countrate_correction_applied");
 		if (countrate_correction_applied != null) {
 			validateFieldType("countrate_correction_applied", countrate_correction_applied, NX_BOOLEAN);
 		}
 
 		// validate optional field 'bit_depth_readout' of type NX_INT.
-		final IDataset bit_depth_readout = group.getBit_depth_readout();
+		final ILazyDataset bit_depth_readout = group.getLazyDataset(NXdetector.NX_BIT_DEPTH_READOUT);
 		if (bit_depth_readout != null) {
 			validateFieldType("bit_depth_readout", bit_depth_readout, NX_INT);
 		}
 
 		// validate optional field 'detector_readout_time' of type NX_FLOAT.
-		final IDataset detector_readout_time = group.getDetector_readout_time();
+		final ILazyDataset detector_readout_time = group.getLazyDataset(NXdetector.NX_DETECTOR_READOUT_TIME);
 		if (detector_readout_time != null) {
 			validateFieldType("detector_readout_time", detector_readout_time, NX_FLOAT);
 			validateFieldUnits("detector_readout_time", detector_readout_time, NX_TIME);
 		}
 
 		// validate optional field 'frame_time' of type NX_FLOAT.
-		final IDataset frame_time = group.getFrame_time();
+		final ILazyDataset frame_time = group.getLazyDataset(NXdetector.NX_FRAME_TIME);
 		if (frame_time != null) {
 			validateFieldType("frame_time", frame_time, NX_FLOAT);
 			validateFieldUnits("frame_time", frame_time, NX_TIME);
@@ -322,7 +322,7 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		}
 
 		// validate optional field 'gain_setting' of type NX_CHAR.
-		final IDataset gain_setting = group.getGain_setting();
+		final ILazyDataset gain_setting = group.getLazyDataset(NXdetector.NX_GAIN_SETTING);
 		if (gain_setting != null) {
 			validateFieldType("gain_setting", gain_setting, NX_CHAR);
 			validateFieldEnumeration("gain_setting", gain_setting,
@@ -333,38 +333,38 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		}
 
 		// validate optional field 'saturation_value' of type NX_INT.
-		final IDataset saturation_value = group.getSaturation_value();
+		final ILazyDataset saturation_value = group.getLazyDataset(NXdetector.NX_SATURATION_VALUE);
 		if (saturation_value != null) {
 			validateFieldType("saturation_value", saturation_value, NX_INT);
 		}
 
 		// validate optional field 'sensor_material' of type NX_CHAR.
-		final IDataset sensor_material = group.getSensor_material();
+		final ILazyDataset sensor_material = group.getLazyDataset(NXdetector.NX_SENSOR_MATERIAL);
 		if (sensor_material != null) {
 			validateFieldType("sensor_material", sensor_material, NX_CHAR);
 		}
 
 		// validate optional field 'sensor_thickness' of type NX_FLOAT.
-		final IDataset sensor_thickness = group.getSensor_thickness();
+		final ILazyDataset sensor_thickness = group.getLazyDataset(NXdetector.NX_SENSOR_THICKNESS);
 		if (sensor_thickness != null) {
 			validateFieldType("sensor_thickness", sensor_thickness, NX_FLOAT);
 			validateFieldUnits("sensor_thickness", sensor_thickness, NX_LENGTH);
 		}
 
 		// validate optional field 'threshold_energy' of type NX_FLOAT.
-		final IDataset threshold_energy = group.getThreshold_energy();
+		final ILazyDataset threshold_energy = group.getLazyDataset(NXdetector.NX_THRESHOLD_ENERGY);
 		if (threshold_energy != null) {
 			validateFieldType("threshold_energy", threshold_energy, NX_FLOAT);
 			validateFieldUnits("threshold_energy", threshold_energy, NX_ENERGY);
 		}
 
 		// validate optional field 'type' of unknown type.
-		final IDataset type = group.getType();
+		final ILazyDataset type = group.getLazyDataset(NXdetector.NX_TYPE);
 		if (type != null) {
 		}
 		// validate NXtransformations groups (special case)
 		final Map<String, NXtransformations> allTransformations = group.getChildren(NXtransformations.class);
-		validateTransformations(allTransformations, depends_on.getString(0));
+		validateTransformations(allTransformations, depends_on);
 
 		// validate unnamed child group of type NXcollection (possibly multiple)
 		final Map<String, NXcollection> allCollection = group.getAllCollection();
@@ -396,23 +396,23 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		validateGroupNotNull(null, NXdetector_module.class, group);
 
 		// validate field 'data_origin' of type NX_INT.
-		final IDataset data_origin = group.getData_origin();
+		final ILazyDataset data_origin = group.getLazyDataset(NXdetector_module.NX_DATA_ORIGIN);
 		validateFieldNotNull("data_origin", data_origin);
 		validateFieldType("data_origin", data_origin, NX_INT);
 
 		// validate field 'data_size' of type NX_INT.
-		final IDataset data_size = group.getData_size();
+		final ILazyDataset data_size = group.getLazyDataset(NXdetector_module.NX_DATA_SIZE);
 		validateFieldNotNull("data_size", data_size);
 		validateFieldType("data_size", data_size, NX_INT);
 
 		// validate optional field 'data_stride' of type NX_INT. Note: field not defined in base class.
-		final IDataset data_stride = group.getDataset("data_stride");
+		final ILazyDataset data_stride = group.getLazyDataset("data_stride");
 		if (data_stride != null) {
 			validateFieldType("data_stride", data_stride, NX_INT);
 		}
 
 		// validate field 'module_offset' of type NX_NUMBER.
-		final IDataset module_offset = group.getModule_offset();
+		final ILazyDataset module_offset = group.getLazyDataset(NXdetector_module.NX_MODULE_OFFSET);
 		validateFieldNotNull("module_offset", module_offset);
 		validateFieldType("module_offset", module_offset, NX_NUMBER);
 		validateFieldUnits("module_offset", module_offset, NX_LENGTH);
@@ -436,7 +436,7 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 
 
 		// validate field 'fast_pixel_direction' of type NX_NUMBER.
-		final IDataset fast_pixel_direction = group.getFast_pixel_direction();
+		final ILazyDataset fast_pixel_direction = group.getLazyDataset(NXdetector_module.NX_FAST_PIXEL_DIRECTION);
 		validateFieldNotNull("fast_pixel_direction", fast_pixel_direction);
 		validateFieldType("fast_pixel_direction", fast_pixel_direction, NX_NUMBER);
 		validateFieldUnits("fast_pixel_direction", fast_pixel_direction, NX_LENGTH);
@@ -460,7 +460,7 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 
 
 		// validate field 'slow_pixel_direction' of type NX_NUMBER.
-		final IDataset slow_pixel_direction = group.getSlow_pixel_direction();
+		final ILazyDataset slow_pixel_direction = group.getLazyDataset(NXdetector_module.NX_SLOW_PIXEL_DIRECTION);
 		validateFieldNotNull("slow_pixel_direction", slow_pixel_direction);
 		validateFieldType("slow_pixel_direction", slow_pixel_direction, NX_NUMBER);
 		validateFieldUnits("slow_pixel_direction", slow_pixel_direction, NX_LENGTH);
@@ -493,19 +493,19 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate optional field 'name' of type NX_CHAR.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		if (name != null) {
 			validateFieldType("name", name, NX_CHAR);
 		}
 
 		// validate optional field 'depends_on' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset depends_on = group.getDataset("depends_on");
+		final ILazyDataset depends_on = group.getLazyDataset("depends_on");
 		if (depends_on != null) {
 			validateFieldType("depends_on", depends_on, NX_CHAR);
 		}
 
 		// validate optional field 'temperature' of unknown type.
-		final IDataset temperature = group.getTemperature();
+		final ILazyDataset temperature = group.getLazyDataset(NXsample.NX_TEMPERATURE);
 		if (temperature != null) {
 			validateFieldType("temperature", temperature, NX_FLOAT);
 			validateFieldUnits("temperature", temperature, NX_TEMPERATURE);
@@ -514,7 +514,7 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 
 		// validate NXtransformations groups (special case)
 		final Map<String, NXtransformations> allTransformations = group.getChildren(NXtransformations.class);
-		validateTransformations(allTransformations, depends_on.getString(0));
+		validateTransformations(allTransformations, depends_on);
 
 		// validate unnamed child group of type NXbeam (possibly multiple)
 		final Map<String, NXbeam> allBeam = group.getAllBeam();
@@ -532,7 +532,7 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate optional field 'incident_wavelength' of type NX_FLOAT.
-		final IDataset incident_wavelength = group.getIncident_wavelength();
+		final ILazyDataset incident_wavelength = group.getLazyDataset(NXbeam.NX_INCIDENT_WAVELENGTH);
 		if (incident_wavelength != null) {
 			validateFieldType("incident_wavelength", incident_wavelength, NX_FLOAT);
 			validateFieldUnits("incident_wavelength", incident_wavelength, NX_WAVELENGTH);
@@ -541,13 +541,13 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		}
 
 		// validate optional field 'incident_wavelength_weight' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset incident_wavelength_weight = group.getDataset("incident_wavelength_weight");
+		final ILazyDataset incident_wavelength_weight = group.getLazyDataset("incident_wavelength_weight");
 		if (incident_wavelength_weight != null) {
 			validateFieldType("incident_wavelength_weight", incident_wavelength_weight, NX_FLOAT);
 		}
 
 		// validate optional field 'incident_wavelength_spread' of type NX_FLOAT.
-		final IDataset incident_wavelength_spread = group.getIncident_wavelength_spread();
+		final ILazyDataset incident_wavelength_spread = group.getLazyDataset(NXbeam.NX_INCIDENT_WAVELENGTH_SPREAD);
 		if (incident_wavelength_spread != null) {
 			validateFieldType("incident_wavelength_spread", incident_wavelength_spread, NX_FLOAT);
 			validateFieldUnits("incident_wavelength_spread", incident_wavelength_spread, NX_WAVELENGTH);
@@ -556,7 +556,7 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		}
 
 		// validate optional field 'flux' of type NX_FLOAT.
-		final IDataset flux = group.getFlux();
+		final ILazyDataset flux = group.getLazyDataset(NXbeam.NX_FLUX);
 		if (flux != null) {
 			validateFieldType("flux", flux, NX_FLOAT);
 			validateFieldUnits("flux", flux, NX_FLUX);
@@ -565,14 +565,14 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		}
 
 		// validate optional field 'total_flux' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset total_flux = group.getDataset("total_flux");
+		final ILazyDataset total_flux = group.getLazyDataset("total_flux");
 		if (total_flux != null) {
 			validateFieldType("total_flux", total_flux, NX_FLOAT);
 			validateFieldUnits("total_flux", total_flux, NX_FREQUENCY);
 		}
 
 		// validate optional field 'incident_beam_size' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset incident_beam_size = group.getDataset("incident_beam_size");
+		final ILazyDataset incident_beam_size = group.getLazyDataset("incident_beam_size");
 		if (incident_beam_size != null) {
 			validateFieldType("incident_beam_size", incident_beam_size, NX_FLOAT);
 			validateFieldUnits("incident_beam_size", incident_beam_size, NX_LENGTH);
@@ -581,7 +581,7 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		}
 
 		// validate optional field 'profile' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset profile = group.getDataset("profile");
+		final ILazyDataset profile = group.getLazyDataset("profile");
 		if (profile != null) {
 			validateFieldType("profile", profile, NX_CHAR);
 			validateFieldEnumeration("profile", profile,
@@ -592,7 +592,7 @@ public class NXmxValidator extends AbstractNexusValidator implements NexusApplic
 		}
 
 		// validate optional field 'incident_polarisation_stokes' of unknown type. Note: field not defined in base class.
-		final IDataset incident_polarisation_stokes = group.getDataset("incident_polarisation_stokes");
+		final ILazyDataset incident_polarisation_stokes = group.getLazyDataset("incident_polarisation_stokes");
 		if (incident_polarisation_stokes != null) {
 			validateFieldRank("incident_polarisation_stokes", incident_polarisation_stokes, 2);
 			validateFieldDimensions("incident_polarisation_stokes", incident_polarisation_stokes, null, "np", 4);
@@ -13,7 +13,7 @@ package org.eclipse.dawnsci.nexus.validation;
 import static org.eclipse.dawnsci.nexus.validation.NexusDataType.*;
 import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -55,21 +55,21 @@ public class NXreftofValidator extends AbstractNexusValidator implements NexusAp
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		validateFieldNotNull("start_time", start_time);
 		validateFieldType("start_time", start_time, NX_DATE_TIME);
 
 		// validate field 'end_time' of type NX_DATE_TIME.
-		final IDataset end_time = group.getEnd_time();
+		final ILazyDataset end_time = group.getLazyDataset(NXsubentry.NX_END_TIME);
 		validateFieldNotNull("end_time", end_time);
 		validateFieldType("end_time", end_time, NX_DATE_TIME);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXreftof");
@@ -95,7 +95,7 @@ public class NXreftofValidator extends AbstractNexusValidator implements NexusAp
 		validateGroupNotNull("instrument", NXinstrument.class, group);
 
 		// validate field 'name' of type NX_CHAR.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXinstrument.NX_NAME);
 		validateFieldNotNull("name", name);
 		validateFieldType("name", name, NX_CHAR);
 
@@ -115,7 +115,7 @@ public class NXreftofValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'distance' of type NX_FLOAT.
-		final IDataset distance = group.getDistance();
+		final ILazyDataset distance = group.getLazyDataset(NXdisk_chopper.NX_DISTANCE);
 		validateFieldNotNull("distance", distance);
 		validateFieldType("distance", distance, NX_FLOAT);
 		validateFieldUnits("distance", distance, NX_LENGTH);
@@ -130,7 +130,7 @@ public class NXreftofValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -138,7 +138,7 @@ public class NXreftofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("data", data, null, "xsize", "ysize", "nTOF");
 
 		// validate field 'time_of_flight' of type NX_FLOAT.
-		final IDataset time_of_flight = group.getTime_of_flight();
+		final ILazyDataset time_of_flight = group.getLazyDataset(NXdetector.NX_TIME_OF_FLIGHT);
 		validateFieldNotNull("time_of_flight", time_of_flight);
 		validateFieldType("time_of_flight", time_of_flight, NX_FLOAT);
 		validateFieldUnits("time_of_flight", time_of_flight, NX_TIME_OF_FLIGHT);
@@ -146,7 +146,7 @@ public class NXreftofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("time_of_flight", time_of_flight, null, "nTOF");
 
 		// validate field 'distance' of type NX_FLOAT.
-		final IDataset distance = group.getDistance();
+		final ILazyDataset distance = group.getLazyDataset(NXdetector.NX_DISTANCE);
 		validateFieldNotNull("distance", distance);
 		validateFieldType("distance", distance, NX_FLOAT);
 		validateFieldUnits("distance", distance, NX_LENGTH);
@@ -154,7 +154,7 @@ public class NXreftofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("distance", distance, "NXdetector", "np", "i", "j");
 
 		// validate field 'polar_angle' of type NX_FLOAT.
-		final IDataset polar_angle = group.getPolar_angle();
+		final ILazyDataset polar_angle = group.getLazyDataset(NXdetector.NX_POLAR_ANGLE);
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -162,7 +162,7 @@ public class NXreftofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("polar_angle", polar_angle, "NXdetector", "np", "i", "j");
 
 		// validate field 'x_pixel_size' of type NX_FLOAT.
-		final IDataset x_pixel_size = group.getX_pixel_size();
+		final ILazyDataset x_pixel_size = group.getLazyDataset(NXdetector.NX_X_PIXEL_SIZE);
 		validateFieldNotNull("x_pixel_size", x_pixel_size);
 		validateFieldType("x_pixel_size", x_pixel_size, NX_FLOAT);
 		validateFieldUnits("x_pixel_size", x_pixel_size, NX_LENGTH);
@@ -170,7 +170,7 @@ public class NXreftofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("x_pixel_size", x_pixel_size, "NXdetector", "i", "j");
 
 		// validate field 'y_pixel_size' of type NX_FLOAT.
-		final IDataset y_pixel_size = group.getY_pixel_size();
+		final ILazyDataset y_pixel_size = group.getLazyDataset(NXdetector.NX_Y_PIXEL_SIZE);
 		validateFieldNotNull("y_pixel_size", y_pixel_size);
 		validateFieldType("y_pixel_size", y_pixel_size, NX_FLOAT);
 		validateFieldUnits("y_pixel_size", y_pixel_size, NX_LENGTH);
@@ -187,11 +187,11 @@ public class NXreftofValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'rotation_angle' of type NX_FLOAT.
-		final IDataset rotation_angle = group.getRotation_angle();
+		final ILazyDataset rotation_angle = group.getLazyDataset(NXsample.NX_ROTATION_ANGLE);
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_FLOAT);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
@@ -206,33 +206,33 @@ public class NXreftofValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'mode' of unknown type.
-		final IDataset mode = group.getMode();
+		final ILazyDataset mode = group.getLazyDataset(NXmonitor.NX_MODE);
 		validateFieldNotNull("mode", mode);
 		validateFieldEnumeration("mode", mode,
 				"monitor",
 				"timer");
 
 		// validate field 'preset' of type NX_FLOAT.
-		final IDataset preset = group.getPreset();
+		final ILazyDataset preset = group.getLazyDataset(NXmonitor.NX_PRESET);
 		validateFieldNotNull("preset", preset);
 		validateFieldType("preset", preset, NX_FLOAT);
 		validateFieldUnits("preset", preset, NX_ANY);
 
 		// validate field 'integral' of type NX_INT.
-		final IDataset integral = group.getIntegral();
+		final ILazyDataset integral = group.getLazyDataset(NXmonitor.NX_INTEGRAL);
 		validateFieldNotNull("integral", integral);
 		validateFieldType("integral", integral, NX_INT);
 		validateFieldUnits("integral", integral, NX_ANY);
 
 		// validate field 'time_of_flight' of type NX_FLOAT.
-		final IDataset time_of_flight = group.getTime_of_flight();
+		final ILazyDataset time_of_flight = group.getLazyDataset(NXmonitor.NX_TIME_OF_FLIGHT);
 		validateFieldNotNull("time_of_flight", time_of_flight);
 		validateFieldType("time_of_flight", time_of_flight, NX_FLOAT);
 		validateFieldUnits("time_of_flight", time_of_flight, NX_TIME_OF_FLIGHT);
 		validateFieldDimensions("time_of_flight", time_of_flight, "NXmonitor", "");
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXmonitor.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
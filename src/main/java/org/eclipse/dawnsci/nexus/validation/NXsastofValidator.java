@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 
 import org.eclipse.dawnsci.nexus.NXroot;
@@ -68,16 +68,16 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		validateAttributeNotNull("entry", entry_attr);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		validateFieldNotNull("start_time", start_time);
 		validateFieldType("start_time", start_time, NX_DATE_TIME);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXsastof");
@@ -103,7 +103,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		validateGroupNotNull("instrument", NXinstrument.class, group);
 
 		// validate field 'name' of type NX_CHAR.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXinstrument.NX_NAME);
 		validateFieldNotNull("name", name);
 		validateFieldType("name", name, NX_CHAR);
 		// validate child group 'source' of type NXsource
@@ -124,7 +124,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		validateGroupNotNull("source", NXsource.class, group);
 
 		// validate field 'type' of unknown type.
-		final IDataset type = group.getType();
+		final ILazyDataset type = group.getLazyDataset(NXsource.NX_TYPE);
 		validateFieldNotNull("type", type);
 		validateFieldEnumeration("type", type,
 				"Spallation Neutron Source",
@@ -141,11 +141,11 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 				"UV Plasma Source");
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsource.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'probe' of unknown type.
-		final IDataset probe = group.getProbe();
+		final ILazyDataset probe = group.getLazyDataset(NXsource.NX_PROBE);
 		validateFieldNotNull("probe", probe);
 		validateFieldEnumeration("probe", probe,
 				"neutron",
@@ -183,7 +183,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'shape' of type NX_CHAR.
-		final IDataset shape = group.getShape();
+		final ILazyDataset shape = group.getLazyDataset(NXshape.NX_SHAPE);
 		validateFieldNotNull("shape", shape);
 		validateFieldType("shape", shape, NX_CHAR);
 		validateFieldEnumeration("shape", shape,
@@ -191,7 +191,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 				"nxbox");
 
 		// validate field 'size' of type NX_FLOAT.
-		final IDataset size = group.getSize();
+		final ILazyDataset size = group.getLazyDataset(NXshape.NX_SIZE);
 		validateFieldNotNull("size", size);
 		validateFieldType("size", size, NX_FLOAT);
 		validateFieldUnits("size", size, NX_LENGTH);
@@ -207,7 +207,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_NUMBER.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_NUMBER);
 		validateFieldUnits("data", data, NX_ANY);
@@ -215,7 +215,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("data", data, null, "nXPixel", "nYPixel", "nTOF");
 
 		// validate field 'time_of_flight' of type NX_FLOAT.
-		final IDataset time_of_flight = group.getTime_of_flight();
+		final ILazyDataset time_of_flight = group.getLazyDataset(NXdetector.NX_TIME_OF_FLIGHT);
 		validateFieldNotNull("time_of_flight", time_of_flight);
 		validateFieldType("time_of_flight", time_of_flight, NX_FLOAT);
 		validateFieldUnits("time_of_flight", time_of_flight, NX_TIME_OF_FLIGHT);
@@ -223,7 +223,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("time_of_flight", time_of_flight, null, "nTOF");
 
 		// validate field 'distance' of type NX_FLOAT.
-		final IDataset distance = group.getDistance();
+		final ILazyDataset distance = group.getLazyDataset(NXdetector.NX_DISTANCE);
 		validateFieldNotNull("distance", distance);
 		validateFieldType("distance", distance, NX_FLOAT);
 		validateFieldUnits("distance", distance, NX_LENGTH);
@@ -231,7 +231,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("distance", distance, "NXdetector", "np", "i", "j");
 
 		// validate field 'x_pixel_size' of type NX_FLOAT.
-		final IDataset x_pixel_size = group.getX_pixel_size();
+		final ILazyDataset x_pixel_size = group.getLazyDataset(NXdetector.NX_X_PIXEL_SIZE);
 		validateFieldNotNull("x_pixel_size", x_pixel_size);
 		validateFieldType("x_pixel_size", x_pixel_size, NX_FLOAT);
 		validateFieldUnits("x_pixel_size", x_pixel_size, NX_LENGTH);
@@ -239,7 +239,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("x_pixel_size", x_pixel_size, "NXdetector", "i", "j");
 
 		// validate field 'y_pixel_size' of type NX_FLOAT.
-		final IDataset y_pixel_size = group.getY_pixel_size();
+		final ILazyDataset y_pixel_size = group.getLazyDataset(NXdetector.NX_Y_PIXEL_SIZE);
 		validateFieldNotNull("y_pixel_size", y_pixel_size);
 		validateFieldType("y_pixel_size", y_pixel_size, NX_FLOAT);
 		validateFieldUnits("y_pixel_size", y_pixel_size, NX_LENGTH);
@@ -247,7 +247,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("y_pixel_size", y_pixel_size, "NXdetector", "i", "j");
 
 		// validate field 'polar_angle' of type NX_FLOAT.
-		final IDataset polar_angle = group.getPolar_angle();
+		final ILazyDataset polar_angle = group.getLazyDataset(NXdetector.NX_POLAR_ANGLE);
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -255,7 +255,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("polar_angle", polar_angle, "NXdetector", "np", "i", "j");
 
 		// validate field 'azimuthal_angle' of type NX_FLOAT.
-		final IDataset azimuthal_angle = group.getAzimuthal_angle();
+		final ILazyDataset azimuthal_angle = group.getLazyDataset(NXdetector.NX_AZIMUTHAL_ANGLE);
 		validateFieldNotNull("azimuthal_angle", azimuthal_angle);
 		validateFieldType("azimuthal_angle", azimuthal_angle, NX_FLOAT);
 		validateFieldUnits("azimuthal_angle", azimuthal_angle, NX_ANGLE);
@@ -263,25 +263,25 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("azimuthal_angle", azimuthal_angle, "NXdetector", "np", "i", "j");
 
 		// validate field 'rotation_angle' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset rotation_angle = group.getDataset("rotation_angle");
+		final ILazyDataset rotation_angle = group.getLazyDataset("rotation_angle");
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_FLOAT);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
 
 		// validate field 'aequatorial_angle' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset aequatorial_angle = group.getDataset("aequatorial_angle");
+		final ILazyDataset aequatorial_angle = group.getLazyDataset("aequatorial_angle");
 		validateFieldNotNull("aequatorial_angle", aequatorial_angle);
 		validateFieldType("aequatorial_angle", aequatorial_angle, NX_FLOAT);
 		validateFieldUnits("aequatorial_angle", aequatorial_angle, NX_ANGLE);
 
 		// validate field 'beam_center_x' of type NX_FLOAT.
-		final IDataset beam_center_x = group.getBeam_center_x();
+		final ILazyDataset beam_center_x = group.getLazyDataset(NXdetector.NX_BEAM_CENTER_X);
 		validateFieldNotNull("beam_center_x", beam_center_x);
 		validateFieldType("beam_center_x", beam_center_x, NX_FLOAT);
 		validateFieldUnits("beam_center_x", beam_center_x, NX_LENGTH);
 
 		// validate field 'beam_center_y' of type NX_FLOAT.
-		final IDataset beam_center_y = group.getBeam_center_y();
+		final ILazyDataset beam_center_y = group.getLazyDataset(NXdetector.NX_BEAM_CENTER_Y);
 		validateFieldNotNull("beam_center_y", beam_center_y);
 		validateFieldType("beam_center_y", beam_center_y, NX_FLOAT);
 		validateFieldUnits("beam_center_y", beam_center_y, NX_LENGTH);
@@ -296,11 +296,11 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'aequatorial_angle' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset aequatorial_angle = group.getDataset("aequatorial_angle");
+		final ILazyDataset aequatorial_angle = group.getLazyDataset("aequatorial_angle");
 		validateFieldNotNull("aequatorial_angle", aequatorial_angle);
 		validateFieldType("aequatorial_angle", aequatorial_angle, NX_FLOAT);
 		validateFieldUnits("aequatorial_angle", aequatorial_angle, NX_ANGLE);
@@ -315,20 +315,20 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'mode' of unknown type.
-		final IDataset mode = group.getMode();
+		final ILazyDataset mode = group.getLazyDataset(NXmonitor.NX_MODE);
 		validateFieldNotNull("mode", mode);
 		validateFieldEnumeration("mode", mode,
 				"monitor",
 				"timer");
 
 		// validate field 'preset' of type NX_FLOAT.
-		final IDataset preset = group.getPreset();
+		final ILazyDataset preset = group.getLazyDataset(NXmonitor.NX_PRESET);
 		validateFieldNotNull("preset", preset);
 		validateFieldType("preset", preset, NX_FLOAT);
 		validateFieldUnits("preset", preset, NX_ANY);
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXmonitor.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -336,7 +336,7 @@ public class NXsastofValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("data", data, null, "nTOF");
 
 		// validate field 'time_of_flight' of type NX_FLOAT.
-		final IDataset time_of_flight = group.getTime_of_flight();
+		final ILazyDataset time_of_flight = group.getLazyDataset(NXmonitor.NX_TIME_OF_FLIGHT);
 		validateFieldNotNull("time_of_flight", time_of_flight);
 		validateFieldType("time_of_flight", time_of_flight, NX_FLOAT);
 		validateFieldUnits("time_of_flight", time_of_flight, NX_TIME_OF_FLIGHT);
@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 
 import org.eclipse.dawnsci.nexus.NXroot;
@@ -60,11 +60,11 @@ public class NXspeValidator extends AbstractNexusValidator implements NexusAppli
 		validateGroupNotNull(null, NXentry.class, group);
 
 		// validate field 'program_name' of unknown type.
-		final IDataset program_name = group.getProgram_name();
+		final ILazyDataset program_name = group.getLazyDataset(NXsubentry.NX_PROGRAM_NAME);
 		validateFieldNotNull("program_name", program_name);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXSPE",
@@ -101,18 +101,18 @@ public class NXspeValidator extends AbstractNexusValidator implements NexusAppli
 		validateGroupNotNull("NXSPE_info", NXcollection.class, group);
 
 		// validate field 'fixed_energy' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset fixed_energy = group.getDataset("fixed_energy");
+		final ILazyDataset fixed_energy = group.getLazyDataset("fixed_energy");
 		validateFieldNotNull("fixed_energy", fixed_energy);
 		validateFieldType("fixed_energy", fixed_energy, NX_FLOAT);
 		validateFieldUnits("fixed_energy", fixed_energy, NX_ENERGY);
 
 		// validate field 'ki_over_kf_scaling' of type NX_BOOLEAN. Note: field not defined in base class.
-		final IDataset ki_over_kf_scaling = group.getDataset("ki_over_kf_scaling");
+		final ILazyDataset ki_over_kf_scaling = group.getLazyDataset("ki_over_kf_scaling");
 		validateFieldNotNull("ki_over_kf_scaling", ki_over_kf_scaling);
 		validateFieldType("ki_over_kf_scaling", ki_over_kf_scaling, NX_BOOLEAN);
 
 		// validate field 'psi' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset psi = group.getDataset("psi");
+		final ILazyDataset psi = group.getLazyDataset("psi");
 		validateFieldNotNull("psi", psi);
 		validateFieldType("psi", psi, NX_FLOAT);
 		validateFieldUnits("psi", psi, NX_ANGLE);
@@ -127,48 +127,48 @@ public class NXspeValidator extends AbstractNexusValidator implements NexusAppli
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'azimuthal' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset azimuthal = group.getDataset("azimuthal");
+		final ILazyDataset azimuthal = group.getLazyDataset("azimuthal");
 		validateFieldNotNull("azimuthal", azimuthal);
 		validateFieldType("azimuthal", azimuthal, NX_FLOAT);
 		validateFieldUnits("azimuthal", azimuthal, NX_ANGLE);
 
 		// validate field 'azimuthal_width' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset azimuthal_width = group.getDataset("azimuthal_width");
+		final ILazyDataset azimuthal_width = group.getLazyDataset("azimuthal_width");
 		validateFieldNotNull("azimuthal_width", azimuthal_width);
 		validateFieldType("azimuthal_width", azimuthal_width, NX_FLOAT);
 		validateFieldUnits("azimuthal_width", azimuthal_width, NX_ANGLE);
 
 		// validate field 'polar' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset polar = group.getDataset("polar");
+		final ILazyDataset polar = group.getLazyDataset("polar");
 		validateFieldNotNull("polar", polar);
 		validateFieldType("polar", polar, NX_FLOAT);
 		validateFieldUnits("polar", polar, NX_ANGLE);
 
 		// validate field 'polar_width' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset polar_width = group.getDataset("polar_width");
+		final ILazyDataset polar_width = group.getLazyDataset("polar_width");
 		validateFieldNotNull("polar_width", polar_width);
 		validateFieldType("polar_width", polar_width, NX_FLOAT);
 		validateFieldUnits("polar_width", polar_width, NX_ANGLE);
 
 		// validate field 'distance' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset distance = group.getDataset("distance");
+		final ILazyDataset distance = group.getLazyDataset("distance");
 		validateFieldNotNull("distance", distance);
 		validateFieldType("distance", distance, NX_FLOAT);
 		validateFieldUnits("distance", distance, NX_LENGTH);
 
 		// validate field 'data' of type NX_NUMBER.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdata.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_NUMBER);
 		validateFieldDimensions("data", data, "NXdata", "n");
 
 		// validate field 'error' of type NX_NUMBER. Note: field not defined in base class.
-		final IDataset error = group.getDataset("error");
+		final ILazyDataset error = group.getLazyDataset("error");
 		validateFieldNotNull("error", error);
 		validateFieldType("error", error, NX_NUMBER);
 
 		// validate field 'energy' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset energy = group.getDataset("energy");
+		final ILazyDataset energy = group.getLazyDataset("energy");
 		validateFieldNotNull("energy", energy);
 		validateFieldType("energy", energy, NX_FLOAT);
 		validateFieldUnits("energy", energy, NX_ENERGY);
@@ -182,7 +182,7 @@ public class NXspeValidator extends AbstractNexusValidator implements NexusAppli
 		validateGroupNotNull(null, NXinstrument.class, group);
 
 		// validate field 'name' of type NX_CHAR.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXinstrument.NX_NAME);
 		validateFieldNotNull("name", name);
 		validateFieldType("name", name, NX_CHAR);
 
@@ -201,7 +201,7 @@ public class NXspeValidator extends AbstractNexusValidator implements NexusAppli
 		validateGroupNotNull(null, NXfermi_chopper.class, group);
 
 		// validate field 'energy' of type NX_NUMBER.
-		final IDataset energy = group.getEnergy();
+		final ILazyDataset energy = group.getLazyDataset(NXfermi_chopper.NX_ENERGY);
 		validateFieldNotNull("energy", energy);
 		validateFieldType("energy", energy, NX_NUMBER);
 		validateFieldUnits("energy", energy, NX_ENERGY);
@@ -216,18 +216,18 @@ public class NXspeValidator extends AbstractNexusValidator implements NexusAppli
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'rotation_angle' of type NX_NUMBER.
-		final IDataset rotation_angle = group.getRotation_angle();
+		final ILazyDataset rotation_angle = group.getLazyDataset(NXsample.NX_ROTATION_ANGLE);
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_NUMBER);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
 
 		// validate field 'seblock' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset seblock = group.getDataset("seblock");
+		final ILazyDataset seblock = group.getLazyDataset("seblock");
 		validateFieldNotNull("seblock", seblock);
 		validateFieldType("seblock", seblock, NX_CHAR);
 
 		// validate field 'temperature' of type NX_NUMBER.
-		final IDataset temperature = group.getTemperature();
+		final ILazyDataset temperature = group.getLazyDataset(NXsample.NX_TEMPERATURE);
 		validateFieldNotNull("temperature", temperature);
 		validateFieldType("temperature", temperature, NX_NUMBER);
 		validateFieldUnits("temperature", temperature, NX_TEMPERATURE);
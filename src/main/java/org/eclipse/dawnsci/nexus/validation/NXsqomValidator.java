@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 
 import org.eclipse.dawnsci.nexus.NXroot;
@@ -65,11 +65,11 @@ public class NXsqomValidator extends AbstractNexusValidator implements NexusAppl
 		validateAttributeNotNull("entry", entry_attr);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXsqom");
@@ -101,7 +101,7 @@ public class NXsqomValidator extends AbstractNexusValidator implements NexusAppl
 		validateGroupNotNull("instrument", NXinstrument.class, group);
 
 		// validate field 'name' of type NX_CHAR.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXinstrument.NX_NAME);
 		validateFieldNotNull("name", name);
 		validateFieldType("name", name, NX_CHAR);
 		// validate unnamed child group of type NXsource (possibly multiple)
@@ -119,7 +119,7 @@ public class NXsqomValidator extends AbstractNexusValidator implements NexusAppl
 		validateGroupNotNull(null, NXsource.class, group);
 
 		// validate field 'type' of unknown type.
-		final IDataset type = group.getType();
+		final ILazyDataset type = group.getLazyDataset(NXsource.NX_TYPE);
 		validateFieldNotNull("type", type);
 		validateFieldEnumeration("type", type,
 				"Spallation Neutron Source",
@@ -136,11 +136,11 @@ public class NXsqomValidator extends AbstractNexusValidator implements NexusAppl
 				"UV Plasma Source");
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsource.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'probe' of unknown type.
-		final IDataset probe = group.getProbe();
+		final ILazyDataset probe = group.getLazyDataset(NXsource.NX_PROBE);
 		validateFieldNotNull("probe", probe);
 		validateFieldEnumeration("probe", probe,
 				"neutron",
@@ -157,7 +157,7 @@ public class NXsqomValidator extends AbstractNexusValidator implements NexusAppl
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 	}
 
@@ -169,12 +169,12 @@ public class NXsqomValidator extends AbstractNexusValidator implements NexusAppl
 		validateGroupNotNull("reduction", NXprocess.class, group);
 
 		// validate field 'program' of type NX_CHAR.
-		final IDataset program = group.getProgram();
+		final ILazyDataset program = group.getLazyDataset(NXprocess.NX_PROGRAM);
 		validateFieldNotNull("program", program);
 		validateFieldType("program", program, NX_CHAR);
 
 		// validate field 'version' of type NX_CHAR.
-		final IDataset version = group.getVersion();
+		final ILazyDataset version = group.getLazyDataset(NXprocess.NX_VERSION);
 		validateFieldNotNull("version", version);
 		validateFieldType("version", version, NX_CHAR);
 
@@ -193,7 +193,7 @@ public class NXsqomValidator extends AbstractNexusValidator implements NexusAppl
 		validateGroupNotNull("input", NXparameters.class, group);
 
 		// validate field 'filenames' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset filenames = group.getDataset("filenames");
+		final ILazyDataset filenames = group.getLazyDataset("filenames");
 		validateFieldNotNull("filenames", filenames);
 		validateFieldType("filenames", filenames, NX_CHAR);
 	}
@@ -216,35 +216,35 @@ public class NXsqomValidator extends AbstractNexusValidator implements NexusAppl
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdata.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldRank("data", data, 1);
 		validateFieldDimensions("data", data, null, "NP");
 
 		// validate field 'qx' of unknown type. Note: field not defined in base class.
-		final IDataset qx = group.getDataset("qx");
+		final ILazyDataset qx = group.getLazyDataset("qx");
 		validateFieldNotNull("qx", qx);
 		validateFieldUnits("qx", qx, NX_WAVENUMBER);
 		validateFieldRank("qx", qx, 1);
 		validateFieldDimensions("qx", qx, null, "NP");
 
 		// validate field 'qy' of unknown type. Note: field not defined in base class.
-		final IDataset qy = group.getDataset("qy");
+		final ILazyDataset qy = group.getLazyDataset("qy");
 		validateFieldNotNull("qy", qy);
 		validateFieldUnits("qy", qy, NX_WAVENUMBER);
 		validateFieldRank("qy", qy, 1);
 		validateFieldDimensions("qy", qy, null, "NP");
 
 		// validate field 'qz' of unknown type. Note: field not defined in base class.
-		final IDataset qz = group.getDataset("qz");
+		final ILazyDataset qz = group.getLazyDataset("qz");
 		validateFieldNotNull("qz", qz);
 		validateFieldUnits("qz", qz, NX_WAVENUMBER);
 		validateFieldRank("qz", qz, 1);
 		validateFieldDimensions("qz", qz, null, "NP");
 
 		// validate field 'en' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset en = group.getDataset("en");
+		final ILazyDataset en = group.getLazyDataset("en");
 		validateFieldNotNull("en", en);
 		validateFieldType("en", en, NX_FLOAT);
 		validateFieldUnits("en", en, NX_ENERGY);
@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -58,17 +58,17 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'title' of type NX_CHAR.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 		validateFieldType("title", title, NX_CHAR);
 
 		// validate field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		validateFieldNotNull("start_time", start_time);
 		validateFieldType("start_time", start_time, NX_DATE_TIME);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXtas");
@@ -132,11 +132,11 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateGroupNotNull(null, NXsource.class, group);
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsource.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'probe' of unknown type.
-		final IDataset probe = group.getProbe();
+		final ILazyDataset probe = group.getLazyDataset(NXsource.NX_PROBE);
 		validateFieldNotNull("probe", probe);
 		validateFieldEnumeration("probe", probe,
 				"neutron",
@@ -152,7 +152,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'ei' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset ei = group.getDataset("ei");
+		final ILazyDataset ei = group.getLazyDataset("ei");
 		validateFieldNotNull("ei", ei);
 		validateFieldType("ei", ei, NX_FLOAT);
 		validateFieldUnits("ei", ei, NX_ENERGY);
@@ -160,7 +160,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("ei", ei, null, "np");
 
 		// validate field 'rotation_angle' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset rotation_angle = group.getDataset("rotation_angle");
+		final ILazyDataset rotation_angle = group.getLazyDataset("rotation_angle");
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_FLOAT);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
@@ -177,7 +177,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'ef' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset ef = group.getDataset("ef");
+		final ILazyDataset ef = group.getLazyDataset("ef");
 		validateFieldNotNull("ef", ef);
 		validateFieldType("ef", ef, NX_FLOAT);
 		validateFieldUnits("ef", ef, NX_ENERGY);
@@ -185,7 +185,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("ef", ef, null, "np");
 
 		// validate field 'rotation_angle' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset rotation_angle = group.getDataset("rotation_angle");
+		final ILazyDataset rotation_angle = group.getLazyDataset("rotation_angle");
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_FLOAT);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
@@ -193,7 +193,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("rotation_angle", rotation_angle, null, "np");
 
 		// validate field 'polar_angle' of type NX_FLOAT.
-		final IDataset polar_angle = group.getPolar_angle();
+		final ILazyDataset polar_angle = group.getLazyDataset(NXcrystal.NX_POLAR_ANGLE);
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -210,7 +210,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -218,7 +218,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("data", data, null, "np");
 
 		// validate field 'polar_angle' of type NX_FLOAT.
-		final IDataset polar_angle = group.getPolar_angle();
+		final ILazyDataset polar_angle = group.getLazyDataset(NXdetector.NX_POLAR_ANGLE);
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -235,11 +235,11 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'qh' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset qh = group.getDataset("qh");
+		final ILazyDataset qh = group.getLazyDataset("qh");
 		validateFieldNotNull("qh", qh);
 		validateFieldType("qh", qh, NX_FLOAT);
 		validateFieldUnits("qh", qh, NX_DIMENSIONLESS);
@@ -247,7 +247,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("qh", qh, null, "np");
 
 		// validate field 'qk' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset qk = group.getDataset("qk");
+		final ILazyDataset qk = group.getLazyDataset("qk");
 		validateFieldNotNull("qk", qk);
 		validateFieldType("qk", qk, NX_FLOAT);
 		validateFieldUnits("qk", qk, NX_DIMENSIONLESS);
@@ -255,7 +255,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("qk", qk, null, "np");
 
 		// validate field 'ql' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset ql = group.getDataset("ql");
+		final ILazyDataset ql = group.getLazyDataset("ql");
 		validateFieldNotNull("ql", ql);
 		validateFieldType("ql", ql, NX_FLOAT);
 		validateFieldUnits("ql", ql, NX_DIMENSIONLESS);
@@ -263,7 +263,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("ql", ql, null, "np");
 
 		// validate field 'en' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset en = group.getDataset("en");
+		final ILazyDataset en = group.getLazyDataset("en");
 		validateFieldNotNull("en", en);
 		validateFieldType("en", en, NX_FLOAT);
 		validateFieldUnits("en", en, NX_ENERGY);
@@ -271,7 +271,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("en", en, null, "np");
 
 		// validate field 'rotation_angle' of type NX_FLOAT.
-		final IDataset rotation_angle = group.getRotation_angle();
+		final ILazyDataset rotation_angle = group.getLazyDataset(NXsample.NX_ROTATION_ANGLE);
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_FLOAT);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
@@ -279,7 +279,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("rotation_angle", rotation_angle, null, "np");
 
 		// validate field 'polar_angle' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset polar_angle = group.getDataset("polar_angle");
+		final ILazyDataset polar_angle = group.getLazyDataset("polar_angle");
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -287,7 +287,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("polar_angle", polar_angle, null, "np");
 
 		// validate field 'sgu' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset sgu = group.getDataset("sgu");
+		final ILazyDataset sgu = group.getLazyDataset("sgu");
 		validateFieldNotNull("sgu", sgu);
 		validateFieldType("sgu", sgu, NX_FLOAT);
 		validateFieldUnits("sgu", sgu, NX_ANGLE);
@@ -295,7 +295,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("sgu", sgu, null, "np");
 
 		// validate field 'sgl' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset sgl = group.getDataset("sgl");
+		final ILazyDataset sgl = group.getLazyDataset("sgl");
 		validateFieldNotNull("sgl", sgl);
 		validateFieldType("sgl", sgl, NX_FLOAT);
 		validateFieldUnits("sgl", sgl, NX_ANGLE);
@@ -303,7 +303,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("sgl", sgl, null, "np");
 
 		// validate field 'unit_cell' of type NX_FLOAT.
-		final IDataset unit_cell = group.getUnit_cell();
+		final ILazyDataset unit_cell = group.getLazyDataset(NXsample.NX_UNIT_CELL);
 		validateFieldNotNull("unit_cell", unit_cell);
 		validateFieldType("unit_cell", unit_cell, NX_FLOAT);
 		validateFieldUnits("unit_cell", unit_cell, NX_LENGTH);
@@ -311,7 +311,7 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("unit_cell", unit_cell, null, 6);
 
 		// validate field 'orientation_matrix' of type NX_FLOAT.
-		final IDataset orientation_matrix = group.getOrientation_matrix();
+		final ILazyDataset orientation_matrix = group.getLazyDataset(NXsample.NX_ORIENTATION_MATRIX);
 		validateFieldNotNull("orientation_matrix", orientation_matrix);
 		validateFieldType("orientation_matrix", orientation_matrix, NX_FLOAT);
 		validateFieldUnits("orientation_matrix", orientation_matrix, NX_DIMENSIONLESS);
@@ -328,20 +328,20 @@ public class NXtasValidator extends AbstractNexusValidator implements NexusAppli
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'mode' of unknown type.
-		final IDataset mode = group.getMode();
+		final ILazyDataset mode = group.getLazyDataset(NXmonitor.NX_MODE);
 		validateFieldNotNull("mode", mode);
 		validateFieldEnumeration("mode", mode,
 				"monitor",
 				"timer");
 
 		// validate field 'preset' of type NX_FLOAT.
-		final IDataset preset = group.getPreset();
+		final ILazyDataset preset = group.getLazyDataset(NXmonitor.NX_PRESET);
 		validateFieldNotNull("preset", preset);
 		validateFieldType("preset", preset, NX_FLOAT);
 		validateFieldUnits("preset", preset, NX_ANY);
 
 		// validate field 'data' of type NX_FLOAT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXmonitor.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_FLOAT);
 		validateFieldUnits("data", data, NX_ANY);
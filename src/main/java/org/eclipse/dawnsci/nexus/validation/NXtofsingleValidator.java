@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -57,28 +57,28 @@ public class NXtofsingleValidator extends AbstractNexusValidator implements Nexu
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		validateFieldNotNull("start_time", start_time);
 		validateFieldType("start_time", start_time, NX_DATE_TIME);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXtofsingle");
 
 		// validate field 'duration' of type NX_FLOAT.
-		final IDataset duration = group.getDuration();
+		final ILazyDataset duration = group.getLazyDataset(NXsubentry.NX_DURATION);
 		validateFieldNotNull("duration", duration);
 		validateFieldType("duration", duration, NX_FLOAT);
 		validateFieldUnits("duration", duration, NX_TIME);
 
 		// validate field 'pre_sample_flightpath' of type NX_FLOAT.
-		final IDataset pre_sample_flightpath = group.getPre_sample_flightpath();
+		final ILazyDataset pre_sample_flightpath = group.getLazyDataset(NXsubentry.NX_PRE_SAMPLE_FLIGHTPATH);
 		validateFieldNotNull("pre_sample_flightpath", pre_sample_flightpath);
 		validateFieldType("pre_sample_flightpath", pre_sample_flightpath, NX_FLOAT);
 		validateFieldUnits("pre_sample_flightpath", pre_sample_flightpath, NX_LENGTH);
@@ -116,7 +116,7 @@ public class NXtofsingleValidator extends AbstractNexusValidator implements Nexu
 		validateGroupNotNull("user", NXuser.class, group);
 
 		// validate field 'name' of type NX_CHAR.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXuser.NX_NAME);
 		validateFieldNotNull("name", name);
 		validateFieldType("name", name, NX_CHAR);
 	}
@@ -141,7 +141,7 @@ public class NXtofsingleValidator extends AbstractNexusValidator implements Nexu
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -149,7 +149,7 @@ public class NXtofsingleValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("data", data, null, "xsize", "ysize", "ntimechan");
 
 		// validate field 'distance' of type NX_FLOAT.
-		final IDataset distance = group.getDistance();
+		final ILazyDataset distance = group.getLazyDataset(NXdetector.NX_DISTANCE);
 		validateFieldNotNull("distance", distance);
 		validateFieldType("distance", distance, NX_FLOAT);
 		validateFieldUnits("distance", distance, NX_LENGTH);
@@ -157,7 +157,7 @@ public class NXtofsingleValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("distance", distance, null, 1);
 
 		// validate field 'time_of_flight' of type NX_FLOAT.
-		final IDataset time_of_flight = group.getTime_of_flight();
+		final ILazyDataset time_of_flight = group.getLazyDataset(NXdetector.NX_TIME_OF_FLIGHT);
 		validateFieldNotNull("time_of_flight", time_of_flight);
 		validateFieldType("time_of_flight", time_of_flight, NX_FLOAT);
 		validateFieldUnits("time_of_flight", time_of_flight, NX_TIME_OF_FLIGHT);
@@ -165,7 +165,7 @@ public class NXtofsingleValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("time_of_flight", time_of_flight, null, "ntimechan");
 
 		// validate field 'polar_angle' of type NX_FLOAT.
-		final IDataset polar_angle = group.getPolar_angle();
+		final ILazyDataset polar_angle = group.getLazyDataset(NXdetector.NX_POLAR_ANGLE);
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -173,7 +173,7 @@ public class NXtofsingleValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("polar_angle", polar_angle, null, "ndet");
 
 		// validate field 'azimuthal_angle' of type NX_FLOAT.
-		final IDataset azimuthal_angle = group.getAzimuthal_angle();
+		final ILazyDataset azimuthal_angle = group.getLazyDataset(NXdetector.NX_AZIMUTHAL_ANGLE);
 		validateFieldNotNull("azimuthal_angle", azimuthal_angle);
 		validateFieldType("azimuthal_angle", azimuthal_angle, NX_FLOAT);
 		validateFieldUnits("azimuthal_angle", azimuthal_angle, NX_ANGLE);
@@ -190,11 +190,11 @@ public class NXtofsingleValidator extends AbstractNexusValidator implements Nexu
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'nature' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset nature = group.getDataset("nature");
+		final ILazyDataset nature = group.getLazyDataset("nature");
 		validateFieldNotNull("nature", nature);
 		validateFieldType("nature", nature, NX_CHAR);
 		validateFieldEnumeration("nature", nature,
@@ -212,26 +212,26 @@ public class NXtofsingleValidator extends AbstractNexusValidator implements Nexu
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'mode' of unknown type.
-		final IDataset mode = group.getMode();
+		final ILazyDataset mode = group.getLazyDataset(NXmonitor.NX_MODE);
 		validateFieldNotNull("mode", mode);
 		validateFieldEnumeration("mode", mode,
 				"monitor",
 				"timer");
 
 		// validate field 'preset' of type NX_FLOAT.
-		final IDataset preset = group.getPreset();
+		final ILazyDataset preset = group.getLazyDataset(NXmonitor.NX_PRESET);
 		validateFieldNotNull("preset", preset);
 		validateFieldType("preset", preset, NX_FLOAT);
 		validateFieldUnits("preset", preset, NX_ANY);
 
 		// validate field 'distance' of type NX_FLOAT.
-		final IDataset distance = group.getDistance();
+		final ILazyDataset distance = group.getLazyDataset(NXmonitor.NX_DISTANCE);
 		validateFieldNotNull("distance", distance);
 		validateFieldType("distance", distance, NX_FLOAT);
 		validateFieldUnits("distance", distance, NX_LENGTH);
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXmonitor.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -239,7 +239,7 @@ public class NXtofsingleValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("data", data, null, "ntimechan");
 
 		// validate field 'time_of_flight' of type NX_FLOAT.
-		final IDataset time_of_flight = group.getTime_of_flight();
+		final ILazyDataset time_of_flight = group.getLazyDataset(NXmonitor.NX_TIME_OF_FLIGHT);
 		validateFieldNotNull("time_of_flight", time_of_flight);
 		validateFieldType("time_of_flight", time_of_flight, NX_FLOAT);
 		validateFieldUnits("time_of_flight", time_of_flight, NX_TIME_OF_FLIGHT);
@@ -13,7 +13,7 @@ package org.eclipse.dawnsci.nexus.validation;
 import static org.eclipse.dawnsci.nexus.validation.NexusDataType.*;
 import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -55,24 +55,24 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate optional field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		if (title != null) {
 		}
 
 		// validate optional field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		if (start_time != null) {
 			validateFieldType("start_time", start_time, NX_DATE_TIME);
 		}
 
 		// validate optional field 'end_time' of type NX_DATE_TIME.
-		final IDataset end_time = group.getEnd_time();
+		final ILazyDataset end_time = group.getLazyDataset(NXsubentry.NX_END_TIME);
 		if (end_time != null) {
 			validateFieldType("end_time", end_time, NX_DATE_TIME);
 		}
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXtomo");
@@ -116,7 +116,7 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		validateGroupNotNull(null, NXsource.class, group);
 
 		// validate optional field 'type' of unknown type.
-		final IDataset type = group.getType();
+		final ILazyDataset type = group.getLazyDataset(NXsource.NX_TYPE);
 		if (type != null) {
 			validateFieldEnumeration("type", type,
 					"Spallation Neutron Source",
@@ -134,12 +134,12 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		}
 
 		// validate optional field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsource.NX_NAME);
 		if (name != null) {
 		}
 
 		// validate optional field 'probe' of unknown type.
-		final IDataset probe = group.getProbe();
+		final ILazyDataset probe = group.getLazyDataset(NXsource.NX_PROBE);
 		if (probe != null) {
 			validateFieldEnumeration("probe", probe,
 					"neutron",
@@ -157,7 +157,7 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -165,14 +165,14 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		validateFieldDimensions("data", data, null, "nFrames", "xsize", "ysize");
 
 		// validate field 'image_key' of type NX_INT. Note: field not defined in base class.
-		final IDataset image_key = group.getDataset("image_key");
+		final ILazyDataset image_key = group.getLazyDataset("image_key");
 		validateFieldNotNull("image_key", image_key);
 		validateFieldType("image_key", image_key, NX_INT);
 		validateFieldRank("image_key", image_key, 1);
 		validateFieldDimensions("image_key", image_key, null, "nFrames");
 
 		// validate optional field 'x_pixel_size' of type NX_FLOAT.
-		final IDataset x_pixel_size = group.getX_pixel_size();
+		final ILazyDataset x_pixel_size = group.getLazyDataset(NXdetector.NX_X_PIXEL_SIZE);
 		if (x_pixel_size != null) {
 			validateFieldType("x_pixel_size", x_pixel_size, NX_FLOAT);
 			validateFieldUnits("x_pixel_size", x_pixel_size, NX_LENGTH);
@@ -181,7 +181,7 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		}
 
 		// validate optional field 'y_pixel_size' of type NX_FLOAT.
-		final IDataset y_pixel_size = group.getY_pixel_size();
+		final ILazyDataset y_pixel_size = group.getLazyDataset(NXdetector.NX_Y_PIXEL_SIZE);
 		if (y_pixel_size != null) {
 			validateFieldType("y_pixel_size", y_pixel_size, NX_FLOAT);
 			validateFieldUnits("y_pixel_size", y_pixel_size, NX_LENGTH);
@@ -190,7 +190,7 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		}
 
 		// validate optional field 'distance' of type NX_FLOAT.
-		final IDataset distance = group.getDistance();
+		final ILazyDataset distance = group.getLazyDataset(NXdetector.NX_DISTANCE);
 		if (distance != null) {
 			validateFieldType("distance", distance, NX_FLOAT);
 			validateFieldUnits("distance", distance, NX_LENGTH);
@@ -199,13 +199,13 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		}
 
 		// validate optional field 'x_rotation_axis_pixel_position' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset x_rotation_axis_pixel_position = group.getDataset("x_rotation_axis_pixel_position");
+		final ILazyDataset x_rotation_axis_pixel_position = group.getLazyDataset("x_rotation_axis_pixel_position");
 		if (x_rotation_axis_pixel_position != null) {
 			validateFieldType("x_rotation_axis_pixel_position", x_rotation_axis_pixel_position, NX_FLOAT);
 		}
 
 		// validate optional field 'y_rotation_axis_pixel_position' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset y_rotation_axis_pixel_position = group.getDataset("y_rotation_axis_pixel_position");
+		final ILazyDataset y_rotation_axis_pixel_position = group.getLazyDataset("y_rotation_axis_pixel_position");
 		if (y_rotation_axis_pixel_position != null) {
 			validateFieldType("y_rotation_axis_pixel_position", y_rotation_axis_pixel_position, NX_FLOAT);
 		}
@@ -220,11 +220,11 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'rotation_angle' of type NX_FLOAT.
-		final IDataset rotation_angle = group.getRotation_angle();
+		final ILazyDataset rotation_angle = group.getLazyDataset(NXsample.NX_ROTATION_ANGLE);
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_FLOAT);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
@@ -232,7 +232,7 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		validateFieldDimensions("rotation_angle", rotation_angle, null, "nFrames");
 
 		// validate optional field 'x_translation' of type NX_FLOAT.
-		final IDataset x_translation = group.getX_translation();
+		final ILazyDataset x_translation = group.getLazyDataset(NXsample.NX_X_TRANSLATION);
 		if (x_translation != null) {
 			validateFieldType("x_translation", x_translation, NX_FLOAT);
 			validateFieldUnits("x_translation", x_translation, NX_LENGTH);
@@ -241,7 +241,7 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		}
 
 		// validate optional field 'y_translation' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset y_translation = group.getDataset("y_translation");
+		final ILazyDataset y_translation = group.getLazyDataset("y_translation");
 		if (y_translation != null) {
 			validateFieldType("y_translation", y_translation, NX_FLOAT);
 			validateFieldUnits("y_translation", y_translation, NX_LENGTH);
@@ -250,7 +250,7 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		}
 
 		// validate optional field 'z_translation' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset z_translation = group.getDataset("z_translation");
+		final ILazyDataset z_translation = group.getLazyDataset("z_translation");
 		if (z_translation != null) {
 			validateFieldType("z_translation", z_translation, NX_FLOAT);
 			validateFieldUnits("z_translation", z_translation, NX_LENGTH);
@@ -268,7 +268,7 @@ public class NXtomoValidator extends AbstractNexusValidator implements NexusAppl
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_FLOAT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXmonitor.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_FLOAT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -57,21 +57,21 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		validateFieldNotNull("start_time", start_time);
 		validateFieldType("start_time", start_time, NX_DATE_TIME);
 
 		// validate field 'end_time' of type NX_DATE_TIME.
-		final IDataset end_time = group.getEnd_time();
+		final ILazyDataset end_time = group.getLazyDataset(NXsubentry.NX_END_TIME);
 		validateFieldNotNull("end_time", end_time);
 		validateFieldType("end_time", end_time, NX_DATE_TIME);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXtomophase");
@@ -120,7 +120,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		validateGroupNotNull(null, NXsource.class, group);
 
 		// validate field 'type' of unknown type.
-		final IDataset type = group.getType();
+		final ILazyDataset type = group.getLazyDataset(NXsource.NX_TYPE);
 		validateFieldNotNull("type", type);
 		validateFieldEnumeration("type", type,
 				"Spallation Neutron Source",
@@ -137,11 +137,11 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 				"UV Plasma Source");
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsource.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'probe' of unknown type.
-		final IDataset probe = group.getProbe();
+		final ILazyDataset probe = group.getLazyDataset(NXsource.NX_PROBE);
 		validateFieldNotNull("probe", probe);
 		validateFieldEnumeration("probe", probe,
 				"neutron",
@@ -158,7 +158,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -166,7 +166,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("data", data, null, "nBrightFrames", "xsize", "ysize");
 
 		// validate field 'sequence_number' of type NX_INT.
-		final IDataset sequence_number = group.getSequence_number();
+		final ILazyDataset sequence_number = group.getLazyDataset(NXdetector.NX_SEQUENCE_NUMBER);
 		validateFieldNotNull("sequence_number", sequence_number);
 		validateFieldType("sequence_number", sequence_number, NX_INT);
 		validateFieldRank("sequence_number", sequence_number, 1);
@@ -182,7 +182,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -190,7 +190,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("data", data, null, "nDarkFrames", "xsize", "ysize");
 
 		// validate field 'sequence_number' of type NX_INT.
-		final IDataset sequence_number = group.getSequence_number();
+		final ILazyDataset sequence_number = group.getLazyDataset(NXdetector.NX_SEQUENCE_NUMBER);
 		validateFieldNotNull("sequence_number", sequence_number);
 		validateFieldType("sequence_number", sequence_number, NX_INT);
 		validateFieldRank("sequence_number", sequence_number, 1);
@@ -206,7 +206,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -214,14 +214,14 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("data", data, null, "nSampleFrames", "nPhase", "xsize", "ysize");
 
 		// validate field 'sequence_number' of type NX_INT.
-		final IDataset sequence_number = group.getSequence_number();
+		final ILazyDataset sequence_number = group.getLazyDataset(NXdetector.NX_SEQUENCE_NUMBER);
 		validateFieldNotNull("sequence_number", sequence_number);
 		validateFieldType("sequence_number", sequence_number, NX_INT);
 		validateFieldRank("sequence_number", sequence_number, 2);
 		validateFieldDimensions("sequence_number", sequence_number, null, "nSampleFrames", "nPhase");
 
 		// validate field 'x_pixel_size' of type NX_FLOAT.
-		final IDataset x_pixel_size = group.getX_pixel_size();
+		final ILazyDataset x_pixel_size = group.getLazyDataset(NXdetector.NX_X_PIXEL_SIZE);
 		validateFieldNotNull("x_pixel_size", x_pixel_size);
 		validateFieldType("x_pixel_size", x_pixel_size, NX_FLOAT);
 		validateFieldUnits("x_pixel_size", x_pixel_size, NX_LENGTH);
@@ -229,7 +229,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("x_pixel_size", x_pixel_size, "NXdetector", "i", "j");
 
 		// validate field 'y_pixel_size' of type NX_FLOAT.
-		final IDataset y_pixel_size = group.getY_pixel_size();
+		final ILazyDataset y_pixel_size = group.getLazyDataset(NXdetector.NX_Y_PIXEL_SIZE);
 		validateFieldNotNull("y_pixel_size", y_pixel_size);
 		validateFieldType("y_pixel_size", y_pixel_size, NX_FLOAT);
 		validateFieldUnits("y_pixel_size", y_pixel_size, NX_LENGTH);
@@ -237,7 +237,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("y_pixel_size", y_pixel_size, "NXdetector", "i", "j");
 
 		// validate field 'distance' of type NX_FLOAT.
-		final IDataset distance = group.getDistance();
+		final ILazyDataset distance = group.getLazyDataset(NXdetector.NX_DISTANCE);
 		validateFieldNotNull("distance", distance);
 		validateFieldType("distance", distance, NX_FLOAT);
 		validateFieldUnits("distance", distance, NX_LENGTH);
@@ -254,11 +254,11 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'rotation_angle' of type NX_FLOAT.
-		final IDataset rotation_angle = group.getRotation_angle();
+		final ILazyDataset rotation_angle = group.getLazyDataset(NXsample.NX_ROTATION_ANGLE);
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_FLOAT);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
@@ -266,7 +266,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("rotation_angle", rotation_angle, null, "nSampleFrames");
 
 		// validate field 'x_translation' of type NX_FLOAT.
-		final IDataset x_translation = group.getX_translation();
+		final ILazyDataset x_translation = group.getLazyDataset(NXsample.NX_X_TRANSLATION);
 		validateFieldNotNull("x_translation", x_translation);
 		validateFieldType("x_translation", x_translation, NX_FLOAT);
 		validateFieldUnits("x_translation", x_translation, NX_LENGTH);
@@ -274,7 +274,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("x_translation", x_translation, null, "nSampleFrames");
 
 		// validate field 'y_translation' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset y_translation = group.getDataset("y_translation");
+		final ILazyDataset y_translation = group.getLazyDataset("y_translation");
 		validateFieldNotNull("y_translation", y_translation);
 		validateFieldType("y_translation", y_translation, NX_FLOAT);
 		validateFieldUnits("y_translation", y_translation, NX_LENGTH);
@@ -282,7 +282,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		validateFieldDimensions("y_translation", y_translation, null, "nSampleFrames");
 
 		// validate field 'z_translation' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset z_translation = group.getDataset("z_translation");
+		final ILazyDataset z_translation = group.getLazyDataset("z_translation");
 		validateFieldNotNull("z_translation", z_translation);
 		validateFieldType("z_translation", z_translation, NX_FLOAT);
 		validateFieldUnits("z_translation", z_translation, NX_LENGTH);
@@ -299,7 +299,7 @@ public class NXtomophaseValidator extends AbstractNexusValidator implements Nexu
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'integral' of type NX_FLOAT.
-		final IDataset integral = group.getIntegral();
+		final ILazyDataset integral = group.getLazyDataset(NXmonitor.NX_INTEGRAL);
 		validateFieldNotNull("integral", integral);
 		validateFieldType("integral", integral, NX_FLOAT);
 		validateFieldUnits("integral", integral, NX_ANY);
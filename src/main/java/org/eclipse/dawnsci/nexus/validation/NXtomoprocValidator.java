@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 
 import org.eclipse.dawnsci.nexus.NXroot;
@@ -58,11 +58,11 @@ public class NXtomoprocValidator extends AbstractNexusValidator implements Nexus
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXtomoproc");
@@ -108,7 +108,7 @@ public class NXtomoprocValidator extends AbstractNexusValidator implements Nexus
 		validateGroupNotNull(null, NXsource.class, group);
 
 		// validate field 'type' of unknown type.
-		final IDataset type = group.getType();
+		final ILazyDataset type = group.getLazyDataset(NXsource.NX_TYPE);
 		validateFieldNotNull("type", type);
 		validateFieldEnumeration("type", type,
 				"Spallation Neutron Source",
@@ -125,11 +125,11 @@ public class NXtomoprocValidator extends AbstractNexusValidator implements Nexus
 				"UV Plasma Source");
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsource.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'probe' of unknown type.
-		final IDataset probe = group.getProbe();
+		final ILazyDataset probe = group.getLazyDataset(NXsource.NX_PROBE);
 		validateFieldNotNull("probe", probe);
 		validateFieldEnumeration("probe", probe,
 				"neutron",
@@ -146,7 +146,7 @@ public class NXtomoprocValidator extends AbstractNexusValidator implements Nexus
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 	}
 
@@ -158,17 +158,17 @@ public class NXtomoprocValidator extends AbstractNexusValidator implements Nexus
 		validateGroupNotNull("reconstruction", NXprocess.class, group);
 
 		// validate field 'program' of type NX_CHAR.
-		final IDataset program = group.getProgram();
+		final ILazyDataset program = group.getLazyDataset(NXprocess.NX_PROGRAM);
 		validateFieldNotNull("program", program);
 		validateFieldType("program", program, NX_CHAR);
 
 		// validate field 'version' of type NX_CHAR.
-		final IDataset version = group.getVersion();
+		final ILazyDataset version = group.getLazyDataset(NXprocess.NX_VERSION);
 		validateFieldNotNull("version", version);
 		validateFieldType("version", version, NX_CHAR);
 
 		// validate field 'date' of type NX_DATE_TIME.
-		final IDataset date = group.getDate();
+		final ILazyDataset date = group.getLazyDataset(NXprocess.NX_DATE);
 		validateFieldNotNull("date", date);
 		validateFieldType("date", date, NX_DATE_TIME);
 
@@ -184,7 +184,7 @@ public class NXtomoprocValidator extends AbstractNexusValidator implements Nexus
 		validateGroupNotNull("parameters", NXparameters.class, group);
 
 		// validate field 'raw_file' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset raw_file = group.getDataset("raw_file");
+		final ILazyDataset raw_file = group.getLazyDataset("raw_file");
 		validateFieldNotNull("raw_file", raw_file);
 		validateFieldType("raw_file", raw_file, NX_CHAR);
 	}
@@ -198,7 +198,7 @@ public class NXtomoprocValidator extends AbstractNexusValidator implements Nexus
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdata.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldRank("data", data, 3);
@@ -217,7 +217,7 @@ public class NXtomoprocValidator extends AbstractNexusValidator implements Nexus
 
 
 		// validate field 'x' of type NX_FLOAT.
-		final IDataset x = group.getX();
+		final ILazyDataset x = group.getLazyDataset(NXdata.NX_X);
 		validateFieldNotNull("x", x);
 		validateFieldType("x", x, NX_FLOAT);
 		validateFieldUnits("x", x, NX_ANY);
@@ -225,7 +225,7 @@ public class NXtomoprocValidator extends AbstractNexusValidator implements Nexus
 		validateFieldDimensions("x", x, null, "nx");
 
 		// validate field 'y' of type NX_FLOAT.
-		final IDataset y = group.getY();
+		final ILazyDataset y = group.getLazyDataset(NXdata.NX_Y);
 		validateFieldNotNull("y", y);
 		validateFieldType("y", y, NX_FLOAT);
 		validateFieldUnits("y", y, NX_ANY);
@@ -233,7 +233,7 @@ public class NXtomoprocValidator extends AbstractNexusValidator implements Nexus
 		validateFieldDimensions("y", y, null, "ny");
 
 		// validate field 'z' of type NX_FLOAT.
-		final IDataset z = group.getZ();
+		final ILazyDataset z = group.getLazyDataset(NXdata.NX_Z);
 		validateFieldNotNull("z", z);
 		validateFieldType("z", z, NX_FLOAT);
 		validateFieldUnits("z", z, NX_ANY);
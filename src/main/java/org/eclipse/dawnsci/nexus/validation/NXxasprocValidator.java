@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 
 import org.eclipse.dawnsci.nexus.NXroot;
@@ -63,11 +63,11 @@ public class NXxasprocValidator extends AbstractNexusValidator implements NexusA
 		validateAttributeNotNull("entry", entry_attr);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXxasproc");
@@ -97,7 +97,7 @@ public class NXxasprocValidator extends AbstractNexusValidator implements NexusA
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 	}
 
@@ -109,17 +109,17 @@ public class NXxasprocValidator extends AbstractNexusValidator implements NexusA
 		validateGroupNotNull("XAS_data_reduction", NXprocess.class, group);
 
 		// validate field 'program' of type NX_CHAR.
-		final IDataset program = group.getProgram();
+		final ILazyDataset program = group.getLazyDataset(NXprocess.NX_PROGRAM);
 		validateFieldNotNull("program", program);
 		validateFieldType("program", program, NX_CHAR);
 
 		// validate field 'version' of type NX_CHAR.
-		final IDataset version = group.getVersion();
+		final ILazyDataset version = group.getLazyDataset(NXprocess.NX_VERSION);
 		validateFieldNotNull("version", version);
 		validateFieldType("version", version, NX_CHAR);
 
 		// validate field 'date' of type NX_DATE_TIME.
-		final IDataset date = group.getDate();
+		final ILazyDataset date = group.getLazyDataset(NXprocess.NX_DATE);
 		validateFieldNotNull("date", date);
 		validateFieldType("date", date, NX_DATE_TIME);
 
@@ -135,7 +135,7 @@ public class NXxasprocValidator extends AbstractNexusValidator implements NexusA
 		validateGroupNotNull("parameters", NXparameters.class, group);
 
 		// validate field 'raw_file' of type NX_CHAR. Note: field not defined in base class.
-		final IDataset raw_file = group.getDataset("raw_file");
+		final ILazyDataset raw_file = group.getLazyDataset("raw_file");
 		validateFieldNotNull("raw_file", raw_file);
 		validateFieldType("raw_file", raw_file, NX_CHAR);
 	}
@@ -149,13 +149,13 @@ public class NXxasprocValidator extends AbstractNexusValidator implements NexusA
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'energy' of unknown type. Note: field not defined in base class.
-		final IDataset energy = group.getDataset("energy");
+		final ILazyDataset energy = group.getLazyDataset("energy");
 		validateFieldNotNull("energy", energy);
 		validateFieldRank("energy", energy, 1);
 		validateFieldDimensions("energy", energy, null, "np");
 
 		// validate field 'data' of type NX_FLOAT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdata.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_FLOAT);
 		validateFieldRank("data", data, 1);
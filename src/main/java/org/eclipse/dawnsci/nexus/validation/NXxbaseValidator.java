@@ -15,7 +15,7 @@ import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
 import java.util.Map;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 
 import org.eclipse.dawnsci.nexus.NXroot;
@@ -59,16 +59,16 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'title' of unknown type.
-		final IDataset title = group.getTitle();
+		final ILazyDataset title = group.getLazyDataset(NXsubentry.NX_TITLE);
 		validateFieldNotNull("title", title);
 
 		// validate field 'start_time' of type NX_DATE_TIME.
-		final IDataset start_time = group.getStart_time();
+		final ILazyDataset start_time = group.getLazyDataset(NXsubentry.NX_START_TIME);
 		validateFieldNotNull("start_time", start_time);
 		validateFieldType("start_time", start_time, NX_DATE_TIME);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXxbase");
@@ -114,7 +114,7 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 		validateGroupNotNull("source", NXsource.class, group);
 
 		// validate field 'type' of unknown type.
-		final IDataset type = group.getType();
+		final ILazyDataset type = group.getLazyDataset(NXsource.NX_TYPE);
 		validateFieldNotNull("type", type);
 		validateFieldEnumeration("type", type,
 				"Spallation Neutron Source",
@@ -131,11 +131,11 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 				"UV Plasma Source");
 
 		// validate field 'name' of unknown type.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsource.NX_NAME);
 		validateFieldNotNull("name", name);
 
 		// validate field 'probe' of unknown type.
-		final IDataset probe = group.getProbe();
+		final ILazyDataset probe = group.getLazyDataset(NXsource.NX_PROBE);
 		validateFieldNotNull("probe", probe);
 		validateFieldEnumeration("probe", probe,
 				"neutron",
@@ -151,7 +151,7 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 		validateGroupNotNull("monochromator", NXmonochromator.class, group);
 
 		// validate field 'wavelength' of type NX_FLOAT.
-		final IDataset wavelength = group.getWavelength();
+		final ILazyDataset wavelength = group.getLazyDataset(NXmonochromator.NX_WAVELENGTH);
 		validateFieldNotNull("wavelength", wavelength);
 		validateFieldType("wavelength", wavelength, NX_FLOAT);
 		validateFieldUnits("wavelength", wavelength, NX_WAVELENGTH);
@@ -166,7 +166,7 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of type NX_INT.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdetector.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_INT);
 		validateFieldUnits("data", data, NX_ANY);
@@ -181,7 +181,7 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 
 
 		// validate field 'x_pixel_size' of type NX_FLOAT.
-		final IDataset x_pixel_size = group.getX_pixel_size();
+		final ILazyDataset x_pixel_size = group.getLazyDataset(NXdetector.NX_X_PIXEL_SIZE);
 		validateFieldNotNull("x_pixel_size", x_pixel_size);
 		validateFieldType("x_pixel_size", x_pixel_size, NX_FLOAT);
 		validateFieldUnits("x_pixel_size", x_pixel_size, NX_LENGTH);
@@ -189,7 +189,7 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 		validateFieldDimensions("x_pixel_size", x_pixel_size, "NXdetector", "i", "j");
 
 		// validate field 'y_pixel_size' of type NX_FLOAT.
-		final IDataset y_pixel_size = group.getY_pixel_size();
+		final ILazyDataset y_pixel_size = group.getLazyDataset(NXdetector.NX_Y_PIXEL_SIZE);
 		validateFieldNotNull("y_pixel_size", y_pixel_size);
 		validateFieldType("y_pixel_size", y_pixel_size, NX_FLOAT);
 		validateFieldUnits("y_pixel_size", y_pixel_size, NX_LENGTH);
@@ -197,7 +197,7 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 		validateFieldDimensions("y_pixel_size", y_pixel_size, "NXdetector", "i", "j");
 
 		// validate field 'distance' of type NX_FLOAT.
-		final IDataset distance = group.getDistance();
+		final ILazyDataset distance = group.getLazyDataset(NXdetector.NX_DISTANCE);
 		validateFieldNotNull("distance", distance);
 		validateFieldType("distance", distance, NX_FLOAT);
 		validateFieldUnits("distance", distance, NX_LENGTH);
@@ -205,7 +205,7 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 		validateFieldDimensions("distance", distance, "NXdetector", "np", "i", "j");
 
 		// validate field 'frame_start_number' of type NX_INT.
-		final IDataset frame_start_number = group.getFrame_start_number();
+		final ILazyDataset frame_start_number = group.getLazyDataset(NXdetector.NX_FRAME_START_NUMBER);
 		validateFieldNotNull("frame_start_number", frame_start_number);
 		validateFieldType("frame_start_number", frame_start_number, NX_INT);
 	}
@@ -219,19 +219,19 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'name' of type NX_CHAR.
-		final IDataset name = group.getName();
+		final ILazyDataset name = group.getLazyDataset(NXsample.NX_NAME);
 		validateFieldNotNull("name", name);
 		validateFieldType("name", name, NX_CHAR);
 
 		// validate field 'orientation_matrix' of type NX_FLOAT.
-		final IDataset orientation_matrix = group.getOrientation_matrix();
+		final ILazyDataset orientation_matrix = group.getLazyDataset(NXsample.NX_ORIENTATION_MATRIX);
 		validateFieldNotNull("orientation_matrix", orientation_matrix);
 		validateFieldType("orientation_matrix", orientation_matrix, NX_FLOAT);
 		validateFieldRank("orientation_matrix", orientation_matrix, 2);
 		validateFieldDimensions("orientation_matrix", orientation_matrix, null, 3, 3);
 
 		// validate field 'unit_cell' of type NX_FLOAT.
-		final IDataset unit_cell = group.getUnit_cell();
+		final ILazyDataset unit_cell = group.getLazyDataset(NXsample.NX_UNIT_CELL);
 		validateFieldNotNull("unit_cell", unit_cell);
 		validateFieldType("unit_cell", unit_cell, NX_FLOAT);
 		validateFieldUnits("unit_cell", unit_cell, NX_LENGTH);
@@ -239,7 +239,7 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 		validateFieldDimensions("unit_cell", unit_cell, null, 6);
 
 		// validate field 'temperature' of type NX_FLOAT.
-		final IDataset temperature = group.getTemperature();
+		final ILazyDataset temperature = group.getLazyDataset(NXsample.NX_TEMPERATURE);
 		validateFieldNotNull("temperature", temperature);
 		validateFieldType("temperature", temperature, NX_FLOAT);
 		validateFieldUnits("temperature", temperature, NX_TEMPERATURE);
@@ -247,19 +247,19 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 		validateFieldDimensions("temperature", temperature, null, "NP");
 
 		// validate field 'x_translation' of type NX_FLOAT.
-		final IDataset x_translation = group.getX_translation();
+		final ILazyDataset x_translation = group.getLazyDataset(NXsample.NX_X_TRANSLATION);
 		validateFieldNotNull("x_translation", x_translation);
 		validateFieldType("x_translation", x_translation, NX_FLOAT);
 		validateFieldUnits("x_translation", x_translation, NX_LENGTH);
 
 		// validate field 'y_translation' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset y_translation = group.getDataset("y_translation");
+		final ILazyDataset y_translation = group.getLazyDataset("y_translation");
 		validateFieldNotNull("y_translation", y_translation);
 		validateFieldType("y_translation", y_translation, NX_FLOAT);
 		validateFieldUnits("y_translation", y_translation, NX_LENGTH);
 
 		// validate field 'distance' of type NX_FLOAT.
-		final IDataset distance = group.getDistance();
+		final ILazyDataset distance = group.getLazyDataset(NXsample.NX_DISTANCE);
 		validateFieldNotNull("distance", distance);
 		validateFieldType("distance", distance, NX_FLOAT);
 		validateFieldUnits("distance", distance, NX_LENGTH);
@@ -274,20 +274,20 @@ public class NXxbaseValidator extends AbstractNexusValidator implements NexusApp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'mode' of unknown type.
-		final IDataset mode = group.getMode();
+		final ILazyDataset mode = group.getLazyDataset(NXmonitor.NX_MODE);
 		validateFieldNotNull("mode", mode);
 		validateFieldEnumeration("mode", mode,
 				"monitor",
 				"timer");
 
 		// validate field 'preset' of type NX_FLOAT.
-		final IDataset preset = group.getPreset();
+		final ILazyDataset preset = group.getLazyDataset(NXmonitor.NX_PRESET);
 		validateFieldNotNull("preset", preset);
 		validateFieldType("preset", preset, NX_FLOAT);
 		validateFieldUnits("preset", preset, NX_ANY);
 
 		// validate field 'integral' of type NX_FLOAT.
-		final IDataset integral = group.getIntegral();
+		final ILazyDataset integral = group.getLazyDataset(NXmonitor.NX_INTEGRAL);
 		validateFieldNotNull("integral", integral);
 		validateFieldType("integral", integral, NX_FLOAT);
 		validateFieldUnits("integral", integral, NX_ANY);
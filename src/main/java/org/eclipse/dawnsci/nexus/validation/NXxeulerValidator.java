@@ -13,7 +13,7 @@ package org.eclipse.dawnsci.nexus.validation;
 import static org.eclipse.dawnsci.nexus.validation.NexusDataType.*;
 import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -53,7 +53,7 @@ public class NXxeulerValidator extends AbstractNexusValidator implements NexusAp
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXxeuler");
@@ -88,7 +88,7 @@ public class NXxeulerValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'polar_angle' of type NX_FLOAT.
-		final IDataset polar_angle = group.getPolar_angle();
+		final ILazyDataset polar_angle = group.getLazyDataset(NXdetector.NX_POLAR_ANGLE);
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -105,7 +105,7 @@ public class NXxeulerValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'rotation_angle' of type NX_FLOAT.
-		final IDataset rotation_angle = group.getRotation_angle();
+		final ILazyDataset rotation_angle = group.getLazyDataset(NXsample.NX_ROTATION_ANGLE);
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_FLOAT);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
@@ -113,7 +113,7 @@ public class NXxeulerValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("rotation_angle", rotation_angle, null, "np");
 
 		// validate field 'chi' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset chi = group.getDataset("chi");
+		final ILazyDataset chi = group.getLazyDataset("chi");
 		validateFieldNotNull("chi", chi);
 		validateFieldType("chi", chi, NX_FLOAT);
 		validateFieldUnits("chi", chi, NX_ANGLE);
@@ -121,7 +121,7 @@ public class NXxeulerValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("chi", chi, null, "np");
 
 		// validate field 'phi' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset phi = group.getDataset("phi");
+		final ILazyDataset phi = group.getLazyDataset("phi");
 		validateFieldNotNull("phi", phi);
 		validateFieldType("phi", phi, NX_FLOAT);
 		validateFieldUnits("phi", phi, NX_ANGLE);
@@ -13,7 +13,7 @@ package org.eclipse.dawnsci.nexus.validation;
 import static org.eclipse.dawnsci.nexus.validation.NexusDataType.*;
 import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -53,7 +53,7 @@ public class NXxkappaValidator extends AbstractNexusValidator implements NexusAp
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXxkappa");
@@ -88,7 +88,7 @@ public class NXxkappaValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'polar_angle' of type NX_FLOAT.
-		final IDataset polar_angle = group.getPolar_angle();
+		final ILazyDataset polar_angle = group.getLazyDataset(NXdetector.NX_POLAR_ANGLE);
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -105,7 +105,7 @@ public class NXxkappaValidator extends AbstractNexusValidator implements NexusAp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'rotation_angle' of type NX_FLOAT.
-		final IDataset rotation_angle = group.getRotation_angle();
+		final ILazyDataset rotation_angle = group.getLazyDataset(NXsample.NX_ROTATION_ANGLE);
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_FLOAT);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
@@ -113,7 +113,7 @@ public class NXxkappaValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("rotation_angle", rotation_angle, null, "np");
 
 		// validate field 'kappa' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset kappa = group.getDataset("kappa");
+		final ILazyDataset kappa = group.getLazyDataset("kappa");
 		validateFieldNotNull("kappa", kappa);
 		validateFieldType("kappa", kappa, NX_FLOAT);
 		validateFieldUnits("kappa", kappa, NX_ANGLE);
@@ -121,7 +121,7 @@ public class NXxkappaValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("kappa", kappa, null, "np");
 
 		// validate field 'phi' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset phi = group.getDataset("phi");
+		final ILazyDataset phi = group.getLazyDataset("phi");
 		validateFieldNotNull("phi", phi);
 		validateFieldType("phi", phi, NX_FLOAT);
 		validateFieldUnits("phi", phi, NX_ANGLE);
@@ -129,7 +129,7 @@ public class NXxkappaValidator extends AbstractNexusValidator implements NexusAp
 		validateFieldDimensions("phi", phi, null, "np");
 
 		// validate field 'alpha' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset alpha = group.getDataset("alpha");
+		final ILazyDataset alpha = group.getLazyDataset("alpha");
 		validateFieldNotNull("alpha", alpha);
 		validateFieldType("alpha", alpha, NX_FLOAT);
 		validateFieldUnits("alpha", alpha, NX_ANGLE);
@@ -13,7 +13,7 @@ package org.eclipse.dawnsci.nexus.validation;
 import static org.eclipse.dawnsci.nexus.validation.NexusDataType.*;
 import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -52,7 +52,7 @@ public class NXxlaueValidator extends AbstractNexusValidator implements NexusApp
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXxlaue");
@@ -92,14 +92,14 @@ public class NXxlaueValidator extends AbstractNexusValidator implements NexusApp
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'data' of unknown type.
-		final IDataset data = group.getData();
+		final ILazyDataset data = group.getLazyDataset(NXdata.NX_DATA);
 		validateFieldNotNull("data", data);
 		validateFieldType("data", data, NX_NUMBER);
 		validateFieldRank("data", data, 1);
 		validateFieldDimensions("data", data, null, "ne");
 
 		// validate field 'wavelength' of unknown type. Note: field not defined in base class.
-		final IDataset wavelength = group.getDataset("wavelength");
+		final ILazyDataset wavelength = group.getLazyDataset("wavelength");
 		validateFieldNotNull("wavelength", wavelength);
 		validateFieldUnits("wavelength", wavelength, NX_WAVELENGTH);
 		validateFieldRank("wavelength", wavelength, 1);
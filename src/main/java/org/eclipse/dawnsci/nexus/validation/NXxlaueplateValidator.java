@@ -13,7 +13,7 @@ package org.eclipse.dawnsci.nexus.validation;
 import static org.eclipse.dawnsci.nexus.validation.NexusDataType.*;
 import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -51,7 +51,7 @@ public class NXxlaueplateValidator extends AbstractNexusValidator implements Nex
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXxlaueplate");
@@ -80,7 +80,7 @@ public class NXxlaueplateValidator extends AbstractNexusValidator implements Nex
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'diameter' of type NX_FLOAT.
-		final IDataset diameter = group.getDiameter();
+		final ILazyDataset diameter = group.getLazyDataset(NXdetector.NX_DIAMETER);
 		validateFieldNotNull("diameter", diameter);
 		validateFieldType("diameter", diameter, NX_FLOAT);
 		validateFieldUnits("diameter", diameter, NX_LENGTH);
@@ -13,7 +13,7 @@ package org.eclipse.dawnsci.nexus.validation;
 import static org.eclipse.dawnsci.nexus.validation.NexusDataType.*;
 import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -53,7 +53,7 @@ public class NXxnbValidator extends AbstractNexusValidator implements NexusAppli
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXxnb");
@@ -88,7 +88,7 @@ public class NXxnbValidator extends AbstractNexusValidator implements NexusAppli
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'polar_angle' of type NX_FLOAT.
-		final IDataset polar_angle = group.getPolar_angle();
+		final ILazyDataset polar_angle = group.getLazyDataset(NXdetector.NX_POLAR_ANGLE);
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -96,7 +96,7 @@ public class NXxnbValidator extends AbstractNexusValidator implements NexusAppli
 		validateFieldDimensions("polar_angle", polar_angle, null, "np");
 
 		// validate field 'tilt_angle' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset tilt_angle = group.getDataset("tilt_angle");
+		final ILazyDataset tilt_angle = group.getLazyDataset("tilt_angle");
 		validateFieldNotNull("tilt_angle", tilt_angle);
 		validateFieldType("tilt_angle", tilt_angle, NX_FLOAT);
 		validateFieldUnits("tilt_angle", tilt_angle, NX_ANGLE);
@@ -113,7 +113,7 @@ public class NXxnbValidator extends AbstractNexusValidator implements NexusAppli
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'rotation_angle' of type NX_FLOAT.
-		final IDataset rotation_angle = group.getRotation_angle();
+		final ILazyDataset rotation_angle = group.getLazyDataset(NXsample.NX_ROTATION_ANGLE);
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_FLOAT);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
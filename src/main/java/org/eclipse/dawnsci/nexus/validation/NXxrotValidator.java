@@ -13,7 +13,7 @@ package org.eclipse.dawnsci.nexus.validation;
 import static org.eclipse.dawnsci.nexus.validation.NexusDataType.*;
 import static org.eclipse.dawnsci.nexus.validation.NexusUnitCategory.*;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsubentry;
@@ -54,7 +54,7 @@ public class NXxrotValidator extends AbstractNexusValidator implements NexusAppl
 		validateGroupNotNull("entry", NXentry.class, group);
 
 		// validate field 'definition' of unknown type.
-		final IDataset definition = group.getDefinition();
+		final ILazyDataset definition = group.getLazyDataset(NXsubentry.NX_DEFINITION);
 		validateFieldNotNull("definition", definition);
 		validateFieldEnumeration("definition", definition,
 				"NXxrot");
@@ -92,7 +92,7 @@ public class NXxrotValidator extends AbstractNexusValidator implements NexusAppl
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'polar_angle' of type NX_FLOAT.
-		final IDataset polar_angle = group.getPolar_angle();
+		final ILazyDataset polar_angle = group.getLazyDataset(NXdetector.NX_POLAR_ANGLE);
 		validateFieldNotNull("polar_angle", polar_angle);
 		validateFieldType("polar_angle", polar_angle, NX_FLOAT);
 		validateFieldUnits("polar_angle", polar_angle, NX_ANGLE);
@@ -100,13 +100,13 @@ public class NXxrotValidator extends AbstractNexusValidator implements NexusAppl
 		validateFieldDimensions("polar_angle", polar_angle, "NXdetector", "np", "i", "j");
 
 		// validate field 'beam_center_x' of type NX_FLOAT.
-		final IDataset beam_center_x = group.getBeam_center_x();
+		final ILazyDataset beam_center_x = group.getLazyDataset(NXdetector.NX_BEAM_CENTER_X);
 		validateFieldNotNull("beam_center_x", beam_center_x);
 		validateFieldType("beam_center_x", beam_center_x, NX_FLOAT);
 		validateFieldUnits("beam_center_x", beam_center_x, NX_LENGTH);
 
 		// validate field 'beam_center_y' of type NX_FLOAT.
-		final IDataset beam_center_y = group.getBeam_center_y();
+		final ILazyDataset beam_center_y = group.getLazyDataset(NXdetector.NX_BEAM_CENTER_Y);
 		validateFieldNotNull("beam_center_y", beam_center_y);
 		validateFieldType("beam_center_y", beam_center_y, NX_FLOAT);
 		validateFieldUnits("beam_center_y", beam_center_y, NX_LENGTH);
@@ -120,7 +120,7 @@ public class NXxrotValidator extends AbstractNexusValidator implements NexusAppl
 		validateGroupNotNull("attenuator", NXattenuator.class, group);
 
 		// validate field 'attenuator_transmission' of type NX_FLOAT.
-		final IDataset attenuator_transmission = group.getAttenuator_transmission();
+		final ILazyDataset attenuator_transmission = group.getLazyDataset(NXattenuator.NX_ATTENUATOR_TRANSMISSION);
 		validateFieldNotNull("attenuator_transmission", attenuator_transmission);
 		validateFieldType("attenuator_transmission", attenuator_transmission, NX_FLOAT);
 		validateFieldUnits("attenuator_transmission", attenuator_transmission, NX_ANY);
@@ -135,7 +135,7 @@ public class NXxrotValidator extends AbstractNexusValidator implements NexusAppl
 		clearLocalGroupDimensionPlaceholderValues();
 
 		// validate field 'rotation_angle' of type NX_FLOAT.
-		final IDataset rotation_angle = group.getRotation_angle();
+		final ILazyDataset rotation_angle = group.getLazyDataset(NXsample.NX_ROTATION_ANGLE);
 		validateFieldNotNull("rotation_angle", rotation_angle);
 		validateFieldType("rotation_angle", rotation_angle, NX_FLOAT);
 		validateFieldUnits("rotation_angle", rotation_angle, NX_ANGLE);
@@ -143,7 +143,7 @@ public class NXxrotValidator extends AbstractNexusValidator implements NexusAppl
 		validateFieldDimensions("rotation_angle", rotation_angle, null, "np");
 
 		// validate field 'rotation_angle_step' of type NX_FLOAT. Note: field not defined in base class.
-		final IDataset rotation_angle_step = group.getDataset("rotation_angle_step");
+		final ILazyDataset rotation_angle_step = group.getLazyDataset("rotation_angle_step");
 		validateFieldNotNull("rotation_angle_step", rotation_angle_step);
 		validateFieldType("rotation_angle_step", rotation_angle_step, NX_FLOAT);
 		validateFieldUnits("rotation_angle_step", rotation_angle_step, NX_ANGLE);
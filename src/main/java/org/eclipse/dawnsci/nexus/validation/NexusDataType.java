@@ -16,7 +16,7 @@ import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.List;
 
-import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 
 /**
  * Enumeration of Data types allowed in NXDL specifications.
@@ -80,7 +80,7 @@ public enum NexusDataType {
 		this.javaClasses = Arrays.asList(javaClasses);
 	}
 	
-	public void validate(final String fieldName, final IDataset dataset) throws NexusValidationException {
+	public void validate(final String fieldName, final ILazyDataset dataset) throws NexusValidationException {
 		Class<?> elementClass = dataset.getElementClass();
 		for (Class<?> javaClass : javaClasses) {
 			if (javaClass.isAssignableFrom(elementClass)) {
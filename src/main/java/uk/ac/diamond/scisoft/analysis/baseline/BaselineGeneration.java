@@ -9,45 +9,254 @@
 
 package uk.ac.diamond.scisoft.analysis.baseline;
 
+import java.util.Arrays;
+
+import org.eclipse.dawnsci.analysis.dataset.ParallelBlocks;
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.DTypeUtils;
 import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
 import org.eclipse.january.dataset.IndexIterator;
+import org.eclipse.january.dataset.ShapeUtils;
+import org.eclipse.january.dataset.SliceND;
 
 import uk.ac.diamond.scisoft.analysis.fitting.Fitter;
 import uk.ac.diamond.scisoft.analysis.fitting.functions.Polynomial;
 
 public class BaselineGeneration {
 
+	/**
+	 * Number of elements in a block of rows read from a lazy dataset
+	 */
+	private static final int BLOCK_SIZE = 1 << 20;
+
+	/**
+	 * Number of elements in a stripe of rows baselined by one task
+	 */
+	private static final int STRIPE_SIZE = 1 << 16;
+
+	/**
+	 * Rolling ball baseline of 1D data. Each point is the mean over a window of the
+	 * maximum over a window of the minimum over a window, where the window of point i
+	 * covers [i - width, i + width). NaNs propagate through minima and maxima.
+	 * <p>
+	 * Minima and maxima are found with monotonic queues and means with running sums
+	 * so the cost is linear in the size of the data and independent of the width.
+	 * @param y
+	 * @param width of half-window, must be greater than zero
+	 * @return baseline of same class as y
+	 */
 	public static Dataset rollingBallBaseline(Dataset y, int width) {
+		checkWidth(width);
+		final int n = y.getSize();
+		DoubleDataset data = DatasetUtils.cast(DoubleDataset.class, y.flatten());
+		double[] out = new double[n];
+		new RollingBall(n, width).baseline(data.getData(), 0, out, 0);
+		return toDType(out, y.getShapeRef(), y.getDType());
+	}
 
-		Dataset t1 = DatasetFactory.zeros(y);
-		Dataset t2 = DatasetFactory.zeros(y);
+	/**
+	 * Rolling ball baseline of every row, along the last axis, of data. Rows are
+	 * baselined in parallel.
+	 * @param data
+	 * @param width of half-window, must be greater than zero
+	 * @param monitor may be null
+	 * @return baselines of same shape and class as data or null if cancelled
+	 * @throws DatasetException
+	 * @see #rollingBallBaseline(Dataset, int)
+	 */
+	public static Dataset rollingBallBaseline(ILazyDataset data, int width, IMonitor monitor) throws DatasetException {
+		checkWidth(width);
+		Dataset y = DatasetUtils.convertToDataset(data.getSlice(monitor));
+		if (y.getRank() <= 1) {
+			return rollingBallBaseline(y, width);
+		}
+		final int n = y.getShapeRef()[y.getRank() - 1];
+		final int rows = y.getSize() / Math.max(1, n);
+		final double[] in = DatasetUtils.cast(DoubleDataset.class, y).getData();
+		final double[] out = new double[in.length];
+		// stripes of rows share work arrays
+		final int stripe = Math.max(1, Math.min(rows, STRIPE_SIZE / Math.max(1, n)));
+		ParallelBlocks.run((rows + stripe - 1) / stripe, b -> {
+			RollingBall ball = new RollingBall(n, width);
+			int end = Math.min(rows, (b + 1) * stripe);
+			for (int r = b * stripe; r < end; r++) {
+				ball.baseline(in, r * n, out, r * n);
+			}
+		}, monitor);
+		if (monitor != null && monitor.isCancelled()) {
+			return null;
+		}
+		return toDType(out, y.getShapeRef(), y.getDType());
+	}
 
-		for (int i = 0 ; i < y.getSize(); i++) {
-			int start = (i-width) < 0 ? 0 : (i - width);
-			int end = (i+width) > (y.getSize()) ? (y.getSize()) : (i+width);
-			double val = y.getSlice(new int[]{start}, new int[]{end}, null).min().doubleValue();
-			t1.set(val, i);
+	/**
+	 * Rolling ball baseline of every row, along the last axis, of input written to
+	 * output. Blocks of rows are read, baselined and written in parallel so neither
+	 * dataset is held in memory.
+	 * @param input
+	 * @param output writeable of same shape
+	 * @param width of half-window, must be greater than zero
+	 * @param monitor may be null
+	 * @throws DatasetException
+	 * @see #rollingBallBaseline(Dataset, int)
+	 */
+	public static void rollingBallBaseline(ILazyDataset input, ILazyWriteableDataset output, int width, IMonitor monitor) throws DatasetException {
+		checkWidth(width);
+		final int[] shape = input.getShape();
+		if (!Arrays.equals(shape, output.getShape())) {
+			throw new IllegalArgumentException("Output must be the same shape as input");
+		}
+		final int rank = shape.length;
+		if (rank == 0 || ShapeUtils.calcLongSize(shape) == 0) {
+			return;
 		}
 
-		for (int i = 0 ; i < y.getSize(); i++) {
-			int start = (i-width) < 0 ? 0 : (i - width);
-			int end = (i+width) > (y.getSize()) ? (y.getSize()) : (i+width);
-			double val = t1.getSlice(new int[]{start}, new int[]{end}, null).max().doubleValue();
-			t2.set(val, i);
+		// blocks span the first axis
+		final long rowSize = ShapeUtils.calcLongSize(shape) / shape[0];
+		final int blockSize = (int) Math.max(1, Math.min(shape[0], BLOCK_SIZE / Math.max(1, rowSize)));
+		final int nblocks = (shape[0] + blockSize - 1) / blockSize;
+		final int n = shape[rank - 1];
+		final int dtype = DTypeUtils.getDType(output);
+
+		ParallelBlocks.run(nblocks, b -> {
+			int[] start = new int[rank];
+			int[] stop = shape.clone();
+			start[0] = b * blockSize;
+			stop[0] = Math.min(start[0] + blockSize, shape[0]);
+			SliceND slice = new SliceND(shape, start, stop, null);
+
+			DoubleDataset in = DatasetUtils.cast(DoubleDataset.class, input.getSlice(slice));
+			double[] buffer = in.getData();
+			double[] out = new double[buffer.length];
+			RollingBall ball = new RollingBall(n, width);
+			for (int off = 0; off < buffer.length; off += n) {
+				ball.baseline(buffer, off, out, off);
+			}
+			Dataset result = toDType(out, in.getShapeRef(), dtype);
+			output.setSliceSync(monitor, result, new SliceND(output.getShape(), start, stop, null));
+		}, monitor);
+	}
+
+	/**
+	 * @return dataset of given type where integer values are truncated as when set
+	 */
+	private static Dataset toDType(double[] values, int[] shape, int dtype) {
+		if (!DTypeUtils.isDTypeFloating(dtype) && !DTypeUtils.isDTypeComplex(dtype)) {
+			for (int i = 0; i < values.length; i++) {
+				values[i] = (long) values[i];
+			}
 		}
+		return DatasetUtils.cast(DTypeUtils.getInterface(dtype), DatasetFactory.createFromObject(values, shape));
+	}
 
-		for (int i = 0 ; i < y.getSize(); i++) {
-			int start = (i-width) < 0 ? 0 : (i - width);
-			int end = (i+width) > (y.getSize()) ? (y.getSize()) : (i+width);
-			double val = (Double)t2.getSlice(new int[]{start}, new int[]{end}, null).mean();
-			t1.set(val, i);
+	private static void checkWidth(int width) {
+		if (width < 1) {
+			throw new IllegalArgumentException("Width must be greater than zero");
 		}
+	}
 
-		return t1;
+	/**
+	 * Rolling ball baseline of rows of a given length, reusing its work arrays
+	 */
+	private static class RollingBall {
+		private final int n;
+		private final int width;
+		private final double[] t1;
+		private final double[] t2;
+		private final int[] queue;
+
+		RollingBall(int n, int width) {
+			this.n = n;
+			this.width = width;
+			t1 = new double[n];
+			t2 = new double[n];
+			queue = new int[n];
+		}
+
+		void baseline(double[] in, int inOff, double[] out, int outOff) {
+			extrema(in, inOff, t1, false);
+			extrema(t1, 0, t2, true);
+			means(t2, out, outOff);
+		}
+
+		/**
+		 * Sliding minima or maxima using a queue of indexes whose values are monotonic
+		 */
+		private void extrema(double[] in, int off, double[] out, boolean max) {
+			int head = 0, tail = 0, next = 0;
+			for (int i = 0; i < n; i++) {
+				int hi = Math.min(n, i + width);
+				for (; next < hi; next++) {
+					double v = in[off + next];
+					while (tail > head && dominates(v, in[off + queue[tail - 1]], max)) {
+						tail--;
+					}
+					queue[tail++] = next;
+				}
+				int lo = i - width;
+				while (queue[head] < lo) {
+					head++;
+				}
+				out[i] = in[off + queue[head]];
+			}
+		}
+
+		private static boolean dominates(double v, double w, boolean max) {
+			return Double.isNaN(v) || (max ? v >= w : v <= w);
+		}
+
+		/**
+		 * Sliding means using a compensated running sum of finite values, summing
+		 * directly any window which holds non-finite values
+		 */
+		private void means(double[] in, double[] out, int off) {
+			double sum = 0, c = 0;
+			int nonFinite = 0;
+			int lo = 0, hi = 0;
+			for (int i = 0; i < n; i++) {
+				int nhi = Math.min(n, i + width);
+				int nlo = Math.max(0, i - width);
+				for (; hi < nhi; hi++) {
+					double v = in[hi];
+					if (Double.isFinite(v)) {
+						double y = v - c;
+						double t = sum + y;
+						c = (t - sum) - y;
+						sum = t;
+					} else {
+						nonFinite++;
+					}
+				}
+				for (; lo < nlo; lo++) {
+					double v = in[lo];
+					if (Double.isFinite(v)) {
+						double y = -v - c;
+						double t = sum + y;
+						c = (t - sum) - y;
+						sum = t;
+					} else {
+						nonFinite--;
+					}
+				}
+				if (nonFinite == 0) {
+					out[off + i] = sum / (hi - lo);
+				} else {
+					double s = 0;
+					for (int j = lo; j < hi; j++) {
+						s += in[j];
+					}
+					out[off + i] = s / (hi - lo);
+				}
+			}
+		}
 	}
-	
+
 	public static Dataset iterativePolynomialBaseline(Dataset input, Dataset axis, int polyOrder, int nIterations) {
 		if (nIterations < 1) throw new IllegalArgumentException("nIterations must be 1 or greater");
 		
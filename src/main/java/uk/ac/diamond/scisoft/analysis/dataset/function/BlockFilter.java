@@ -0,0 +1,129 @@
+/*-
+ * Copyright 2016 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package uk.ac.diamond.scisoft.analysis.dataset.function;
+
+import org.eclipse.dawnsci.analysis.dataset.ParallelBlocks;
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.DTypeUtils;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.SliceND;
+
+/**
+ * Filter of 1D data where each output depends on a window of inputs around it.
+ * The data is split into blocks which are filtered in parallel, each reading
+ * only its own samples and those of its neighbours which overlap the window.
+ */
+abstract class BlockFilter {
+
+	/**
+	 * Default number of samples in a block
+	 */
+	static final int BLOCK_SIZE = 1 << 16;
+
+	/**
+	 * @param start of block
+	 * @param size of data
+	 * @return start of samples needed to filter block
+	 */
+	protected abstract int getInputStart(int start, int size);
+
+	/**
+	 * @param stop of block (exclusive)
+	 * @param size of data
+	 * @return stop of samples needed to filter block (exclusive)
+	 */
+	protected abstract int getInputStop(int stop, int size);
+
+	/**
+	 * Filter block
+	 * @param in samples from offset
+	 * @param offset of first sample in data
+	 * @param size of data
+	 * @param out filtered samples of block from start
+	 * @param start of block
+	 * @param stop of block (exclusive)
+	 */
+	protected abstract void filter(double[] in, int offset, int size, double[] out, int start, int stop);
+
+	/**
+	 * Filter all data in memory
+	 * @param in
+	 * @return filtered data
+	 */
+	double[] filter(double[] in) {
+		final int size = in.length;
+		final double[] out = new double[size];
+		try {
+			run(size, BLOCK_SIZE, (start, stop) -> {
+				if (start == 0 && stop == size) {
+					filter(in, 0, size, out, 0, size);
+					return;
+				}
+				double[] block = new double[stop - start];
+				filter(in, 0, size, block, start, stop);
+				System.arraycopy(block, 0, out, start, block.length);
+			}, null);
+		} catch (DatasetException e) {
+			throw new IllegalStateException(e); // cannot happen in memory
+		}
+		return out;
+	}
+
+	/**
+	 * Filter 1D data block by block into output. Neither is held in memory.
+	 * @param input
+	 * @param output writeable of same shape
+	 * @param blockSize number of samples in a block
+	 * @param monitor may be null
+	 * @throws DatasetException
+	 */
+	void filter(ILazyDataset input, ILazyWriteableDataset output, int blockSize, IMonitor monitor) throws DatasetException {
+		if (input.getRank() != 1) {
+			throw new IllegalArgumentException("Only 1D input datasets are supported");
+		}
+		final int[] shape = input.getShape();
+		if (output.getRank() != 1 || output.getSize() < shape[0]) {
+			throw new IllegalArgumentException("Output must be 1D and the same size as input");
+		}
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("Block size must be greater than zero");
+		}
+		final int size = shape[0];
+		final int dtype = DTypeUtils.getDType(output);
+		run(size, blockSize, (start, stop) -> {
+			int lo = getInputStart(start, size);
+			int hi = getInputStop(stop, size);
+			DoubleDataset in = DatasetUtils.cast(DoubleDataset.class, input.getSlice(new int[] {lo}, new int[] {hi}, null));
+			DoubleDataset block = DatasetFactory.zeros(DoubleDataset.class, stop - start);
+			filter(in.getData(), lo, size, block.getData(), start, stop);
+			Dataset cast = DatasetUtils.cast(DTypeUtils.getInterface(dtype), block);
+			output.setSliceSync(monitor, cast, new SliceND(output.getShape(), new int[] {start}, new int[] {stop}, null));
+		}, monitor);
+	}
+
+	@FunctionalInterface
+	private interface Block {
+		void run(int start, int stop) throws Exception;
+	}
+
+	private static void run(int size, int blockSize, Block block, IMonitor monitor) throws DatasetException {
+		int nblocks = (int) (((long) size + blockSize - 1) / blockSize);
+		ParallelBlocks.run(nblocks, b -> {
+			int start = (int) ((long) b * blockSize);
+			block.run(start, (int) Math.min((long) start + blockSize, size));
+		}, monitor);
+	}
+}
@@ -15,7 +15,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveTask;
 
 import javax.vecmath.Point2i;
@@ -922,11 +921,3 @@ public class MapToPolarAndIntegrate implements DatasetToDatasetFunction {
 		
 	}
 }
-
-final class ProfileForkJoinPool {
-	
-    private ProfileForkJoinPool() {
-	}
-
-	static final ForkJoinPool profileForkJoinPool = new ForkJoinPool();
-}
@@ -0,0 +1,791 @@
+/*
+ * Copyright (c) 2012 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package uk.ac.diamond.scisoft.analysis.dataset.function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.math3.util.MathUtils;
+import org.eclipse.dawnsci.analysis.api.diffraction.DetectorProperties;
+import org.eclipse.dawnsci.analysis.dataset.impl.function.DatasetToDatasetFunction;
+import org.eclipse.dawnsci.analysis.dataset.roi.SectorROI;
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.ShapeUtils;
+import org.eclipse.january.dataset.SliceND;
+
+/**
+ * Map and integrate 2D datasets from Cartesian to Polar coordinates using a precomputed
+ * sparse (CSR) matrix.
+ * <p>
+ * For a fixed detector geometry, sector and mask the mapping from pixels to polar bins does
+ * not change between images, so it is calculated once, by splitting every pixel into
+ * <code>split x split</code> sub-pixels, and then each image is integrated with a single
+ * parallel sparse matrix-vector product. The binning matches {@link MapToPolarAndIntegrate}:
+ * radial bins are <code>1/dpp</code> pixels wide and the number of azimuthal bins is such that
+ * a bin is about one pixel wide at the outer radius.
+ * <p>
+ * Cartesian coordinate system is x from left to right and y from top to bottom on the display
+ * so corresponding polar coordinate is radius from centre and azimuthal angle clockwise from positive x axis
+ */
+public class MapToPolarAndSparseIntegrate implements DatasetToDatasetFunction {
+
+	/**
+	 * Profiles which can be calculated by the integrator
+	 */
+	public enum Profile {
+		/**
+		 * integral over azimuth as a function of radius, shape [nr]
+		 */
+		RADIAL,
+		/**
+		 * integral over radius as a function of azimuthal angle, shape [np]
+		 */
+		AZIMUTHAL,
+		/**
+		 * 2D cake, shape [nr, np]
+		 */
+		CAKE;
+	}
+
+	/**
+	 * Default number of sub-pixels along each pixel edge
+	 */
+	public static final int DEFAULT_SPLIT = 4;
+
+	private static final int ROWS_PER_TASK = 64;
+
+	private final int[] shape;
+	private final double cx, cy;
+	private final double srad, sphi, erad, ephi;
+	private final double dpp;
+	private final int split;
+	private final boolean[] valid;
+
+	private final int nr, np;
+	private final double dphi;
+
+	private final SparseMatrix[] matrices = new SparseMatrix[Profile.values().length];
+
+	private boolean doErrors = false;    // Default: do not calculate error estimates
+	private boolean averageArea = false; // Default: return integrals rather than averages
+	private int blockSize = 16;          // Default: number of frames read at once from a stack
+
+	/**
+	 * Set up sparse mapping of a sector of 2D datasets
+	 *
+	 * @param shape
+	 *            image shape as [height, width]
+	 * @param sroi
+	 *            sector (only the primary region is used, symmetry is ignored)
+	 * @param mask
+	 *            detector mask where true or non-zero marks good pixels (can be null)
+	 */
+	public MapToPolarAndSparseIntegrate(int[] shape, SectorROI sroi, Dataset mask) {
+		this(shape, sroi, mask, DEFAULT_SPLIT);
+	}
+
+	/**
+	 * Set up sparse mapping of a sector of 2D datasets
+	 *
+	 * @param shape
+	 *            image shape as [height, width]
+	 * @param sroi
+	 *            sector (only the primary region is used, symmetry is ignored)
+	 * @param mask
+	 *            detector mask where true or non-zero marks good pixels (can be null)
+	 * @param split
+	 *            number of sub-pixels along each pixel edge
+	 */
+	public MapToPolarAndSparseIntegrate(int[] shape, SectorROI sroi, Dataset mask, int split) {
+		this(shape, sroi.getPointRef()[0], sroi.getPointRef()[1], sroi, mask, split);
+	}
+
+	/**
+	 * Set up sparse mapping of a sector of detector images. The beam centre and image
+	 * shape are taken from the detector, the radii and angles from the sector
+	 *
+	 * @param detector
+	 * @param sroi
+	 *            sector (only the primary region is used, symmetry is ignored)
+	 * @param mask
+	 *            detector mask where true or non-zero marks good pixels (can be null)
+	 */
+	public MapToPolarAndSparseIntegrate(DetectorProperties detector, SectorROI sroi, Dataset mask) {
+		this(new int[] {detector.getPy(), detector.getPx()}, detector.getBeamCentreCoords()[0],
+				detector.getBeamCentreCoords()[1], sroi, mask, DEFAULT_SPLIT);
+	}
+
+	private MapToPolarAndSparseIntegrate(int[] shape, double x, double y, SectorROI sroi, Dataset mask, int split) {
+		this(shape, x, y, sroi.getRadius(0), sroi.getAngle(0), sroi.getRadius(1),
+				sroi.getSymmetry() == SectorROI.FULL ? sroi.getAngle(0) + 2 * Math.PI : sroi.getAngle(1),
+				sroi.getDpp(), false, mask, split);
+		averageArea = sroi.isAverageArea();
+	}
+
+	/**
+	 * Set up sparse mapping of annular sector of 2D datasets
+	 *
+	 * @param shape
+	 *            image shape as [height, width]
+	 * @param x
+	 *            centre x
+	 * @param y
+	 *            centre y
+	 * @param sr
+	 *            start radius
+	 * @param sp
+	 *            start phi
+	 * @param er
+	 *            end radius
+	 * @param ep
+	 *            end phi
+	 * @param dpp
+	 *            number of radial bins per pixel
+	 * @param isDegrees
+	 *            if true, angles are in degrees
+	 * @param mask
+	 *            detector mask where true or non-zero marks good pixels (can be null)
+	 * @param split
+	 *            number of sub-pixels along each pixel edge
+	 */
+	public MapToPolarAndSparseIntegrate(int[] shape, double x, double y, double sr, double sp, double er, double ep,
+			double dpp, boolean isDegrees, Dataset mask, int split) {
+		if (shape == null || shape.length != 2) {
+			throw new IllegalArgumentException("Image shape must be two dimensional");
+		}
+		if (split < 1) {
+			throw new IllegalArgumentException("Split must be positive");
+		}
+		if (Double.isNaN(x) || Double.isNaN(y)) {
+			throw new IllegalArgumentException("Centre is not defined");
+		}
+		this.shape = shape.clone();
+		cx = x;
+		cy = y;
+		srad = Math.min(sr, er);
+		erad = Math.max(sr, er);
+		this.dpp = dpp;
+		this.split = split;
+
+		if (isDegrees) {
+			sp = Math.toRadians(sp);
+			ep = Math.toRadians(ep);
+		}
+		sphi = Math.min(sp, ep);
+		ephi = Math.max(sp, ep);
+
+		final double dr = 1.0 / dpp;
+		nr = Math.max(1, (int) Math.ceil((erad - srad) / dr));
+		np = Math.max(1, (int) Math.ceil((ephi - sphi) * erad / dr));
+		dphi = (ephi - sphi) / np;
+
+		if (mask != null) {
+			if (!Arrays.equals(mask.getShapeRef(), shape)) {
+				throw new IllegalArgumentException("Mask shape does not match image shape");
+			}
+			valid = new boolean[mask.getSize()];
+			int i = 0;
+			for (int r = 0; r < shape[0]; r++) {
+				for (int c = 0; c < shape[1]; c++) {
+					valid[i++] = mask.getBoolean(r, c);
+				}
+			}
+		} else {
+			valid = null;
+		}
+	}
+
+	/**
+	 * Set flag controlling error estimate calculation. Errors are only propagated
+	 * for inputs that have an error buffer
+	 *
+	 * @param doErrors
+	 * 			if true calculate error estimates
+	 */
+	public void setDoErrors(boolean doErrors) {
+		this.doErrors = doErrors;
+	}
+
+	/**
+	 * Set flag controlling normalisation of each bin by its area in pixels
+	 *
+	 * @param averageArea
+	 * 			if true divide integrals by area
+	 */
+	public void setAverageArea(boolean averageArea) {
+		this.averageArea = averageArea;
+	}
+
+	/**
+	 * Set the number of frames read at a time when integrating a stack
+	 *
+	 * @param blockSize
+	 */
+	public void setBlockSize(int blockSize) {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("Block size must be positive");
+		}
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * @return number of radial bins
+	 */
+	public int getRadialBins() {
+		return nr;
+	}
+
+	/**
+	 * @return number of azimuthal bins
+	 */
+	public int getAzimuthalBins() {
+		return np;
+	}
+
+	/**
+	 * @param profile
+	 * @return number of non-zero entries in the matrix for given profile (building it if necessary)
+	 */
+	public int getNonZeros(Profile profile) {
+		return getMatrix(profile).weights.length;
+	}
+
+	/**
+	 * Calculate area values of the bins in pixels, taking the mask into account
+	 *
+	 * @param profile
+	 * @return area dataset
+	 */
+	public Dataset getArea(Profile profile) {
+		SparseMatrix m = getMatrix(profile);
+		return DatasetFactory.createFromObject(m.area.clone(), getProfileShape(profile));
+	}
+
+	/**
+	 * Integrate 2D datasets to give both profiles in the same order as {@link MapToPolarAndIntegrate}
+	 *
+	 * @param datasets
+	 *            input 2D dataset
+	 * @return 2 1D datasets per input for integral over radius and integral over azimuth
+	 */
+	@Override
+	public List<Dataset> value(IDataset... datasets) {
+		if (datasets.length == 0) {
+			return null;
+		}
+		List<Dataset> result = new ArrayList<Dataset>();
+		for (IDataset ids : datasets) {
+			result.add(integrate(ids, Profile.AZIMUTHAL));
+			result.add(integrate(ids, Profile.RADIAL));
+		}
+		return result;
+	}
+
+	/**
+	 * Integrate a single image
+	 *
+	 * @param image
+	 *            input 2D dataset
+	 * @param profile
+	 * @return profile dataset with an error buffer if errors were requested and available
+	 */
+	public Dataset integrate(IDataset image, Profile profile) {
+		if (image.getRank() != 2) {
+			throw new IllegalArgumentException("operating on 2d arrays only");
+		}
+		checkImageShape(image.getShape());
+		Dataset ds = DatasetUtils.convertToDataset(image);
+		SparseMatrix m = getMatrix(profile);
+
+		double[] x = toContiguousDoubles(ds);
+		double[] y = new double[m.rows];
+		multiply(m, x, 1, y, 0, false);
+
+		double[] e = null;
+		if (doErrors && ds.hasErrors()) {
+			double[] v = toContiguousDoubles(DatasetUtils.convertToDataset(ds.getErrorBuffer()));
+			e = new double[m.rows];
+			multiply(m, v, 1, e, 0, true);
+		}
+		return createProfile(m, y, e, getProfileShape(profile));
+	}
+
+	/**
+	 * Integrate every image of a stack, where the last two dimensions are the image dimensions.
+	 * Frames are read in blocks, the next block being read whilst the current one is integrated
+	 * with frames processed in parallel
+	 *
+	 * @param stack
+	 *            lazy dataset of rank 2 or more
+	 * @param profile
+	 * @param monitor
+	 *            can be null
+	 * @return dataset of shape of the stack's leading dimensions followed by the profile shape,
+	 *            or null if cancelled
+	 * @throws DatasetException
+	 *            if the stack could not be read
+	 */
+	public Dataset integrate(ILazyDataset stack, Profile profile, IMonitor monitor) throws DatasetException {
+		final int[] sshape = stack.getShape();
+		final int rank = sshape.length;
+		if (rank < 2) {
+			throw new IllegalArgumentException("Stack must have at least two dimensions");
+		}
+		checkImageShape(Arrays.copyOfRange(sshape, rank - 2, rank));
+		if (rank == 2) {
+			return integrate(stack.getSlice(), profile);
+		}
+
+		final SparseMatrix m = getMatrix(profile);
+		final int[] pshape = getProfileShape(profile);
+		final int[] lshape = Arrays.copyOf(sshape, rank - 2);
+		final int[] oshape = Arrays.copyOf(lshape, lshape.length + pshape.length);
+		System.arraycopy(pshape, 0, oshape, lshape.length, pshape.length);
+
+		// iterate over outer positions and read blocks along the fastest leading dimension
+		final int fastest = rank - 3;
+		final int length = sshape[fastest];
+		final int[] outer = Arrays.copyOf(lshape, fastest);
+		final int nOuter = ShapeUtils.calcSize(outer);
+		final int nBlocks = (length + blockSize - 1) / blockSize;
+
+		final double[] y = new double[ShapeUtils.calcSize(lshape) * m.rows];
+		double[] e = null;
+
+		ExecutorService reader = Executors.newSingleThreadExecutor();
+		try {
+			Future<Dataset> next = reader.submit(() -> readBlock(stack, outer, 0, 0));
+			for (int o = 0; o < nOuter; o++) {
+				for (int b = 0; b < nBlocks; b++) {
+					Dataset block = get(next);
+					final int start = b * blockSize;
+					// queue up next read before integrating this block
+					if (b + 1 < nBlocks) {
+						final int no = o, nb = (b + 1) * blockSize;
+						next = reader.submit(() -> readBlock(stack, outer, no, nb));
+					} else if (o + 1 < nOuter) {
+						final int no = o + 1;
+						next = reader.submit(() -> readBlock(stack, outer, no, 0));
+					}
+
+					final int frames = block.getShapeRef()[0];
+					final int yoffset = (o * length + start) * m.rows;
+					double[] x = toContiguousDoubles(block);
+					multiply(m, x, frames, y, yoffset, false);
+					if (doErrors && block.hasErrors()) {
+						if (e == null) {
+							e = new double[y.length];
+						}
+						double[] v = toContiguousDoubles(DatasetUtils.convertToDataset(block.getErrorBuffer()));
+						multiply(m, v, frames, e, yoffset, true);
+					}
+
+					if (monitor != null) {
+						monitor.worked(frames);
+						if (monitor.isCancelled()) {
+							return null;
+						}
+					}
+				}
+			}
+		} finally {
+			reader.shutdownNow();
+		}
+
+		return createProfile(m, y, e, oshape);
+	}
+
+	/**
+	 * Multiply contiguous frames by matrix, processing frames in parallel
+	 */
+	private static void multiply(SparseMatrix m, double[] x, int frames, double[] y, int yoffset, boolean squared) {
+		if (frames == 1) {
+			ProfileForkJoinPool.profileForkJoinPool.invoke(new MultiplyTask(m, x, 0, y, yoffset, 0, m.rows, squared));
+			return;
+		}
+		List<ForkJoinTask<Void>> tasks = new ArrayList<>(frames);
+		for (int f = 0; f < frames; f++) {
+			tasks.add(ProfileForkJoinPool.profileForkJoinPool.submit(
+					new MultiplyTask(m, x, f * m.columnCount, y, yoffset + f * m.rows, 0, m.rows, squared)));
+		}
+		for (ForkJoinTask<Void> t : tasks) {
+			t.join();
+		}
+	}
+
+	private Dataset readBlock(ILazyDataset stack, int[] outer, int o, int start) throws DatasetException {
+		final int[] sshape = stack.getShape();
+		final int fastest = sshape.length - 3;
+		SliceND slice = new SliceND(sshape);
+		if (outer.length > 0) {
+			int[] pos = ShapeUtils.getNDPositionFromShape(o, outer);
+			for (int i = 0; i < pos.length; i++) {
+				slice.setSlice(i, pos[i], pos[i] + 1, 1);
+			}
+		}
+		slice.setSlice(fastest, start, Math.min(start + blockSize, sshape[fastest]), 1);
+		Dataset block = DatasetUtils.convertToDataset(stack.getSlice(slice));
+		block.setShape(block.getSize() / (shape[0] * shape[1]), shape[0], shape[1]);
+		return block;
+	}
+
+	private static Dataset get(Future<Dataset> future) throws DatasetException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DatasetException("Interrupted whilst reading stack", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof DatasetException) {
+				throw (DatasetException) cause;
+			}
+			throw new DatasetException("Could not read stack", cause);
+		}
+	}
+
+	private void checkImageShape(int[] ishape) {
+		if (!Arrays.equals(ishape, shape)) {
+			throw new IllegalArgumentException("Image shape " + Arrays.toString(ishape) + " does not match integrator shape "
+					+ Arrays.toString(shape));
+		}
+	}
+
+	private int[] getProfileShape(Profile profile) {
+		switch (profile) {
+		case RADIAL:
+			return new int[] {nr};
+		case AZIMUTHAL:
+			return new int[] {np};
+		case CAKE:
+		default:
+			return new int[] {nr, np};
+		}
+	}
+
+	private Dataset createProfile(SparseMatrix m, double[] y, double[] e, int[] oshape) {
+		if (averageArea) {
+			divideByArea(m.area, y, 1);
+			if (e != null) {
+				divideByArea(m.area, e, 2);
+			}
+		}
+		Dataset result = DatasetFactory.createFromObject(y, oshape);
+		if (e != null) {
+			result.setErrorBuffer(DatasetFactory.createFromObject(e, oshape));
+		}
+		return result;
+	}
+
+	private static void divideByArea(double[] area, double[] y, int power) {
+		for (int i = 0; i < y.length; i++) {
+			double a = area[i % area.length];
+			y[i] = a == 0 ? 0 : (power == 1 ? y[i] / a : y[i] / (a * a));
+		}
+	}
+
+	/**
+	 * @param ds
+	 * @return contiguous primitive copy of data (or its own buffer if already a contiguous double dataset)
+	 */
+	private static double[] toContiguousDoubles(Dataset ds) {
+		if (ds instanceof DoubleDataset && ds.getStrides() == null && ds.getOffset() == 0) {
+			return ((DoubleDataset) ds).getData();
+		}
+		if (ds.getStrides() != null || ds.getOffset() != 0) {
+			ds = ds.getSlice();
+		}
+		return ds.cast(DoubleDataset.class).getData();
+	}
+
+	private synchronized SparseMatrix getMatrix(Profile profile) {
+		SparseMatrix m = matrices[profile.ordinal()];
+		if (m == null) {
+			m = buildMatrix(profile);
+			matrices[profile.ordinal()] = m;
+		}
+		return m;
+	}
+
+	/**
+	 * Build matrix by splitting pixels and assigning each sub-pixel to a bin. Each image row
+	 * is processed independently and the results are combined into compressed rows
+	 */
+	private SparseMatrix buildMatrix(Profile profile) {
+		final int rows = profile == Profile.RADIAL ? nr : (profile == Profile.AZIMUTHAL ? np : nr * np);
+		final int height = shape[0];
+		final int tasks = (height + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+		final Triplets[] parts = new Triplets[tasks];
+		ProfileForkJoinPool.profileForkJoinPool.invoke(new BuildTask(profile, parts, 0, tasks));
+
+		// count entries in each bin then scatter in pixel order
+		final int[] rowPtr = new int[rows + 1];
+		int nnz = 0;
+		for (Triplets t : parts) {
+			for (int i = 0; i < t.size; i++) {
+				rowPtr[t.bins[i] + 1]++;
+			}
+			nnz += t.size;
+		}
+		for (int r = 0; r < rows; r++) {
+			rowPtr[r + 1] += rowPtr[r];
+		}
+		final int[] columns = new int[nnz];
+		final float[] weights = new float[nnz];
+		final double[] area = new double[rows];
+		final int[] fill = Arrays.copyOf(rowPtr, rows);
+		for (Triplets t : parts) {
+			for (int i = 0; i < t.size; i++) {
+				int b = t.bins[i];
+				int j = fill[b]++;
+				columns[j] = t.pixels[i];
+				weights[j] = t.weights[i];
+				area[b] += t.weights[i];
+			}
+		}
+		return new SparseMatrix(rows, shape[0] * shape[1], rowPtr, columns, weights, area);
+	}
+
+	/**
+	 * Split pixels of image rows into sub-pixels and record the bins they fall into
+	 */
+	private Triplets splitRows(Profile profile, int rstart, int rstop) {
+		final int width = shape[1];
+		final int ns = split * split;
+		final double ds = 1.0 / split;
+		final float w = 1.0f / ns;
+		final int[] pbins = new int[ns];
+		final float[] pweights = new float[ns];
+		final double r2min = srad * srad;
+		final double r2max = erad * erad;
+
+		Triplets t = new Triplets((rstop - rstart) * width);
+		for (int j = rstart; j < rstop; j++) {
+			final double dy = Math.max(Math.abs(j - cy) - 0.5, 0);
+			for (int i = 0; i < width; i++) {
+				final int pixel = j * width + i;
+				if (valid != null && !valid[pixel]) {
+					continue;
+				}
+				// skip pixels entirely outside annulus
+				final double dx = Math.max(Math.abs(i - cx) - 0.5, 0);
+				if (dx * dx + dy * dy >= r2max) {
+					continue;
+				}
+
+				int n = 0;
+				for (int b = 0; b < split; b++) {
+					final double y = j - 0.5 + (b + 0.5) * ds - cy;
+					for (int a = 0; a < split; a++) {
+						final double x = i - 0.5 + (a + 0.5) * ds - cx;
+						final double r2 = x * x + y * y;
+						if (r2 < r2min || r2 >= r2max) {
+							continue;
+						}
+						final double phi = MathUtils.normalizeAngle(Math.atan2(y, x), sphi + Math.PI);
+						if (phi > ephi) {
+							continue;
+						}
+						final int bin = getBin(profile, Math.sqrt(r2), phi);
+						// merge with previous sub-pixels of same pixel
+						int k = 0;
+						while (k < n && pbins[k] != bin) {
+							k++;
+						}
+						if (k == n) {
+							pbins[n] = bin;
+							pweights[n++] = w;
+						} else {
+							pweights[k] += w;
+						}
+					}
+				}
+				for (int k = 0; k < n; k++) {
+					t.add(pbins[k], pixel, pweights[k]);
+				}
+			}
+		}
+		return t;
+	}
+
+	private int getBin(Profile profile, double r, double phi) {
+		final int rb = Math.min(nr - 1, (int) ((r - srad) * dpp));
+		final int pb = Math.min(np - 1, (int) ((phi - sphi) / dphi));
+		switch (profile) {
+		case RADIAL:
+			return rb;
+		case AZIMUTHAL:
+			return pb;
+		case CAKE:
+		default:
+			return rb * np + pb;
+		}
+	}
+
+	/**
+	 * Compressed sparse row matrix with precomputed row sums
+	 */
+	private static final class SparseMatrix {
+		private final int rows;
+		private final int columnCount;
+		private final int[] rowPtr;
+		private final int[] columns;
+		private final float[] weights;
+		private final double[] area;
+
+		SparseMatrix(int rows, int columnCount, int[] rowPtr, int[] columns, float[] weights, double[] area) {
+			this.rows = rows;
+			this.columnCount = columnCount;
+			this.rowPtr = rowPtr;
+			this.columns = columns;
+			this.weights = weights;
+			this.area = area;
+		}
+	}
+
+	/**
+	 * Growable store of (bin, pixel, weight) entries
+	 */
+	private static final class Triplets {
+		private int[] bins;
+		private int[] pixels;
+		private float[] weights;
+		private int size;
+
+		Triplets(int capacity) {
+			capacity = Math.max(capacity, 16);
+			bins = new int[capacity];
+			pixels = new int[capacity];
+			weights = new float[capacity];
+		}
+
+		void add(int bin, int pixel, float weight) {
+			if (size == bins.length) {
+				int capacity = size + (size >> 1);
+				bins = Arrays.copyOf(bins, capacity);
+				pixels = Arrays.copyOf(pixels, capacity);
+				weights = Arrays.copyOf(weights, capacity);
+			}
+			bins[size] = bin;
+			pixels[size] = pixel;
+			weights[size++] = weight;
+		}
+	}
+
+	/**
+	 * This class defines a recursive task for splitting bands of image rows
+	 */
+	private class BuildTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Profile profile;
+		private final Triplets[] parts;
+		private final int start, stop;
+
+		BuildTask(Profile profile, Triplets[] parts, int start, int stop) {
+			this.profile = profile;
+			this.parts = parts;
+			this.start = start;
+			this.stop = stop;
+		}
+
+		@Override
+		protected void compute() {
+			if (stop - start > 1) {
+				int mid = (start + stop) / 2;
+				invokeAll(new BuildTask(profile, parts, start, mid), new BuildTask(profile, parts, mid, stop));
+			} else {
+				parts[start] = splitRows(profile, start * ROWS_PER_TASK, Math.min(shape[0], (start + 1) * ROWS_PER_TASK));
+			}
+		}
+	}
+
+	/**
+	 * This class defines a recursive task for the sparse matrix-vector product. Work is split
+	 * by bins so each task writes a distinct part of the output
+	 */
+	private static class MultiplyTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private static final int MIN_NONZEROS = 1 << 16;
+
+		private final SparseMatrix m;
+		private final double[] x;
+		private final int xoffset;
+		private final double[] y;
+		private final int yoffset;
+		private final int rstart, rstop;
+		private final boolean squared;
+
+		/**
+		 * @param m matrix
+		 * @param x input buffer
+		 * @param xoffset offset of image in input
+		 * @param y output buffer
+		 * @param yoffset offset of result in output
+		 * @param rstart start row
+		 * @param rstop stop row
+		 * @param squared if true, use squared weights (for propagating variances)
+		 */
+		MultiplyTask(SparseMatrix m, double[] x, int xoffset, double[] y, int yoffset, int rstart, int rstop, boolean squared) {
+			this.m = m;
+			this.x = x;
+			this.xoffset = xoffset;
+			this.y = y;
+			this.yoffset = yoffset;
+			this.rstart = rstart;
+			this.rstop = rstop;
+			this.squared = squared;
+		}
+
+		@Override
+		protected void compute() {
+			final int nnz = m.rowPtr[rstop] - m.rowPtr[rstart];
+			if (nnz > MIN_NONZEROS && rstop - rstart > 1) {
+				int mid = (rstart + rstop) / 2;
+				invokeAll(new MultiplyTask(m, x, xoffset, y, yoffset, rstart, mid, squared),
+						new MultiplyTask(m, x, xoffset, y, yoffset, mid, rstop, squared));
+				return;
+			}
+
+			final int[] rowPtr = m.rowPtr;
+			final int[] columns = m.columns;
+			final float[] weights = m.weights;
+			for (int r = rstart; r < rstop; r++) {
+				double sum = 0;
+				final int end = rowPtr[r + 1];
+				if (squared) {
+					for (int k = rowPtr[r]; k < end; k++) {
+						final double w = weights[k];
+						sum += w * w * x[xoffset + columns[k]];
+					}
+				} else {
+					for (int k = rowPtr[r]; k < end; k++) {
+						sum += weights[k] * x[xoffset + columns[k]];
+					}
+				}
+				y[yoffset + r] = sum;
+			}
+		}
+	}
+}
@@ -13,13 +13,26 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.dawnsci.analysis.dataset.impl.function.DatasetToDatasetFunction;
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.DTypeUtils;
 import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
 import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
 import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
 import org.eclipse.january.dataset.PositionIterator;
 import org.eclipse.january.dataset.Stats;
 
+/**
+ * Median filter of 1D data. Near the ends the window is truncated to the data.
+ * <p>
+ * The median is kept up to date as the window slides along the data so each
+ * sample takes O(log window) time, and long data is filtered in blocks in
+ * parallel. Lazy datasets can be filtered block by block without being loaded.
+ */
 public class Median implements DatasetToDatasetFunction {
 	
 	private final int window;
@@ -27,7 +40,7 @@ public class Median implements DatasetToDatasetFunction {
 	/**
 	 * This class applies median filter to the input datasets
 	 * 
-	 * @param window 
+	 * @param window number of samples, an even number is increased by one
 	 */
 	public Median(int window) {
 		if (window <= 0) {
@@ -54,6 +67,12 @@ public class Median implements DatasetToDatasetFunction {
 			if (ishape.length > 1)
 				throw new IllegalArgumentException("Only 1D input datasets are supported");
 			
+			if (is == 1) {
+				double[] filtered = new MedianFilter(window).filter(DatasetUtils.cast(DoubleDataset.class, dataset.getSlice()).getData());
+				result.add(DatasetUtils.cast(DTypeUtils.getInterface(dt), DatasetFactory.createFromObject(filtered, ishape)));
+				continue;
+			}
+
 			Dataset filtered = DatasetFactory.zeros(is , ishape, dt);
 			
 			final PositionIterator iterPos = filtered.getPositionIterator();
@@ -74,4 +93,57 @@ public class Median implements DatasetToDatasetFunction {
 		}
 		return result;
 	}
+
+	/**
+	 * Filter 1D lazy dataset into a writeable dataset of the same shape, block by block
+	 * in parallel. Each block reads only its samples and those either side in the window.
+	 * @param input
+	 * @param output
+	 * @param blockSize number of samples in a block
+	 * @param monitor may be null
+	 * @throws DatasetException
+	 */
+	public void value(ILazyDataset input, ILazyWriteableDataset output, int blockSize, IMonitor monitor) throws DatasetException {
+		new MedianFilter(window).filter(input, output, blockSize, monitor);
+	}
+
+	private static class MedianFilter extends BlockFilter {
+		private final int half;
+
+		MedianFilter(int half) {
+			this.half = half;
+		}
+
+		@Override
+		protected int getInputStart(int start, int size) {
+			return Math.max(start - half, 0);
+		}
+
+		@Override
+		protected int getInputStop(int stop, int size) {
+			return Math.min(stop + half, size);
+		}
+
+		@Override
+		protected void filter(double[] in, int offset, int size, double[] out, int start, int stop) {
+			final int w = 2 * half + 1;
+			final RunningMedian median = new RunningMedian(w);
+			for (int i = Math.max(start - half, 0), imax = Math.min(start + half + 1, size); i < imax; i++) {
+				median.add(i % w, in[i - offset]);
+			}
+			for (int k = start; k < stop; k++) {
+				if (k > start) {
+					int drop = k - half - 1; // leaves window
+					if (drop >= 0) {
+						median.remove(drop % w);
+					}
+					int take = k + half; // enters window
+					if (take < size) {
+						median.add(take % w, in[take - offset]);
+					}
+				}
+				out[k - start] = median.median();
+			}
+		}
+	}
 }
@@ -29,6 +29,9 @@ import org.eclipse.january.dataset.Maths;
 import org.eclipse.january.dataset.Slice;
 import org.eclipse.january.dataset.SliceND;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import uk.ac.diamond.scisoft.analysis.fitting.Fitter;
 import uk.ac.diamond.scisoft.analysis.fitting.functions.Gaussian;
 
@@ -38,6 +41,7 @@ import uk.ac.diamond.scisoft.analysis.fitting.functions.Gaussian;
  * This fails for noisy, relatively featureless images
  */
 public class RegisterImage implements DatasetToDatasetFunction {
+	private static final Logger logger = LoggerFactory.getLogger(RegisterImage.class);
 
 	private IRectangularROI roi = null;
 	private double tukeyWidth = 0.25;
@@ -106,6 +110,23 @@ public class RegisterImage implements DatasetToDatasetFunction {
 		dirty = false;
 	}
 
+	/**
+	 * Update window, filter and transform of reference if any have changed. Call
+	 * this before correlating images from several threads
+	 */
+	synchronized void checkUpdate() {
+		if (dirty) {
+			update();
+		}
+	}
+
+	/**
+	 * @return shape of reference image
+	 */
+	int[] getShape() {
+		return shape;
+	}
+
 	/**
 	 * Set filter to use for convolving images
 	 * @param filter
@@ -167,12 +188,12 @@ public class RegisterImage implements DatasetToDatasetFunction {
 			}
 
 			Dataset pCorrelation = phaseCorrelate(d);
-			shifts = calcForooshShift(pCorrelation);
-			System.err.println("Foroosh : " + Arrays.toString(shifts));
-			shifts = findCentroid(pCorrelation, Math.min(pCorrelation.getShapeRef()[0], 7));
-			System.err.println("Centroid: " + Arrays.toString(shifts));
+			if (logger.isDebugEnabled()) {
+				logger.debug("Foroosh : {}", Arrays.toString(calcForooshShift(pCorrelation)));
+				logger.debug("Centroid: {}", Arrays.toString(findCentroid(pCorrelation, Math.min(pCorrelation.getShapeRef()[0], 7))));
+			}
 			shifts = fitGaussians(pCorrelation, Math.min(pCorrelation.getShapeRef()[0], 11));
-			System.err.println("Fit     : " + Arrays.toString(shifts));
+			logger.debug("Fit     : {}", Arrays.toString(shifts));
 			result.add(DatasetFactory.createFromObject(shifts));
 			Dataset shiftedImage = Image.shiftImage(DatasetUtils.convertToDataset(d) , shifts);
 			result.add(shiftedImage);
@@ -269,7 +290,7 @@ public class RegisterImage implements DatasetToDatasetFunction {
 	// IEEE Trans. Image Processing, v11n3, 188-200 (2002)
 	protected double[] calcForooshShift(Dataset pc) {
 		int[] maxpos = pc.maxPos(); // peak pos
-		System.out.println("Max: " + Arrays.toString(maxpos));
+		logger.trace("Max: {}", Arrays.toString(maxpos));
 		double c0 = pc.getDouble(maxpos);
 		double[] shifts = new double[2];
 		for (int i = 0; i < 2; i++) {
@@ -289,6 +310,35 @@ public class RegisterImage implements DatasetToDatasetFunction {
 		return shifts;
 	}
 
+	/**
+	 * Fit parabola through peak and its neighbours in each axis
+	 * @param pc
+	 * @return shifts
+	 */
+	protected double[] fitParabolas(Dataset pc) {
+		int[] maxpos = pc.maxPos(); // peak pos
+		double c0 = pc.getDouble(maxpos);
+		double[] shifts = new double[2];
+		for (int i = 0; i < 2; i++) {
+			int l = pc.getShapeRef()[i];
+			double delta = 0;
+			if (maxpos[i] > 0 && maxpos[i] < l - 1) {
+				maxpos[i]--;
+				double cm = pc.getDouble(maxpos);
+				maxpos[i] += 2;
+				double cp = pc.getDouble(maxpos);
+				maxpos[i]--;
+				double d = cm - 2 * c0 + cp;
+				if (d < 0) {
+					delta = (cm - cp) / (2 * d);
+				}
+			}
+			shifts[i] = maxpos[i] + delta - l/2;
+		}
+
+		return shifts;
+	}
+
 	protected double[] fitGaussians(Dataset pc, int side) {
 		int[] maxpos = pc.maxPos(); // peak pos
 		int hs = (side+1)/2;
@@ -0,0 +1,246 @@
+/*-
+ * Copyright 2017 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package uk.ac.diamond.scisoft.analysis.dataset.function;
+
+import java.util.Arrays;
+
+import org.eclipse.dawnsci.analysis.dataset.ParallelBlocks;
+import org.eclipse.dawnsci.analysis.dataset.impl.Image;
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.DTypeUtils;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.SliceND;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Register every frame of a stack of images against a reference image using
+ * {@link RegisterImage}'s phase correlation. The transform of the reference is
+ * computed once and frames are registered in parallel, each read from the stack
+ * on its own so the stack can be lazy.
+ * <p>
+ * Shifts can be streamed to a writeable dataset of shape [n, 2] and frames
+ * shifted into alignment with the reference to one of the same shape as the
+ * stack, for example datasets created in a HDF5 file.
+ */
+public class RegisterImageStack {
+	private static final Logger logger = LoggerFactory.getLogger(RegisterImageStack.class);
+
+	/**
+	 * Method to refine the position of the correlation peak to sub-pixel accuracy
+	 */
+	public enum Refinement {
+		/**
+		 * Ratio of peak to its neighbours, after Foroosh et al
+		 */
+		FOROOSH,
+		/**
+		 * Centroid of square around peak
+		 */
+		CENTROID,
+		/**
+		 * Parabolas through peak and its neighbours in each axis
+		 */
+		PARABOLIC,
+		/**
+		 * Gaussians fitted across peak in each axis
+		 */
+		GAUSSIAN,
+	}
+
+	private final RegisterImage register;
+	private Refinement refinement = Refinement.PARABOLIC;
+	private int side = 7;
+
+	/**
+	 * @param reference 2D image to register frames against
+	 */
+	public RegisterImageStack(IDataset reference) {
+		this(reference, new RegisterImage());
+	}
+
+	/**
+	 * @param reference 2D image to register frames against
+	 * @param register to use, with its window, filter and rectangle set as required
+	 */
+	public RegisterImageStack(IDataset reference, RegisterImage register) {
+		register.setReference(reference);
+		this.register = register;
+	}
+
+	/**
+	 * @param refinement method of refining peak position, default is parabolic
+	 */
+	public void setRefinement(Refinement refinement) {
+		this.refinement = refinement;
+	}
+
+	/**
+	 * @param side of square around peak used by centroid and Gaussian refinements, default is 7
+	 */
+	public void setPeakSide(int side) {
+		if (side < 3) {
+			throw new IllegalArgumentException("Side must be at least 3");
+		}
+		this.side = side;
+	}
+
+	/**
+	 * Register every frame of stack
+	 * @param stack 3D with frames along first axis
+	 * @param monitor may be null
+	 * @return result
+	 * @throws DatasetException
+	 */
+	public Result register(ILazyDataset stack, IMonitor monitor) throws DatasetException {
+		return register(stack, null, null, monitor);
+	}
+
+	/**
+	 * Register every frame of stack, writing shifts and aligned frames as each is registered
+	 * @param stack 3D with frames along first axis
+	 * @param shifts writeable of shape [n, 2] (can be null)
+	 * @param aligned writeable of same shape as stack for frames shifted into alignment (can be null)
+	 * @param monitor may be null
+	 * @return result
+	 * @throws DatasetException
+	 */
+	public Result register(ILazyDataset stack, ILazyWriteableDataset shifts, ILazyWriteableDataset aligned, IMonitor monitor) throws DatasetException {
+		final int[] shape = stack.getShape();
+		if (shape.length != 3) {
+			throw new IllegalArgumentException("Stack must be 3D");
+		}
+		final int[] fshape = register.getShape();
+		if (fshape[0] != shape[1] || fshape[1] != shape[2]) {
+			throw new IllegalArgumentException("Shape of frames must match reference image");
+		}
+		final int n = shape[0];
+		if (shifts != null && !Arrays.equals(new int[] {n, 2}, shifts.getShape())) {
+			throw new IllegalArgumentException("Shifts must have shape [" + n + ", 2]");
+		}
+		if (aligned != null && !Arrays.equals(shape, aligned.getShape())) {
+			throw new IllegalArgumentException("Aligned frames must have same shape as stack");
+		}
+
+		register.checkUpdate(); // transform reference once
+		final Result result = new Result(n);
+		if (n == 0) {
+			return result;
+		}
+		final int dtype = aligned == null ? 0 : DTypeUtils.getDType(aligned);
+
+		ParallelBlocks.run(n, i -> {
+			int[] start = new int[] {i, 0, 0};
+			int[] stop = new int[] {i + 1, shape[1], shape[2]};
+			Dataset frame = DatasetUtils.convertToDataset(stack.getSlice(new SliceND(shape, start, stop, null)));
+			frame.setShape(shape[1], shape[2]);
+
+			Dataset pc = register.phaseCorrelate(frame);
+			double[] shift = refine(pc);
+			result.set(i, shift, pc.max().doubleValue());
+			logger.debug("Frame {} shifted by {}", i, shift);
+
+			if (shifts != null) {
+				Dataset row = DatasetFactory.createFromObject(shift, 1, 2);
+				shifts.setSliceSync(monitor, row, new SliceND(shifts.getShape(), new int[] {i, 0}, new int[] {i + 1, 2}, null));
+			}
+			if (aligned != null) {
+				Dataset a = DatasetUtils.cast(DTypeUtils.getInterface(dtype), Image.shiftImage(frame, shift));
+				a.setShape(1, shape[1], shape[2]);
+				aligned.setSliceSync(monitor, a, new SliceND(aligned.getShape(), start, stop, null));
+			}
+		}, monitor);
+		return result;
+	}
+
+	private double[] refine(Dataset pc) {
+		int s = Math.min(Math.min(pc.getShapeRef()[0], pc.getShapeRef()[1]), side);
+		switch (refinement) {
+		case FOROOSH:
+			return register.calcForooshShift(pc);
+		case CENTROID:
+			return register.findCentroid(pc, s);
+		case GAUSSIAN:
+			return register.fitGaussians(pc, s);
+		case PARABOLIC:
+		default:
+			return register.fitParabolas(pc);
+		}
+	}
+
+	/**
+	 * Shifts of frames from reference and heights of their correlation peaks
+	 */
+	public static class Result {
+		private final double[][] shifts;
+		private final double[] peaks;
+
+		Result(int n) {
+			shifts = new double[n][];
+			peaks = new double[n];
+		}
+
+		void set(int i, double[] shift, double peak) {
+			shifts[i] = shift;
+			peaks[i] = peak;
+		}
+
+		/**
+		 * @return number of frames
+		 */
+		public int size() {
+			return peaks.length;
+		}
+
+		/**
+		 * @param i frame
+		 * @return shift of frame in each axis, which moves it into alignment with reference,
+		 * or NaNs if frame was not registered
+		 */
+		public double[] getShift(int i) {
+			return shifts[i] == null ? new double[] {Double.NaN, Double.NaN} : shifts[i].clone();
+		}
+
+		/**
+		 * @param i frame
+		 * @return height of correlation peak, which falls as registration becomes less certain
+		 */
+		public double getPeak(int i) {
+			return peaks[i];
+		}
+
+		/**
+		 * @return table of shifts with shape [n, 2]
+		 */
+		public DoubleDataset getShifts() {
+			DoubleDataset table = DatasetFactory.zeros(DoubleDataset.class, shifts.length, 2);
+			for (int i = 0; i < shifts.length; i++) {
+				double[] shift = getShift(i);
+				table.setItem(shift[0], i, 0);
+				table.setItem(shift[1], i, 1);
+			}
+			return table;
+		}
+
+		/**
+		 * @return heights of correlation peaks
+		 */
+		public DoubleDataset getPeaks() {
+			return DatasetFactory.createFromObject(DoubleDataset.class, peaks.clone());
+		}
+	}
+}
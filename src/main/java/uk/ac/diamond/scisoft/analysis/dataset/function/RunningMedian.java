@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2012 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package uk.ac.diamond.scisoft.analysis.dataset.function;
+
+/**
+ * Median of a window of values which are added and removed as it slides along
+ * data. Values are held in slots and kept in two heaps, a max-heap of the lower
+ * half and a min-heap of the upper half, which index each other so that any
+ * slot can be removed in O(log w) time.
+ * <p>
+ * Values are ordered as by {@link Double#compare(double, double)} so NaNs are
+ * greater than all other values, as when sorted.
+ */
+class RunningMedian {
+
+	private final double[] values; // by slot
+	private final int[] position;  // of slot in its heap, negative (-1 - position) when in upper heap
+	private final int[] lower;     // max-heap of slots
+	private final int[] upper;     // min-heap of slots
+	private int nlower;
+	private int nupper;
+
+	/**
+	 * @param capacity number of slots
+	 */
+	RunningMedian(int capacity) {
+		values = new double[capacity];
+		position = new int[capacity];
+		lower = new int[capacity];
+		upper = new int[capacity];
+	}
+
+	/**
+	 * @return number of values
+	 */
+	int size() {
+		return nlower + nupper;
+	}
+
+	/**
+	 * Add value in empty slot
+	 * @param slot
+	 * @param v
+	 */
+	void add(int slot, double v) {
+		values[slot] = v;
+		if (nlower == 0 || Double.compare(v, values[lower[0]]) <= 0) {
+			lower[nlower] = slot;
+			position[slot] = nlower;
+			siftUpLower(nlower++);
+		} else {
+			upper[nupper] = slot;
+			position[slot] = -1 - nupper;
+			siftUpUpper(nupper++);
+		}
+		balance();
+	}
+
+	/**
+	 * Remove value in slot
+	 * @param slot
+	 */
+	void remove(int slot) {
+		int p = position[slot];
+		if (p >= 0) {
+			int last = lower[--nlower];
+			if (p < nlower) {
+				lower[p] = last;
+				position[last] = p;
+				siftDownLower(siftUpLower(p));
+			}
+		} else {
+			p = -1 - p;
+			int last = upper[--nupper];
+			if (p < nupper) {
+				upper[p] = last;
+				position[last] = -1 - p;
+				siftDownUpper(siftUpUpper(p));
+			}
+		}
+		balance();
+	}
+
+	/**
+	 * @return median of values, the mean of the middle two when there is an even number
+	 */
+	double median() {
+		if (nlower == 0) {
+			return Double.NaN;
+		}
+		if (nlower > nupper) {
+			return values[lower[0]];
+		}
+		return (values[lower[0]] + values[upper[0]]) / 2;
+	}
+
+	/**
+	 * Keep lower heap the same size as or one larger than upper heap
+	 */
+	private void balance() {
+		if (nlower > nupper + 1) {
+			int slot = lower[0];
+			int last = lower[--nlower];
+			if (nlower > 0) {
+				lower[0] = last;
+				position[last] = 0;
+				siftDownLower(0);
+			}
+			upper[nupper] = slot;
+			position[slot] = -1 - nupper;
+			siftUpUpper(nupper++);
+		} else if (nupper > nlower) {
+			int slot = upper[0];
+			int last = upper[--nupper];
+			if (nupper > 0) {
+				upper[0] = last;
+				position[last] = -1;
+				siftDownUpper(0);
+			}
+			lower[nlower] = slot;
+			position[slot] = nlower;
+			siftUpLower(nlower++);
+		}
+	}
+
+	private int siftUpLower(int p) {
+		final int slot = lower[p];
+		final double v = values[slot];
+		while (p > 0) {
+			int parent = (p - 1) >>> 1;
+			int ps = lower[parent];
+			if (Double.compare(values[ps], v) >= 0) {
+				break;
+			}
+			lower[p] = ps;
+			position[ps] = p;
+			p = parent;
+		}
+		lower[p] = slot;
+		position[slot] = p;
+		return p;
+	}
+
+	private void siftDownLower(int p) {
+		final int slot = lower[p];
+		final double v = values[slot];
+		int child;
+		while ((child = 2 * p + 1) < nlower) {
+			if (child + 1 < nlower && Double.compare(values[lower[child + 1]], values[lower[child]]) > 0) {
+				child++;
+			}
+			int cs = lower[child];
+			if (Double.compare(v, values[cs]) >= 0) {
+				break;
+			}
+			lower[p] = cs;
+			position[cs] = p;
+			p = child;
+		}
+		lower[p] = slot;
+		position[slot] = p;
+	}
+
+	private int siftUpUpper(int p) {
+		final int slot = upper[p];
+		final double v = values[slot];
+		while (p > 0) {
+			int parent = (p - 1) >>> 1;
+			int ps = upper[parent];
+			if (Double.compare(values[ps], v) <= 0) {
+				break;
+			}
+			upper[p] = ps;
+			position[ps] = -1 - p;
+			p = parent;
+		}
+		upper[p] = slot;
+		position[slot] = -1 - p;
+		return p;
+	}
+
+	private void siftDownUpper(int p) {
+		final int slot = upper[p];
+		final double v = values[slot];
+		int child;
+		while ((child = 2 * p + 1) < nupper) {
+			if (child + 1 < nupper && Double.compare(values[upper[child + 1]], values[upper[child]]) < 0) {
+				child++;
+			}
+			int cs = upper[child];
+			if (Double.compare(v, values[cs]) <= 0) {
+				break;
+			}
+			upper[p] = cs;
+			position[cs] = -1 - p;
+			p = child;
+		}
+		upper[p] = slot;
+		position[slot] = -1 - p;
+	}
+}
@@ -9,24 +9,28 @@
 
 package uk.ac.diamond.scisoft.analysis.dataset.function;
 
-import java.util.Arrays;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 
-import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.OpenMapRealMatrix;
-import org.apache.commons.math3.linear.RealMatrix;
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
 import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
 import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.DoubleDataset;
 import org.eclipse.january.dataset.IDataset;
-import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
 import org.eclipse.january.dataset.LinearAlgebra;
 import org.eclipse.january.dataset.Maths;
 import org.eclipse.january.dataset.Stats;
 
 /** 
  * Implementation of the Savitzky Golay filter algorithm.
+ * <p>
+ * The coefficients are calculated once and the data convolved with them, except
+ * for the first and last half windows which take the value of the fit to the
+ * first and last windows. Long data is filtered in blocks in parallel and lazy
+ * datasets can be filtered block by block without being loaded.
  * 
  * @see <a href="https://en.wikipedia.org/wiki/Savitzky%E2%80%93Golay_filter">Wikipedia page on the Savitzky Golay filter</a>
  */
@@ -53,8 +57,6 @@ public class SavitzkyGolay {
 	 * @return Filtered dataset
 	 */
 	public static Dataset filter(IDataset data, int window, int poly, int deriv) {
-		Dataset rv = null;
-		
 		int n;
 		
 		//sanity check
@@ -66,6 +68,56 @@ public class SavitzkyGolay {
 			throw new IllegalArgumentException("data must be either one- or two-dimensional");
 		}
 		
+		if (n < window)
+			throw new IllegalArgumentException("data must be at least as long as window");
+
+		SavitzkyGolayFilter filter = new SavitzkyGolayFilter(coefficients(window, poly, deriv));
+
+		double[] values = DatasetUtils.cast(DoubleDataset.class, data.getSlice()).getData();
+		if (data.getRank() == 1) {
+			return DatasetFactory.createFromObject(filter.filter(values), data.getShape());
+		}
+
+		// filter each row
+		int rows = data.getShape()[0];
+		double[] rv = new double[values.length];
+		IntStream.range(0, rows).parallel().forEach(r -> {
+			double[] row = new double[n];
+			filter.filter(values, -r * n, n, row, 0, n);
+			System.arraycopy(row, 0, rv, r * n, n);
+		});
+		return DatasetFactory.createFromObject(rv, data.getShape());
+	}
+
+	/**
+	 * Filter 1D lazy dataset into a writeable dataset of the same shape, block by block
+	 * in parallel. Each block reads only its samples and those either side in the window.
+	 * @param data Dataset that will be filtered
+	 * @param output writeable dataset for the filtered data
+	 * @param window The length of the filter window (i.e. the number of coefficients). Must be a positive odd integer.
+	 * @param poly The order of the polynomial used to fit the samples. Must be less than window.
+	 * @param deriv The order of the derivative to compute. Must be a non-negative integer. Use zero if no derivative is required.
+	 * @param blockSize number of samples in a block
+	 * @param monitor may be null
+	 * @throws DatasetException
+	 */
+	public static void filter(ILazyDataset data, ILazyWriteableDataset output, int window, int poly, int deriv, int blockSize, IMonitor monitor) throws DatasetException {
+		if (data.getRank() == 1 && data.getShape()[0] < window)
+			throw new IllegalArgumentException("data must be at least as long as window");
+		new SavitzkyGolayFilter(coefficients(window, poly, deriv)).filter(data, output, blockSize, monitor);
+	}
+
+	/**
+	 * Coefficients of the least squares fit of a polynomial to a window of samples.
+	 * Row k gives the weights of the samples in the window for the value (or derivative)
+	 * of the fit at the k-th sample. The middle row is the convolution kernel used away
+	 * from the ends of the data.
+	 * @param window The length of the filter window (i.e. the number of coefficients). Must be a positive odd integer.
+	 * @param poly The order of the polynomial used to fit the samples. Must be less than window.
+	 * @param deriv The order of the derivative to compute. Must be a non-negative integer.
+	 * @return window x window coefficients
+	 */
+	public static double[][] coefficients(int window, int poly, int deriv) {
 		if (window < 3 || window % 2 == 0)
 			throw new IllegalArgumentException("window must be a positive odd integer");
 		
@@ -84,6 +136,10 @@ public class SavitzkyGolay {
 		// solveSVD seems to correspond to numpy's lstsq
 		Dataset weights = LinearAlgebra.solveSVD(x3, DatasetUtils.eye(DoubleDataset.class, window, window, 0));
 
+		if (deriv > poly) {
+			return new double[window][window]; // derivative of fit is zero
+		}
+
 		Dataset coeff = null;
 		
 		if (deriv > 0) {
@@ -93,56 +149,65 @@ public class SavitzkyGolay {
 		} else {
 			coeff = DatasetFactory.ones(DoubleDataset.class, poly + 1);
 		}
-	
-		Dataset outerTemp = LinearAlgebra.outerProduct(DatasetFactory.ones(DoubleDataset.class, n, 1), weights.getSlice(new int[]{deriv, 0}, new int[]{deriv + 1, weights.getShapeRef()[1]}, null)).imultiply(coeff.getDouble(0)).getTransposedView().squeeze().getSlice();
-		
-		Dataset arangeTemp = DatasetFactory.createRange(IntegerDataset.class, p, -p-1.0, -1);
-		
-		OpenMapRealMatrix sparseD = new OpenMapRealMatrix(n, n);
-		//fill up the sparse matrix with our data. Basically do what scipy's spdiags does...
-		
-		for (int i = 0 ; i < arangeTemp.getSize() ; ++i) {
-			int diag = arangeTemp.getInt(i);
-			
-			Dataset diagSlice = outerTemp.getSlice(new int[]{i,0}, new int[]{i+1,outerTemp.getShapeRef()[1]}, null).squeeze();
-			
-			for (int row = -diag ; row < n ; ++row) {
-				int column = row + diag;
-				
-				if (column < 0 || row < 0 || column >= n || row >= n)
-					continue;
-				
-				sparseD.setEntry(row, column, diagSlice.getDouble(row));
-			}
+
+
+		// weights of samples for each coefficient of derivative of fit
+		Dataset tail = LinearAlgebra.dotProduct(DatasetUtils.diag(coeff, 0), weights.getSlice(new int[]{deriv, 0}, new int[]{poly + 1, weights.getShapeRef()[1]} , null));
+
+		// evaluate at each sample
+		Dataset fit = LinearAlgebra.dotProduct(x3.getSlice(null, new int[]{window, poly - deriv +1}, null), tail);
+		return convertDoubleDataset2DtoPrimitive(DatasetUtils.cast(DoubleDataset.class, fit));
+	}
+
+	/**
+	 * Convolution with the middle row of coefficients, and the fits to the first and
+	 * last windows of samples at the ends of the data
+	 */
+	private static class SavitzkyGolayFilter extends BlockFilter {
+		private final double[][] fit;
+		private final int p;
+
+		SavitzkyGolayFilter(double[][] fit) {
+			this.fit = fit;
+			this.p = fit.length / 2;
 		}
-		
-		Dataset tail = LinearAlgebra.dotProduct(DatasetUtils.diag(coeff, 0), weights.getSlice(new int[]{deriv, 0}, new int[]{poly + 1, weights.getShapeRef()[1]} , null).squeeze());
-		
-		Dataset dotTemp = LinearAlgebra.dotProduct(x3.getSlice(null, new int[]{p+1, poly - deriv +1}, null).squeeze(), tail).getTransposedView().getSlice();
-		DoubleDataset dotTempDouble = DatasetUtils.cast(DoubleDataset.class, dotTemp);
-		double[][] dotTempPrim = convertDoubleDataset2DtoPrimitive(dotTempDouble);
-		sparseD.setSubMatrix(dotTempPrim, 0, 0);
-		
-		Dataset dotTemp2 = LinearAlgebra.dotProduct(x3.getSlice(new int[]{p, 0}, new int[]{window, poly - deriv +1}, null).squeeze(), tail).getTransposedView().getSlice();
-		DoubleDataset dotTempDouble2 = DatasetUtils.cast(DoubleDataset.class, dotTemp2);
-		sparseD.setSubMatrix(convertDoubleDataset2DtoPrimitive(dotTempDouble2), n-window-1, n-p-2);
-		
-		RealMatrix dataMatrix = null;
-		
-		if (data.getRank() == 1) {
-			dataMatrix = new Array2DRowRealMatrix(DatasetUtils.cast(DoubleDataset.class, data).getData());
-			dataMatrix = dataMatrix.transpose();
-		} else {
-			dataMatrix = new Array2DRowRealMatrix(convertDoubleDataset2DtoPrimitive(DatasetUtils.cast(DoubleDataset.class, data)), false);
+
+		@Override
+		protected int getInputStart(int start, int size) {
+			return Math.max(0, Math.min(start - p, size - fit.length));
+		}
+
+		@Override
+		protected int getInputStop(int stop, int size) {
+			return Math.min(size, Math.max(stop + p, fit.length));
+		}
+
+		@Override
+		protected void filter(double[] in, int offset, int size, double[] out, int start, int stop) {
+			final int w = fit.length;
+			final double[] kernel = fit[p];
+			for (int k = start; k < stop; k++) {
+				int first;
+				double[] f;
+				if (k < p) {
+					first = 0;
+					f = fit[k];
+				} else if (k >= size - p) {
+					first = size - w;
+					f = fit[k - first];
+				} else {
+					first = k - p;
+					f = kernel;
+				}
+				double s = 0;
+				for (int i = 0, j = first - offset; i < w; i++, j++) {
+					s += f[i] * in[j];
+				}
+				out[k - start] = s;
+			}
 		}
-			
-		RealMatrix rvMatrix = sparseD.preMultiply(dataMatrix);
-		
-		rv = DatasetFactory.createFromObject(Stream.of(rvMatrix.getData()).flatMapToDouble(Arrays::stream).toArray(), data.getShape());
-		
-		return rv;
 	}
-	
+
 	private static double[][] convertDoubleDataset2DtoPrimitive(DoubleDataset dataset) {
 		if (dataset.getRank() != 2)
 			throw new IllegalArgumentException("dataset Shape must be 2D");
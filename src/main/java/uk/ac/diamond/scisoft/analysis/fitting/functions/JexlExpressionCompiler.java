@@ -0,0 +1,980 @@
+/*-
+ * Copyright (c) 2014 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package uk.ac.diamond.scisoft.analysis.fitting.functions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.january.dataset.Maths;
+
+/**
+ * Compiles the arithmetic subset of Jexl used to define fit functions so that
+ * {@link JexlExpressionFunction} can evaluate an expression over all of its
+ * coordinates with array kernels rather than through the expression engine.
+ * <p>
+ * The subset is numbers, the variable x, parameters, unary and binary
+ * + - * /, parentheses, the element-wise functions of {@link Maths} in the
+ * "dnp" namespace and the peaks of {@link JexlFunctionConnector} in the "func"
+ * namespace. As in Jexl, arithmetic on integer literals alone is integer
+ * arithmetic. Anything else is not compiled and is left to the engine.
+ */
+class JexlExpressionCompiler {
+
+	/**
+	 * Namespace of element-wise maths functions
+	 */
+	static final String MATHS = "dnp";
+
+	/**
+	 * Namespace of peak functions
+	 */
+	static final String FUNCTIONS = "func";
+
+	private static final String X = "x";
+
+	private static final int CACHE_SIZE = 256;
+
+	private static final Set<String> RESERVED = new HashSet<>(Arrays.asList("and", "or", "not", "eq", "ne", "lt", "le",
+			"gt", "ge", "div", "mod", "empty", "size", "null", "true", "false", "new", "var", "if", "else", "for",
+			"foreach", "while", "function", "return", "in"));
+
+	private static final Map<String, Optional<Program>> cache = Collections.synchronizedMap(
+			new LinkedHashMap<String, Optional<Program>>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Optional<Program>> eldest) {
+					return size() > CACHE_SIZE;
+				}
+			});
+
+	private JexlExpressionCompiler() {
+	}
+
+	/**
+	 * Compile an expression. Compiled programs are cached by expression text.
+	 *
+	 * @param expression
+	 * @return program or null if the expression is outside the compiled subset
+	 */
+	static Program compile(String expression) {
+		if (expression == null) {
+			return null;
+		}
+		return cache.computeIfAbsent(expression, e -> Optional.ofNullable(new Parser(e).parse())).orElse(null);
+	}
+
+	/**
+	 * A compiled expression. This is immutable so may be shared by many
+	 * functions but the work arrays it is given must not be.
+	 */
+	static class Program {
+		private final Node root;
+		private final List<String> variables;
+		private final Set<String> namespaces;
+
+		private Program(Node root, List<String> variables, Set<String> namespaces) {
+			this.root = root;
+			this.variables = Collections.unmodifiableList(variables);
+			this.namespaces = Collections.unmodifiableSet(namespaces);
+		}
+
+		/**
+		 * @return names of the variables, other than x, in the order that
+		 *         their values are passed to the evaluate methods
+		 */
+		List<String> getVariables() {
+			return variables;
+		}
+
+		/**
+		 * @return namespaces of functions called by the expression
+		 */
+		Set<String> getNamespaces() {
+			return namespaces;
+		}
+
+		/**
+		 * @param functions namespaces of the expression engine
+		 * @return true if the namespaces used resolve to the same functions
+		 *         in the engine as they do in this compiler
+		 */
+		boolean isBound(Map<String, Object> functions) {
+			for (String ns : namespaces) {
+				Object f = functions == null ? null : functions.get(ns);
+				if (MATHS.equals(ns) && f != Maths.class) {
+					return false;
+				}
+				if (FUNCTIONS.equals(ns) && f != JexlFunctionConnector.class) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @param n number of points
+		 * @return work arrays for {@link #evaluate(double[], int, double[], double[], double[][])}
+		 */
+		double[][] allocate(int n) {
+			return new double[root.registers()][n];
+		}
+
+		/**
+		 * Evaluate at a single point
+		 *
+		 * @param x
+		 * @param values of variables
+		 * @return value
+		 */
+		double evaluate(double x, double[] values) {
+			return root.eval(x, values);
+		}
+
+		/**
+		 * Evaluate at many points
+		 *
+		 * @param x coordinates
+		 * @param n number of points
+		 * @param values of variables
+		 * @param out values of expression
+		 * @param work arrays from {@link #allocate(int)}
+		 */
+		void evaluate(double[] x, int n, double[] values, double[] out, double[][] work) {
+			if (!root.vector()) {
+				Arrays.fill(out, 0, n, root.eval(0, values));
+			} else {
+				double[] a = root.array(x, n, values, out, work, 0);
+				if (a != out) {
+					System.arraycopy(a, 0, out, 0, n);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A node of the compiled tree. Vector nodes depend on x and are evaluated
+	 * over arrays, scalar nodes are evaluated once per call.
+	 */
+	private static abstract class Node {
+
+		/**
+		 * @return true if node depends on x
+		 */
+		abstract boolean vector();
+
+		/**
+		 * @return number of work arrays needed to evaluate node
+		 */
+		abstract int registers();
+
+		abstract double eval(double x, double[] values);
+
+		/**
+		 * Evaluate over arrays
+		 *
+		 * @param x
+		 * @param n
+		 * @param values
+		 * @param out array which may be used to hold result
+		 * @param work arrays
+		 * @param free index of first work array that may be used
+		 * @return array holding result
+		 */
+		abstract double[] array(double[] x, int n, double[] values, double[] out, double[][] work, int free);
+	}
+
+	private static class Constant extends Node {
+		private final double value;
+		private final boolean integer;
+
+		Constant(double value, boolean integer) {
+			this.value = value;
+			this.integer = integer;
+		}
+
+		@Override
+		boolean vector() {
+			return false;
+		}
+
+		@Override
+		int registers() {
+			return 0;
+		}
+
+		@Override
+		double eval(double x, double[] values) {
+			return value;
+		}
+
+		@Override
+		double[] array(double[] x, int n, double[] values, double[] out, double[][] work, int free) {
+			Arrays.fill(out, 0, n, value);
+			return out;
+		}
+	}
+
+	private static class Variable extends Node {
+		private final int index;
+
+		Variable(int index) {
+			this.index = index;
+		}
+
+		@Override
+		boolean vector() {
+			return false;
+		}
+
+		@Override
+		int registers() {
+			return 0;
+		}
+
+		@Override
+		double eval(double x, double[] values) {
+			return values[index];
+		}
+
+		@Override
+		double[] array(double[] x, int n, double[] values, double[] out, double[][] work, int free) {
+			Arrays.fill(out, 0, n, values[index]);
+			return out;
+		}
+	}
+
+	private static class Coordinate extends Node {
+		@Override
+		boolean vector() {
+			return true;
+		}
+
+		@Override
+		int registers() {
+			return 0;
+		}
+
+		@Override
+		double eval(double x, double[] values) {
+			return x;
+		}
+
+		@Override
+		double[] array(double[] x, int n, double[] values, double[] out, double[][] work, int free) {
+			return x;
+		}
+	}
+
+	private enum UnaryOp {
+		NEGATIVE {
+			@Override
+			double apply(double a) {
+				return -a;
+			}
+		},
+		ABS {
+			@Override
+			double apply(double a) {
+				return Math.abs(a);
+			}
+		},
+		SIN {
+			@Override
+			double apply(double a) {
+				return Math.sin(a);
+			}
+		},
+		COS {
+			@Override
+			double apply(double a) {
+				return Math.cos(a);
+			}
+		},
+		TAN {
+			@Override
+			double apply(double a) {
+				return Math.tan(a);
+			}
+		},
+		ARCSIN {
+			@Override
+			double apply(double a) {
+				return Math.asin(a);
+			}
+		},
+		ARCCOS {
+			@Override
+			double apply(double a) {
+				return Math.acos(a);
+			}
+		},
+		ARCTAN {
+			@Override
+			double apply(double a) {
+				return Math.atan(a);
+			}
+		},
+		SINH {
+			@Override
+			double apply(double a) {
+				return Math.sinh(a);
+			}
+		},
+		COSH {
+			@Override
+			double apply(double a) {
+				return Math.cosh(a);
+			}
+		},
+		TANH {
+			@Override
+			double apply(double a) {
+				return Math.tanh(a);
+			}
+		},
+		EXP {
+			@Override
+			double apply(double a) {
+				return Math.exp(a);
+			}
+		},
+		EXPM1 {
+			@Override
+			double apply(double a) {
+				return Math.expm1(a);
+			}
+		},
+		LOG {
+			@Override
+			double apply(double a) {
+				return Math.log(a);
+			}
+		},
+		LOG10 {
+			@Override
+			double apply(double a) {
+				return Math.log10(a);
+			}
+		},
+		LOG1P {
+			@Override
+			double apply(double a) {
+				return Math.log1p(a);
+			}
+		},
+		SQRT {
+			@Override
+			double apply(double a) {
+				return Math.sqrt(a);
+			}
+		},
+		CBRT {
+			@Override
+			double apply(double a) {
+				return Math.cbrt(a);
+			}
+		},
+		SQUARE {
+			@Override
+			double apply(double a) {
+				return a * a;
+			}
+		},
+		RECIPROCAL {
+			@Override
+			double apply(double a) {
+				return 1 / a;
+			}
+		},
+		FLOOR {
+			@Override
+			double apply(double a) {
+				return Math.floor(a);
+			}
+		},
+		CEIL {
+			@Override
+			double apply(double a) {
+				return Math.ceil(a);
+			}
+		},
+		RINT {
+			@Override
+			double apply(double a) {
+				return Math.rint(a);
+			}
+		},
+		SIGNUM {
+			@Override
+			double apply(double a) {
+				return Math.signum(a);
+			}
+		};
+
+		abstract double apply(double a);
+
+		static UnaryOp get(String name) {
+			for (UnaryOp op : values()) {
+				if (op.name().toLowerCase().equals(name)) {
+					return op;
+				}
+			}
+			return null;
+		}
+	}
+
+	private static class Unary extends Node {
+		private final UnaryOp op;
+		private final Node arg;
+
+		Unary(UnaryOp op, Node arg) {
+			this.op = op;
+			this.arg = arg;
+		}
+
+		@Override
+		boolean vector() {
+			return arg.vector();
+		}
+
+		@Override
+		int registers() {
+			return arg.registers();
+		}
+
+		@Override
+		double eval(double x, double[] values) {
+			return op.apply(arg.eval(x, values));
+		}
+
+		@Override
+		double[] array(double[] x, int n, double[] values, double[] out, double[][] work, int free) {
+			double[] a = arg.array(x, n, values, out, work, free);
+			switch (op) {
+			case NEGATIVE:
+				for (int i = 0; i < n; i++) {
+					out[i] = -a[i];
+				}
+				break;
+			case EXP:
+				for (int i = 0; i < n; i++) {
+					out[i] = Math.exp(a[i]);
+				}
+				break;
+			case SQUARE:
+				for (int i = 0; i < n; i++) {
+					out[i] = a[i] * a[i];
+				}
+				break;
+			default:
+				for (int i = 0; i < n; i++) {
+					out[i] = op.apply(a[i]);
+				}
+			}
+			return out;
+		}
+	}
+
+	private enum BinaryOp {
+		ADD {
+			@Override
+			double apply(double a, double b) {
+				return a + b;
+			}
+		},
+		SUBTRACT {
+			@Override
+			double apply(double a, double b) {
+				return a - b;
+			}
+		},
+		MULTIPLY {
+			@Override
+			double apply(double a, double b) {
+				return a * b;
+			}
+		},
+		DIVIDE {
+			@Override
+			double apply(double a, double b) {
+				return a / b;
+			}
+		},
+		POWER {
+			@Override
+			double apply(double a, double b) {
+				return Math.pow(a, b);
+			}
+		},
+		HYPOT {
+			@Override
+			double apply(double a, double b) {
+				return Math.hypot(a, b);
+			}
+		},
+		ARCTAN2 {
+			@Override
+			double apply(double a, double b) {
+				return Math.atan2(a, b);
+			}
+		},
+		MAXIMUM {
+			@Override
+			double apply(double a, double b) {
+				return Math.max(a, b);
+			}
+		},
+		MINIMUM {
+			@Override
+			double apply(double a, double b) {
+				return Math.min(a, b);
+			}
+		};
+
+		abstract double apply(double a, double b);
+
+		static BinaryOp get(String name) {
+			for (BinaryOp op : values()) {
+				if (op.name().toLowerCase().equals(name)) {
+					return op;
+				}
+			}
+			return null;
+		}
+	}
+
+	private static class Binary extends Node {
+		private final BinaryOp op;
+		private final Node left;
+		private final Node right;
+
+		Binary(BinaryOp op, Node left, Node right) {
+			this.op = op;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		boolean vector() {
+			return left.vector() || right.vector();
+		}
+
+		@Override
+		int registers() {
+			if (left.vector() && right.vector()) {
+				return Math.max(left.registers(), 1 + right.registers());
+			}
+			return Math.max(left.registers(), right.registers());
+		}
+
+		@Override
+		double eval(double x, double[] values) {
+			return op.apply(left.eval(x, values), right.eval(x, values));
+		}
+
+		@Override
+		double[] array(double[] x, int n, double[] values, double[] out, double[][] work, int free) {
+			if (!left.vector()) {
+				double a = left.eval(0, values);
+				double[] b = right.array(x, n, values, out, work, free);
+				switch (op) {
+				case ADD:
+					for (int i = 0; i < n; i++) {
+						out[i] = a + b[i];
+					}
+					break;
+				case SUBTRACT:
+					for (int i = 0; i < n; i++) {
+						out[i] = a - b[i];
+					}
+					break;
+				case MULTIPLY:
+					for (int i = 0; i < n; i++) {
+						out[i] = a * b[i];
+					}
+					break;
+				case DIVIDE:
+					for (int i = 0; i < n; i++) {
+						out[i] = a / b[i];
+					}
+					break;
+				default:
+					for (int i = 0; i < n; i++) {
+						out[i] = op.apply(a, b[i]);
+					}
+				}
+			} else if (!right.vector()) {
+				double[] a = left.array(x, n, values, out, work, free);
+				double b = right.eval(0, values);
+				switch (op) {
+				case ADD:
+					for (int i = 0; i < n; i++) {
+						out[i] = a[i] + b;
+					}
+					break;
+				case SUBTRACT:
+					for (int i = 0; i < n; i++) {
+						out[i] = a[i] - b;
+					}
+					break;
+				case MULTIPLY:
+					for (int i = 0; i < n; i++) {
+						out[i] = a[i] * b;
+					}
+					break;
+				case DIVIDE:
+					for (int i = 0; i < n; i++) {
+						out[i] = a[i] / b;
+					}
+					break;
+				default:
+					for (int i = 0; i < n; i++) {
+						out[i] = op.apply(a[i], b);
+					}
+				}
+			} else {
+				double[] a = left.array(x, n, values, out, work, free);
+				double[] b = right.array(x, n, values, work[free], work, free + 1);
+				switch (op) {
+				case ADD:
+					for (int i = 0; i < n; i++) {
+						out[i] = a[i] + b[i];
+					}
+					break;
+				case SUBTRACT:
+					for (int i = 0; i < n; i++) {
+						out[i] = a[i] - b[i];
+					}
+					break;
+				case MULTIPLY:
+					for (int i = 0; i < n; i++) {
+						out[i] = a[i] * b[i];
+					}
+					break;
+				case DIVIDE:
+					for (int i = 0; i < n; i++) {
+						out[i] = a[i] / b[i];
+					}
+					break;
+				default:
+					for (int i = 0; i < n; i++) {
+						out[i] = op.apply(a[i], b[i]);
+					}
+				}
+			}
+			return out;
+		}
+	}
+
+	/**
+	 * A peak of {@link JexlFunctionConnector} whose arguments after x do not
+	 * depend on x
+	 */
+	private static class Peak extends Node {
+		private final String name;
+		private final Node arg;
+		private final Node[] parameters;
+
+		Peak(String name, Node arg, Node[] parameters) {
+			this.name = name;
+			this.arg = arg;
+			this.parameters = parameters;
+		}
+
+		private AFunction create(double[] values) {
+			double[] p = new double[parameters.length];
+			for (int i = 0; i < p.length; i++) {
+				p[i] = parameters[i].eval(0, values);
+			}
+			return JexlFunctionConnector.create(name, p);
+		}
+
+		@Override
+		boolean vector() {
+			return arg.vector();
+		}
+
+		@Override
+		int registers() {
+			return arg.registers();
+		}
+
+		@Override
+		double eval(double x, double[] values) {
+			return create(values).val(arg.eval(x, values));
+		}
+
+		@Override
+		double[] array(double[] x, int n, double[] values, double[] out, double[][] work, int free) {
+			AFunction f = create(values);
+			double[] a = arg.array(x, n, values, out, work, free);
+			for (int i = 0; i < n; i++) {
+				out[i] = f.val(a[i]);
+			}
+			return out;
+		}
+	}
+
+	/**
+	 * Recursive descent parser of the compiled subset
+	 */
+	private static class Parser {
+		private final String text;
+		private final List<String> variables = new ArrayList<>();
+		private final Set<String> namespaces = new LinkedHashSet<>();
+		private int pos;
+
+		Parser(String text) {
+			this.text = text;
+		}
+
+		/**
+		 * @return program or null if text is outside the subset
+		 */
+		Program parse() {
+			try {
+				Node root = additive();
+				skip();
+				if (pos != text.length()) {
+					return null;
+				}
+				return new Program(root, variables, namespaces);
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+		}
+
+		private Node additive() {
+			Node node = multiplicative();
+			while (true) {
+				if (accept('+')) {
+					node = fold(BinaryOp.ADD, node, multiplicative());
+				} else if (accept('-')) {
+					node = fold(BinaryOp.SUBTRACT, node, multiplicative());
+				} else {
+					return node;
+				}
+			}
+		}
+
+		private Node multiplicative() {
+			Node node = unary();
+			while (true) {
+				if (accept('*')) {
+					node = fold(BinaryOp.MULTIPLY, node, unary());
+				} else if (accept('/')) {
+					node = fold(BinaryOp.DIVIDE, node, unary());
+				} else {
+					return node;
+				}
+			}
+		}
+
+		private Node unary() {
+			if (accept('-')) {
+				Node arg = unary();
+				if (arg instanceof Constant) {
+					Constant c = (Constant) arg;
+					return new Constant(-c.value, c.integer);
+				}
+				return new Unary(UnaryOp.NEGATIVE, arg);
+			}
+			if (accept('+')) {
+				return unary();
+			}
+			return primary();
+		}
+
+		private Node primary() {
+			skip();
+			if (accept('(')) {
+				Node node = additive();
+				expect(')');
+				return node;
+			}
+			if (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+				return number();
+			}
+			String name = identifier();
+			skip();
+			if (accept(':')) {
+				return call(name, identifier());
+			}
+			if (pos < text.length() && (text.charAt(pos) == '(' || text.charAt(pos) == '.'
+					|| text.charAt(pos) == '[')) {
+				throw new IllegalArgumentException("Method calls and properties are not compiled");
+			}
+			if (X.equals(name)) {
+				return new Coordinate();
+			}
+			int i = variables.indexOf(name);
+			if (i < 0) {
+				i = variables.size();
+				variables.add(name);
+			}
+			return new Variable(i);
+		}
+
+		private Node call(String namespace, String name) {
+			expect('(');
+			List<Node> args = new ArrayList<>();
+			if (!accept(')')) {
+				do {
+					args.add(additive());
+				} while (accept(','));
+				expect(')');
+			}
+			namespaces.add(namespace);
+
+			if (MATHS.equals(namespace)) {
+				UnaryOp u = UnaryOp.get(name);
+				if (u != null && args.size() == 1) {
+					return new Unary(u, args.get(0));
+				}
+				BinaryOp b = BinaryOp.get(name);
+				if (b != null && args.size() == 2) {
+					return new Binary(b, args.get(0), args.get(1));
+				}
+			} else if (FUNCTIONS.equals(namespace) && !args.isEmpty()) {
+				Node[] parameters = args.subList(1, args.size()).toArray(new Node[args.size() - 1]);
+				for (Node p : parameters) {
+					if (p.vector()) {
+						throw new IllegalArgumentException("Peak parameters must not depend on x");
+					}
+				}
+				if (JexlFunctionConnector.create(name, new double[parameters.length]) != null) {
+					return new Peak(name, args.get(0), parameters);
+				}
+			}
+			throw new IllegalArgumentException("Function " + namespace + ":" + name + " is not compiled");
+		}
+
+		/**
+		 * Integer literals are combined with Jexl integer arithmetic, so 1/2 is 0
+		 */
+		private Node fold(BinaryOp op, Node left, Node right) {
+			if (left instanceof Constant && right instanceof Constant) {
+				Constant a = (Constant) left;
+				Constant b = (Constant) right;
+				if (a.integer && b.integer) {
+					long la = (long) a.value;
+					long lb = (long) b.value;
+					switch (op) {
+					case ADD:
+						return new Constant(la + lb, true);
+					case SUBTRACT:
+						return new Constant(la - lb, true);
+					case MULTIPLY:
+						return new Constant(la * lb, true);
+					default:
+						if (lb == 0) {
+							throw new IllegalArgumentException("Integer division by zero");
+						}
+						return new Constant(la / lb, true);
+					}
+				}
+				return new Constant(op.apply(a.value, b.value), false);
+			}
+			return new Binary(op, left, right);
+		}
+
+		private Node number() {
+			int start = pos;
+			boolean integer = true;
+			while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+				pos++;
+			}
+			if (pos < text.length() && text.charAt(pos) == '.') {
+				integer = false;
+				pos++;
+				int fraction = pos;
+				while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+					pos++;
+				}
+				if (pos == fraction) {
+					throw new IllegalArgumentException("Missing fraction");
+				}
+			}
+			if (pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+				integer = false;
+				pos++;
+				if (pos < text.length() && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+					pos++;
+				}
+				int exponent = pos;
+				while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+					pos++;
+				}
+				if (pos == exponent) {
+					throw new IllegalArgumentException("Missing exponent");
+				}
+			}
+			if (pos < text.length() && Character.isJavaIdentifierPart(text.charAt(pos))) {
+				throw new IllegalArgumentException("Typed literals are not compiled");
+			}
+			String literal = text.substring(start, pos);
+			if (integer) {
+				if (literal.length() > 9) {
+					throw new IllegalArgumentException("Long literals are not compiled");
+				}
+				return new Constant(Integer.parseInt(literal), true);
+			}
+			return new Constant(Double.parseDouble(literal), false);
+		}
+
+		private String identifier() {
+			skip();
+			int start = pos;
+			if (pos < text.length() && Character.isJavaIdentifierStart(text.charAt(pos))) {
+				pos++;
+				while (pos < text.length() && Character.isJavaIdentifierPart(text.charAt(pos))) {
+					pos++;
+				}
+			}
+			if (pos == start) {
+				throw new IllegalArgumentException("Expected identifier at " + start);
+			}
+			String name = text.substring(start, pos);
+			if (RESERVED.contains(name)) {
+				throw new IllegalArgumentException("Keyword " + name + " is not compiled");
+			}
+			return name;
+		}
+
+		private void skip() {
+			while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+				pos++;
+			}
+		}
+
+		private boolean accept(char c) {
+			skip();
+			if (pos < text.length() && text.charAt(pos) == c) {
+				pos++;
+				return true;
+			}
+			return false;
+		}
+
+		private void expect(char c) {
+			if (!accept(c)) {
+				throw new IllegalArgumentException("Expected " + c + " at " + pos);
+			}
+		}
+	}
+}
@@ -99,6 +99,11 @@ public class JexlExpressionFunction extends AFunction {
 	private transient JexlExpressionFunctionError expressionError = JexlExpressionFunctionError.NO_EXPRESSION;
 	private transient Map<String, IParameter> beforeParametersMap;
 	private transient IExpressionService service;
+	private boolean compile = true;
+	private transient JexlExpressionCompiler.Program program;
+	private transient double[] programValues;
+	private transient double[] coordinates;
+	private transient double[][] work;
 
 	public JexlExpressionFunction() {
 		super(0);
@@ -158,6 +163,29 @@ public class JexlExpressionFunction extends AFunction {
 		return expressionError;
 	}
 
+	/**
+	 * Set whether expressions are compiled. A compiled expression is evaluated
+	 * over all coordinates at once with array kernels instead of with the
+	 * expression engine. Expressions which cannot be compiled are always
+	 * evaluated by the engine.
+	 *
+	 * @param compile
+	 */
+	public void setCompile(boolean compile) {
+		this.compile = compile;
+		program = compile();
+		coordinates = null;
+		setDirty(true);
+	}
+
+	/**
+	 * @return true if the current expression is evaluated by compiled kernels
+	 *         rather than the expression engine
+	 */
+	public boolean isCompiled() {
+		return program != null;
+	}
+
 	/**
 	 * Get the currently in use expression.
 	 *
@@ -189,6 +217,7 @@ public class JexlExpressionFunction extends AFunction {
 		}
 
 		parameters = new IParameter[0];
+		program = null;
 		setDirty(true);
 
 		this.jexlExpression = jexlExpression;
@@ -235,12 +264,42 @@ public class JexlExpressionFunction extends AFunction {
 		}
 		parameters = newParamsList
 				.toArray(new IParameter[parameterNames.size() - 1]);
+		program = compile();
+		coordinates = null;
 
 		if (parent != null) {
 			parent.updateParameters();
 		}
 	}
 
+	/**
+	 * @return compiled expression or null if the expression is to be
+	 *         evaluated by the engine
+	 */
+	private JexlExpressionCompiler.Program compile() {
+		if (!compile || expressionError != JexlExpressionFunctionError.NO_ERROR) {
+			return null;
+		}
+		JexlExpressionCompiler.Program p = JexlExpressionCompiler.compile(jexlExpression);
+		if (p == null || !p.isBound(engine.getFunctions())) {
+			return null;
+		}
+		for (String v : p.getVariables()) {
+			if (!parameterNames().contains(v)) {
+				return null;
+			}
+		}
+		return p;
+	}
+
+	private List<String> parameterNames() {
+		List<String> names = new ArrayList<>();
+		for (IParameter p : getParameters()) {
+			names.add(p.getName());
+		}
+		return names;
+	}
+
 	private void calcCachedParameters() {
 		int noOfParameters = getNoOfParameters();
 		HashMap<String, Object> jexlLoadedValues = new HashMap<String, Object>(noOfParameters + 1);
@@ -250,6 +309,14 @@ public class JexlExpressionFunction extends AFunction {
 		}
 		engine.addLoadedVariables(jexlLoadedValues);
 
+		if (program != null) {
+			List<String> variables = program.getVariables();
+			programValues = new double[variables.size()];
+			for (int i = 0; i < programValues.length; i++) {
+				programValues[i] = (Double) jexlLoadedValues.get(variables.get(i));
+			}
+		}
+
 		setDirty(false);
 	}
 
@@ -271,6 +338,9 @@ public class JexlExpressionFunction extends AFunction {
 		} else if (values.length > 1) {
 			logger.warn("More than one dimension in coordinates given but ignored");
 		}
+		if (program != null) {
+			return program.evaluate(values[0], programValues);
+		}
 		engine.addLoadedVariable(X, values[0]);
 
 		Object ob;
@@ -322,6 +392,22 @@ public class JexlExpressionFunction extends AFunction {
 			calcCachedParameters();
 		}
 
+		if (program != null && it.getValues().length == 1) {
+			int n = data.getSize();
+			if (coordinates == null || coordinates.length != n) {
+				coordinates = new double[n];
+				work = program.allocate(n);
+			}
+			it.reset();
+			double[] coords = it.getCoordinates();
+			int i = 0;
+			while (it.hasNext()) {
+				coordinates[i++] = coords[0];
+			}
+			program.evaluate(coordinates, n, programValues, data.getData(), work);
+			return;
+		}
+
 		DoubleDataset ob = evaluate(it.getValues());
 		if (ob!= null) {
 			data.setSlice(ob);
@@ -349,6 +435,7 @@ public class JexlExpressionFunction extends AFunction {
 	public JexlExpressionFunction copy() {
 		IParameter[] localParameters = getParameters();
 		JexlExpressionFunction function = new JexlExpressionFunction(service, jexlExpression);
+		function.setCompile(compile);
 
 		for (int i = 0; i < localParameters.length; i++) {
 			IParameter p = localParameters[i];
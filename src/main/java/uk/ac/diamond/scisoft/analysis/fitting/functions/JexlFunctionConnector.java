@@ -25,23 +25,43 @@ public class JexlFunctionConnector {
 	 * @return gaussian
 	 */
 	public static IDataset Gaussian(IDataset x, double p, double w, double a) {
-		Gaussian g = new Gaussian(p, w, a);
-		return g.calculateValues(x);
+		return create("Gaussian", p, w, a).calculateValues(x);
 	}
 	
 	public static IDataset Lorentzian(IDataset x, double p, double w, double a) {
-		Lorentzian l = new Lorentzian(p, w, a);
-		return l.calculateValues(x);
+		return create("Lorentzian", p, w, a).calculateValues(x);
 	}
 	
 	public static IDataset PseudoVoigt(IDataset x, double p, double lw, double gw, double a, double mix) {
-		PseudoVoigt pv = new PseudoVoigt(p, lw, a, gw, mix);
-		return pv.calculateValues(x);
+		return create("PseudoVoigt", p, lw, gw, a, mix).calculateValues(x);
 	}
 	
 	public static IDataset PearsonVII(IDataset x, double p, double w, double a, double power) {
-		PearsonVII p7 = new PearsonVII(p,w,a,power);
-		return p7.calculateValues(x);
+		return create("PearsonVII", p, w, a, power).calculateValues(x);
+	}
+
+	/**
+	 * Create the peak function behind one of the wrappers above. This is
+	 * shared with {@link JexlExpressionCompiler} so that compiled expressions
+	 * calculate the same peaks.
+	 * 
+	 * @param name of wrapper
+	 * @param args arguments of wrapper after x
+	 * @return function or null if there is no such wrapper
+	 */
+	static AFunction create(String name, double... args) {
+		switch (name) {
+		case "Gaussian":
+			return args.length == 3 ? new Gaussian(args[0], args[1], args[2]) : null;
+		case "Lorentzian":
+			return args.length == 3 ? new Lorentzian(args[0], args[1], args[2]) : null;
+		case "PseudoVoigt":
+			return args.length == 5 ? new PseudoVoigt(args[0], args[1], args[3], args[2], args[4]) : null;
+		case "PearsonVII":
+			return args.length == 4 ? new PearsonVII(args[0], args[1], args[2], args[3]) : null;
+		default:
+			return null;
+		}
 	}
 
 }
@@ -0,0 +1,132 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.eclipse.dawnsci.analysis.api.downsample.DownsampleMode;
+import org.eclipse.dawnsci.analysis.dataset.function.Downsample;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.Random;
+import org.junit.Test;
+
+import io.github.h5jan.io.h5.NxsFile;
+
+public class PyramidTest {
+
+	private static File createFile(String name) {
+		File file = new File("test-scratch/pyramid/"+name+".h5");
+		file.getParentFile().mkdirs();
+		file.delete();
+		return file;
+	}
+
+	private static void assertLevels(Dataset image, DownsampleMode mode, PyramidReader reader) throws Exception {
+		int[] bin = new int[image.getRank()];
+		Arrays.fill(bin, 1);
+		bin[bin.length-2] = bin[bin.length-1] = 2;
+		Downsample downsample = new Downsample(mode, bin);
+		Dataset expected = image;
+		for (int l = 0; l < reader.getLevelCount(); l++) {
+			IDataset level = reader.getLevel(l).getSlice();
+			level.setName(expected.getName());
+			assertEquals("Level "+l, expected, level);
+			expected = downsample.value(expected).get(0);
+		}
+	}
+
+	@Test
+	public void meanStack() throws Exception {
+		Dataset image = Random.rand(3, 100, 70);
+		image.setName("image");
+		File file = createFile("mean");
+
+		try (NxsFile nfile = NxsFile.create(file.getAbsolutePath())) {
+			Pyramid pyramid = new Pyramid(image);
+			pyramid.setTileSize(16);
+			assertEquals(3, pyramid.build(nfile, "/entry/data", "image", new IMonitor.Stub()));
+		}
+
+		try (NxsFile nfile = NxsFile.reference(file.getAbsolutePath())) {
+			PyramidReader reader = new PyramidReader(nfile, "/entry/data", "image");
+			assertEquals(4, reader.getLevelCount());
+			assertArrayEquals(new int[] {3, 13, 9}, reader.getLevel(3).getShape());
+			assertLevels(image, DownsampleMode.MEAN, reader);
+			assertEquals("8", nfile.getAttributeValue("/entry/data/image_3@"+Pyramid.DOWNSAMPLE_FACTOR));
+		}
+	}
+
+	@Test
+	public void maximumExisting() throws Exception {
+		Dataset image = DatasetFactory.createRange(DoubleDataset.class, 64 * 48).reshape(64, 48);
+		image = DatasetFactory.createFromObject(Dataset.INT32, image.getBuffer(), 64, 48);
+		image.setName("image");
+		File file = createFile("max");
+
+		// full resolution already in file
+		try (NxsFile nfile = NxsFile.create(file.getAbsolutePath())) {
+			nfile.createData("/entry/data", image, true);
+		}
+		try (NxsFile nfile = NxsFile.open(file.getAbsolutePath())) {
+			Pyramid pyramid = new Pyramid(nfile.getData("/entry/data/image").getDataset());
+			pyramid.setMode(DownsampleMode.MAXIMUM);
+			pyramid.setTileSize(8);
+			pyramid.setLevels(2);
+			assertEquals(2, pyramid.build(nfile, "/entry/data", "image", null));
+		}
+		try (NxsFile nfile = NxsFile.reference(file.getAbsolutePath())) {
+			PyramidReader reader = new PyramidReader(nfile, "/entry/data", "image");
+			assertEquals(3, reader.getLevelCount());
+			assertLevels(image, DownsampleMode.MAXIMUM, reader);
+		}
+	}
+
+	@Test
+	public void selectRegion() throws Exception {
+		Dataset image = Random.rand(128, 96);
+		image.setName("image");
+		File file = createFile("region");
+
+		try (NxsFile nfile = NxsFile.create(file.getAbsolutePath())) {
+			Pyramid pyramid = new Pyramid(image);
+			pyramid.setTileSize(32);
+			pyramid.build(nfile, "/entry/data", "image", null);
+		}
+
+		try (NxsFile nfile = NxsFile.reference(file.getAbsolutePath())) {
+			PyramidReader reader = new PyramidReader(nfile, "/entry/data", "image");
+			assertEquals(3, reader.getLevelCount());
+			assertEquals(0, reader.selectLevel(1));
+			assertEquals(0, reader.selectLevel(0.6));
+			assertEquals(1, reader.selectLevel(0.5));
+			assertEquals(2, reader.selectLevel(0.1));
+			assertEquals(1, reader.selectLevel(new int[] {128, 96}, new int[] {64, 60}));
+
+			Dataset region = reader.getRegion(new int[] {10, 20}, new int[] {50, 41}, 0.5);
+			assertArrayEquals(new int[] {20, 11}, region.getShape());
+			IDataset level = reader.getLevel(1).getSlice(new int[] {5, 10}, new int[] {25, 21}, null);
+			level.setName(region.getName());
+			assertEquals(level, region);
+
+			Dataset full = reader.getRegion(null, null, 2);
+			full.setName(image.getName());
+			assertEquals(image, full);
+		}
+	}
+}
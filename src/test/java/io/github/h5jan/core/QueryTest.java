@@ -0,0 +1,185 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.Random;
+import org.junit.Test;
+
+import io.github.h5jan.core.Query.Aggregate;
+import io.github.h5jan.core.Query.Op;
+import io.github.h5jan.io.h5.Appender;
+
+public class QueryTest extends AbstractH5JanTest {
+
+	private static final int ROWS = 1000;
+
+	private DataFrame createFrame() throws Exception {
+		Dataset depth = DatasetFactory.createRange(ROWS);
+		depth.setName("depth");
+		Dataset well = DatasetUtils.cast(IntegerDataset.class, Random.randint(0, 5, new int[] {ROWS}));
+		well.setName("well");
+		Dataset pressure = Random.rand(ROWS);
+		pressure.setName("pressure");
+		return new DataFrame("wells", Dataset.FLOAT64, depth, well, pressure);
+	}
+
+	private static double[] doubles(DataFrame frame, String name) throws Exception {
+		return DatasetUtils.cast(DoubleDataset.class, DatasetUtils.convertToDataset(frame.get(name).getSlice())).getData();
+	}
+
+	@Test
+	public void where() throws Exception {
+
+		DataFrame frame = createFrame();
+		for (boolean parallel : new boolean[] {true, false}) {
+			DataFrame res = frame.query().where("depth", Op.GE, 250).where("pressure", p -> p < 0.5)
+					                     .select("depth", "pressure").chunkRows(64).parallel(parallel).execute();
+
+			double[] depth    = doubles(frame, "depth");
+			double[] pressure = doubles(frame, "pressure");
+			List<Double> ed = new ArrayList<>();
+			List<Double> ep = new ArrayList<>();
+			for (int i = 0; i < ROWS; i++) {
+				if (depth[i]>=250 && pressure[i]<0.5) {
+					ed.add(depth[i]);
+					ep.add(pressure[i]);
+				}
+			}
+			assertEquals(Arrays.asList("depth", "pressure"), res.getColumnNames());
+			assertArrayEquals(ed.stream().mapToDouble(d->d).toArray(), doubles(res, "depth"), 0);
+			assertArrayEquals(ep.stream().mapToDouble(d->d).toArray(), doubles(res, "pressure"), 0);
+		}
+
+		DataFrame none = frame.query().where("depth", Op.LT, -1).execute();
+		assertEquals(frame.getColumnNames(), none.getColumnNames());
+		assertArrayEquals(new int[] {0}, none.get("pressure").getShape());
+	}
+
+	@Test
+	public void groupBy() throws Exception {
+
+		DataFrame frame = createFrame();
+		DataFrame res = frame.query().where("depth", Op.LT, 800).groupBy("well")
+				             .agg(Aggregate.count(), Aggregate.sum("pressure"), Aggregate.mean("pressure"),
+				            	  Aggregate.min("pressure"), Aggregate.max("pressure"), Aggregate.quantile("pressure", 0.5).as("median"))
+				             .chunkRows(100).execute();
+		assertEquals(Arrays.asList("well", "count", "sum(pressure)", "mean(pressure)", "min(pressure)", "max(pressure)", "median"), res.getColumnNames());
+
+		double[] depth    = doubles(frame, "depth");
+		double[] well     = doubles(frame, "well");
+		double[] pressure = doubles(frame, "pressure");
+		TreeMap<Integer, List<Double>> groups = new TreeMap<>();
+		for (int i = 0; i < 800; i++) {
+			if (depth[i]<800) groups.computeIfAbsent((int)well[i], k->new ArrayList<>()).add(pressure[i]);
+		}
+
+		assertArrayEquals(groups.keySet().stream().mapToDouble(k->k).toArray(), doubles(res, "well"), 0);
+		int g = 0;
+		for (List<Double> values : groups.values()) {
+			Dataset p = DatasetFactory.createFromList(values);
+			assertEquals(values.size(), doubles(res, "count")[g], 0);
+			assertEquals(((Number)p.sum()).doubleValue(), doubles(res, "sum(pressure)")[g], 1e-9);
+			assertEquals(((Number)p.mean()).doubleValue(), doubles(res, "mean(pressure)")[g], 1e-12);
+			assertEquals(p.min().doubleValue(), doubles(res, "min(pressure)")[g], 0);
+			assertEquals(p.max().doubleValue(), doubles(res, "max(pressure)")[g], 0);
+			double[] sorted = values.stream().mapToDouble(d->d).sorted().toArray();
+			double median = sorted.length%2==1 ? sorted[sorted.length/2] : (sorted[sorted.length/2-1]+sorted[sorted.length/2])/2;
+			assertEquals(median, doubles(res, "median")[g], 1e-12);
+			g++;
+		}
+
+		// No groups, one row
+		DataFrame all = frame.query().agg(Aggregate.count(), Aggregate.max("depth")).execute();
+		assertArrayEquals(new double[] {ROWS}, doubles(all, "count"), 0);
+		assertArrayEquals(new double[] {ROWS-1}, doubles(all, "max(depth)"), 0);
+	}
+
+	@Test
+	public void skipChunks() throws Exception {
+
+		DataFrame frame = createFrame();
+		File dir = new File("test-scratch/temp/");
+		dir.mkdirs();
+		String path = "test-scratch/temp/query_stats.h5";
+		new File(path).delete();
+
+		DataFrame writer = new DataFrame("wells", Dataset.FLOAT64, ROWS);
+		try (Appender app = writer.open_hdf(path, "/entry/wells")) {
+			app.setStatisticsRows(100);
+			app.append(frame.getColumnNames(), frame.getData());
+		}
+
+		DataFrame read = new DataFrame().read_hdf(path);
+		assertEquals(100, read.getStatistics().getRows());
+		assertEquals(200, read.getStatistics().getMin("depth", 2), 0);
+		assertEquals(299, read.getStatistics().getMax("depth", 2), 0);
+
+		Query query = read.query().where("depth", Op.GE, 250).where("depth", Op.LT, 520);
+		DataFrame res = query.execute();
+		assertEquals(4, query.getChunksRead());
+		assertEquals(6, query.getChunksSkipped());
+		assertArrayEquals(Arrays.copyOfRange(doubles(frame, "pressure"), 250, 520), doubles(res, "pressure"), 0);
+
+		// Different chunks than the statistics cannot be skipped
+		query = read.query().where("depth", Op.GE, 250).chunkRows(64);
+		assertEquals(750, query.execute().get("depth").getSize());
+		assertEquals(0, query.getChunksSkipped());
+		assertTrue(query.getChunksRead()>0);
+	}
+
+	@Test
+	public void wideStatistics() throws Exception {
+
+		// More bounds than fit in an attribute
+		int columns = 9000;
+		List<Dataset> data = new ArrayList<>(columns);
+		for (int i = 0; i < columns; i++) {
+			Dataset column = DatasetFactory.createRange(4).iadd(i);
+			column.setName("c"+i);
+			data.add(column);
+		}
+		File dir = new File("test-scratch/temp/");
+		dir.mkdirs();
+		String path = "test-scratch/temp/query_wide.h5";
+		new File(path).delete();
+		new DataFrame("wide", Dataset.FLOAT64, data).to_hdf(path, "/entry/wide");
+
+		DataFrame read = new DataFrame().read_hdf(path);
+		assertEquals(columns, read.getColumnNames().size());
+		assertEquals(8999, read.getStatistics().getMin("c8999", 0), 0);
+		assertEquals(9002, read.getStatistics().getMax("c8999", 0), 0);
+
+		Query query = read.query().where("c8999", Op.GT, 9002);
+		assertEquals(0, query.execute().get("c0").getSize());
+		assertEquals(1, query.getChunksSkipped());
+	}
+
+	@Test(expected = DatasetException.class)
+	public void noColumn() throws Exception {
+		createFrame().query().where("temperature", Op.GT, 0).execute();
+	}
+}
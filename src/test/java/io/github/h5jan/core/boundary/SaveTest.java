@@ -11,17 +11,31 @@
 package io.github.h5jan.core.boundary;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
+import org.eclipse.dawnsci.hdf5.HDF5MappedLoader;
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
 import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DoubleDataset;
 import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.LazyDataset;
 import org.eclipse.january.dataset.Random;
+import org.eclipse.january.dataset.SliceND;
+import org.eclipse.january.io.ILazyLoader;
 import org.junit.Before;
 import org.junit.Test;
 
 import io.github.h5jan.core.AbstractH5JanTest;
 import io.github.h5jan.core.DataFrame;
+import io.github.h5jan.io.h5.Appender;
 
 /**
  * Pinning down the saving of some invalid states.
@@ -112,4 +126,109 @@ public class SaveTest extends AbstractH5JanTest {
 		frame.to_hdf("test-scratch/temp/tmp.h5", "|||%%&&-");
 	}
 
+	@Test
+	public void mapped() throws Exception {
+		// Frames opened with their data are written contiguously so can be mapped
+		String path = "test-scratch/temp/mapped.h5";
+		try (Appender app = frame.open_hdf(path, "/some/other/path")) {
+			for (int i = 0; i < frame.size(); i++) {
+				IDataset slice = frame.get(i).getSlice().squeeze();
+				app.append(frame.getColumnNames().get(i), slice);
+			}
+		}
+		assertNotNull(HDF5MappedLoader.create(path, "/some/other/path/fred"));
+		assertColumns(new DataFrame().read_hdf(path), new DataFrame().read_hdf(path, true));
+	}
+
+	@Test
+	public void mappedFallback() throws Exception {
+		// Frames are written in chunks by to_hdf so are read as normal
+		String path = "test-scratch/temp/mappedFallback.h5";
+		frame.to_hdf(path, "/some/other/path");
+		assertNull(HDF5MappedLoader.create(path, "/some/other/path/fred"));
+		assertColumns(new DataFrame().read_hdf(path), new DataFrame().read_hdf(path, true));
+	}
+
+	@Test
+	public void wide() throws Exception {
+		// Wide frames are read in parallel and written in blocks of columns
+		IDataset someData = Random.rand(64, 500);
+		someData.setName("wide");
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < 500; i++) names.add("c"+i);
+		DataFrame wide = new DataFrame(someData, 1, names, Dataset.FLOAT64);
+		wide.setMetadata(createWellMetadata());
+		
+		String path = "test-scratch/temp/wide.h5";
+		wide.to_hdf(path, "/some/other/path");
+		DataFrame read = new DataFrame().read_hdf(path);
+		assertColumns(wide, read);
+		
+		// Small blocks, so many go through the pool, give the same columns
+		String parallel = "test-scratch/temp/wideParallel.h5";
+		try (Appender app = wide.open_hdf(parallel, "/some/other/path")) {
+			app.setWriteThreads(4);
+			app.setBlockSize(16*64*8); // 16 columns, so 32 blocks
+			app.append(wide.getColumnNames(), wide.getData());
+		}
+		assertColumns(read, new DataFrame().read_hdf(parallel));
+		
+		// As do one thread and a budget smaller than two blocks
+		String serial = "test-scratch/temp/wideSerial.h5";
+		try (Appender app = wide.open_hdf(serial, "/some/other/path")) {
+			app.setWriteThreads(1);
+			app.setBlockSize(16*64*8);
+			app.append(wide.getColumnNames(), wide.getData());
+		}
+		assertColumns(read, new DataFrame().read_hdf(serial));
+		
+		String budget = "test-scratch/temp/wideBudget.h5";
+		try (Appender app = wide.open_hdf(budget, "/some/other/path")) {
+			app.setWriteThreads(4);
+			app.setBlockSize(16*64*8);
+			app.setWriteBudget(1024);
+			app.append(wide.getColumnNames(), wide.getData());
+		}
+		assertColumns(read, new DataFrame().read_hdf(budget));
+	}
+
+	@Test(expected=DatasetException.class)
+	public void wideUnreadable() throws Exception {
+		// The exception of a column which cannot be read is the one thrown
+		List<ILazyDataset> columns = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			IDataset column = Random.rand(64);
+			column.setName("c"+i);
+			columns.add(column);
+		}
+		columns.set(40, new LazyDataset(new ILazyLoader() {
+			private static final long serialVersionUID = 1L;
+			@Override
+			public boolean isFileReadable() {
+				return true;
+			}
+			@Override
+			public IDataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+				throw new IOException("Cannot read c40");
+			}
+		}, "c40", DoubleDataset.class, 64));
+		
+		DataFrame wide = new DataFrame("wide", Dataset.FLOAT64, 64);
+		try (Appender app = wide.open_hdf("test-scratch/temp/wideUnreadable.h5", "/some/other/path")) {
+			app.setWriteThreads(4);
+			app.setBlockSize(8*64*8);
+			List<String> names = new ArrayList<>();
+			columns.forEach(c -> names.add(c.getName()));
+			app.append(names, columns);
+		}
+	}
+
+	private static void assertColumns(DataFrame expected, DataFrame actual) throws Exception {
+		assertEquals(expected.getColumnNames(), actual.getColumnNames());
+		assertEquals(expected.getDtype(), actual.getDtype());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getSlice(), actual.get(i).getSlice());
+		}
+	}
+
 }
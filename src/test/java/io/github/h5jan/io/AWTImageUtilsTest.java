@@ -0,0 +1,148 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Point;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+
+import org.eclipse.january.dataset.ByteDataset;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.FloatDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.ShortDataset;
+import org.junit.Test;
+
+public class AWTImageUtilsTest {
+
+	private static final int WIDTH = 37;
+	private static final int HEIGHT = 23;
+
+	private static BufferedImage createImage(int type) {
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, type);
+		fill(image.getRaster());
+		return image;
+	}
+
+	private static void fill(WritableRaster r) {
+		Random rand = new Random(12345);
+		int bands = r.getNumBands();
+		for (int b = 0; b < bands; b++) {
+			int max = (1 << r.getSampleModel().getSampleSize(b)) - 1;
+			for (int y = 0; y < r.getHeight(); y++) {
+				for (int x = 0; x < r.getWidth(); x++) {
+					r.setSample(x, y, b, rand.nextInt(max + 1));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check against samples obtained through raster
+	 */
+	private static void check(BufferedImage image, boolean keepBitWidth, Class<? extends Dataset> clazz) {
+		Raster r = image.getData();
+		Dataset[] data = AWTImageUtils.makeDatasets(image, keepBitWidth);
+		assertEquals(r.getNumBands(), data.length);
+		for (int b = 0; b < data.length; b++) {
+			assertEquals(clazz, data[b].getClass());
+			assertArrayEquals(new int[] {image.getHeight(), image.getWidth()}, data[b].getShapeRef());
+			int[] samples = r.getSamples(0, 0, image.getWidth(), image.getHeight(), b, (int[]) null);
+			for (int i = 0; i < samples.length; i++) {
+				int v = (int) data[b].getElementLongAbs(i);
+				if (keepBitWidth && clazz == ByteDataset.class) {
+					v &= 0xff;
+				} else if (keepBitWidth && clazz == ShortDataset.class) {
+					v &= 0xffff;
+				}
+				assertEquals("Band " + b + ", sample " + i, samples[i], v);
+			}
+		}
+	}
+
+	@Test
+	public void testByteImages() {
+		check(createImage(BufferedImage.TYPE_BYTE_GRAY), false, ShortDataset.class);
+		check(createImage(BufferedImage.TYPE_BYTE_GRAY), true, ByteDataset.class);
+		check(createImage(BufferedImage.TYPE_3BYTE_BGR), false, ShortDataset.class);
+		check(createImage(BufferedImage.TYPE_4BYTE_ABGR), true, ByteDataset.class);
+		check(createImage(BufferedImage.TYPE_BYTE_BINARY), false, ShortDataset.class);
+	}
+
+	@Test
+	public void testUShortImage() {
+		check(createImage(BufferedImage.TYPE_USHORT_GRAY), false, IntegerDataset.class);
+		check(createImage(BufferedImage.TYPE_USHORT_GRAY), true, ShortDataset.class);
+	}
+
+	@Test
+	public void testPackedImages() {
+		check(createImage(BufferedImage.TYPE_INT_RGB), false, ShortDataset.class);
+		check(createImage(BufferedImage.TYPE_INT_ARGB), true, ByteDataset.class);
+	}
+
+	@Test
+	public void testSubImage() {
+		check(createImage(BufferedImage.TYPE_3BYTE_BGR).getSubimage(5, 3, 20, 11), false, ShortDataset.class);
+		check(createImage(BufferedImage.TYPE_INT_RGB).getSubimage(7, 2, 13, 17), false, ShortDataset.class);
+	}
+
+	@Test
+	public void testFloatImage() {
+		ComponentColorModel cm = new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_GRAY), false, false,
+				ComponentColorModel.OPAQUE, DataBuffer.TYPE_FLOAT);
+		WritableRaster r = cm.createCompatibleWritableRaster(WIDTH, HEIGHT);
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				r.setSample(x, y, 0, 0.5f * x - y);
+			}
+		}
+		BufferedImage image = new BufferedImage(cm, r, false, null);
+		Dataset[] data = AWTImageUtils.makeDatasets(image, false);
+		assertEquals(FloatDataset.class, data[0].getClass());
+		float[] samples = r.getSamples(0, 0, WIDTH, HEIGHT, 0, (float[]) null);
+		assertArrayEquals(samples, ((FloatDataset) data[0]).getData(), 0f);
+	}
+
+	@Test
+	public void testTranslatedRaster() {
+		BufferedImage image = createImage(BufferedImage.TYPE_BYTE_GRAY);
+		WritableRaster r = image.getRaster();
+		Raster child = r.createChild(4, 6, 10, 8, 0, 0, null).createTranslatedChild(100, 200);
+		Dataset[] data = new Dataset[1];
+		AWTImageUtils.createDatasets(child, data, ShortDataset.class);
+		assertArrayEquals(r.getSamples(4, 6, 10, 8, 0, (int[]) null),
+				data[0].cast(IntegerDataset.class).getData());
+		assertEquals(new Point(100, 200), new Point(child.getMinX(), child.getMinY()));
+	}
+
+	@Test
+	public void testPool() {
+		ImageBufferPool pool = new ImageBufferPool();
+		BufferedImage image = createImage(BufferedImage.TYPE_BYTE_GRAY);
+		Dataset first = AWTImageUtils.makeDatasets(image, false, pool)[0];
+		Object buffer = first.getBuffer();
+		Dataset copy = first.clone();
+		pool.release(first);
+		Dataset second = AWTImageUtils.makeDatasets(image, false, pool)[0];
+		assertSame(buffer, second.getBuffer());
+		assertEquals(copy, second);
+	}
+}
@@ -17,19 +17,25 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.nio.file.Path;
 import java.util.Arrays;
 
 import org.eclipse.january.DatasetException;
 import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.CompoundDataset;
 import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.IDataset;
 import org.eclipse.january.dataset.LazyDataset;
+import org.eclipse.january.dataset.Maths;
 import org.eclipse.january.dataset.RGBDataset;
+import org.eclipse.january.dataset.Random;
 import org.junit.Test;
 
 import io.github.h5jan.core.DataFrame;
 import io.github.h5jan.core.JPaths;
+import io.github.h5jan.io.h5.NxsFile;
 
 public class ImageStitcherTest extends AbstractReaderTest {
 	
@@ -184,4 +190,58 @@ public class ImageStitcherTest extends AbstractReaderTest {
 		assertArrayEquals(new int[] {96,384}, image.getShape());
 	}
 
+	@Test
+	public void stitchOverlap() throws Exception {
+		Path path = JPaths.getTestResource("microscope/0/");
+		DataFrame stack = reader.read(path, Configuration.createDefault(), new IMonitor.Stub());
+		
+		Dataset pasted = stack.stitch(new int[] {3,3}, new int[] {16,32}, false);
+		assertArrayEquals(new int[] {256,320}, pasted.getShape());
+		// Last tile is pasted over the overlap
+		Dataset last = DatasetUtils.convertToDataset(stack.get(8).getSlice());
+		assertEquals(last, pasted.getSlice(new int[] {160,192}, new int[] {256,320}, null));
+		
+		Dataset blended = stack.stitch(new int[] {3,3}, new int[] {16,32}, true);
+		assertArrayEquals(new int[] {256,320}, blended.getShape());
+		assertEquals(pasted.getClass(), blended.getClass());
+		// Away from the overlap the blended and pasted images are the same
+		assertEquals(pasted.getSlice(new int[] {16,32}, new int[] {80,96}, null), blended.getSlice(new int[] {16,32}, new int[] {80,96}, null));
+		// Across the overlap the blend lies between the two tiles
+		Dataset a = red(stack.get(0).getSlice()).getSlice(new int[] {0,96}, new int[] {80,128}, null);
+		Dataset b = red(stack.get(1).getSlice()).getSlice(new int[] {0,0}, new int[] {80,32}, null);
+		Dataset overlap = red(blended).getSlice(new int[] {0,96}, new int[] {80,128}, null);
+		assertTrue(Maths.subtract(overlap, Maths.minimum(a, b)).min().doubleValue() >= 0);
+		assertTrue(Maths.subtract(Maths.maximum(a, b), overlap).min().doubleValue() >= 0);
+	}
+
+	private static Dataset red(IDataset rgb) {
+		return ((CompoundDataset) rgb).getElements(0);
+	}
+
+	@Test
+	public void stitchToHdf() throws Exception {
+		Dataset[] tiles = new Dataset[6];
+		for (int i = 0; i < tiles.length; i++) {
+			tiles[i] = Random.randint(0, 1000, new int[] {40, 50});
+			tiles[i].setName("tile-"+i);
+		}
+		DataFrame stack = new DataFrame("tiles", Dataset.INT32, tiles);
+		
+		for (boolean blend : new boolean[] {false, true}) {
+			Dataset expected = stack.stitch(new int[] {2,3}, new int[] {5,10}, blend);
+			assertArrayEquals(new int[] {75,130}, expected.getShape());
+			File file = new File("test-scratch/image/stitched_"+blend+".h5");
+			file.getParentFile().mkdirs();
+			file.delete();
+			int[] shape = stack.stitch_hdf(file.getAbsolutePath(), "/entry/mosaic", new int[] {2,3}, new int[] {5,10}, blend, new IMonitor.Stub());
+			assertArrayEquals(expected.getShape(), shape);
+			
+			try (NxsFile nfile = NxsFile.open(file.getAbsolutePath())) {
+				IDataset written = nfile.getData("/entry/mosaic/stitched_tiles").getDataset().getSlice();
+				written.setName(expected.getName());
+				assertEquals(expected, written);
+			}
+		}
+	}
+
 }
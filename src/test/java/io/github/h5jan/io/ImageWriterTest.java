@@ -0,0 +1,109 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.Maths;
+import org.junit.Test;
+
+import io.github.h5jan.core.DataFrame;
+
+public class ImageWriterTest {
+
+	private static final int IMAGES = 13;
+
+	private static DataFrame createFrame(int max) throws Exception {
+		List<Dataset> images = new ArrayList<>();
+		for (int i = 0; i < IMAGES; i++) {
+			Dataset d = DatasetFactory.createRange(IntegerDataset.class, 20 * 30).reshape(20, 30);
+			images.add(Maths.remainder(Maths.add(d, 7 * i), max + 1));
+		}
+		return new DataFrame("images", Dataset.INT32, images.toArray(new Dataset[images.size()]));
+	}
+
+	private static byte[] save(IStreamSaver<OutputStream> saver, Configuration conf, DataFrame frame) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertTrue(saver.save(out, conf, frame, null));
+		return out.toByteArray();
+	}
+
+	@Test
+	public void parallelPNG() throws Exception {
+		DataFrame frame = createFrame(255);
+		Configuration conf = Configuration.image("images.png", "png", 8, true);
+		byte[] sequential = save(new JavaImageSaver(), conf, frame);
+
+		conf.setThreads(4);
+		byte[] parallel = save(new JavaImageSaver(), conf, frame);
+		assertArrayEquals(sequential, parallel);
+
+		BufferedImage first = ImageIO.read(new ByteArrayInputStream(parallel));
+		assertEquals(30, first.getWidth());
+		assertEquals(20, first.getHeight());
+		assertEquals(31, first.getRaster().getSample(1, 1, 0));
+	}
+
+	@Test
+	public void multiPageTIFF() throws Exception {
+		DataFrame frame = createFrame(4095);
+		Configuration conf = Configuration.image("images.tiff", "tiff", 16, true);
+		conf.setMultiPage(true);
+		conf.setThreads(3);
+		byte[] bytes = save(new TIFFImageSaver(), conf, frame);
+
+		ImageReader reader = ImageIO.getImageReadersByFormatName("tiff").next();
+		try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+			reader.setInput(in);
+			assertEquals(IMAGES, reader.getNumImages(true));
+			for (int i = 0; i < IMAGES; i++) {
+				BufferedImage image = reader.read(i);
+				IntegerDataset expected = DatasetUtils.cast(IntegerDataset.class, frame.get(i).getSlice());
+				int[] samples = image.getRaster().getSamples(0, 0, 30, 20, 0, (int[]) null);
+				assertArrayEquals("Page " + i, expected.getData(), samples);
+			}
+		} finally {
+			reader.dispose();
+		}
+	}
+
+	@Test
+	public void outOfRange() throws Exception {
+		DataFrame frame = createFrame(300);
+		Configuration conf = Configuration.image("images.png", "png", 8, true);
+		conf.setThreads(2);
+		try {
+			save(new JavaImageSaver(), conf, frame);
+			fail("Values exceed 8 bits");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("exceeds the maximum value"));
+		}
+	}
+}
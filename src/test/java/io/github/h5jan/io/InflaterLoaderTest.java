@@ -1,13 +1,31 @@
 package io.github.h5jan.io;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.imageio.ImageIO;
 
 import org.eclipse.january.DatasetException;
 import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
 import org.junit.Before;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
@@ -45,6 +63,132 @@ public class InflaterLoaderTest extends AbstractReaderTest {
 		round("zip/j21.h5.gz", 27, 1000);
 	}
 
+	@Test
+	public void zipEntries() throws Exception {
+		File zip = writeZip("entries", false);
+		
+		DataFrame random = reader.read(zip, Configuration.createEmpty(), new IMonitor.Stub());
+		assertEquals(Arrays.asList("a/x", "a/y", "b/x", "b/y", "sub/c/x", "sub/c/y"), random.getColumnNames());
+		for (int i : new int[] {0, 1, 2}) {
+			String prefix = new String[] {"a", "b", "sub/c"}[i];
+			assertArrayEquals(new double[] {i, i+1, i+2}, doubles(random, prefix+"/x"), 0);
+			assertArrayEquals(new double[] {2*i, 2*i+1, 2*i+2}, doubles(random, prefix+"/y"), 0);
+		}
+		
+		// One entry at a time must give the same frame.
+		Configuration conf = Configuration.createEmpty();
+		conf.setInflateBudget(1);
+		assertFrame(random, reader.read(zip, conf, new IMonitor.Stub()));
+		
+		// As must streaming them.
+		conf = Configuration.createEmpty();
+		conf.setFileName(zip.getName());
+		try (FileInputStream in = new FileInputStream(zip)) {
+			assertFrame(random, reader.load(in, conf, new IMonitor.Stub()));
+		}
+	}
+	
+	@Test
+	public void zipArrow() throws Exception {
+		DataFrame csv = reader.read(JPaths.getTestResource("csv/131.csv"), Configuration.createEmpty(), new IMonitor.Stub());
+		File arw = new File("test-scratch/zip/131.arw");
+		arw.getParentFile().mkdirs();
+		if (!arw.exists()) arw.createNewFile();
+		writer.save(arw, Configuration.arrow(), csv, new IMonitor.Stub());
+		
+		File zip = new File("test-scratch/zip/131_arw.zip");
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+			out.putNextEntry(new ZipEntry(arw.getName()));
+			Files.copy(arw.toPath(), out);
+			out.closeEntry();
+		}
+		
+		File tmpDir = new File(System.getProperty("java.io.tmpdir"));
+		int temps = tmpDir.list((dir, name) -> name.startsWith("131") && name.endsWith(".arw")).length;
+		
+		DataFrame frame = reader.read(zip, Configuration.createEmpty(), new IMonitor.Stub());
+		assertEquals(27, frame.size());
+		assertEquals(csv.getColumnNames(), frame.getColumnNames());
+		Map<String, Object> expected = csv.raw();
+		Map<String, Object> actual   = frame.raw();
+		for (String name : csv.getColumnNames()) { // Arrays of any type, NaN equal to NaN
+			assertTrue(name, Arrays.deepEquals(new Object[] {expected.get(name)}, new Object[] {actual.get(name)}));
+		}
+		
+		// The entry was extracted to a temporary file, which must be gone.
+		assertEquals(temps, tmpDir.list((dir, name) -> name.startsWith("131") && name.endsWith(".arw")).length);
+	}
+	
+	@Test(expected = IOException.class)
+	public void zipCorrupt() throws Exception {
+		File zip = new File("test-scratch/zip/corrupt.zip");
+		zip.getParentFile().mkdirs();
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+			out.putNextEntry(new ZipEntry("a.csv"));
+			out.write("x,y\n0,1\n".getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+			out.putNextEntry(new ZipEntry("image.tif"));
+			out.write("Not an image".getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+		}
+		reader.read(zip, Configuration.createEmpty(), new IMonitor.Stub());
+	}
+	
+	@Test
+	public void zipExtract() throws Exception {
+		File zip = writeZip("extract", true);
+		String h5 = "test-scratch/zip/extract.h5";
+		
+		List<String> groups = reader.extract(zip, h5, Configuration.createEmpty(), new IMonitor.Stub());
+		assertEquals(Arrays.asList("/a", "/b", "/sub/c", "/image"), groups);
+		
+		DataFrame b = new DataFrame().read_hdf_group(h5, "/sub/c");
+		assertArrayEquals(new double[] {2, 3, 4}, doubles(b, "x"), 0);
+		assertArrayEquals(new double[] {4, 5, 6}, doubles(b, "y"), 0);
+		
+		DataFrame image = new DataFrame().read_hdf_group(h5, "/image");
+		assertArrayEquals(new int[] {20, 30}, image.get(0).getShape());
+	}
+
+	private File writeZip(String name, boolean image) throws Exception {
+		File zip = new File("test-scratch/zip/"+name+".zip");
+		zip.getParentFile().mkdirs();
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+			String[] entries = {"a.csv", "b.csv", "sub/c.csv"};
+			for (int i = 0; i < entries.length; i++) {
+				out.putNextEntry(new ZipEntry(entries[i]));
+				String csv = "x,y\n"+i+","+(2*i)+"\n"+(i+1)+","+(2*i+1)+"\n"+(i+2)+","+(2*i+2)+"\n";
+				out.write(csv.getBytes(StandardCharsets.UTF_8));
+				out.closeEntry();
+			}
+			out.putNextEntry(new ZipEntry("sub/"));
+			out.closeEntry();
+			out.putNextEntry(new ZipEntry("README.md")); // No loader
+			out.write("Not data".getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+			if (image) {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				ImageIO.write(new BufferedImage(30, 20, BufferedImage.TYPE_BYTE_GRAY), "tiff", bytes);
+				out.putNextEntry(new ZipEntry("image.tif"));
+				out.write(bytes.toByteArray());
+				out.closeEntry();
+			}
+		}
+		return zip;
+	}
+	
+	private static double[] doubles(DataFrame frame, String name) throws Exception {
+		Dataset d = DatasetUtils.convertToDataset(frame.get(name).getSlice());
+		return DatasetUtils.cast(DoubleDataset.class, d).getData();
+	}
+	
+	private static void assertFrame(DataFrame expected, DataFrame actual) throws Exception {
+		assertEquals(expected.getColumnNames(), actual.getColumnNames());
+		for (String name : expected.getColumnNames()) {
+			assertArrayEquals(doubles(expected, name), doubles(actual, name), 0);
+		}
+	}
+
 	private void round(String path, int dsCount, long maxTime) throws InstantiationException, IllegalAccessException, IOException, DatasetException {
 		Path csvPath = JPaths.getTestResource(path);
 		long before = System.currentTimeMillis();
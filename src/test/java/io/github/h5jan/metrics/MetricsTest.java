@@ -0,0 +1,154 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2019 Halliburton International, Inc.
+ * 
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ *******************************************************************************/
+package io.github.h5jan.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.dawnsci.hdf5.nexus.NexusFileHDF5;
+import org.eclipse.dawnsci.nexus.NexusFile;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.LazyWriteableDataset;
+import org.eclipse.january.dataset.SliceND;
+import org.junit.Test;
+
+import io.github.h5jan.core.DataFrame;
+import io.github.h5jan.core.JPaths;
+import io.github.h5jan.io.Configuration;
+import io.github.h5jan.io.DataFrameReader;
+import io.github.h5jan.io.h5.NxsFile;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class MetricsTest {
+
+	@Test
+	public void histogram() {
+		MetricsRegistry registry = new MetricsRegistry();
+		Histogram h = registry.histogram("h");
+		assertEquals(0, h.getPercentile(0.5));
+		for (int i = 1; i <= 1000; i++) {
+			h.record(i);
+		}
+		assertEquals(1000, h.getCount());
+		assertEquals(500500, h.getSum());
+		assertEquals(1, h.getMin());
+		assertEquals(1000, h.getMax());
+		assertEquals(500.5, h.getMean(), 0);
+		long p50 = h.getPercentile(0.5);
+		assertTrue(p50 >= 500 && p50 < 1000);
+		assertEquals(1000, h.getPercentile(1));
+		assertEquals(1, h.getPercentile(0));
+
+		registry.counter("c").add(3);
+		assertEquals(Long.valueOf(3), registry.getCounts().get("c"));
+		registry.reset();
+		assertEquals(0, h.getCount());
+		assertEquals(Long.valueOf(0), registry.getCounts().get("c"));
+		assertTrue(h == registry.histogram("h"));
+	}
+
+	@Test
+	public void hdf5() throws Exception {
+		MetricsRegistry registry = MetricsRegistry.getDefault();
+		long reads = registry.histogram(Metrics.HDF5_READ).getCount();
+		long readBytes = registry.counter(Metrics.HDF5_READ_BYTES).getCount();
+		long writes = registry.histogram(Metrics.HDF5_WRITE).getCount();
+		long writeBytes = registry.counter(Metrics.HDF5_WRITE_BYTES).getCount();
+		long queued = registry.histogram(Metrics.HDF5_QUEUE_RUN).getCount();
+		long misses = registry.counter(Metrics.HDF5_ACQUIRE_MISS).getCount();
+
+		File file = new File("test-scratch/metrics/hdf5.h5");
+		file.getParentFile().mkdirs();
+		file.delete();
+		try (NexusFileHDF5 nfile = new NexusFileHDF5(file.getAbsolutePath())) {
+			nfile.createAndOpenToWrite();
+			nfile.setWritesAsync(true); // so rows are written from the queue
+			LazyWriteableDataset data = new LazyWriteableDataset("data", Double.class, new int[] {4, 10}, null, null, null);
+			nfile.createData("/entry/data", data, NexusFile.COMPRESSION_NONE, true);
+			for (int i = 0; i < 4; i++) {
+				SliceND slice = new SliceND(data.getShape(), new int[] {i, 0}, new int[] {i + 1, 10}, null);
+				data.setSlice(null, DatasetFactory.createRange(10).reshape(1, 10), slice);
+			}
+			nfile.flush();
+			DoubleDataset read = (DoubleDataset) data.getSlice();
+			assertEquals(40, read.getSize());
+		}
+
+		// small rows may be combined into fewer writes
+		assertTrue(registry.histogram(Metrics.HDF5_WRITE).getCount() > writes);
+		assertTrue(registry.counter(Metrics.HDF5_WRITE_BYTES).getCount() >= writeBytes + 40 * 8);
+		assertTrue(registry.histogram(Metrics.HDF5_QUEUE_RUN).getCount() >= queued + 4);
+		assertTrue(registry.histogram(Metrics.HDF5_READ).getCount() > reads);
+		assertTrue(registry.counter(Metrics.HDF5_READ_BYTES).getCount() >= readBytes + 40 * 8);
+		assertTrue(registry.counter(Metrics.HDF5_ACQUIRE_MISS).getCount() > misses);
+	}
+
+	@Test
+	public void loader() throws Exception {
+		Histogram loads = MetricsRegistry.getDefault().histogram(Metrics.LOAD + "CsvLoader");
+		long count = loads.getCount();
+		DataFrame frame = new DataFrameReader().read(JPaths.getTestResource("csv/sw0.csv").toFile(), Configuration.createEmpty(), new IMonitor.Stub());
+		assertEquals(5, frame.size());
+		assertEquals(count + 1, loads.getCount());
+	}
+
+	@Test
+	public void flightRecorder() throws Exception {
+		Path jfr = Files.createTempFile("metrics", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(HDF5ReadEvent.class);
+			recording.enable(HDF5WriteEvent.class);
+			recording.enable(HDF5AcquireEvent.class);
+			recording.enable(LoadEvent.class);
+			recording.start();
+
+			new DataFrameReader().read(JPaths.getTestResource("csv/sw0.csv").toFile(), Configuration.createEmpty(), new IMonitor.Stub());
+			File file = new File("test-scratch/metrics/jfr.h5");
+			file.getParentFile().mkdirs();
+			file.delete();
+			try (NxsFile nfile = NxsFile.create(file.getAbsolutePath())) {
+				LazyWriteableDataset data = new LazyWriteableDataset("data", Double.class, new int[] {2, 5}, null, null, null);
+				nfile.createData("/entry/data", data, NexusFile.COMPRESSION_NONE, true);
+				data.setSlice(null, DatasetFactory.createRange(10).reshape(2, 5), new SliceND(data.getShape()));
+				nfile.flush();
+				data.getSlice();
+			}
+
+			recording.stop();
+			recording.dump(jfr);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+		Files.delete(jfr);
+		List<String> names = events.stream().map(e -> e.getEventType().getName()).collect(Collectors.toList());
+		assertTrue(names.contains("io.github.h5jan.Load"));
+		assertTrue(names.contains("io.github.h5jan.HDF5Acquire"));
+		assertTrue(names.contains("io.github.h5jan.HDF5Write"));
+		assertTrue(names.contains("io.github.h5jan.HDF5Read"));
+
+		RecordedEvent write = events.stream().filter(e -> e.getEventType().getName().equals("io.github.h5jan.HDF5Write")).findFirst().get();
+		assertEquals("/entry/data/data", write.getString("path"));
+		assertEquals("[2, 5]", write.getString("shape"));
+		assertEquals(80, write.getLong("bytes"));
+		RecordedEvent load = events.stream().filter(e -> e.getEventType().getName().equals("io.github.h5jan.Load")).findFirst().get();
+		assertEquals(5, load.getInt("columns"));
+	}
+}
@@ -0,0 +1,184 @@
+/*-
+ * Copyright 2017 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.eclipse.dawnsci.analysis.dataset.BoundedDatasetCache.Admission;
+import org.eclipse.dawnsci.analysis.dataset.impl.function.DatasetToDatasetFunction;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.Maths;
+import org.junit.Test;
+
+public class BoundedDatasetCacheTest {
+
+	private static Dataset doubles(int n) {
+		return DatasetFactory.zeros(DoubleDataset.class, n);
+	}
+
+	@Test
+	public void testLRU() {
+		BoundedDatasetCache<String> cache = new BoundedDatasetCache<>(800);
+		assertEquals(800, BoundedDatasetCache.weigh(doubles(100)));
+
+		cache.put("a", doubles(40));
+		cache.put("b", doubles(40));
+		assertEquals(640, cache.getWeight());
+		assertNotNull(cache.get("a")); // so b is least recently used
+		cache.put("c", doubles(40));
+		assertEquals(2, cache.size());
+		assertTrue(cache.containsKey("a"));
+		assertFalse(cache.containsKey("b"));
+		assertTrue(cache.containsKey("c"));
+		assertNull(cache.get("b"));
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(320, cache.getEvictedWeight());
+		assertTrue(cache.getWeight() <= cache.getMaxWeight());
+
+		// too heavy to hold
+		cache.put("d", doubles(101));
+		assertFalse(cache.containsKey("d"));
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void testPins() {
+		BoundedDatasetCache<String> cache = new BoundedDatasetCache<>(800);
+		cache.put("a", doubles(60));
+		assertTrue(cache.pin("a"));
+		assertTrue(cache.pin("a"));
+		assertFalse(cache.pin("x"));
+		assertEquals(2, cache.getPinCount("a"));
+
+		cache.put("b", doubles(60));
+		assertTrue(cache.containsKey("a"));
+		assertFalse(cache.containsKey("b"));
+
+		cache.unpin("a");
+		cache.put("b", doubles(60));
+		assertTrue(cache.containsKey("a"));
+
+		cache.unpin("a");
+		assertEquals(0, cache.getPinCount("a"));
+		cache.put("b", doubles(60));
+		assertFalse(cache.containsKey("a"));
+		assertTrue(cache.containsKey("b"));
+	}
+
+	@Test
+	public void testPutPinned() {
+		BoundedDatasetCache<String> cache = new BoundedDatasetCache<>(800);
+		// evicted before it could be pinned, so put back pinned
+		cache.put("a", doubles(60));
+		cache.put("b", doubles(60));
+		assertFalse(cache.containsKey("a"));
+		Dataset a = doubles(60);
+		cache.putPinned("a", a);
+		assertSame(a, cache.get("a"));
+		assertEquals(1, cache.getPinCount("a"));
+
+		// already pinned so gains no more pins
+		cache.putPinned("a", a);
+		assertEquals(1, cache.getPinCount("a"));
+		cache.put("c", doubles(60));
+		assertTrue(cache.containsKey("a"));
+
+		// held whilst pinned even if too heavy
+		cache.putPinned("d", doubles(101));
+		assertTrue(cache.containsKey("d"));
+		cache.unpin("d");
+		assertFalse(cache.containsKey("d"));
+
+		cache.unpin("a");
+		cache.put("c", doubles(60));
+		assertFalse(cache.containsKey("a"));
+	}
+
+	@Test
+	public void testTinyLFUResistsScan() {
+		final int n = 100;
+		BoundedDatasetCache<Integer> lru = new BoundedDatasetCache<>(n * 80, Admission.LRU);
+		BoundedDatasetCache<Integer> lfu = new BoundedDatasetCache<>(n * 80, Admission.TINY_LFU);
+		for (BoundedDatasetCache<Integer> cache : Arrays.asList(lru, lfu)) {
+			// frequently used set fits in cache but is interleaved with a scan of keys used once
+			int scan = 1000;
+			for (int round = 0; round < 20; round++) {
+				for (int k = 0; k < n / 2; k++) {
+					cache.get(k, i -> doubles(10));
+				}
+				for (int k = 0; k < n; k++) {
+					cache.get(scan++, i -> doubles(10));
+				}
+			}
+			assertTrue(cache.getWeight() <= cache.getMaxWeight());
+		}
+		assertTrue(lfu.getHitCount() > 2 * lru.getHitCount());
+	}
+
+	@Test
+	public void testConcurrent() {
+		BoundedDatasetCache<Integer> cache = new BoundedDatasetCache<>(64 * 80, Admission.TINY_LFU);
+		IntStream.range(0, 100000).parallel().forEach(i -> {
+			int k = (i * 31) % 200;
+			Dataset d = cache.get(k, j -> DatasetFactory.createFromObject(new double[] {j, 0, 0, 0, 0, 0, 0, 0, 0, 0}));
+			assertEquals(k, d.getDouble(0), 0);
+			if (i % 100 == 0 && cache.pin(k)) {
+				cache.unpin(k);
+			}
+		});
+		assertTrue(cache.getWeight() <= cache.getMaxWeight());
+		assertEquals(100000, cache.getHitCount() + cache.getMissCount());
+	}
+
+	@Test
+	public void testDatasetCache() {
+		AtomicInteger calls = new AtomicInteger();
+		DatasetToDatasetFunction square = new DatasetToDatasetFunction() {
+			@Override
+			public List<? extends IDataset> value(IDataset... datasets) {
+				calls.incrementAndGet();
+				return Arrays.asList(Maths.square(datasets[0]));
+			}
+		};
+		DatasetCache cache = new DatasetCache(square, 160, Admission.LRU);
+		Dataset a = DatasetFactory.createRange(10);
+		Dataset b = DatasetFactory.createRange(10); // equal to a but a different input
+		Dataset sa = cache.get(a);
+		assertSame(sa, cache.get(a));
+		assertEquals(1, calls.get());
+		cache.get(b);
+		assertEquals(2, calls.get());
+
+		assertTrue(cache.pin(a));
+		cache.get(DatasetFactory.createRange(10));
+		assertSame(sa, cache.get(a));
+		cache.unpin(a);
+
+		assertTrue(cache.remove(a));
+		assertFalse(cache.remove(a));
+		assertEquals(1, cache.getCache().getEvictionCount());
+	}
+}
@@ -0,0 +1,169 @@
+/*-
+ * Copyright 2015 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.dawnsci.analysis.dataset.impl.Image.FilterType;
+import org.eclipse.january.dataset.CompoundDataset;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.IndexIterator;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.RGBDataset;
+import org.eclipse.january.dataset.Random;
+import org.eclipse.january.dataset.ShortDataset;
+import org.eclipse.january.dataset.Stats;
+import org.junit.Test;
+
+public class ImageFilterTest {
+
+	@Test
+	public void testIntegerFilters() {
+		Dataset image = Random.randint(-50, 400, new int[] {67, 91}).cast(IntegerDataset.class);
+		for (int[] kernel : new int[][] {{1, 1}, {3, 3}, {5, 2}, {1, 8}, {21, 15}, {200, 3}}) {
+			checkFilters(image, kernel, FilterType.MIN, FilterType.MAX, FilterType.MEAN, FilterType.MEDIAN);
+		}
+	}
+
+	@Test
+	public void testShortMedian() {
+		Dataset image = Random.randint(0, 30000, new int[] {40, 33}).cast(ShortDataset.class);
+		checkFilters(image, new int[] {7, 4}, FilterType.MEDIAN);
+	}
+
+	@Test
+	public void testDoubleFilters() {
+		Dataset image = Random.randn(new int[] {53, 70});
+		for (int[] kernel : new int[][] {{3, 3}, {4, 9}, {17, 1}}) {
+			checkFilters(image, kernel, FilterType.MIN, FilterType.MAX, FilterType.MEAN, FilterType.MEDIAN);
+		}
+	}
+
+	@Test
+	public void testThreeDimensions() {
+		Dataset image = Random.rand(new int[] {9, 31, 70});
+		checkFilters(image, new int[] {3, 6, 5}, FilterType.MIN, FilterType.MAX, FilterType.MEAN);
+	}
+
+	@Test
+	public void testView() {
+		Dataset image = Random.rand(new int[] {60, 80});
+		Dataset view = image.getSliceView(new int[] {5, 1}, new int[] {55, 80}, new int[] {1, 3});
+		checkFilters(view, new int[] {5, 5}, FilterType.MIN, FilterType.MAX, FilterType.MEAN);
+	}
+
+	@Test
+	public void testNaN() {
+		Dataset image = Random.rand(new int[] {20, 30});
+		image.set(Double.NaN, 10, 10);
+		checkFilters(image, new int[] {3, 5}, FilterType.MIN, FilterType.MAX, FilterType.MEAN);
+	}
+
+	@Test
+	public void testGaussianBlur() {
+		Dataset image = Random.rand(new int[] {40, 50});
+		Dataset expected = Image.meanFilter(Image.meanFilter(Image.meanFilter(image, new int[] {5, 3}), new int[] {5, 3}), new int[] {5, 3});
+		Dataset blurred = Image.gaussianBlurFilter(image, new int[] {5, 3});
+		IndexIterator it = image.getIterator(true);
+		int[] pos = it.getPos();
+		while (it.hasNext()) {
+			assertEquals(expected.getDouble(pos), blurred.getDouble(pos), 1e-12);
+		}
+	}
+
+	@Test
+	public void testGaussianBlurNonFinite() {
+		int[] kernel = new int[] {5, 3};
+		Dataset image = Random.rand(new int[] {40, 50});
+		Dataset finite = Image.gaussianBlurFilter(image.clone(), kernel);
+		image.set(Double.NaN, 20, 25);
+		Dataset blurred = Image.gaussianBlurFilter(image, kernel);
+
+		// only positions within three half-kernels of the NaN see it
+		IndexIterator it = image.getIterator(true);
+		int[] pos = it.getPos();
+		while (it.hasNext()) {
+			if (Math.abs(pos[0] - 20) <= 3 * (kernel[0] / 2) && Math.abs(pos[1] - 25) <= 3 * (kernel[1] / 2)) {
+				assertTrue(Double.isNaN(blurred.getDouble(pos)));
+			} else {
+				assertEquals(finite.getDouble(pos), blurred.getDouble(pos), 1e-12);
+			}
+		}
+	}
+
+	@Test
+	public void testGaussianBlurRGB() {
+		int[] kernel = new int[] {3, 7};
+		Dataset[] channels = new Dataset[3];
+		for (int i = 0; i < 3; i++) {
+			channels[i] = Random.randint(0, 255, new int[] {30, 20}).cast(ShortDataset.class);
+		}
+		RGBDataset image = DatasetUtils.createCompoundDataset(RGBDataset.class, channels);
+		CompoundDataset blurred = (CompoundDataset) Image.gaussianBlurFilter(image, kernel);
+		assertEquals(RGBDataset.class, blurred.getClass());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(Image.gaussianBlurFilter(channels[i], kernel), blurred.getElements(i));
+		}
+	}
+
+	private static void checkFilters(Dataset image, int[] kernel, FilterType... types) {
+		for (FilterType type : types) {
+			Dataset result;
+			switch (type) {
+			case MIN:
+				result = Image.minFilter(image, kernel);
+				break;
+			case MAX:
+				result = Image.maxFilter(image, kernel);
+				break;
+			case MEAN:
+				result = Image.meanFilter(image, kernel);
+				break;
+			default:
+				result = Image.medianFilter(image, kernel);
+				break;
+			}
+			assertEquals(image.getClass(), result.getClass());
+
+			int[] shape = image.getShapeRef();
+			int[] start = new int[shape.length];
+			int[] stop = new int[shape.length];
+			Dataset expected = image.clone();
+			IndexIterator it = image.getIterator(true);
+			int[] pos = it.getPos();
+			while (it.hasNext()) {
+				for (int i = 0; i < shape.length; i++) {
+					start[i] = Math.max(0, pos[i] - kernel[i] / 2);
+					stop[i] = Math.min(shape[i], pos[i] - kernel[i] / 2 + kernel[i]);
+				}
+				Dataset slice = image.getSlice(start, stop, null);
+				switch (type) {
+				case MIN:
+					expected.set(slice.min(), pos);
+					break;
+				case MAX:
+					expected.set(slice.max(), pos);
+					break;
+				case MEAN:
+					expected.set(((Number) slice.sum()).doubleValue() / slice.getSize(), pos);
+					break;
+				default:
+					expected.set(Stats.median(slice), pos);
+					break;
+				}
+				double e = expected.getDouble(pos);
+				assertEquals(type + " at " + pos[0] + ", " + pos[1], e, result.getDouble(pos), image instanceof DoubleDataset ? 1e-12 * Math.max(1, Math.abs(e)) : 0);
+			}
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/*-
+ * Copyright 2015 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.FloatDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.Random;
+import org.junit.Test;
+
+public class SummedAreaTableTest {
+
+	@Test
+	public void testIntegerTable() throws Exception {
+		Dataset image = Random.randint(0, 1000, new int[] {300, 410}).cast(IntegerDataset.class);
+		checkTable(image, new SummedAreaTable(image, true), 0);
+	}
+
+	@Test
+	public void testDoubleTable() throws Exception {
+		Dataset image = Random.rand(new int[] {257, 129});
+		checkTable(image, new SummedAreaTable(image, true), 1e-9);
+	}
+
+	@Test
+	public void testFloatTable() throws Exception {
+		Dataset image = Random.rand(new int[] {64, 80}).cast(FloatDataset.class);
+		checkTable(image, new SummedAreaTable(image, true, true), 1e-3);
+	}
+
+	@Test
+	public void testView() throws Exception {
+		Dataset image = Random.randint(0, 100, new int[] {120, 90});
+		Dataset view = image.getSliceView(new int[] {10, 5}, new int[] {110, 85}, new int[] {2, 1});
+		checkTable(view.getSlice(), new SummedAreaTable(view, true), 0);
+	}
+
+	@Test
+	public void testMeanAndFanoImages() throws Exception {
+		Dataset image = Random.randint(1, 50, new int[] {40, 50}).cast(DoubleDataset.class);
+		SummedAreaTable table = new SummedAreaTable(image, true);
+		Dataset mean = table.getMeanImage(3, 5);
+		Dataset fano = table.getFanoImage(3, 5);
+		for (int i = 0; i < 40; i++) {
+			for (int j = 0; j < 50; j++) {
+				Dataset box = image.getSlice(new int[] {Math.max(i - 1, 0), Math.max(j - 2, 0)},
+						new int[] {Math.min(i + 2, 40), Math.min(j + 3, 50)}, null);
+				double s = ((Number) box.sum()).doubleValue();
+				double s2 = ((Number) box.ipower(2).sum()).doubleValue();
+				double m = s / 15;
+				assertEquals(m, mean.getDouble(i, j), 1e-9);
+				assertEquals((s2 - s * s / 15) / 15 / m, fano.getDouble(i, j), 1e-9);
+			}
+		}
+	}
+
+	private static void checkTable(Dataset image, SummedAreaTable table, double tol) {
+		int[] shape = image.getShapeRef();
+		Dataset expected = DatasetFactory.zeros(DoubleDataset.class, shape);
+		for (int i = 0; i < shape[0]; i++) {
+			double row = 0;
+			for (int j = 0; j < shape[1]; j++) {
+				row += image.getDouble(i, j);
+				expected.set(row + (i > 0 ? expected.getDouble(i - 1, j) : 0), i, j);
+			}
+		}
+		for (int i = 0; i < shape[0]; i++) {
+			for (int j = 0; j < shape[1]; j++) {
+				double e = expected.getDouble(i, j);
+				assertEquals(e, table.getDouble(i, j), tol * Math.max(1, Math.abs(e)));
+			}
+		}
+	}
+}
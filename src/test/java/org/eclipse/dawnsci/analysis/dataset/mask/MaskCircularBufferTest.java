@@ -0,0 +1,116 @@
+/*-
+ * Copyright 2017 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset.mask;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.eclipse.dawnsci.analysis.dataset.roi.RectangularROI;
+import org.eclipse.january.dataset.BooleanDataset;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.junit.Test;
+
+public class MaskCircularBufferTest {
+
+	private final int[] shape = new int[] {50, 70};
+
+	@Test
+	public void testROIAndUndo() {
+		MaskCircularBuffer buffer = new MaskCircularBuffer(shape);
+		assertTrue(buffer.isBufferEmpty());
+
+		buffer.maskROI(new RectangularROI(10, 5, 20, 10, 0));
+		BooleanDataset mask = buffer.getMask();
+		assertFalse(mask.get(10, 15));
+		assertTrue(mask.get(2, 15));
+		assertTrue(mask.get(10, 60));
+		assertFalse(buffer.isBufferEmpty());
+
+		buffer.maskPixel(60, 40);
+		assertFalse(buffer.getMask().get(40, 60));
+
+		buffer.undo();
+		assertTrue(buffer.getMask().get(40, 60));
+		assertFalse(buffer.getMask().get(10, 15));
+
+		buffer.undo();
+		assertTrue(buffer.isBufferEmpty());
+		assertEquals(0, buffer.getMaskedCount());
+	}
+
+	@Test
+	public void testThresholdMergeAndInvert() {
+		MaskCircularBuffer buffer = new MaskCircularBuffer(shape);
+		Dataset data = DatasetFactory.createRange(shape[0] * shape[1]).reshape(shape);
+		buffer.maskThreshold(100., 3000., data);
+		assertEquals(100 + (shape[0] * shape[1] - 3001), buffer.getMaskedCount());
+
+		Dataset m = DatasetFactory.ones(shape);
+		m.set(0, 20, 20);
+		buffer.merge(m);
+		assertFalse(buffer.getMask().get(20, 20));
+		int masked = buffer.getMaskedCount();
+
+		buffer.invert();
+		assertEquals(shape[0] * shape[1] - masked, buffer.getMaskedCount());
+		assertTrue(buffer.getMask().get(20, 20));
+
+		buffer.clear();
+		assertEquals(0, buffer.getMaskedCount());
+	}
+
+	@Test
+	public void testFullHistory() {
+		MaskCircularBuffer buffer = new MaskCircularBuffer(shape);
+		for (int i = 0; i < 40; i++) {
+			buffer.maskPixel(i, i);
+		}
+		// oldest steps are merged so history is bounded but nothing is lost
+		assertEquals(40, buffer.getMaskedCount());
+		buffer.undo();
+		assertEquals(39, buffer.getMaskedCount());
+		assertTrue(buffer.getMask().get(39, 39));
+		assertFalse(buffer.getMask().get(38, 38));
+	}
+
+	@Test
+	public void testView() {
+		MaskCircularBuffer buffer = new MaskCircularBuffer(shape);
+		BooleanDataset view = buffer.getMaskView();
+		assertTrue(view.get(3, 4));
+		buffer.maskPixel(4, 3);
+		assertSame(view, buffer.getMaskView());
+		assertFalse(view.get(3, 4));
+		buffer.undo();
+		assertTrue(buffer.getMaskView().get(3, 4));
+	}
+
+	@Test
+	public void testMaskPixelOutOfBounds() {
+		MaskCircularBuffer buffer = new MaskCircularBuffer(shape);
+		int[][] pixels = new int[][] {{70, 0}, {-1, 1}, {0, 50}, {3, -1}};
+		for (int[] p : pixels) {
+			try {
+				buffer.maskPixel(p[0], p[1]);
+				fail("Pixel (" + p[0] + ", " + p[1] + ") should be out of bounds");
+			} catch (ArrayIndexOutOfBoundsException e) {
+				// expected
+			}
+		}
+		// nothing masked, in particular not the first pixel of the next row
+		assertTrue(buffer.isBufferEmpty());
+		assertTrue(buffer.getMaskView().get(1, 0));
+		assertTrue(buffer.getMaskView().get(0, 69));
+	}
+}
@@ -0,0 +1,216 @@
+/*-
+ * Copyright 2015 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.analysis.dataset.slicer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dawnsci.hdf5.HDF5LazyLoader;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.IDynamicDataset;
+import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.LazyDynamicDataset;
+import org.eclipse.january.dataset.LazyWriteableDataset;
+import org.junit.Test;
+
+import io.github.h5jan.io.h5.NxsFile;
+
+public class DynamicSliceViewIteratorTest {
+
+	private final static String FILE_NAME = "test-scratch/tail.nxs";
+
+	private static final int FRAMES = 30;
+
+	private static IDynamicDataset createReader(String path, String node, int... shape) {
+		HDF5LazyLoader loader = new HDF5LazyLoader(null, path, node, node.substring(node.lastIndexOf('/') + 1),
+				shape, 1, IntegerDataset.class, false);
+		int[] maxShape = shape.clone();
+		maxShape[0] = IDynamicDataset.UNLIMITED;
+		return new LazyDynamicDataset(node, Dataset.INT32, 1, shape, maxShape, loader);
+	}
+
+	private static Dataset createFrame(int i) {
+		return DatasetFactory.createRange(IntegerDataset.class, i * 100, i * 100 + 20, 1).reshape(1, 4, 5);
+	}
+
+	@Test
+	public void testTail() throws Exception {
+		final String path = new File(FILE_NAME).getAbsolutePath();
+		final List<Throwable> errors = new ArrayList<>();
+
+		final NxsFile nf = NxsFile.create(path, true);
+		ILazyWriteableDataset data = new LazyWriteableDataset("data", Integer.class,
+				new int[] {0, 4, 5}, new int[] {ILazyWriteableDataset.UNLIMITED, 4, 5}, new int[] {1, 4, 5}, null);
+		ILazyWriteableDataset key = new LazyWriteableDataset("key", Integer.class,
+				new int[] {0}, new int[] {ILazyWriteableDataset.UNLIMITED}, new int[] {16}, null);
+		ILazyWriteableDataset finished = new LazyWriteableDataset("finished", Integer.class,
+				new int[] {1}, new int[] {1}, new int[] {1}, null);
+		nf.createData("/entry", data, true);
+		nf.createData("/entry", key, true);
+		nf.createData("/entry", finished, true);
+		finished.setSlice(null, DatasetFactory.zeros(IntegerDataset.class, 1), new int[] {0}, new int[] {1}, null);
+		nf.activateSwmrMode();
+		data.setSlice(null, createFrame(0), new int[] {0, 0, 0}, new int[] {1, 4, 5}, null);
+		key.setSlice(null, DatasetFactory.ones(IntegerDataset.class, 1), new int[] {0}, new int[] {1}, null);
+		nf.flush();
+
+		Thread writer = new Thread(() -> {
+			try {
+				for (int i = 1; i < FRAMES; i++) {
+					Thread.sleep(i % 7 == 0 ? 40 : 2);
+					data.setSlice(null, createFrame(i), new int[] {i, 0, 0}, new int[] {i + 1, 4, 5}, null);
+					key.setSlice(null, DatasetFactory.ones(IntegerDataset.class, 1), new int[] {i}, new int[] {i + 1}, null);
+					nf.flush();
+				}
+				finished.setSlice(null, DatasetFactory.ones(IntegerDataset.class, 1), new int[] {0}, new int[] {1}, null);
+				nf.flush();
+			} catch (Throwable t) {
+				errors.add(t);
+			}
+		}, "Tail writer");
+
+		try {
+			IDynamicDataset lazy = createReader(path, "/entry/data", 1, 4, 5);
+			lazy.setMetadata(new SliceFromSeriesMetadata(new SourceInformation(path, "/entry/data", lazy, true)));
+			IDynamicDataset k = createReader(path, "/entry/key", 1);
+			IDynamicDataset f = createReader(path, "/entry/finished", 1);
+			f.setMaxShape(1);
+
+			DynamicSliceViewIterator it = new DynamicSliceViewIterator(lazy, new IDynamicDataset[] {k}, f, 2);
+			it.setMaxTimeout(20000);
+
+			final List<IDataset> frames = new ArrayList<>();
+			writer.start();
+			Slicer.visit(it, new SliceVisitor() {
+				@Override
+				public void visit(IDataset data) throws Exception {
+					frames.add(data);
+				}
+
+				@Override
+				public boolean isCancelled() {
+					return false;
+				}
+			});
+			writer.join();
+
+			assertTrue(errors.isEmpty());
+			assertEquals(FRAMES, frames.size());
+			for (int i = 0; i < FRAMES; i++) {
+				Dataset d = DatasetUtils.convertToDataset(frames.get(i));
+				assertArrayEquals(new int[] {1, 4, 5}, d.getShape());
+				assertEquals(createFrame(i), d);
+				SliceFromSeriesMetadata m = d.getFirstMetadata(SliceFromSeriesMetadata.class);
+				assertEquals(i, m.getSliceInfo().getSliceNumber());
+				assertEquals(i, m.getSliceInfo().getSliceFromInput()[0].getStart().intValue());
+				assertEquals(i + 1, m.getSliceInfo().getSliceFromInput()[0].getStop().intValue());
+			}
+			assertEquals(FRAMES, frames.get(FRAMES - 1).getFirstMetadata(SliceFromSeriesMetadata.class).getSliceInfo().getTotalSlices());
+			assertFalse(it.hasNext());
+		} finally {
+			writer.join();
+			nf.close();
+		}
+	}
+
+	@Test
+	public void testHasNextIsIdempotent() throws Exception {
+		final String path = new File("test-scratch/finished.nxs").getAbsolutePath();
+		final int frames = 3;
+
+		NxsFile nf = NxsFile.create(path, true);
+		try {
+			ILazyWriteableDataset data = new LazyWriteableDataset("data", Integer.class,
+					new int[] {0, 4, 5}, new int[] {ILazyWriteableDataset.UNLIMITED, 4, 5}, new int[] {1, 4, 5}, null);
+			ILazyWriteableDataset key = new LazyWriteableDataset("key", Integer.class,
+					new int[] {0}, new int[] {ILazyWriteableDataset.UNLIMITED}, new int[] {16}, null);
+			ILazyWriteableDataset finished = new LazyWriteableDataset("finished", Integer.class,
+					new int[] {1}, new int[] {1}, new int[] {1}, null);
+			nf.createData("/entry", data, true);
+			nf.createData("/entry", key, true);
+			nf.createData("/entry", finished, true);
+			for (int i = 0; i < frames; i++) {
+				data.setSlice(null, createFrame(i), new int[] {i, 0, 0}, new int[] {i + 1, 4, 5}, null);
+				key.setSlice(null, DatasetFactory.ones(IntegerDataset.class, 1), new int[] {i}, new int[] {i + 1}, null);
+			}
+			finished.setSlice(null, DatasetFactory.ones(IntegerDataset.class, 1), new int[] {0}, new int[] {1}, null);
+		} finally {
+			nf.close();
+		}
+
+		IDynamicDataset lazy = createReader(path, "/entry/data", frames, 4, 5);
+		lazy.setMetadata(new SliceFromSeriesMetadata(new SourceInformation(path, "/entry/data", lazy, true)));
+		IDynamicDataset k = createReader(path, "/entry/key", frames);
+		IDynamicDataset f = createReader(path, "/entry/finished", 1);
+		f.setMaxShape(1);
+
+		try (DynamicSliceViewIterator it = new DynamicSliceViewIterator(lazy, new IDynamicDataset[] {k}, f, 2)) {
+			it.setMaxTimeout(5000);
+			for (int i = 0; i < frames; i++) {
+				assertTrue(it.hasNext());
+				assertTrue(it.hasNext());
+				Dataset d = DatasetUtils.convertToDataset(it.next().getSlice());
+				assertEquals(createFrame(i), d);
+				assertEquals(i, d.getFirstMetadata(SliceFromSeriesMetadata.class).getSliceInfo().getSliceNumber());
+			}
+			assertFalse(it.hasNext());
+			assertFalse(it.hasNext());
+		}
+	}
+
+	@Test
+	public void testTailWatcher() throws Exception {
+		File file = new File("test-scratch/tail.dat");
+		file.getParentFile().mkdirs();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.write(0);
+		}
+
+		try (SWMRTailWatcher watcher = new SWMRTailWatcher(null, 2, 16)) {
+			assertFalse(watcher.await(1000));
+			assertEquals(4, watcher.getWait());
+			assertFalse(watcher.await(1000));
+			assertFalse(watcher.await(1000));
+			assertFalse(watcher.await(1000));
+			assertEquals(16, watcher.getWait());
+			watcher.dataArrived();
+			assertEquals(2, watcher.getWait());
+		}
+
+		try (SWMRTailWatcher watcher = new SWMRTailWatcher(file.getPath(), 5000, 5000)) {
+			if (watcher.isWatching()) {
+				Thread t = new Thread(() -> {
+					try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+						Thread.sleep(50);
+						raf.write(1);
+					} catch (Exception e) {
+					}
+				});
+				t.start();
+				long start = System.currentTimeMillis();
+				assertTrue(watcher.await(5000));
+				// wakes on change rather than at end of period
+				assertTrue(System.currentTimeMillis() - start < 4000);
+				t.join();
+			}
+		}
+	}
+}
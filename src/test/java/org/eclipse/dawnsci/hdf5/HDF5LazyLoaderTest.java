@@ -0,0 +1,138 @@
+/*-
+ * Copyright 2018 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.hdf5;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.eclipse.dawnsci.hdf5.nexus.NexusFileHDF5;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.LazyDataset;
+import org.eclipse.january.dataset.LazyWriteableDataset;
+import org.eclipse.january.dataset.Random;
+import org.junit.Test;
+
+public class HDF5LazyLoaderTest {
+
+	private static String write(String name, Dataset contiguous, Dataset chunked) throws Exception {
+		File f = new File("test-scratch/hdf5/" + name + ".h5");
+		f.getParentFile().mkdirs();
+		f.delete();
+		NexusFileHDF5 h5f = new NexusFileHDF5(f.getAbsolutePath());
+		h5f.createAndOpenToWrite();
+		h5f.createData("/entry/data", contiguous, true);
+		LazyWriteableDataset w = new LazyWriteableDataset(chunked.getName(), chunked.getElementClass(), chunked.getShapeRef(),
+				null, new int[] {8, 16}, null);
+		h5f.createData("/entry/data", w, true);
+		w.setSlice(null, chunked, null, null, null);
+		h5f.close();
+		return f.getAbsolutePath();
+	}
+
+	private static LazyDataset create(String file, String node, Dataset d, long cacheBytes) {
+		HDF5LazyLoader loader = new HDF5LazyLoader(null, file, node, d.getName(), d.getShape(), 1, d.getClass(), false);
+		loader.setSliceCache(cacheBytes);
+		return new LazyDataset(loader, d.getName(), d.getClass(), d.getShape());
+	}
+
+	private static void assertSlice(Dataset expected, LazyDataset actual, int[] start, int[] stop, int[] step) throws Exception {
+		Dataset e = expected.getSlice(start, stop, step);
+		Dataset a = DatasetUtils.convertToDataset(actual.getSlice(start, stop, step));
+		assertEquals(e.getClass(), a.getClass());
+		assertArrayEquals(e.getShapeRef(), a.getShapeRef());
+		assertArrayEquals(DatasetUtils.cast(DoubleDataset.class, e).getData(), DatasetUtils.cast(DoubleDataset.class, a).getData(), 0);
+	}
+
+	@Test
+	public void testSliceCache() throws Exception {
+		Dataset d = Random.randn(300, 50);
+		d.setName("d");
+		Dataset i = DatasetUtils.cast(IntegerDataset.class, Random.randint(-1000, 1000, new int[] {50, 70}));
+		i.setName("i");
+		String file = write("sliceCache", d, i);
+
+		for (Dataset e : new Dataset[] {d, i}) {
+			String node = "/entry/data/" + e.getName();
+			HDF5LazyLoader loader = new HDF5LazyLoader(null, file, node, e.getName(), e.getShape(), 1, e.getClass(), false);
+			loader.setSliceCache(16 << 20);
+			LazyDataset lazy = new LazyDataset(loader, e.getName(), e.getClass(), e.getShape());
+			assertSlice(e, lazy, null, null, null);
+			assertSlice(e, lazy, new int[] {2, 3}, new int[] {20, 15}, null);
+			assertSlice(e, lazy, new int[] {2, 3}, new int[] {40, 35}, new int[] {3, 2});
+			assertSlice(e, lazy, new int[] {5, 0}, new int[] {6, 30}, null);
+			assertSlice(e, lazy, new int[] {0, 7}, new int[] {45, 8}, null);
+			assertSlice(e, lazy, new int[] {44, 30}, new int[] {0, 0}, new int[] {-2, -5});
+
+			long hits = loader.getSliceCache().getHitCount();
+			assertSlice(e, lazy, new int[] {3, 0}, new int[] {40, 50}, null);
+			assertTrue("Overlapping slice should be read from cache", loader.getSliceCache().getHitCount() > hits);
+
+			loader.clearSliceCache();
+			assertEquals(0, loader.getSliceCache().size());
+		}
+
+		LazyDataset uncached = create(file, "/entry/data/i", i, 0);
+		assertSlice(i, uncached, new int[] {2, 3}, new int[] {40, 35}, new int[] {3, 2});
+	}
+
+	@Test
+	public void testReadHandle() throws Exception {
+		Dataset d = DatasetFactory.createRange(20 * 30.).reshape(20, 30);
+		d.setName("d");
+		Dataset i = DatasetUtils.cast(IntegerDataset.class, d);
+		i.setName("i");
+		String file = write("readHandle", d, i);
+		String node = "/entry/data/i";
+
+		HDF5File f = HDF5FileFactory.acquireFile(file, false);
+		try {
+			HDF5ReadHandle h = f.getReadHandle(node);
+			assertNotNull(h);
+			assertArrayEquals(new int[] {8, 16}, h.getChunks());
+			assertSame(h, f.getReadHandle(node));
+			assertNull(f.getReadHandle("/entry/data"));
+
+			Dataset s = HDF5Utils.readDataset(f, node, new int[] {1, 2}, new int[] {3, 4}, new int[] {2, 3}, -1, null, false);
+			assertEquals(i.getSlice(new int[] {1, 2}, new int[] {7, 14}, new int[] {2, 3}), s);
+
+			HDF5Utils.readDatasetShape(f, node);
+			HDF5ReadHandle n = f.getReadHandle(node);
+			assertNotSame("Refreshing shape should invalidate handle", h, n);
+			assertArrayEquals(new int[] {8, 16}, n.getChunks());
+			assertNull(f.getReadHandle("/entry/data/d").getChunks());
+		} finally {
+			HDF5FileFactory.releaseFile(file, true);
+		}
+
+		// files open for writing are read without handles
+		Dataset e = i.getSlice(new int[] {19, 29}, new int[] {0, 0}, new int[] {-3, -4});
+		for (boolean writeable : new boolean[] {false, true}) {
+			f = HDF5FileFactory.acquireFile(file, writeable);
+			try {
+				assertEquals(writeable, f.getReadHandle(node) == null);
+				Dataset s = HDF5Utils.readDataset(f, node, new int[] {19, 29}, e.getShape(), new int[] {-3, -4}, -1, null, false);
+				assertEquals(e, s);
+			} finally {
+				HDF5FileFactory.releaseFile(file, true);
+			}
+		}
+	}
+}
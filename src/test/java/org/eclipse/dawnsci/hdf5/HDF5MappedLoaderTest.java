@@ -0,0 +1,105 @@
+/*-
+ * Copyright 2018 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.dawnsci.hdf5;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+import org.eclipse.dawnsci.hdf5.nexus.NexusFileHDF5;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.LazyWriteableDataset;
+import org.eclipse.january.dataset.Random;
+import org.eclipse.january.dataset.ShortDataset;
+import org.eclipse.january.dataset.Slice;
+import org.junit.Test;
+
+public class HDF5MappedLoaderTest {
+
+	private static String write(Dataset... data) throws Exception {
+		File f = File.createTempFile("mapped", ".h5");
+		f.deleteOnExit();
+		NexusFileHDF5 h5f = new NexusFileHDF5(f.getAbsolutePath());
+		h5f.createAndOpenToWrite();
+		for (Dataset d : data) {
+			h5f.createData("/entry/data", d, true);
+		}
+		h5f.close();
+		return f.getAbsolutePath();
+	}
+
+	private static void assertSlice(ILazyDataset expected, ILazyDataset actual, int[] start, int[] stop, int[] step) throws Exception {
+		Dataset e = DatasetUtils.convertToDataset(expected.getSlice(start, stop, step));
+		Dataset a = DatasetUtils.convertToDataset(actual.getSlice(start, stop, step));
+		assertEquals(e.getClass(), a.getClass());
+		assertArrayEquals(e.getShapeRef(), a.getShapeRef());
+		assertArrayEquals(DatasetUtils.cast(DoubleDataset.class, e).getData(), DatasetUtils.cast(DoubleDataset.class, a).getData(), 0);
+	}
+
+	@Test
+	public void testSlices() throws Exception {
+		Dataset d = Random.randn(23, 17);
+		d.setName("d");
+		Dataset i = DatasetUtils.cast(IntegerDataset.class, Random.randint(-1000, 1000, new int[] {40, 31}));
+		i.setName("i");
+		String file = write(d, i);
+
+		for (String node : new String[] {"/entry/data/d", "/entry/data/i"}) {
+			ILazyDataset mapped = HDF5MappedLoader.createDataset(file, node);
+			assertNotNull(mapped);
+			ILazyDataset lazy = HDF5Utils.loadDataset(file, node);
+			assertSlice(lazy, mapped, null, null, null);
+			assertSlice(lazy, mapped, new int[] {2, 3}, new int[] {20, 15}, new int[] {3, 2});
+			assertSlice(lazy, mapped, new int[] {22, 16}, new int[] {0, 0}, new int[] {-2, -5});
+			assertSlice(lazy.getSliceView(new Slice(5, 6)).squeezeEnds(),
+					mapped.getSliceView(new Slice(5, 6)).squeezeEnds(), null, null, null);
+		}
+	}
+
+	@Test
+	public void testSegments() throws Exception {
+		Dataset s = DatasetUtils.cast(ShortDataset.class, Random.randint(-1000, 1000, new int[] {13, 11}));
+		s.setName("s");
+		String file = write(s);
+
+		// segments of 8 bytes so runs cross them
+		HDF5MappedLoader loader = HDF5MappedLoader.create(file, "/entry/data/s", 8);
+		ILazyDataset mapped = loader.createDataset();
+		assertSlice(s, mapped, null, null, null);
+		assertSlice(s, mapped, new int[] {1, 2}, new int[] {12, 11}, new int[] {2, 3});
+
+		ByteBuffer[] buffers = loader.getBuffers();
+		assertEquals(36, buffers.length);
+		assertEquals(s.getShort(0, 5), buffers[1].getShort(2));
+	}
+
+	@Test
+	public void testFallback() throws Exception {
+		File f = File.createTempFile("chunked", ".h5");
+		f.deleteOnExit();
+		NexusFileHDF5 h5f = new NexusFileHDF5(f.getAbsolutePath());
+		h5f.createAndOpenToWrite();
+		LazyWriteableDataset w = new LazyWriteableDataset("w", Double.class, new int[] {4, 8}, new int[] {-1, 8}, null, null);
+		h5f.createData("/entry/data", w, true);
+		w.setSlice(null, DatasetFactory.createRange(32).reshape(4, 8), new int[] {0, 0}, new int[] {4, 8}, null);
+		h5f.close();
+
+		assertNull(HDF5MappedLoader.create(f.getAbsolutePath(), "/entry/data/w"));
+	}
+}
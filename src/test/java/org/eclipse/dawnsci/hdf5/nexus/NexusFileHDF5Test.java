@@ -9,6 +9,8 @@
 
 package org.eclipse.dawnsci.hdf5.nexus;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
 
@@ -18,10 +20,14 @@ import org.eclipse.dawnsci.hdf5.HDF5DatasetResource;
 import org.eclipse.dawnsci.hdf5.HDF5DatatypeResource;
 import org.eclipse.dawnsci.hdf5.HDF5FileResource;
 import org.eclipse.dawnsci.hdf5.HDF5Resource;
+import org.eclipse.dawnsci.hdf5.HDF5Utils;
 import org.eclipse.dawnsci.nexus.NexusException;
+import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.IDataset;
 import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.IntegerDataset;
 import org.eclipse.january.dataset.LazyWriteableDataset;
 import org.junit.Test;
 
@@ -108,4 +114,46 @@ public class NexusFileHDF5Test {
 			}
 		}
 	}
+
+	@Test
+	public void testWriteCombining() throws Exception {
+		final int rows = 37;
+		final int width = 5;
+		Dataset expected = DatasetFactory.createRange(IntegerDataset.class, rows * width).reshape(rows, width);
+		try (NexusFileHDF5 nf = new NexusFileHDF5(FILE_NAME, false)) {
+			nf.createAndOpenToWrite();
+			nf.setWriteCombining(true);
+			ILazyWriteableDataset lds = new LazyWriteableDataset("data",
+					Integer.class,
+					new int[] {0, width},
+					new int[] {ILazyWriteableDataset.UNLIMITED, width},
+					new int[] {16, width}, null);
+			nf.createData("/test", lds, true);
+			for (int i = 0; i < rows; i++) {
+				if (i == 20) {
+					// only first chunk's worth of rows is on file
+					assertEquals(16, HDF5Utils.getDatasetShape(FILE_NAME, "/test/data")[0][0]);
+					// reading writes out staged rows
+					Dataset read = DatasetUtils.convertToDataset(lds.getSlice(new int[] {0, 0}, new int[] {i, width}, null));
+					assertEquals(expected.getSlice(new int[] {0, 0}, new int[] {i, width}, null), read);
+				}
+				if (i == 30) {
+					// overwrite an earlier row
+					Dataset row = DatasetFactory.zeros(IntegerDataset.class, 1, width).fill(-1);
+					lds.setSlice(null, row, new int[] {2, 0}, new int[] {3, width}, null);
+					expected.setSlice(-1, new int[] {2, 0}, new int[] {3, width}, null);
+				}
+				Dataset row = expected.getSlice(new int[] {i, 0}, new int[] {i + 1, width}, null);
+				lds.setSlice(null, row, new int[] {i, 0}, new int[] {i + 1, width}, null);
+			}
+			assertArrayEquals(new int[] {rows, width}, lds.getShape());
+		}
+
+		try (NexusFileHDF5 nf = new NexusFileHDF5(FILE_NAME, false)) {
+			nf.openToRead();
+			Dataset read = DatasetUtils.convertToDataset(nf.getData("/test/data").getDataset().getSlice());
+			assertArrayEquals(new int[] {rows, width}, read.getShape());
+			assertEquals(expected, read);
+		}
+	}
 }
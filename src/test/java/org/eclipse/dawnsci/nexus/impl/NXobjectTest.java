@@ -34,6 +34,7 @@ import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
 import org.eclipse.january.dataset.IDataset;
 import org.eclipse.january.dataset.ILazyWriteableDataset;
+import org.eclipse.january.dataset.LazyDataset;
 import org.junit.Test;
 
 public class NXobjectTest {
@@ -379,5 +380,28 @@ public class NXobjectTest {
 		detector.setAttribute("field", "attribute", date);
 		assertEquals(date, detector.getAttrDate("field", "attribute"));
 	}
+
+	@Test
+	public void testSetFieldOfLazyField() {
+		NXsample sample = NexusNodeFactory.createNXsample();
+		DataNode node = NexusNodeFactory.createDataNode();
+		node.setDataset(LazyDataset.createLazyDataset(DatasetFactory.createFromObject(300.0)));
+		sample.addDataNode(NXsample.NX_TEMPERATURE, node);
+		assertEquals(300.0, sample.getDouble(NXsample.NX_TEMPERATURE), 0);
+
+		sample.setField(NXsample.NX_TEMPERATURE, 250.0);
+		sample.setField(NXsample.NX_TEMPERATURE, 260.0);
+
+		// changed value is kept when others fill the cache
+		NXsample other = NexusNodeFactory.createNXsample();
+		long bytes = NXobjectImpl.getDatasetCache().getMaxWeight() / 4;
+		for (int i = 0; i < 5; i++) {
+			other.setDataset("field" + i, DatasetFactory.zeros((int) (bytes / 8)));
+		}
+		assertEquals(260.0, sample.getDouble(NXsample.NX_TEMPERATURE), 0);
+
+		sample.setDataset(NXsample.NX_TEMPERATURE, DatasetFactory.createFromObject(270.0));
+		assertEquals(270.0, sample.getDouble(NXsample.NX_TEMPERATURE), 0);
+	}
 	
 }
@@ -11,21 +11,31 @@ package org.eclipse.dawnsci.nexus.validation;
 
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.dawnsci.analysis.api.tree.Attribute;
 import org.eclipse.dawnsci.analysis.api.tree.GroupNode;
 import org.eclipse.dawnsci.analysis.tree.impl.AttributeImpl;
 import org.eclipse.dawnsci.analysis.tree.impl.GroupNodeImpl;
+import org.eclipse.dawnsci.nexus.NXentry;
+import org.eclipse.dawnsci.nexus.NXroot;
 import org.eclipse.dawnsci.nexus.NXsample;
 import org.eclipse.dawnsci.nexus.NXtransformations;
 import org.eclipse.dawnsci.nexus.NexusNodeFactory;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
 import org.eclipse.january.dataset.DoubleDataset;
 import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.ILazyDataset;
 import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.LazyDataset;
+import org.eclipse.january.dataset.SliceND;
 import org.eclipse.january.dataset.StringDataset;
+import org.eclipse.january.io.ILazyLoader;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -292,4 +302,68 @@ public class AbstractNexusValidatorTest {
 		validator.validateTransformations(transformations, "one");
 	}
 
+	private static ILazyDataset createLazy(final AtomicInteger reads, final Class<? extends Dataset> clazz, final IDataset data, int... shape) {
+		ILazyLoader loader = new ILazyLoader() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public boolean isFileReadable() {
+				return true;
+			}
+
+			@Override
+			public IDataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+				reads.incrementAndGet();
+				return data.getSlice(slice);
+			}
+		};
+		return new LazyDataset(loader, "lazy", clazz, shape);
+	}
+
+	@Test
+	public void testValidateLazyField_noRead() throws Exception {
+		final AtomicInteger reads = new AtomicInteger();
+		// too large to cache as a dataset
+		final ILazyDataset dataset = createLazy(reads, DoubleDataset.class, null, 100000, 2048);
+
+		validator.validateFieldNotNull("data", dataset);
+		validator.validateFieldType("data", dataset, NexusDataType.NX_FLOAT);
+		validator.validateFieldRank("data", dataset, 2);
+		validator.validateFieldDimensions("data", dataset, null, "nFrames", 2048);
+		Assert.assertEquals(0, reads.get());
+	}
+
+	@Test
+	public void testValidateLazyEnumeration() throws Exception {
+		final AtomicInteger reads = new AtomicInteger();
+		final ILazyDataset dataset = createLazy(reads, StringDataset.class, DatasetFactory.createFromObject(new String[] {"NXtomo"}), 1);
+
+		validator.validateFieldEnumeration("definition", dataset, "NXmx", "NXtomo");
+		Assert.assertEquals(1, reads.get());
+	}
+
+	@Test
+	public void testValidateEntries() throws Exception {
+		final NXroot root = NexusNodeFactory.createNXroot();
+		for (int i = 0; i < 4; i++) {
+			NXentry entry = NexusNodeFactory.createNXentry();
+			if (i > 0) {
+				entry.setDefinitionScalar("NXnotTomo");
+			}
+			root.setEntry("entry" + i, entry);
+		}
+
+		final AtomicInteger validators = new AtomicInteger();
+		try {
+			AbstractNexusValidator.validateEntries(root, () -> {
+				validators.incrementAndGet();
+				return new NXtomoValidator();
+			});
+			fail(); // exception expected to be thrown
+		} catch (NexusValidationException e) {
+			Assert.assertEquals("Entry 'entry0': The field definition must be set", e.getMessage());
+		}
+		Assert.assertEquals(4, validators.get());
+	}
+
 }
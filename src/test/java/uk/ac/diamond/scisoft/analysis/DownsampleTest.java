@@ -0,0 +1,138 @@
+/*-
+ * Copyright 2015 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package uk.ac.diamond.scisoft.analysis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.dawnsci.analysis.api.downsample.DownsampleMode;
+import org.eclipse.dawnsci.analysis.dataset.function.Downsample;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.FloatDataset;
+import org.eclipse.january.dataset.IndexIterator;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.Random;
+import org.eclipse.january.dataset.ShortDataset;
+import org.junit.Test;
+
+public class DownsampleTest {
+
+	private static final DownsampleMode[] MODES = {DownsampleMode.POINT, DownsampleMode.MEAN, DownsampleMode.MAXIMUM, DownsampleMode.MINIMUM};
+
+	/**
+	 * Bin by visiting every position, ignoring non-finite values
+	 */
+	private static double[] reference(Dataset data, DownsampleMode mode, int[] bin, int[] shape) {
+		int rank = shape.length;
+		int[] dshape = data.getShape();
+		Dataset ref = DatasetFactory.zeros(DoubleDataset.class, shape);
+		IndexIterator it = ref.getIterator(true);
+		int[] pos = it.getPos();
+		int[] start = new int[rank];
+		int[] stop = new int[rank];
+		while (it.hasNext()) {
+			for (int i = 0; i < rank; i++) {
+				start[i] = pos[i] * bin[i];
+				stop[i] = Math.min(start[i] + bin[i], dshape[i]);
+			}
+			if (mode == DownsampleMode.POINT) {
+				ref.setObjectAbs(it.index, data.getDouble(start));
+				continue;
+			}
+			Dataset part = data.getSlice(start, stop, null);
+			IndexIterator pit = part.getIterator();
+			double sum = 0, max = Double.NEGATIVE_INFINITY, min = Double.POSITIVE_INFINITY;
+			int num = 0;
+			while (pit.hasNext()) {
+				double v = part.getElementDoubleAbs(pit.index);
+				if (!Double.isFinite(v)) continue;
+				sum += v;
+				num++;
+				max = Math.max(max, v);
+				min = Math.min(min, v);
+			}
+			ref.setObjectAbs(it.index, mode == DownsampleMode.MEAN ? (num == 0 ? 0 : sum / num) : (mode == DownsampleMode.MAXIMUM ? max : min));
+		}
+		return ((DoubleDataset) ref).getData();
+	}
+
+	private static void check(Dataset data, int[] bin, double tol) {
+		int rank = data.getRank();
+		int[] shape = new int[rank];
+		for (int i = 0; i < rank; i++) {
+			shape[i] = (data.getShapeRef()[i] + bin[i] - 1) / bin[i];
+		}
+		for (DownsampleMode mode : MODES) {
+			Dataset binned = new Downsample(mode, bin).value(data).get(0);
+			assertEquals(data.getClass(), binned.getClass());
+			assertArrayEquals(mode.toString(), shape, binned.getShape());
+			double[] expected = reference(data, mode, bin, shape);
+			if (!(data instanceof DoubleDataset || data instanceof FloatDataset) && mode == DownsampleMode.MEAN) {
+				for (int i = 0; i < expected.length; i++) {
+					expected[i] = (long) expected[i];
+				}
+			}
+			double[] actual = DatasetUtils.cast(DoubleDataset.class, binned).getData();
+			assertArrayEquals(mode.toString(), expected, actual, tol);
+		}
+	}
+
+	@Test
+	public void testDouble2D() {
+		Dataset data = Random.randn(37, 51);
+		data.set(Double.NaN, 3, 4);
+		data.set(Double.POSITIVE_INFINITY, 36, 50);
+		check(data, new int[] {2, 2}, 1e-12);
+		check(data, new int[] {3, 4}, 1e-12);
+	}
+
+	@Test
+	public void testFloat3D() {
+		Dataset data = DatasetUtils.cast(FloatDataset.class, Random.randn(5, 33, 20));
+		data.set(Float.NaN, 0, 0, 0);
+		data.set(Float.NaN, 0, 0, 1);
+		data.set(Float.NaN, 0, 1, 0);
+		data.set(Float.NaN, 0, 1, 1);
+		check(data, new int[] {1, 2, 2}, 1e-6);
+		check(data, new int[] {2, 3, 2}, 1e-6);
+	}
+
+	@Test
+	public void testIntegerView() {
+		Dataset data = DatasetFactory.createRange(IntegerDataset.class, 60 * 80).reshape(60, 80);
+		Dataset view = data.getSliceView(new int[] {3, 1}, new int[] {57, 80}, new int[] {1, 3});
+		check(view, new int[] {2, 2}, 0);
+		check(data.getSliceView(null, null, new int[] {-1, -2}), new int[] {4, 3}, 0);
+	}
+
+	@Test
+	public void testShort() {
+		Dataset data = DatasetUtils.cast(ShortDataset.class, Random.randint(-1000, 1000, new int[] {2, 19, 23}));
+		check(data, new int[] {1, 2, 2}, 0);
+		check(data.getSliceView(new int[] {1, 0, 0}, null, null).squeeze(), new int[] {5, 2}, 0);
+	}
+
+	@Test
+	public void testParallel() {
+		Dataset data = DatasetUtils.cast(FloatDataset.class, Random.rand(1024, 768));
+		check(data, new int[] {2, 2}, 1e-6);
+	}
+
+	@Test
+	public void testShortBin() {
+		// bin with fewer dimensions than data
+		Dataset data = Random.rand(4, 6, 8);
+		Dataset binned = new Downsample(DownsampleMode.MAXIMUM, 2).value(data).get(0);
+		assertArrayEquals(new int[] {2, 6, 8}, binned.getShape());
+	}
+}
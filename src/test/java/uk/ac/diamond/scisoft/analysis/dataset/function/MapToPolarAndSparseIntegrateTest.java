@@ -0,0 +1,195 @@
+/*-
+ * Copyright (c) 2012 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package uk.ac.diamond.scisoft.analysis.dataset.function;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.dawnsci.analysis.dataset.roi.SectorROI;
+import org.eclipse.january.dataset.ByteDataset;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.FloatDataset;
+import org.eclipse.january.dataset.Maths;
+import org.junit.Test;
+
+import uk.ac.diamond.scisoft.analysis.dataset.function.MapToPolarAndSparseIntegrate.Profile;
+
+/**
+ *
+ */
+public class MapToPolarAndSparseIntegrateTest {
+	int[] shape = new int[] {500,500};
+	Dataset d = DatasetFactory.ones(FloatDataset.class, shape);
+
+	double racc = 1e-3; // set relative accuracy within 0.1%
+	double dpp = 10.;
+
+	/**
+	 *
+	 */
+	@Test
+	public void testMapToPolarAndSparseIntegrate() {
+		Dataset mask = DatasetFactory.ones(ByteDataset.class, 500, 500);
+		mask.setSlice(0, new int[] {260,310}, new int[] {270, 320}, new int[] {1,1});
+		MapToPolarAndSparseIntegrate mp = new MapToPolarAndSparseIntegrate(shape, 250, 250, 50, 0, 200, 45, dpp, true, mask, 4); // eighth of annulus
+		List<? extends Dataset> dsets = mp.value(d);
+
+		double answer = Math.PI*(200.*200. - 50.*50.)/8. - 100.;
+		assertEquals(answer, ((Number) dsets.get(0).sum()).doubleValue(), answer*racc);
+		assertEquals(answer, ((Number) dsets.get(1).sum()).doubleValue(), answer*racc);
+		assertEquals(mp.getAzimuthalBins(), dsets.get(0).getSize());
+		assertEquals(mp.getRadialBins(), dsets.get(1).getSize());
+	}
+
+	/**
+	 * test radial integration against averaged radius
+	 */
+	@Test
+	public void testRadialAverage() {
+		int xcentre = 250;
+		int ycentre = 250;
+		Dataset dc = d.clone();
+		for (int i = 0; i < shape[0]; i++) {
+			for (int j = 0; j < shape[1]; j++) {
+				int dx = i - xcentre;
+				int dy = j - ycentre;
+				dc.set(Math.sqrt(dx*dx + dy*dy), j, i);
+			}
+		}
+
+		SectorROI sroi = new SectorROI(xcentre, ycentre, 50, 200, 0, Math.PI/4, 1, true);
+		sroi.setAverageArea(true);
+		MapToPolarAndSparseIntegrate mp = new MapToPolarAndSparseIntegrate(shape, sroi, null);
+		Dataset radial = mp.integrate(dc, Profile.RADIAL);
+		assertEquals(150, radial.getSize());
+		for (int i = 0, imax = radial.getSize(); i < imax; i++) {
+			double r = 50 + i + 0.5;
+			assertEquals(r, radial.getDouble(i), 1.);
+		}
+	}
+
+	/**
+	 * test both profiles match interpolated integration over an off-centre sector
+	 */
+	@Test
+	public void testAgainstMapToPolarAndIntegrate() {
+		int[] ishape = new int[] {300, 400};
+		double xcentre = 180.3;
+		double ycentre = 140.7;
+		Dataset image = DatasetFactory.zeros(DoubleDataset.class, ishape);
+		for (int j = 0; j < ishape[0]; j++) {
+			for (int i = 0; i < ishape[1]; i++) {
+				double dx = i - xcentre;
+				double dy = j - ycentre;
+				image.set(100 + 50 * Math.exp(-(dx*dx + dy*dy) / 7200.) + 0.1 * i, j, i);
+			}
+		}
+		Dataset mask = DatasetFactory.ones(ByteDataset.class, ishape);
+		mask.setSlice(0, new int[] {150, 230}, new int[] {170, 260}, null);
+
+		for (Dataset m : new Dataset[] {null, mask}) {
+			MapToPolarAndSparseIntegrate sp = new MapToPolarAndSparseIntegrate(ishape, xcentre, ycentre, 30, -20, 120, 75, 1, true, m, 4);
+			MapToPolarAndIntegrate mp = new MapToPolarAndIntegrate(xcentre, ycentre, 30, -20, 120, 75, 1, true);
+			mp.setInterpolate(true);
+			mp.setMask(m);
+			List<Dataset> expected = mp.value(image);
+
+			// interpolation samples bin corners whereas sparse integration covers whole bins
+			checkProfile(expected.get(0), sp.integrate(image, Profile.AZIMUTHAL), 0.05);
+			checkProfile(expected.get(1), sp.integrate(image, Profile.RADIAL), 0.05);
+		}
+	}
+
+	private void checkProfile(Dataset expected, Dataset actual, double tolerance) {
+		assertEquals(expected.getSize(), actual.getSize());
+		double total = ((Number) expected.sum()).doubleValue();
+		assertEquals(total, ((Number) actual.sum()).doubleValue(), total * 0.01);
+		for (int i = 0, imax = expected.getSize(); i < imax; i++) {
+			double e = expected.getDouble(i);
+			assertEquals(e, actual.getDouble(i), Math.abs(e) * tolerance);
+		}
+	}
+
+	/**
+	 * test cake summed over azimuth matches radial profile
+	 */
+	@Test
+	public void testCake() {
+		MapToPolarAndSparseIntegrate mp = new MapToPolarAndSparseIntegrate(shape, 250, 250, 20, -30, 120, 60, 2, true, null, 3);
+		Dataset radial = mp.integrate(d, Profile.RADIAL);
+		Dataset azimuthal = mp.integrate(d, Profile.AZIMUTHAL);
+		Dataset cake = mp.integrate(d, Profile.CAKE);
+		assertArrayEquals(new int[] {mp.getRadialBins(), mp.getAzimuthalBins()}, cake.getShape());
+
+		Dataset csum = cake.sum(1);
+		Dataset psum = cake.sum(0);
+		for (int i = 0; i < radial.getSize(); i++) {
+			assertEquals(radial.getDouble(i), csum.getDouble(i), 1e-6 * radial.getDouble(i));
+		}
+		for (int i = 0; i < azimuthal.getSize(); i++) {
+			assertEquals(azimuthal.getDouble(i), psum.getDouble(i), 1e-6 * azimuthal.getDouble(i));
+		}
+		assertEquals(((Number) radial.sum()).doubleValue(), ((Number) mp.getArea(Profile.RADIAL).sum()).doubleValue(), 1e-6);
+	}
+
+	/**
+	 * test errors are propagated as variances
+	 */
+	@Test
+	public void testErrors() {
+		Dataset data = Maths.multiply(d, 4);
+		data.setErrorBuffer(data.clone());
+		MapToPolarAndSparseIntegrate mp = new MapToPolarAndSparseIntegrate(shape, 250, 250, 50, 0, 100, 90, 1, true, null, 1);
+		mp.setDoErrors(true);
+		Dataset radial = mp.integrate(data, Profile.RADIAL);
+		assertTrue(radial.hasErrors());
+		// without splitting, each pixel lies in one bin so variance equals sum
+		Dataset variance = radial.getErrorBuffer();
+		for (int i = 0; i < radial.getSize(); i++) {
+			assertEquals(radial.getDouble(i), variance.getDouble(i), 1e-9);
+		}
+	}
+
+	/**
+	 * test stack integration matches frame by frame integration
+	 */
+	@Test
+	public void testStack() throws Exception {
+		int frames = 7;
+		Dataset stack = DatasetFactory.zeros(DoubleDataset.class, 2, frames, 100, 120);
+		for (int i = 0; i < 2; i++) {
+			for (int f = 0; f < frames; f++) {
+				Dataset frame = DatasetFactory.createRange(100 * 120).reshape(100, 120);
+				frame.imultiply(i * frames + f + 1);
+				stack.setSlice(frame, new int[] {i, f, 0, 0}, new int[] {i + 1, f + 1, 100, 120}, null);
+			}
+		}
+
+		MapToPolarAndSparseIntegrate mp = new MapToPolarAndSparseIntegrate(new int[] {100, 120}, 40, 55, 5, 0, 50, 360, 1, true, null, 2);
+		mp.setBlockSize(3);
+		Dataset result = mp.integrate(stack, Profile.AZIMUTHAL, null);
+		assertArrayEquals(new int[] {2, frames, mp.getAzimuthalBins()}, result.getShape());
+
+		for (int i = 0; i < 2; i++) {
+			for (int f = 0; f < frames; f++) {
+				Dataset frame = stack.getSlice(new int[] {i, f, 0, 0}, new int[] {i + 1, f + 1, 100, 120}, null).squeeze();
+				Dataset expected = mp.integrate(frame, Profile.AZIMUTHAL);
+				for (int p = 0; p < expected.getSize(); p++) {
+					assertEquals(expected.getDouble(p), result.getDouble(i, f, p), 1e-9 * Math.abs(expected.getDouble(p)));
+				}
+			}
+		}
+	}
+}
@@ -9,12 +9,25 @@
 
 package uk.ac.diamond.scisoft.analysis.dataset.function;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.io.File;
+
+import org.eclipse.dawnsci.nexus.NexusFile;
 import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.LazyWriteableDataset;
+import org.eclipse.january.dataset.Random;
+import org.eclipse.january.dataset.Slice;
+import org.eclipse.january.dataset.Stats;
 import org.junit.Test;
 
+import io.github.h5jan.io.h5.NxsFile;
+
 public class MedianTest {
 
 	@Test
@@ -31,5 +44,66 @@ public class MedianTest {
 		assertEquals(filterResults.getDouble(5),6, 1e-8);
 	}
 
-	
+	/**
+	 * Median of each window found by sorting
+	 */
+	private static double[] sorted(Dataset d, int window) {
+		int half = window / 2;
+		int size = d.getSize();
+		double[] expected = new double[size];
+		for (int i = 0; i < size; i++) {
+			Dataset slice = d.getSlice(new int[] {Math.max(i - half, 0)}, new int[] {Math.min(i + half + 1, size)}, null);
+			expected[i] = ((Number) Stats.median(slice)).doubleValue();
+		}
+		return expected;
+	}
+
+	@Test
+	public void testRunningMedian() {
+		Dataset d = Random.randn(1000);
+		d.set(Double.NaN, 10);
+		d.set(Double.NaN, 500);
+		d.set(Double.NaN, 503);
+		d.set(d.getDouble(600), 601); // duplicates
+		for (int window : new int[] {1, 2, 5, 8, 31, 2001}) {
+			double[] actual = DatasetUtils.cast(DoubleDataset.class, new Median(window).value(d).get(0)).getData();
+			assertArrayEquals("Window " + window, sorted(d, window), actual, 0);
+		}
+	}
+
+	@Test
+	public void testInteger() {
+		Dataset d = Random.randint(0, 10, new int[] {50});
+		Dataset filtered = new Median(4).value(d).get(0);
+		assertEquals(IntegerDataset.class, filtered.getClass());
+		double[] expected = sorted(d, 4);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(i + "", (long) expected[i], filtered.getLong(i));
+		}
+	}
+
+	@Test
+	public void testView() {
+		Dataset d = Random.randn(100);
+		Dataset view = d.getSliceView(new Slice(10, 20));
+		Dataset filtered = new Median(5).value(view).get(0);
+		assertArrayEquals(sorted(view.getSlice(), 5), DatasetUtils.cast(DoubleDataset.class, filtered).getData(), 0);
+	}
+
+	@Test
+	public void testLazy() throws Exception {
+		Dataset d = Random.randn(5000);
+		File file = new File("test-scratch/filter/median.h5");
+		file.getParentFile().mkdirs();
+		file.delete();
+		Dataset expected = new Median(21).value(d).get(0);
+		try (NxsFile nfile = NxsFile.create(file.getAbsolutePath())) {
+			LazyWriteableDataset output = new LazyWriteableDataset("median", Double.class, new int[] {5000}, null, null, null);
+			nfile.createData("/entry/data", output, NexusFile.COMPRESSION_NONE, true);
+			new Median(21).value(d, output, 97, null);
+			nfile.flush();
+			Dataset actual = DatasetUtils.convertToDataset(output.getSlice());
+			assertArrayEquals(((DoubleDataset) expected).getData(), DatasetUtils.cast(DoubleDataset.class, actual).getData(), 0);
+		}
+	}
 }
@@ -0,0 +1,106 @@
+/*-
+ * Copyright 2017 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package uk.ac.diamond.scisoft.analysis.dataset.function;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.eclipse.dawnsci.analysis.dataset.impl.Image;
+import org.eclipse.dawnsci.nexus.NexusFile;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.LazyWriteableDataset;
+import org.eclipse.january.dataset.Maths;
+import org.eclipse.january.dataset.Random;
+import org.junit.Test;
+
+import io.github.h5jan.io.h5.NxsFile;
+import uk.ac.diamond.scisoft.analysis.dataset.function.RegisterImageStack.Refinement;
+
+public class RegisterImageStackTest {
+
+	private static final double[][] SHIFTS = {{0, 0}, {2, -3}, {-4.5, 1.5}, {0.25, 5}, {-1, -1}};
+
+	/**
+	 * @return textured image as phase correlation needs features
+	 */
+	private static Dataset createImage(int rows, int cols) {
+		Random.seed(12345);
+		return Random.rand(rows, cols);
+	}
+
+	private static Dataset createStack(Dataset image) {
+		int[] shape = image.getShapeRef();
+		Dataset stack = DatasetFactory.zeros(DoubleDataset.class, SHIFTS.length, shape[0], shape[1]);
+		for (int i = 0; i < SHIFTS.length; i++) {
+			Dataset frame = Image.shiftImage(image, SHIFTS[i]);
+			stack.setSlice(frame.reshape(1, shape[0], shape[1]), new int[] {i, 0, 0}, new int[] {i + 1, shape[0], shape[1]}, null);
+		}
+		return stack;
+	}
+
+	private static void assertShifts(RegisterImageStack.Result result, double tol) {
+		assertEquals(SHIFTS.length, result.size());
+		for (int i = 0; i < SHIFTS.length; i++) {
+			// shift that aligns frame undoes shift that made it
+			assertArrayEquals("Frame " + i, new double[] {-SHIFTS[i][0], -SHIFTS[i][1]}, result.getShift(i), tol);
+			assertTrue(result.getPeak(i) > 0.1);
+		}
+	}
+
+	@Test
+	public void testParabolic() throws Exception {
+		Dataset image = createImage(64, 64);
+		RegisterImageStack register = new RegisterImageStack(image);
+		assertShifts(register.register(createStack(image), null), 0.25);
+	}
+
+	@Test
+	public void testForooshWholePixels() throws Exception {
+		Dataset image = createImage(48, 40);
+		Dataset stack = Image.shiftImage(image, new double[] {-3, 2}).reshape(1, 48, 40);
+		RegisterImageStack register = new RegisterImageStack(image);
+		register.setRefinement(Refinement.FOROOSH);
+		assertArrayEquals(new double[] {3, -2}, register.register(stack, null).getShift(0), 0.05);
+	}
+
+	@Test
+	public void testStream() throws Exception {
+		Dataset image = createImage(64, 64);
+		Dataset stack = createStack(image);
+		File file = new File("test-scratch/register/stack.h5");
+		file.getParentFile().mkdirs();
+		file.delete();
+		try (NxsFile nfile = NxsFile.create(file.getAbsolutePath())) {
+			LazyWriteableDataset shifts = new LazyWriteableDataset("shifts", Double.class, new int[] {SHIFTS.length, 2}, null, null, null);
+			LazyWriteableDataset aligned = new LazyWriteableDataset("aligned", Double.class, stack.getShape(), null, null, null);
+			nfile.createData("/entry/data", shifts, NexusFile.COMPRESSION_NONE, true);
+			nfile.createData("/entry/data", aligned, NexusFile.COMPRESSION_NONE, true);
+
+			RegisterImageStack.Result result = new RegisterImageStack(image).register(stack, shifts, aligned, null);
+			nfile.flush();
+			assertShifts(result, 0.25);
+
+			Dataset table = DatasetUtils.convertToDataset(shifts.getSlice());
+			assertEquals(result.getShifts(), table.reshape(SHIFTS.length, 2).cast(DoubleDataset.class).getView(false));
+
+			// interior of aligned frame matches reference
+			Dataset frame = DatasetUtils.convertToDataset(aligned.getSlice(new int[] {1, 0, 0}, new int[] {2, 64, 64}, null)).squeeze();
+			Dataset diff = Maths.subtract(frame, image).getSliceView(new int[] {8, 8}, new int[] {56, 56}, null);
+			assertEquals(0, diff.max().doubleValue(), 0.05);
+			assertEquals(0, diff.min().doubleValue(), 0.05);
+		}
+	}
+}
@@ -9,15 +9,25 @@
 
 package uk.ac.diamond.scisoft.analysis.dataset.function;
 
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.File;
 import java.util.Arrays;
 
+import org.eclipse.dawnsci.nexus.NexusFile;
 import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
 import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.LazyWriteableDataset;
 import org.eclipse.january.dataset.Maths;
+import org.eclipse.january.dataset.Random;
+import org.eclipse.january.dataset.Slice;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.github.h5jan.io.h5.NxsFile;
+
 public class SavitzkyGolayTest {
 	Dataset input;
 	
@@ -49,4 +59,51 @@ public class SavitzkyGolayTest {
 		printInfo(rv);
 	}
 
+	private static double[] data(Dataset d) {
+		return DatasetUtils.cast(DoubleDataset.class, d).getData();
+	}
+
+	@Test
+	public void testPolynomial() {
+		// a quadratic is fitted exactly everywhere, including the ends
+		Dataset x = DatasetFactory.createRange(DoubleDataset.class, 40);
+		Dataset y = Maths.add(Maths.multiply(Maths.square(x), 0.5), Maths.multiply(x, -3));
+		assertArrayEquals(data(y), data(SavitzkyGolay.filter(y, 7, 2, 0)), 1e-9);
+		assertArrayEquals(data(Maths.subtract(x, 3)), data(SavitzkyGolay.filter(y, 7, 2, 1)), 1e-9);
+		assertArrayEquals(new double[40], data(SavitzkyGolay.filter(y, 7, 2, 3)), 0);
+	}
+
+	@Test
+	public void testRows() {
+		Dataset rv = SavitzkyGolay.filter(input, 5, 3, 1);
+		for (int r = 0; r < 40; r++) {
+			Dataset row = input.getSlice(new int[] {r, 0}, new int[] {r + 1, 20}, null).squeeze();
+			Dataset expected = SavitzkyGolay.filter(row, 5, 3, 1);
+			assertArrayEquals(data(expected), data(rv.getSlice(new int[] {r, 0}, new int[] {r + 1, 20}, null)), 1e-12);
+		}
+	}
+
+	@Test
+	public void testView() {
+		Dataset view = input.getSliceView(new Slice(5, 15), new Slice(2, 20, 2));
+		assertArrayEquals(data(SavitzkyGolay.filter(view.getSlice(), 5, 3, 1)), data(SavitzkyGolay.filter(view, 5, 3, 1)), 0);
+		Dataset row = input.getSliceView(new Slice(3, 4), null).squeeze();
+		assertArrayEquals(data(SavitzkyGolay.filter(row.getSlice(), 5, 2, 0)), data(SavitzkyGolay.filter(row, 5, 2, 0)), 0);
+	}
+
+	@Test
+	public void testLazy() throws Exception {
+		Dataset d = Random.randn(5000);
+		File file = new File("test-scratch/filter/savitzky_golay.h5");
+		file.getParentFile().mkdirs();
+		file.delete();
+		Dataset expected = SavitzkyGolay.filter(d, 11, 3, 0);
+		try (NxsFile nfile = NxsFile.create(file.getAbsolutePath())) {
+			LazyWriteableDataset output = new LazyWriteableDataset("smoothed", Double.class, new int[] {5000}, null, null, null);
+			nfile.createData("/entry/data", output, NexusFile.COMPRESSION_NONE, true);
+			SavitzkyGolay.filter(d, output, 11, 3, 0, 3, null);
+			nfile.flush();
+			assertArrayEquals(data(expected), data(DatasetUtils.convertToDataset(output.getSlice())), 1e-12);
+		}
+	}
 }
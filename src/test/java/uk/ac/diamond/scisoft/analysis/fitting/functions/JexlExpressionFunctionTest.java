@@ -0,0 +1,258 @@
+/*-
+ * Copyright (c) 2014 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package uk.ac.diamond.scisoft.analysis.fitting.functions;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.dawnsci.analysis.api.expressions.IExpressionEngine;
+import org.eclipse.dawnsci.analysis.api.expressions.IExpressionEngineListener;
+import org.eclipse.dawnsci.analysis.api.expressions.IExpressionService;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.Maths;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JexlExpressionFunctionTest {
+
+	private static final double ABS_TOL = 1e-12;
+
+	/**
+	 * Interprets expressions with January maths as the Jexl engine does
+	 */
+	private static class Script {
+		private final List<String> names;
+		private final Function<Map<String, Object>, Object> eval;
+
+		Script(Function<Map<String, Object>, Object> eval, String... names) {
+			this.names = Arrays.asList(names);
+			this.eval = eval;
+		}
+	}
+
+	private static class Engine implements IExpressionEngine {
+		private final Map<String, Script> scripts = new HashMap<>();
+		private final Map<String, Object> variables = new HashMap<>();
+		private Map<String, Object> functions = new HashMap<>();
+		private String expression;
+		private int evaluations;
+
+		Engine() {
+			functions.put("dnp", Maths.class);
+		}
+
+		@Override
+		public void createExpression(String expression) throws Exception {
+			if (!scripts.containsKey(expression)) {
+				throw new Exception("Cannot parse " + expression);
+			}
+			this.expression = expression;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> T evaluate() throws Exception {
+			evaluations++;
+			Object ob = scripts.get(expression).eval.apply(variables);
+			if (ob instanceof Dataset && ((Dataset) ob).getRank() == 0) {
+				ob = ((Dataset) ob).getDouble();
+			}
+			return (T) ob;
+		}
+
+		@Override
+		public void addExpressionEngineListener(IExpressionEngineListener listener) {
+		}
+
+		@Override
+		public void removeExpressionEngineListener(IExpressionEngineListener listener) {
+		}
+
+		@Override
+		public void evaluateWithEvent(IMonitor monitor) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Map<String, Object> getFunctions() {
+			return new HashMap<>(functions);
+		}
+
+		@Override
+		public void setFunctions(Map<String, Object> functions) {
+			this.functions = functions;
+		}
+
+		@Override
+		public void setLoadedVariables(Map<String, Object> variables) {
+			this.variables.clear();
+			this.variables.putAll(variables);
+		}
+
+		@Override
+		public Object getLoadedVariable(String name) {
+			return variables.get(name);
+		}
+
+		@Override
+		public void addLoadedVariables(Map<String, Object> variables) {
+			this.variables.putAll(variables);
+		}
+
+		@Override
+		public void addLoadedVariable(String name, Object value) {
+			variables.put(name, value);
+		}
+
+		@Override
+		public Collection<String> getVariableNamesFromExpression() {
+			return scripts.get(expression).names;
+		}
+
+		@Override
+		public Collection<String> getLazyVariableNamesFromExpression() {
+			return Collections.emptyList();
+		}
+	}
+
+	private static final String POLYNOMIAL = "a*x*x + b*x + c";
+	private static final String EXPONENTIAL = "a*dnp:exp(-(x-b)*(x-b)/(2*c*c))";
+	private static final String PEAKS = "func:Gaussian(x, p, w, a) + func:Lorentzian(x, p, w, a)/2 + 1/2";
+	private static final String POWER = "dnp:power(dnp:abs(x), n) - k*dnp:sqrt(dnp:abs(x))";
+	private static final String REMAINDER = "x % a + b";
+
+	private static Engine createEngine() {
+		Engine engine = new Engine();
+		engine.scripts.put(POLYNOMIAL, new Script(v -> Maths.add(Maths.add(
+				Maths.multiply(Maths.multiply(v.get("a"), v.get("x")), v.get("x")),
+				Maths.multiply(v.get("b"), v.get("x"))), v.get("c")), "a", "x", "b", "c"));
+		engine.scripts.put(EXPONENTIAL, new Script(v -> {
+			Dataset d = Maths.subtract(v.get("x"), v.get("b"));
+			Dataset c2 = Maths.multiply(Maths.multiply(2, v.get("c")), v.get("c"));
+			return Maths.multiply(v.get("a"), Maths.exp(Maths.divide(Maths.multiply(Maths.negative(d), d), c2)));
+		}, "a", "x", "b", "c"));
+		engine.scripts.put(PEAKS, new Script(v -> {
+			IDataset x = (IDataset) v.get("x");
+			double p = (Double) v.get("p"), w = (Double) v.get("w"), a = (Double) v.get("a");
+			return Maths.add(Maths.add(JexlFunctionConnector.Gaussian(x, p, w, a),
+					Maths.divide(JexlFunctionConnector.Lorentzian(x, p, w, a), 2)), 1 / 2);
+		}, "x", "p", "w", "a"));
+		engine.scripts.put(POWER, new Script(v -> Maths.subtract(Maths.power(Maths.abs(v.get("x")), v.get("n")),
+				Maths.multiply(v.get("k"), Maths.sqrt(Maths.abs(v.get("x"))))), "x", "n", "k"));
+		engine.scripts.put(REMAINDER, new Script(v -> Maths.add(Maths.remainder(v.get("x"), v.get("a")), v.get("b")),
+				"x", "a", "b"));
+		return engine;
+	}
+
+	private static JexlExpressionFunction createFunction(Engine engine, String expression, double... values) {
+		IExpressionService service = () -> engine;
+		JexlExpressionFunction f = new JexlExpressionFunction(service, expression);
+		Assert.assertEquals(JexlExpressionFunction.JexlExpressionFunctionError.NO_ERROR, f.getExpressionError());
+		f.setParameterValues(values);
+		return f;
+	}
+
+	private static void assertParity(Engine engine, JexlExpressionFunction f, DoubleDataset x, boolean scalar) {
+		Assert.assertTrue(f.isCompiled());
+		int evaluations = engine.evaluations;
+		DoubleDataset compiled = f.calculateValues(x);
+		double[] points = new double[] { -1.5, 0, 0.25, 3 };
+		double[] vals = new double[points.length];
+		if (scalar) {
+			for (int i = 0; i < points.length; i++) {
+				vals[i] = f.val(points[i]);
+			}
+		}
+		Assert.assertEquals("Compiled expression must not use engine", evaluations, engine.evaluations);
+
+		f.setCompile(false);
+		Assert.assertFalse(f.isCompiled());
+		DoubleDataset interpreted = f.calculateValues(x);
+		Assert.assertTrue(engine.evaluations > evaluations);
+		Assert.assertArrayEquals(f.getExpression(), interpreted.getData(), compiled.getData(), ABS_TOL);
+		if (scalar) {
+			for (int i = 0; i < points.length; i++) {
+				Assert.assertEquals(f.getExpression(), f.val(points[i]), vals[i], ABS_TOL);
+			}
+		}
+		f.setCompile(true);
+	}
+
+	@Test
+	public void testParity() {
+		Engine engine = createEngine();
+		DoubleDataset x = DatasetFactory.createLinearSpace(DoubleDataset.class, -5, 5, 201);
+
+		assertParity(engine, createFunction(engine, POLYNOMIAL, 0.5, -2, 3), x, true);
+		assertParity(engine, createFunction(engine, EXPONENTIAL, 1.5, 0.3, 1.2), x, true);
+		assertParity(engine, createFunction(engine, PEAKS, 0.5, 1.5, 2), x, false);
+		assertParity(engine, createFunction(engine, POWER, 2.5, 0.7), x, true);
+
+		JexlExpressionFunction f = createFunction(engine, POLYNOMIAL, 1, 2, 3);
+		Assert.assertEquals(1 * 4 + 2 * 2 + 3, f.val(2), ABS_TOL);
+		f.setParameterValues(3, 2, 1);
+		Assert.assertEquals(3 * 4 + 2 * 2 + 1, f.val(2), ABS_TOL);
+		Assert.assertTrue(f.copy().isCompiled());
+		Assert.assertEquals(f.val(2), f.copy().val(2), ABS_TOL);
+	}
+
+	@Test
+	public void testInterpreted() {
+		Engine engine = createEngine();
+		DoubleDataset x = DatasetFactory.createLinearSpace(DoubleDataset.class, 0, 5, 11);
+
+		JexlExpressionFunction f = createFunction(engine, REMAINDER, 2, 1);
+		Assert.assertFalse(f.isCompiled());
+		Assert.assertArrayEquals(new double[] { 1, 1.5, 2, 2.5, 1, 1.5, 2, 2.5, 1, 1.5, 2 },
+				f.calculateValues(x).getData(), ABS_TOL);
+
+		// Namespace not bound to the functions the compiler uses
+		f = createFunction(engine, EXPONENTIAL, 1.5, 0.3, 1.2);
+		Map<String, Object> functions = engine.getFunctions();
+		functions.remove("dnp");
+		engine.setFunctions(functions);
+		f.setCompile(true);
+		Assert.assertFalse(f.isCompiled());
+	}
+
+	@Test
+	public void testCompiler() {
+		JexlExpressionCompiler.Program p = JexlExpressionCompiler.compile(POLYNOMIAL);
+		Assert.assertSame(p, JexlExpressionCompiler.compile(new String(POLYNOMIAL)));
+		Assert.assertEquals(Arrays.asList("a", "b", "c"), p.getVariables());
+
+		// Jexl integer arithmetic
+		Assert.assertEquals(0, JexlExpressionCompiler.compile("1/2*x").evaluate(4, new double[0]), 0);
+		Assert.assertEquals(2, JexlExpressionCompiler.compile("1.0/2*x").evaluate(4, new double[0]), 0);
+		Assert.assertEquals(-7, JexlExpressionCompiler.compile("-(15/2) + x - x").evaluate(4, new double[0]), 0);
+
+		double[] x = new double[] { 1, 2, 3 };
+		double[] out = new double[3];
+		p = JexlExpressionCompiler.compile("(x + a) * (x - a) / (x * dnp:hypot(x, a))");
+		p.evaluate(x, 3, new double[] { 2 }, out, p.allocate(3));
+		for (int i = 0; i < 3; i++) {
+			Assert.assertEquals((x[i] + 2) * (x[i] - 2) / (x[i] * Math.hypot(x[i], 2)), out[i], ABS_TOL);
+		}
+
+		for (String e : new String[] { REMAINDER, "x > a ? a : x", "x.length", "size(x)", "dnp:floorDivide(x, 2)",
+				"func:Gaussian(x, x, 1, 1)", "2f*x", "x + ", "x div 2" }) {
+			Assert.assertNull(e, JexlExpressionCompiler.compile(e));
+		}
+	}
+}
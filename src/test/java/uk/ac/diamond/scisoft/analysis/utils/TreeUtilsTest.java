@@ -9,11 +9,16 @@
 
 package uk.ac.diamond.scisoft.analysis.utils;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.eclipse.dawnsci.analysis.api.tree.DataNode;
 import org.eclipse.dawnsci.analysis.api.tree.GroupNode;
+import org.eclipse.dawnsci.analysis.api.tree.Node;
+import org.eclipse.dawnsci.analysis.api.tree.Tree;
 import org.eclipse.dawnsci.analysis.api.tree.TreeUtils;
 import org.eclipse.dawnsci.analysis.tree.TreeFactory;
 import org.eclipse.january.dataset.IDataset;
@@ -56,4 +61,95 @@ public class TreeUtilsTest {
 		assertTrue(dthird.getDataset() instanceof IDataset);
 	}
 
+	@Test
+	public void testGetPath() {
+		Tree tree = TreeFactory.createTree(0, null);
+		GroupNode entry = TreeFactory.createGroupNode(0);
+		GroupNode data = TreeFactory.createGroupNode(0);
+		DataNode d = TreeFactory.createDataNode(0);
+		data.addDataNode("d", d);
+		entry.addGroupNode("data", data);
+
+		// subtree built before it is added to tree
+		assertNull(TreeUtils.getPath(tree, d));
+		tree.getGroupNode().addGroupNode("entry", entry);
+		assertEquals("/", TreeUtils.getPath(tree, tree.getGroupNode()));
+		assertEquals("/entry/", TreeUtils.getPath(tree, entry));
+		assertEquals("/entry/data/", TreeUtils.getPath(tree, data));
+		assertEquals("/entry/data/d", TreeUtils.getPath(tree, d));
+		assertSame(d, TreeUtils.getNode(tree, "/entry/data/d"));
+		assertSame(data, TreeUtils.getNode(tree, "/entry/data/"));
+		assertSame(tree.getGroupNode(), TreeUtils.getNode(tree, "/"));
+		assertNull(TreeUtils.getNode(tree, "/entry/d"));
+		assertNull(TreeUtils.getNode(tree, "/entry/data/d/e"));
+		assertSame(d, tree.findNodeLink("/entry/data/d").getDestination());
+		assertSame(data, tree.findNodeLink("/entry//data/").getDestination());
+
+		// hard link in another group
+		GroupNode other = TreeFactory.createGroupNode(0);
+		other.addDataNode("copy", d);
+		tree.getGroupNode().addGroupNode("other", other);
+		data.addDataNode("again", d);
+		assertEquals("/entry/data/d", TreeUtils.getPath(tree, d));
+		assertEquals("d", data.findLinkedNodeName(d));
+
+		data.removeDataNode("d");
+		assertEquals("again", data.findLinkedNodeName(d));
+		assertEquals("/entry/data/again", TreeUtils.getPath(tree, d));
+		data.removeDataNode(d);
+		assertNull(data.findLinkedNodeName(d));
+		assertEquals("/other/copy", TreeUtils.getPath(tree, d));
+		other.removeDataNode(d);
+		assertNull(TreeUtils.getPath(tree, d));
+	}
+
+	@Test
+	public void testGetPathLargeTree() {
+		final int groups = 1000;
+		final int nodes = 100;
+		Tree tree = TreeFactory.createTree(0, null);
+		GroupNode entry = TreeFactory.createGroupNode(0);
+		tree.getGroupNode().addGroupNode("entry", entry);
+		DataNode[] last = new DataNode[groups];
+		for (int i = 0; i < groups; i++) {
+			GroupNode g = TreeFactory.createGroupNode(0);
+			entry.addGroupNode("g" + i, g);
+			for (int j = 0; j < nodes; j++) {
+				DataNode d = TreeFactory.createDataNode(0);
+				g.addDataNode("d" + j, d);
+				last[i] = d;
+				assertEquals("/entry/g" + i + "/d" + j, TreeUtils.getPath(tree, d));
+			}
+		}
+		for (int i = 0; i < groups; i++) {
+			assertSame(last[i], TreeUtils.getNode(tree, "/entry/g" + i + "/d" + (nodes - 1)));
+		}
+	}
+
+	@Test
+	public void testGetPathDeepTree() {
+		Tree tree = TreeFactory.createTree(0, null);
+		GroupNode g = tree.getGroupNode();
+		StringBuilder path = new StringBuilder();
+		for (int i = 0; i < 300; i++) { // deeper than parent links are followed
+			GroupNode c = TreeFactory.createGroupNode(0);
+			g.addGroupNode("g" + i, c);
+			path.append(Node.SEPARATOR).append("g").append(i);
+			g = c;
+			if (i == 10 || i == 299) {
+				assertEquals(path + Node.SEPARATOR, TreeUtils.getPath(tree, g));
+			}
+		}
+		DataNode d = TreeFactory.createDataNode(0);
+		g.addDataNode("d", d);
+		assertEquals(path + "/d", TreeUtils.getPath(tree, d));
+		assertSame(d, TreeUtils.getNode(tree, path + "/d"));
+
+		// groups linked to each other but not to the tree
+		GroupNode a = TreeFactory.createGroupNode(0);
+		GroupNode b = TreeFactory.createGroupNode(0);
+		a.addGroupNode("b", b);
+		b.addGroupNode("a", a);
+		assertNull(TreeUtils.getPath(tree, a));
+	}
 }